@@ -0,0 +1,119 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.miku.r2dbc.mysql.client;
+
+import dev.miku.r2dbc.mysql.BenchmarkSupport;
+import dev.miku.r2dbc.mysql.constant.Envelopes;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.ByteToMessageDecoder;
+import org.junit.platform.commons.annotation.Testable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import reactor.util.annotation.Nullable;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for {@link EnvelopeSlicer} receiving a message which spans multiple envelopes, compares merging
+ * received buffers into a contiguous cumulation with the adaptive cumulation which composes large envelopes.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Testable
+public class EnvelopeSlicerBenchmark extends BenchmarkSupport {
+
+    /**
+     * Bytes of each socket read, it is the default maximum of adaptive receive buffer in Netty.
+     */
+    private static final int READ_SIZE = 65536;
+
+    /**
+     * Payload spans 3 envelopes, e.g. a row which has a large JSON or BLOB column.
+     */
+    private static final int PAYLOAD_SIZE = (Envelopes.MAX_ENVELOPE_SIZE << 1) + 1024;
+
+    private ByteBuf message;
+
+    @Setup
+    public void setup() {
+        int envelopes = PAYLOAD_SIZE / Envelopes.MAX_ENVELOPE_SIZE + 1;
+        ByteBuf buf = Unpooled.directBuffer(PAYLOAD_SIZE + envelopes * Envelopes.PART_HEADER_SIZE);
+        int remaining = PAYLOAD_SIZE;
+
+        for (int i = 0; i < envelopes; ++i) {
+            int size = Math.min(remaining, Envelopes.MAX_ENVELOPE_SIZE);
+
+            buf.writeMediumLE(size).writeByte(i).writeZero(size);
+            remaining -= size;
+        }
+
+        this.message = buf;
+    }
+
+    @TearDown
+    public void tearDown() {
+        message.release();
+    }
+
+    @Benchmark
+    @Testable
+    public int merge() {
+        return slice(ByteToMessageDecoder.MERGE_CUMULATOR);
+    }
+
+    @Benchmark
+    @Testable
+    public int adaptive() {
+        return slice(null);
+    }
+
+    private int slice(@Nullable ByteToMessageDecoder.Cumulator cumulator) {
+        EnvelopeSlicer slicer = new EnvelopeSlicer();
+
+        if (cumulator != null) {
+            slicer.setCumulator(cumulator);
+        }
+
+        EmbeddedChannel channel = new EmbeddedChannel(slicer);
+        ByteBuf message = this.message;
+        int size = message.readableBytes();
+        int frames = 0;
+
+        try {
+            for (int i = 0; i < size; i += READ_SIZE) {
+                channel.writeInbound(message.retainedSlice(i, Math.min(READ_SIZE, size - i)));
+            }
+
+            ByteBuf frame;
+
+            while ((frame = channel.readInbound()) != null) {
+                ++frames;
+                frame.release();
+            }
+
+            return frames;
+        } finally {
+            channel.finishAndReleaseAll();
+        }
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.miku.r2dbc.mysql.client;
+
+import dev.miku.r2dbc.mysql.BenchmarkSupport;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.handler.ssl.SslHandler;
+import io.netty.handler.ssl.SslProvider;
+import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
+import io.netty.handler.ssl.util.SelfSignedCertificate;
+import org.junit.platform.commons.annotation.Testable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the JDK engine and the OpenSSL engine which is selected by {@link SslContextCache#selectProvider},
+ * a server stand-in is connected by in-memory channels, so it measures only the cost of TLS.
+ * <p>
+ * The OpenSSL engine falls back to the JDK engine if {@literal io.netty:netty-tcnative} is not in the classpath.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Testable
+public class SslEngineBenchmark extends BenchmarkSupport {
+
+    /**
+     * Bytes of each record which is sent by the server stand-in, it is the maximum plain text of a TLS record.
+     */
+    private static final int RECORD_SIZE = 16384;
+
+    /**
+     * Payload of a bulk read, e.g. a large result set.
+     */
+    private static final int PAYLOAD_SIZE = 4 << 20;
+
+    @Param({"false", "true"})
+    public boolean preferOpenSsl;
+
+    private SelfSignedCertificate certificate;
+
+    private SslContext clientContext;
+
+    private SslContext serverContext;
+
+    private EmbeddedChannel client;
+
+    private List<ByteBuf> records;
+
+    @Setup
+    public void setup() throws Exception {
+        SslProvider provider = SslContextCache.selectProvider(preferOpenSsl);
+
+        this.certificate = new SelfSignedCertificate();
+        this.clientContext = SslContextBuilder.forClient()
+            .sslProvider(provider)
+            .trustManager(InsecureTrustManagerFactory.INSTANCE)
+            .build();
+        this.serverContext = SslContextBuilder.forServer(certificate.certificate(), certificate.privateKey())
+            .sslProvider(provider)
+            .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        certificate.delete();
+    }
+
+    /**
+     * Connect to a server stand-in and receive encrypted records of the payload before each bulk read.
+     */
+    @Setup(Level.Invocation)
+    public void connect() {
+        EmbeddedChannel client = new EmbeddedChannel(clientContext.newHandler(ByteBufAllocator.DEFAULT));
+        EmbeddedChannel server = new EmbeddedChannel(serverContext.newHandler(ByteBufAllocator.DEFAULT));
+
+        handshake(client, server);
+
+        for (int i = 0; i < PAYLOAD_SIZE; i += RECORD_SIZE) {
+            server.writeOutbound(Unpooled.wrappedBuffer(new byte[RECORD_SIZE]));
+        }
+
+        List<ByteBuf> records = new ArrayList<>();
+        ByteBuf record;
+
+        while ((record = server.readOutbound()) != null) {
+            records.add(record);
+        }
+
+        server.finishAndReleaseAll();
+
+        this.client = client;
+        this.records = records;
+    }
+
+    @TearDown(Level.Invocation)
+    public void disconnect() {
+        client.finishAndReleaseAll();
+
+        for (ByteBuf record : records) {
+            record.release();
+        }
+    }
+
+    @Benchmark
+    @Testable
+    public long bulkRead() {
+        EmbeddedChannel client = this.client;
+        long size = 0;
+
+        for (ByteBuf record : records) {
+            client.writeInbound(record.retain());
+
+            ByteBuf buf;
+
+            while ((buf = client.readInbound()) != null) {
+                size += buf.readableBytes();
+                buf.release();
+            }
+        }
+
+        return size;
+    }
+
+    @Benchmark
+    @Testable
+    public boolean fullHandshake() {
+        EmbeddedChannel client = new EmbeddedChannel(clientContext.newHandler(ByteBufAllocator.DEFAULT));
+        EmbeddedChannel server = new EmbeddedChannel(serverContext.newHandler(ByteBufAllocator.DEFAULT));
+
+        try {
+            return handshake(client, server);
+        } finally {
+            client.finishAndReleaseAll();
+            server.finishAndReleaseAll();
+        }
+    }
+
+    private static boolean handshake(EmbeddedChannel client, EmbeddedChannel server) {
+        SslHandler clientHandler = client.pipeline().get(SslHandler.class);
+        SslHandler serverHandler = server.pipeline().get(SslHandler.class);
+
+        // Transfer flights until both sides completed, it should finish in a few round trips.
+        for (int i = 0; i < 16; ++i) {
+            transfer(client, server);
+            transfer(server, client);
+
+            if (clientHandler.handshakeFuture().isDone() && serverHandler.handshakeFuture().isDone()) {
+                // Deliver post-handshake messages, e.g. NewSessionTicket of TLSv1.3.
+                transfer(server, client);
+
+                if (!clientHandler.handshakeFuture().isSuccess()) {
+                    throw new IllegalStateException("SSL handshake failed", clientHandler.handshakeFuture().cause());
+                }
+
+                return true;
+            }
+        }
+
+        throw new IllegalStateException("SSL handshake is not completed");
+    }
+
+    private static void transfer(EmbeddedChannel from, EmbeddedChannel to) {
+        ByteBuf buf;
+
+        while ((buf = from.readOutbound()) != null) {
+            to.writeInbound(buf);
+        }
+    }
+}
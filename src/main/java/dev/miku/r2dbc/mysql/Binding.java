@@ -20,6 +20,7 @@ import dev.miku.r2dbc.mysql.message.ParameterValue;
 import dev.miku.r2dbc.mysql.message.client.PreparedExecuteMessage;
 
 import java.util.Arrays;
+import java.util.List;
 
 /**
  * A collection of {@link ParameterValue} for one bind invocation of a prepared statement.
@@ -49,13 +50,88 @@ final class Binding {
         this.values[index] = value;
     }
 
-    PreparedExecuteMessage toMessage(int statementId) {
+    /**
+     * Estimate the encoded size of all values.
+     *
+     * @return the estimated bytes, or a negative integer if any value size is unknown.
+     */
+    long estimateSize() {
+        long size = 0;
+
+        for (ParameterValue value : this.values) {
+            int valueSize = value.estimateSize();
+
+            if (valueSize < 0) {
+                return -1;
+            }
+
+            size += valueSize;
+        }
+
+        return size;
+    }
+
+    int getLength() {
+        return this.values.length;
+    }
+
+    /**
+     * Convert values to an execute message of a prepared statement.
+     *
+     * @param statementId the statement identifier want to execute.
+     * @param cursor      if it should open a read-only cursor.
+     * @param retain      if values should be kept by this binding rather than moved out, so it can be
+     *                    executed again, then the values should be able to be written more than once,
+     *                    i.e. no long data.
+     * @return the execute message.
+     */
+    PreparedExecuteMessage toMessage(int statementId, boolean cursor, boolean retain) {
         ParameterValue[] values = new ParameterValue[this.values.length];
 
         System.arraycopy(this.values, 0, values, 0, this.values.length);
-        Arrays.fill(this.values, null);
 
-        return new PreparedExecuteMessage(statementId, values);
+        if (!retain) {
+            Arrays.fill(this.values, null);
+        }
+
+        return new PreparedExecuteMessage(statementId, cursor, values);
+    }
+
+    /**
+     * Check if any value should be sent as long data before execution, e.g. BLOB, CLOB.
+     *
+     * @return {@code true} if has any long data value.
+     */
+    boolean hasLongData() {
+        return PreparedExecuteMessage.hasLongData(this.values);
+    }
+
+    /**
+     * Move all values of {@code bindings} to a new {@link Binding} in order, it is used
+     * by a multi-row {@literal INSERT} statement.
+     *
+     * @param bindings the bindings want to merge, values will be moved out.
+     * @return the merged {@link Binding}.
+     */
+    static Binding merge(List<Binding> bindings) {
+        int length = 0;
+
+        for (Binding binding : bindings) {
+            length += binding.values.length;
+        }
+
+        Binding result = new Binding(length);
+        int offset = 0;
+
+        for (Binding binding : bindings) {
+            int size = binding.values.length;
+
+            System.arraycopy(binding.values, 0, result.values, offset, size);
+            Arrays.fill(binding.values, null);
+            offset += size;
+        }
+
+        return result;
     }
 
     /**
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.miku.r2dbc.mysql;
+
+/**
+ * Statistics of a cache which is used by the driver, all counters are accumulated
+ * since the cache has been created.
+ * <p>
+ * Note: values are read without blocking the cache, so they may be slightly
+ * out-of-date when the cache is used concurrently.
+ */
+public interface CacheStatistics {
+
+    /**
+     * @return the maximum number of entries which can be held, {@code 0} means the cache is disabled.
+     */
+    int getCapacity();
+
+    /**
+     * @return the number of entries currently held.
+     */
+    int getSize();
+
+    /**
+     * @return the number of lookups which found a cached entry.
+     */
+    long getHits();
+
+    /**
+     * @return the number of lookups which found nothing.
+     */
+    long getMisses();
+
+    /**
+     * @return the number of entries which have been evicted by size limit.
+     */
+    long getEvictions();
+}
@@ -0,0 +1,527 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.miku.r2dbc.mysql;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.R2dbcTimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.annotation.Nullable;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static dev.miku.r2dbc.mysql.util.AssertUtils.require;
+import static dev.miku.r2dbc.mysql.util.AssertUtils.requireNonNull;
+
+/**
+ * A thread-safe pool of {@link MySqlConnection}s, idle connections are acquired in LIFO order
+ * so that rarely used connections can be evicted by the idle time.
+ * <p>
+ * Connections are reset by {@link MySqlConnection#reset()} before being returned to the pool,
+ * a connection which is broken or failed to reset will be closed and never be returned.
+ */
+final class ConnectionPool implements PoolMetrics {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionPool.class);
+
+    private static final long MIN_EVICTION_INTERVAL = TimeUnit.SECONDS.toMillis(1);
+
+    private static final long MAX_EVICTION_INTERVAL = TimeUnit.MINUTES.toMillis(1);
+
+    private final Mono<MySqlConnection> factory;
+
+    private final int minSize;
+
+    private final int maxSize;
+
+    private final long maxIdleNanos;
+
+    @Nullable
+    private final Duration acquireTimeout;
+
+    /**
+     * Idle connections, the first one is the most recently released.
+     */
+    private final ArrayDeque<Entry> idle = new ArrayDeque<>();
+
+    private final ArrayDeque<Waiter> pending = new ArrayDeque<>();
+
+    private final Disposable evictor;
+
+    private volatile boolean closed;
+
+    private volatile int allocatedSize;
+
+    private volatile int idleSize;
+
+    private volatile int acquiredSize;
+
+    private volatile int pendingAcquireSize;
+
+    private volatile long acquireCount;
+
+    private volatile long createdCount;
+
+    private volatile long resetCount;
+
+    private volatile long evictionCount;
+
+    ConnectionPool(Mono<MySqlConnection> factory, int minSize, int maxSize, Duration maxIdleTime, @Nullable Duration acquireTimeout) {
+        require(minSize >= 0, "minSize must not be a negative integer");
+        require(maxSize > 0 && maxSize >= minSize, "maxSize must be a positive integer and not less than minSize");
+        require(!maxIdleTime.isNegative() && !maxIdleTime.isZero(), "maxIdleTime must be positive");
+
+        this.factory = requireNonNull(factory, "factory must not be null");
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.maxIdleNanos = maxIdleTime.toNanos();
+        this.acquireTimeout = acquireTimeout;
+
+        long interval = Math.max(MIN_EVICTION_INTERVAL, Math.min(maxIdleTime.toMillis() / 2, MAX_EVICTION_INTERVAL));
+
+        this.evictor = Schedulers.parallel().schedulePeriodically(this::evict, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public int getMinSize() {
+        return minSize;
+    }
+
+    @Override
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    @Override
+    public int getAllocatedSize() {
+        return allocatedSize;
+    }
+
+    @Override
+    public int getIdleSize() {
+        return idleSize;
+    }
+
+    @Override
+    public int getAcquiredSize() {
+        return acquiredSize;
+    }
+
+    @Override
+    public int getPendingAcquireSize() {
+        return pendingAcquireSize;
+    }
+
+    @Override
+    public long getAcquireCount() {
+        return acquireCount;
+    }
+
+    @Override
+    public long getCreatedCount() {
+        return createdCount;
+    }
+
+    @Override
+    public long getResetCount() {
+        return resetCount;
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    Mono<Connection> acquire() {
+        Mono<Connection> acquire = Mono.create(sink -> {
+            Waiter waiter = new Waiter(sink);
+            List<Entry> broken = null;
+            Entry entry = null;
+            boolean allocate = false;
+            boolean fill = false;
+
+            synchronized (this) {
+                if (closed) {
+                    sink.error(new IllegalStateException("Connection pool has been closed"));
+                    return;
+                }
+
+                while ((entry = idle.pollFirst()) != null) {
+                    if (entry.connection.isConnected()) {
+                        break;
+                    }
+
+                    if (broken == null) {
+                        broken = new ArrayList<>();
+                    }
+
+                    broken.add(entry);
+                    --allocatedSize;
+                    ++evictionCount;
+                }
+
+                idleSize = idle.size();
+
+                if (entry == null) {
+                    if (allocatedSize < maxSize) {
+                        ++allocatedSize;
+                        allocate = true;
+                        fill = allocatedSize < minSize;
+                    } else {
+                        pending.offer(waiter);
+                        pendingAcquireSize = pending.size();
+                    }
+                } else {
+                    ++acquiredSize;
+                    ++acquireCount;
+                }
+            }
+
+            if (broken != null) {
+                closeAll(broken);
+            }
+
+            if (entry != null) {
+                deliver(waiter, entry);
+                return;
+            }
+
+            sink.onCancel(() -> cancel(waiter));
+
+            if (acquireTimeout != null) {
+                Disposable timer = Schedulers.parallel().schedule(() -> timeout(waiter), acquireTimeout.toMillis(), TimeUnit.MILLISECONDS);
+                sink.onDispose(timer);
+            }
+
+            if (allocate) {
+                allocate(waiter);
+
+                if (fill) {
+                    // The first acquisitions also prefill the pool, it would not block this acquisition.
+                    fill().subscribe(null, e -> logger.warn("Prefill connection pool failed", e));
+                }
+            }
+        });
+
+        // A connection is delivered and the acquisition is cancelled at the same time.
+        return acquire.doOnDiscard(PooledConnection.class, connection -> connection.close().subscribe());
+    }
+
+    /**
+     * Fill the pool to the minimum size, connections will be created in parallel.
+     *
+     * @return a {@link Mono} emits the number of connections which have been created.
+     */
+    Mono<Integer> fill() {
+        return Mono.defer(() -> {
+            int size;
+
+            synchronized (this) {
+                if (closed || allocatedSize >= minSize) {
+                    return Mono.just(0);
+                }
+
+                size = minSize - allocatedSize;
+                allocatedSize = minSize;
+            }
+
+            return Flux.range(0, size)
+                .flatMap(ignored -> factory.doOnNext(connection -> {
+                    synchronized (this) {
+                        ++createdCount;
+                        ++acquiredSize;
+                    }
+
+                    recycle(new Entry(connection));
+                }).onErrorResume(e -> {
+                    logger.warn("Create connection failed when filling pool", e);
+                    deallocate();
+                    return Mono.empty();
+                }), size)
+                .count()
+                .map(Long::intValue);
+        });
+    }
+
+    Mono<Void> close() {
+        return Mono.defer(() -> {
+            List<Entry> entries;
+            List<Waiter> waiters;
+
+            synchronized (this) {
+                if (closed) {
+                    return Mono.empty();
+                }
+
+                closed = true;
+                entries = new ArrayList<>(idle);
+                waiters = new ArrayList<>(pending);
+                idle.clear();
+                pending.clear();
+                allocatedSize -= entries.size();
+                idleSize = 0;
+                pendingAcquireSize = 0;
+            }
+
+            evictor.dispose();
+
+            for (Waiter waiter : waiters) {
+                waiter.error(new IllegalStateException("Connection pool has been closed"));
+            }
+
+            // Acquired connections will be closed when they are released.
+            return Flux.fromIterable(entries)
+                .flatMap(entry -> entry.connection.close().onErrorResume(e -> {
+                    logger.warn("Close pooled connection failed", e);
+                    return Mono.empty();
+                }))
+                .then();
+        });
+    }
+
+    /**
+     * Release an acquired connection, it will be reset and returned to the pool.
+     *
+     * @param entry the acquired connection.
+     * @return a {@link Mono} which completes when the connection has been returned or closed.
+     */
+    Mono<Void> release(Entry entry) {
+        if (closed) {
+            return discard(entry);
+        }
+
+        return entry.connection.reset()
+            .then(Mono.<Void>fromRunnable(() -> {
+                synchronized (this) {
+                    ++resetCount;
+                }
+
+                recycle(entry);
+            }))
+            .onErrorResume(e -> {
+                logger.warn("Reset connection failed, close it", e);
+                return discard(entry);
+            });
+    }
+
+    private void allocate(Waiter waiter) {
+        factory.subscribe(connection -> {
+            synchronized (this) {
+                ++createdCount;
+                ++acquiredSize;
+                ++acquireCount;
+            }
+
+            deliver(waiter, new Entry(connection));
+        }, e -> {
+            deallocate();
+
+            if (!waiter.error(e)) {
+                logger.warn("Create connection failed after acquisition completed", e);
+            }
+        });
+    }
+
+    private void deliver(Waiter waiter, Entry entry) {
+        if (!waiter.success(new PooledConnection(this, entry))) {
+            // The acquisition has been cancelled or timed out, the connection is not used.
+            synchronized (this) {
+                --acquireCount;
+            }
+
+            recycle(entry);
+        }
+    }
+
+    /**
+     * Return a clean connection to a pending acquisition or the idle connections.
+     */
+    private void recycle(Entry entry) {
+        Waiter waiter = null;
+        boolean close = false;
+
+        synchronized (this) {
+            --acquiredSize;
+
+            if (closed) {
+                --allocatedSize;
+                close = true;
+            } else if ((waiter = pending.poll()) == null) {
+                entry.idleSince = System.nanoTime();
+                idle.offerFirst(entry);
+                idleSize = idle.size();
+            } else {
+                pendingAcquireSize = pending.size();
+                ++acquiredSize;
+                ++acquireCount;
+            }
+        }
+
+        if (close) {
+            entry.connection.close().subscribe(null, e -> logger.warn("Close pooled connection failed", e));
+        } else if (waiter != null) {
+            deliver(waiter, entry);
+        }
+    }
+
+    private Mono<Void> discard(Entry entry) {
+        synchronized (this) {
+            --acquiredSize;
+            ++evictionCount;
+        }
+
+        return entry.connection.close()
+            .onErrorResume(e -> {
+                logger.warn("Close pooled connection failed", e);
+                return Mono.empty();
+            })
+            .doFinally(ignored -> deallocate());
+    }
+
+    /**
+     * Free an allocation, a pending acquisition can allocate a new connection.
+     */
+    private void deallocate() {
+        Waiter waiter;
+
+        synchronized (this) {
+            --allocatedSize;
+
+            if (closed || allocatedSize >= maxSize || (waiter = pending.poll()) == null) {
+                return;
+            }
+
+            pendingAcquireSize = pending.size();
+            ++allocatedSize;
+        }
+
+        allocate(waiter);
+    }
+
+    private boolean cancel(Waiter waiter) {
+        if (waiter.cancel()) {
+            synchronized (this) {
+                pending.remove(waiter);
+                pendingAcquireSize = pending.size();
+            }
+
+            return true;
+        }
+
+        return false;
+    }
+
+    private void timeout(Waiter waiter) {
+        if (cancel(waiter)) {
+            waiter.sink.error(new R2dbcTimeoutException("Acquire connection timed out after " + acquireTimeout));
+        }
+    }
+
+    private void evict() {
+        List<Entry> evicted = new ArrayList<>();
+
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+
+            long now = System.nanoTime();
+            // Iterate from the least recently released connection.
+            Iterator<Entry> iter = idle.descendingIterator();
+
+            while (iter.hasNext()) {
+                Entry entry = iter.next();
+
+                if (!entry.connection.isConnected() || (allocatedSize > minSize && now - entry.idleSince >= maxIdleNanos)) {
+                    iter.remove();
+                    evicted.add(entry);
+                    --allocatedSize;
+                    ++evictionCount;
+                }
+            }
+
+            idleSize = idle.size();
+        }
+
+        closeAll(evicted);
+        fill().subscribe(null, e -> logger.warn("Refill connection pool failed", e));
+    }
+
+    private static void closeAll(List<Entry> entries) {
+        for (Entry entry : entries) {
+            entry.connection.close().subscribe(null, e -> logger.warn("Close evicted connection failed", e));
+        }
+    }
+
+    static final class Entry {
+
+        final MySqlConnection connection;
+
+        long idleSince;
+
+        private Entry(MySqlConnection connection) {
+            this.connection = connection;
+        }
+    }
+
+    /**
+     * An acquisition, it can be completed only once by a connection, an error or cancellation.
+     */
+    private static final class Waiter {
+
+        private final MonoSink<Connection> sink;
+
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        private Waiter(MonoSink<Connection> sink) {
+            this.sink = sink;
+        }
+
+        boolean success(Connection connection) {
+            if (done.compareAndSet(false, true)) {
+                sink.success(connection);
+                return true;
+            }
+
+            return false;
+        }
+
+        boolean error(Throwable e) {
+            if (done.compareAndSet(false, true)) {
+                sink.error(e);
+                return true;
+            }
+
+            return false;
+        }
+
+        boolean cancel() {
+            return done.compareAndSet(false, true);
+        }
+    }
+}
@@ -58,6 +58,7 @@ final class ExceptionFactory {
             case 1370: // Routine or process access denied
             case 1698: // User need password but has no password
             case 1873: // Change user denied
+            case 3948: // Loading local data is disabled
                 return new R2dbcPermissionDeniedException(errorMessage, sqlState, errorCode);
             case 1159: // Read interrupted, reading basic packet timeout because of network jitter in most cases
             case 1161: // Write interrupted, writing basic packet timeout because of network jitter in most cases
@@ -0,0 +1,267 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.miku.r2dbc.mysql;
+
+import dev.miku.r2dbc.mysql.message.StreamingFieldValue;
+import dev.miku.r2dbc.mysql.message.server.LobChunkMessage;
+import dev.miku.r2dbc.mysql.message.server.RowMessage;
+import dev.miku.r2dbc.mysql.message.server.ServerMessage;
+import io.netty.util.ReferenceCountUtil;
+import io.r2dbc.spi.R2dbcNonTransientResourceException;
+import org.reactivestreams.Subscription;
+import reactor.core.CoreSubscriber;
+import reactor.core.Scannable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxOperator;
+import reactor.core.publisher.Operators;
+import reactor.util.annotation.Nullable;
+import reactor.util.context.Context;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * An operator that routes {@link LobChunkMessage}s to the {@link StreamingFieldValue} of previous
+ * {@link RowMessage}, and requests messages from its source one by one, so the following chunks of a
+ * streaming LOB are requested only by demand of the LOB subscriber, and other messages are requested
+ * only by demand of the downstream.
+ * <p>
+ * The source should be a {@code discardOnCancel} operator, it will drain the messages after cancelled.
+ */
+final class FluxStreamingLob extends FluxOperator<ServerMessage, ServerMessage> {
+
+    FluxStreamingLob(Flux<? extends ServerMessage> source) {
+        super(source);
+    }
+
+    @Override
+    public void subscribe(CoreSubscriber<? super ServerMessage> actual) {
+        this.source.subscribe(new StreamingLobSubscriber(actual));
+    }
+
+    private static final class StreamingLobSubscriber implements CoreSubscriber<ServerMessage>, Scannable, Subscription {
+
+        private static final AtomicIntegerFieldUpdater<StreamingLobSubscriber> WIP =
+            AtomicIntegerFieldUpdater.newUpdater(StreamingLobSubscriber.class, "wip");
+
+        private static final AtomicLongFieldUpdater<StreamingLobSubscriber> REQUESTED =
+            AtomicLongFieldUpdater.newUpdater(StreamingLobSubscriber.class, "requested");
+
+        private static final AtomicLongFieldUpdater<StreamingLobSubscriber> LOB_REQUESTED =
+            AtomicLongFieldUpdater.newUpdater(StreamingLobSubscriber.class, "lobRequested");
+
+        private final CoreSubscriber<? super ServerMessage> actual;
+
+        private final Context ctx;
+
+        private Subscription s;
+
+        private volatile int wip;
+
+        private volatile long requested;
+
+        private volatile long lobRequested;
+
+        /**
+         * A message has been requested from source and it has not been received.
+         */
+        private volatile boolean inflight;
+
+        private volatile boolean done;
+
+        /**
+         * The streaming LOB which is receiving chunks, it would be changed by {@link #onNext} only.
+         */
+        @Nullable
+        private volatile StreamingFieldValue field;
+
+        StreamingLobSubscriber(CoreSubscriber<? super ServerMessage> actual) {
+            this.actual = actual;
+            this.ctx = actual.currentContext();
+        }
+
+        @Override
+        public Context currentContext() {
+            return ctx;
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            if (Operators.validate(this.s, s)) {
+                this.s = s;
+                this.actual.onSubscribe(this);
+            }
+        }
+
+        @Override
+        public void onNext(ServerMessage message) {
+            if (done) {
+                Operators.onDiscard(message, ctx);
+                return;
+            }
+
+            if (message instanceof LobChunkMessage) {
+                LobChunkMessage chunk = (LobChunkMessage) message;
+                StreamingFieldValue field = this.field;
+
+                if (field == null) {
+                    ReferenceCountUtil.safeRelease(chunk);
+                } else {
+                    if (chunk.isLast()) {
+                        this.field = null;
+                    }
+
+                    field.onChunk(chunk.getBuffer(), chunk.isLast());
+                }
+            } else {
+                if (message instanceof RowMessage) {
+                    StreamingFieldValue field = ((RowMessage) message).getStreamingField();
+
+                    if (field != null) {
+                        // Demand of previous LOB should not be used by current LOB.
+                        LOB_REQUESTED.set(this, 0);
+                        this.field = field;
+                        field.bind(n -> requestLob(field, n));
+                    }
+                }
+
+                this.actual.onNext(message);
+            }
+
+            this.inflight = false;
+            drain();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                Operators.onErrorDropped(t, ctx);
+                return;
+            }
+
+            done = true;
+
+            StreamingFieldValue field = this.field;
+
+            if (field != null) {
+                this.field = null;
+                field.onError(t);
+            }
+
+            this.actual.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+
+            done = true;
+
+            StreamingFieldValue field = this.field;
+
+            if (field != null) {
+                this.field = null;
+                field.onError(new R2dbcNonTransientResourceException("Result completed before streaming LOB completed"));
+            }
+
+            this.actual.onComplete();
+        }
+
+        @Override
+        public void request(long n) {
+            if (Operators.validate(n)) {
+                Operators.addCap(REQUESTED, this, n);
+                drain();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            if (done) {
+                return;
+            }
+
+            done = true;
+
+            StreamingFieldValue field = this.field;
+
+            if (field != null) {
+                this.field = null;
+                field.onError(new CancellationException("Result has been cancelled before streaming LOB completed"));
+            }
+
+            this.s.cancel();
+        }
+
+        @Override
+        @SuppressWarnings("rawtypes")
+        public Object scanUnsafe(Attr key) {
+            if (key == Attr.PARENT) {
+                return this.s;
+            } else if (key == Attr.ACTUAL) {
+                return this.actual;
+            } else if (key == Attr.REQUESTED_FROM_DOWNSTREAM) {
+                return this.requested;
+            } else if (key == Attr.TERMINATED || key == Attr.CANCELLED) {
+                return this.done;
+            } else {
+                return null;
+            }
+        }
+
+        private void requestLob(StreamingFieldValue field, long n) {
+            if (n > 0 && this.field == field) {
+                Operators.addCap(LOB_REQUESTED, this, n);
+                drain();
+            }
+        }
+
+        private void drain() {
+            if (WIP.getAndIncrement(this) != 0) {
+                return;
+            }
+
+            int missed = 1;
+
+            do {
+                if (!done && !inflight && produce(field == null ? REQUESTED : LOB_REQUESTED)) {
+                    inflight = true;
+                    s.request(1);
+                }
+
+                missed = WIP.addAndGet(this, -missed);
+            } while (missed != 0);
+        }
+
+        private boolean produce(AtomicLongFieldUpdater<StreamingLobSubscriber> updater) {
+            for (;;) {
+                long r = updater.get(this);
+
+                if (r <= 0) {
+                    return false;
+                }
+
+                if (r == Long.MAX_VALUE || updater.compareAndSet(this, r, r - 1)) {
+                    return true;
+                }
+            }
+        }
+    }
+}
@@ -20,6 +20,7 @@ import dev.miku.r2dbc.mysql.authentication.MySqlAuthProvider;
 import dev.miku.r2dbc.mysql.client.Client;
 import dev.miku.r2dbc.mysql.constant.AuthTypes;
 import dev.miku.r2dbc.mysql.constant.Capabilities;
+import dev.miku.r2dbc.mysql.constant.CompressionAlgorithm;
 import dev.miku.r2dbc.mysql.constant.DataValues;
 import dev.miku.r2dbc.mysql.constant.SqlStates;
 import dev.miku.r2dbc.mysql.constant.SslMode;
@@ -43,6 +44,8 @@ import reactor.core.publisher.EmitterProcessor;
 import reactor.core.publisher.Mono;
 import reactor.util.annotation.Nullable;
 
+import java.nio.charset.StandardCharsets;
+import java.security.PublicKey;
 import java.util.Collections;
 import java.util.Map;
 import java.util.function.Predicate;
@@ -71,8 +74,28 @@ final class LoginFlow {
 
     private final String database;
 
+    private final CompressionAlgorithm compressionAlgorithm;
+
+    private final int zstdCompressionLevel;
+
+    private final RsaPublicKeyCache publicKeys;
+
     private volatile boolean sslCompleted = false;
 
+    /**
+     * The public key has been requested, so next more data of authentication should be the public key.
+     */
+    private volatile boolean publicKeyRequested = false;
+
+    /**
+     * The cached public key which is used by this connection, it should be invalidated if login failed.
+     */
+    @Nullable
+    private volatile PublicKey cachedPublicKey;
+
+    @Nullable
+    private volatile PublicKey publicKey;
+
     private volatile MySqlAuthProvider authProvider;
 
     private volatile String username;
@@ -81,13 +104,19 @@ final class LoginFlow {
 
     private volatile byte[] salt;
 
-    private LoginFlow(Client client, SslMode sslMode, String database, ConnectionContext context, String username, @Nullable CharSequence password) {
+    private LoginFlow(
+        Client client, SslMode sslMode, String database, ConnectionContext context, String username, @Nullable CharSequence password,
+        CompressionAlgorithm compressionAlgorithm, int zstdCompressionLevel, RsaPublicKeyCache publicKeys
+    ) {
         this.client = requireNonNull(client, "client must not be null");
         this.sslMode = requireNonNull(sslMode, "sslMode must not be null");
         this.database = requireNonNull(database, "database must not be null");
         this.context = requireNonNull(context, "context must not be null");
         this.username = requireNonNull(username, "username must not be null");
         this.password = password;
+        this.compressionAlgorithm = requireNonNull(compressionAlgorithm, "compressionAlgorithm must not be null");
+        this.zstdCompressionLevel = zstdCompressionLevel;
+        this.publicKeys = requireNonNull(publicKeys, "publicKeys must not be null");
     }
 
     /**
@@ -130,20 +159,65 @@ final class LoginFlow {
         return authProvider;
     }
 
+    /**
+     * Generate the authorization of current provider, it will be encrypted by the RSA public key of server
+     * or be a request of the public key if the provider requires SSL but the connection is not on SSL.
+     */
+    private byte[] authorization(MySqlAuthProvider authProvider, String phase) {
+        if (!authProvider.isSslNecessary() || sslCompleted) {
+            return authProvider.authentication(password, salt, context.getCollation());
+        }
+
+        byte[] publicKeyRequest = authProvider.publicKeyRequest();
+
+        if (publicKeyRequest != null) {
+            PublicKey key = this.publicKey;
+
+            if (key == null) {
+                key = publicKeys.get();
+
+                if (key != null) {
+                    this.cachedPublicKey = key;
+                }
+            }
+
+            if (key != null) {
+                return authProvider.encryptedAuthentication(password, salt, context.getCollation(), key, context.getServerVersion());
+            }
+
+            if (publicKeys.isRetrievalAllowed()) {
+                this.publicKeyRequested = true;
+                return publicKeyRequest;
+            }
+        }
+
+        throw new R2dbcPermissionDeniedException(String.format("Authentication type '%s' must require SSL or RSA public key of server in %s authentication phase", authProvider.getType(), phase), SqlStates.CLI_SPECIFIC_CONDITION);
+    }
+
+    /**
+     * Handle more data of authentication which is not a succeed flag, it may be the public key which has
+     * been requested, or the flag of performing full authentication.
+     */
+    private void moreAuthData(AuthMoreDataMessage message) {
+        if (publicKeyRequested) {
+            PublicKey key = RsaPublicKeyCache.parse(new String(message.getAuthMethodData(), StandardCharsets.US_ASCII));
+
+            this.publicKeyRequested = false;
+            this.publicKey = key;
+            this.publicKeys.retrieved(key);
+        }
+    }
+
     private Mono<HandshakeResponse> createHandshakeResponse() {
         return Mono.fromSupplier(() -> {
             MySqlAuthProvider authProvider = getAndNextProvider();
 
-            if (authProvider.isSslNecessary() && !sslCompleted) {
-                throw new R2dbcPermissionDeniedException(String.format("Authentication type '%s' must require SSL in fast authentication phase", authProvider.getType()), SqlStates.CLI_SPECIFIC_CONDITION);
-            }
-
             String username = this.username;
             if (username == null) {
                 throw new IllegalStateException("username must not be null when login");
             }
 
-            byte[] authorization = authProvider.authentication(password, salt, context.getCollation());
+            byte[] authorization = authorization(authProvider, "fast");
             String authType = authProvider.getType();
 
             if (AuthTypes.NO_AUTH_PROVIDER.equals(authType)) {
@@ -159,7 +233,8 @@ final class LoginFlow {
                 authorization,
                 authType,
                 database,
-                ATTRIBUTES
+                ATTRIBUTES,
+                zstdCompressionLevel
             );
         });
     }
@@ -168,11 +243,7 @@ final class LoginFlow {
         return Mono.fromSupplier(() -> {
             MySqlAuthProvider authProvider = getAndNextProvider();
 
-            if (authProvider.isSslNecessary() && !sslCompleted) {
-                throw new R2dbcPermissionDeniedException(String.format("Authentication type '%s' must require SSL in full authentication phase", authProvider.getType()), SqlStates.CLI_SPECIFIC_CONDITION);
-            }
-
-            return new FullAuthResponse(authProvider.authentication(password, salt, context.getCollation()));
+            return new FullAuthResponse(authorization(authProvider, "full"));
         });
     }
 
@@ -211,6 +282,14 @@ final class LoginFlow {
             clientCapabilities &= ~Capabilities.CONNECT_ATTRS;
         }
 
+        if (compressionAlgorithm != CompressionAlgorithm.ZLIB && (clientCapabilities & Capabilities.COMPRESS) != 0) {
+            clientCapabilities &= ~Capabilities.COMPRESS;
+        }
+
+        if (compressionAlgorithm != CompressionAlgorithm.ZSTD && (clientCapabilities & Capabilities.Z_STD_COMPRESSION) != 0) {
+            clientCapabilities &= ~Capabilities.Z_STD_COMPRESSION;
+        }
+
         return clientCapabilities;
     }
 
@@ -218,14 +297,20 @@ final class LoginFlow {
      * All authentication data should be remove when connection phase completed or client closed in connection phase.
      */
     private void clearAuthentication() {
+        this.publicKey = null;
+        this.cachedPublicKey = null;
         this.username = null;
         this.password = null;
         this.salt = null;
         this.authProvider = null;
     }
 
-    static Mono<Client> login(Client client, SslMode sslMode, String database, ConnectionContext context, String username, @Nullable CharSequence password) {
-        LoginFlow flow = new LoginFlow(client, sslMode, database, context, username, password);
+    static Mono<Client> login(
+        Client client, SslMode sslMode, String database, ConnectionContext context, String username, @Nullable CharSequence password,
+        CompressionAlgorithm compressionAlgorithm, int zstdCompressionLevel, RsaPublicKeyCache publicKeys
+    ) {
+        LoginFlow flow = new LoginFlow(client, sslMode, database, context, username, password, compressionAlgorithm, zstdCompressionLevel,
+            publicKeys);
         EmitterProcessor<State> stateMachine = EmitterProcessor.create(true);
 
         return stateMachine.startWith(State.INIT)
@@ -247,6 +332,13 @@ final class LoginFlow {
                 flow.client.loginSuccess();
             })
             .doOnError(e -> {
+                PublicKey key = flow.cachedPublicKey;
+
+                if (key != null) {
+                    // The server may have been changed (e.g. failover), request the public key again in next login.
+                    flow.publicKeys.invalidate(key);
+                }
+
                 flow.clearAuthentication();
                 flow.client.forceClose().subscribe();
             })
@@ -319,6 +411,7 @@ final class LoginFlow {
                                 if (logger.isDebugEnabled()) {
                                     logger.debug("Connection (id {}) fast authentication failed, auto-try to use full authentication", flow.context.getConnectionId());
                                 }
+                                flow.moreAuthData((AuthMoreDataMessage) message);
                                 sink.next(FULL_AUTH);
                             }
                             // Otherwise success, wait until OK message or Error message.
@@ -338,7 +431,8 @@ final class LoginFlow {
         FULL_AUTH {
 
             private final Predicate<ServerMessage> fullAuthComplete = message ->
-                message instanceof ErrorMessage || message instanceof OkMessage;
+                message instanceof ErrorMessage || message instanceof OkMessage ||
+                    (message instanceof AuthMoreDataMessage && ((AuthMoreDataMessage) message).getAuthMethodData()[0] != DataValues.AUTH_SUCCEED);
 
             @Override
             Mono<State> handle(LoginFlow flow) {
@@ -349,6 +443,13 @@ final class LoginFlow {
                             sink.error(ExceptionFactory.createException((ErrorMessage) message, null));
                         } else if (message instanceof OkMessage) {
                             sink.next(COMPLETED);
+                        } else if (message instanceof AuthMoreDataMessage) {
+                            if (((AuthMoreDataMessage) message).getAuthMethodData()[0] != DataValues.AUTH_SUCCEED) {
+                                // The requested public key, or full authentication is required after changed authentication.
+                                flow.moreAuthData((AuthMoreDataMessage) message);
+                                sink.next(FULL_AUTH);
+                            }
+                            // Otherwise success, wait until OK message or Error message.
                         } else {
                             sink.error(new IllegalStateException(String.format("Unexpected message type '%s' in full authentication phase", message.getClass().getSimpleName())));
                         }
@@ -20,16 +20,20 @@ import dev.miku.r2dbc.mysql.client.Client;
 import dev.miku.r2dbc.mysql.codec.Codecs;
 import dev.miku.r2dbc.mysql.constant.Capabilities;
 import dev.miku.r2dbc.mysql.constant.ServerStatuses;
+import dev.miku.r2dbc.mysql.message.client.LocalInfileQueryMessage;
 import dev.miku.r2dbc.mysql.message.client.PingMessage;
+import dev.miku.r2dbc.mysql.message.client.ResetConnectionMessage;
 import dev.miku.r2dbc.mysql.message.server.ErrorMessage;
 import dev.miku.r2dbc.mysql.message.server.ServerMessage;
 import dev.miku.r2dbc.mysql.util.ConnectionContext;
 import dev.miku.r2dbc.mysql.message.server.CompleteMessage;
 import dev.miku.r2dbc.mysql.util.ServerVersion;
+import io.netty.buffer.ByteBuf;
 import io.netty.util.ReferenceCountUtil;
 import io.r2dbc.spi.Connection;
 import io.r2dbc.spi.IsolationLevel;
 import io.r2dbc.spi.R2dbcException;
+import io.r2dbc.spi.R2dbcPermissionDeniedException;
 import io.r2dbc.spi.ValidationDepth;
 import org.reactivestreams.Publisher;
 import org.slf4j.Logger;
@@ -38,6 +42,9 @@ import reactor.core.publisher.Mono;
 import reactor.core.publisher.SynchronousSink;
 import reactor.util.annotation.Nullable;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -67,6 +74,11 @@ public final class MySqlConnection implements Connection {
 
     private static final ServerVersion TX_LEVEL_8X = ServerVersion.create(8, 0, 0);
 
+    /**
+     * The lowest version of MySQL server which supports {@code COM_RESET_CONNECTION}.
+     */
+    private static final ServerVersion RESET_CONNECTION_VER = ServerVersion.create(5, 7, 3);
+
     private static final Predicate<ServerMessage> PING_DONE = message ->
         message instanceof ErrorMessage || (message instanceof CompleteMessage && ((CompleteMessage) message).isDone());
 
@@ -74,10 +86,26 @@ public final class MySqlConnection implements Connection {
      * Convert initialize result to {@link InitData}.
      */
     private static final Function<MySqlResult, Publisher<InitData>> INIT_HANDLER =
-        r -> r.map((row, meta) -> new InitData(convertIsolationLevel(row.get(0, String.class)), row.get(1, String.class)));
+        r -> r.map((row, meta) -> new InitData(convertIsolationLevel(row.get(0, String.class)), row.get(1, String.class),
+            null, null));
+
+    /**
+     * Convert initialize result which contains server variables of batched inserts rewriting to {@link InitData}.
+     */
+    private static final Function<MySqlResult, Publisher<InitData>> REWRITE_INIT_HANDLER =
+        r -> r.map((row, meta) -> new InitData(convertIsolationLevel(row.get(0, String.class)), row.get(1, String.class),
+            row.get(2, Long.class), row.get(3, Long.class)));
 
     private static final Consumer<ServerMessage> SAFE_RELEASE = ReferenceCountUtil::safeRelease;
 
+    private static final BiConsumer<ServerMessage, SynchronousSink<Void>> RESET_HANDLER = (message, sink) -> {
+        if (message instanceof ErrorMessage) {
+            sink.error(ExceptionFactory.createException((ErrorMessage) message, null));
+        } else {
+            ReferenceCountUtil.safeRelease(message);
+        }
+    };
+
     private static final BiConsumer<ServerMessage, SynchronousSink<Boolean>> PING_HANDLER = (message, sink) -> {
         if (message instanceof ErrorMessage) {
             ErrorMessage msg = (ErrorMessage) message;
@@ -100,7 +128,41 @@ public final class MySqlConnection implements Connection {
 
     private final MySqlConnectionMetadata metadata;
 
-    private final IsolationLevel sessionLevel;
+    private final QueryCache queryCache;
+
+    private final PrepareCache prepareCache;
+
+    /**
+     * The maximum number of bindings which are executing concurrently for a prepared statement.
+     */
+    private final int executeWindow;
+
+    private final boolean rewriteBatchedInserts;
+
+    /**
+     * The session defaults which are queried after login, they will be recovered after
+     * {@code COM_RESET_CONNECTION}.
+     */
+    private final InitData data;
+
+    /**
+     * Session isolation level, it follows {@literal transaction_isolation} which is reported by session
+     * tracking, e.g. after {@code SET SESSION TRANSACTION ISOLATION LEVEL}.
+     */
+    private volatile IsolationLevel sessionLevel;
+
+    /**
+     * The last {@literal transaction_isolation} reported by session tracking which has been applied to
+     * {@link #sessionLevel}.
+     */
+    @Nullable
+    private volatile String trackedLevel;
+
+    /**
+     * The only directory which files can be loaded by {@link #loadLocalInfile(String, Path)}.
+     */
+    @Nullable
+    private final Path allowLoadLocalInfileInPath;
 
     /**
      * Current isolation level inferred by past statements.
@@ -110,18 +172,37 @@ public final class MySqlConnection implements Connection {
      * <li>In the beginning, it is also {@link #sessionLevel}.</li>
      * <li>After the user calls {@link #setTransactionIsolationLevel(IsolationLevel)}, it will change to the user-specified value.</li>
      * <li>After the end of a transaction (commit or rollback), it will recover to {@link #sessionLevel}.</li>
+     * <li>After the session isolation level is changed and reported by session tracking, it will follow the
+     * {@link #sessionLevel} if it has not been specified by user.</li>
      * </ol>
      */
     private volatile IsolationLevel currentLevel;
 
-    private MySqlConnection(Client client, ConnectionContext context, Codecs codecs, InitData data) {
+    private MySqlConnection(
+        Client client, ConnectionContext context, Codecs codecs, InitData data,
+        QueryCache queryCache, MySqlConnectionConfiguration configuration
+    ) {
+        String tracked = context.getTransactionIsolation();
+        IsolationLevel level = tracked == null ? data.level : convertIsolationLevel(tracked);
+
         this.client = client;
         this.context = context;
-        this.sessionLevel = data.level;
-        this.currentLevel = data.level;
+        this.data = data;
+        this.sessionLevel = level;
+        this.currentLevel = level;
+        this.trackedLevel = tracked;
         this.codecs = codecs;
         this.metadata = new MySqlConnectionMetadata(context.getServerVersion().toString(), data.product);
         this.batchSupported = (context.getCapabilities() & Capabilities.MULTI_STATEMENTS) != 0;
+        this.queryCache = queryCache;
+        this.prepareCache = new PrepareCache(configuration.getPrepareCacheSize(), id -> QueryFlow.close(client, id)
+            .subscribe(null, e -> logger.error("Close prepared statement {} failed", id, e)));
+        // Bindings will be executed one-by-one if requests can not be pipelined.
+        this.executeWindow = configuration.isPipelining() ? configuration.getExecuteWindow() : 1;
+        this.rewriteBatchedInserts = configuration.isRewriteBatchedInserts();
+        this.allowLoadLocalInfileInPath = configuration.getAllowLoadLocalInfileInPath();
+
+        applyData(context, data);
 
         if (this.batchSupported) {
             logger.debug("Batch is supported by server");
@@ -230,14 +311,14 @@ public final class MySqlConnection implements Connection {
     public MySqlStatement createStatement(String sql) {
         requireNonNull(sql, "sql must not be null");
 
-        Query query = Query.parse(sql);
+        Query query = queryCache.get(sql);
 
         if (query.isPrepared()) {
             logger.debug("Create a statement provided by prepare query");
-            return new ParametrizedMySqlStatement(client, codecs, context, query);
+            return new ParametrizedMySqlStatement(client, codecs, context, query, prepareCache, executeWindow, rewriteBatchedInserts);
         } else {
             logger.debug("Create a statement provided by simple query");
-            return new SimpleMySqlStatement(client, codecs, context, sql);
+            return new SimpleMySqlStatement(client, codecs, context, sql, prepareCache);
         }
     }
 
@@ -291,6 +372,7 @@ public final class MySqlConnection implements Connection {
      */
     @Override
     public IsolationLevel getTransactionIsolationLevel() {
+        syncSessionLevel();
         return currentLevel;
     }
 
@@ -338,15 +420,125 @@ public final class MySqlConnection implements Connection {
         return executeVoid(String.format("SET autocommit=%d", autoCommit ? 1 : 0));
     }
 
+    /**
+     * Get statistics of the server-side prepared statement cache of this connection.
+     *
+     * @return the statistics of prepared statement cache.
+     */
+    public CacheStatistics getPrepareCacheStatistics() {
+        return prepareCache;
+    }
+
+    /**
+     * Execute a {@code LOAD DATA LOCAL INFILE} statement, {@code data} will be sent as the content of
+     * the local file when the server requests it, whatever the file name in the statement.
+     * <p>
+     * The data is sent with backpressure, next buffer will be requested only after previous one has been
+     * written, and each buffer will be released after it is written. If {@code data} emits an error, the
+     * connection will be closed so that the server aborts the loading.
+     * <p>
+     * Note: a {@code LOAD DATA LOCAL INFILE} statement which is executed by {@link #createStatement(String)}
+     * will be rejected, it fails with {@link R2dbcPermissionDeniedException}.
+     *
+     * @param sql  the {@code LOAD DATA LOCAL INFILE} statement.
+     * @param data the content of the local file.
+     * @return the number of loaded rows.
+     * @throws IllegalArgumentException if {@code sql} or {@code data} is {@code null}.
+     */
+    public Mono<Long> loadLocalInfile(String sql, Publisher<ByteBuf> data) {
+        requireNonNull(sql, "sql must not be null");
+        requireNonNull(data, "data must not be null");
+
+        return QueryFlow.loadLocalInfile(client, new LocalInfileQueryMessage(sql, data));
+    }
+
+    /**
+     * Execute a {@code LOAD DATA LOCAL INFILE} statement, {@code file} will be sent when the server requests
+     * the local file, whatever the file name in the statement. The file must be in the directory which is
+     * configured by {@code allowLoadLocalInfileInPath}.
+     * <p>
+     * The file will be sent without copying (i.e. {@code FileRegion}) if the connection is neither encrypted
+     * nor compressed.
+     *
+     * @param sql  the {@code LOAD DATA LOCAL INFILE} statement.
+     * @param file the local file.
+     * @return the number of loaded rows, or an error of {@link R2dbcPermissionDeniedException} if the file is
+     * not allowed to be loaded.
+     * @throws IllegalArgumentException if {@code sql} or {@code file} is {@code null}.
+     */
+    public Mono<Long> loadLocalInfile(String sql, Path file) {
+        requireNonNull(sql, "sql must not be null");
+        requireNonNull(file, "file must not be null");
+
+        return Mono.fromCallable(() -> requireAllowedFile(file))
+            .flatMap(allowed -> QueryFlow.loadLocalInfile(client, new LocalInfileQueryMessage(sql, allowed)));
+    }
+
+    /**
+     * Reset session state of this connection, e.g. it is released to a pool.
+     * <p>
+     * It uses {@code COM_RESET_CONNECTION} if the server supports it, otherwise it can only rollback
+     * the active transaction, recover auto-commit and the isolation level of next transaction.
+     *
+     * @return a {@link Mono} which completes when session state has been reset.
+     */
+    Mono<Void> reset() {
+        return Mono.defer(() -> {
+            if (context.getServerVersion().isGreaterThanOrEqualTo(RESET_CONNECTION_VER)) {
+                return client.exchange(ResetConnectionMessage.getInstance(), PING_DONE)
+                    .handle(RESET_HANDLER)
+                    .then()
+                    .doOnSuccess(ignored -> {
+                        // All prepared statements have been deallocated by server, do not close them again.
+                        prepareCache.clear();
+                        // Session variables have been recovered to the defaults by server.
+                        context.setTransactionIsolation(null);
+                        applyData(context, data);
+                        trackedLevel = null;
+                        sessionLevel = data.level;
+                        currentLevel = data.level;
+                    });
+            }
+
+            return rollbackTransaction()
+                .then(Mono.defer(() -> isAutoCommit() ? Mono.empty() : setAutoCommit(true)))
+                .doOnSuccess(ignored -> syncSessionLevel())
+                .then(Mono.defer(() -> currentLevel == sessionLevel ? Mono.empty() : setTransactionIsolationLevel(sessionLevel)));
+        });
+    }
+
     boolean isInTransaction() {
         return (context.getServerStatuses() & ServerStatuses.IN_TRANSACTION) != 0;
     }
 
+    boolean isConnected() {
+        return client.isConnected();
+    }
+
     private Mono<Void> executeVoid(String sql) {
         return QueryFlow.execute(client, sql).doOnNext(SAFE_RELEASE).then();
     }
 
+    private Path requireAllowedFile(Path file) throws IOException {
+        Path allowed = this.allowLoadLocalInfileInPath;
+
+        if (allowed == null) {
+            throw new R2dbcPermissionDeniedException("Loading local file is disabled, see allowLoadLocalInfileInPath");
+        }
+
+        // Resolve symbolic links and relative paths before checking.
+        Path real = file.toRealPath();
+
+        if (!real.startsWith(allowed.toRealPath()) || !Files.isRegularFile(real)) {
+            throw new R2dbcPermissionDeniedException(String.format("File '%s' is not allowed to be loaded, see allowLoadLocalInfileInPath", file));
+        }
+
+        return real;
+    }
+
     private Mono<Void> recoverIsolationLevel(Mono<Void> commitOrRollback) {
+        syncSessionLevel();
+
         if (currentLevel != sessionLevel) {
             // Need recover next transaction isolation level to session isolation level.
             // Succeed or failed by server executing, just recover current isolation level.
@@ -362,15 +554,45 @@ public final class MySqlConnection implements Connection {
     }
 
     /**
-     * @param client  must be logged-in
-     * @param context capabilities must be initialized
+     * Apply the session isolation level which is changed by session tracking, the isolation level of next
+     * transaction follows it if it has not been specified by user.
+     */
+    private void syncSessionLevel() {
+        String tracked = context.getTransactionIsolation();
+
+        if (tracked == null || tracked.equals(trackedLevel)) {
+            return;
+        }
+
+        IsolationLevel level = convertIsolationLevel(tracked);
+
+        trackedLevel = tracked;
+
+        if (currentLevel == sessionLevel) {
+            currentLevel = level;
+        }
+
+        sessionLevel = level;
+    }
+
+    /**
+     * @param client        must be logged-in
+     * @param context       capabilities must be initialized
+     * @param queryCache    the parsed query cache which is shared by connections of a factory
+     * @param configuration the configuration of the connection
      */
-    static Mono<MySqlConnection> create(Client client, ConnectionContext context) {
+    static Mono<MySqlConnection> create(
+        Client client, ConnectionContext context, QueryCache queryCache,
+        MySqlConnectionConfiguration configuration
+    ) {
         requireNonNull(client, "client must not be null");
         requireNonNull(context, "context must not be null");
+        requireNonNull(queryCache, "queryCache must not be null");
+        requireNonNull(configuration, "configuration must not be null");
 
         Codecs codecs = Codecs.getInstance();
         ServerVersion version = context.getServerVersion();
+        boolean rewrite = configuration.isRewriteBatchedInserts();
         String query;
 
         // Maybe create a InitFlow for data initialization after login?
@@ -380,11 +602,27 @@ public final class MySqlConnection implements Connection {
             query = "SELECT @@tx_isolation AS i, @@version_comment AS v";
         }
 
-        return new SimpleMySqlStatement(client, codecs, context, query)
-            .execute()
-            .flatMap(INIT_HANDLER)
+        if (rewrite) {
+            // Rewritten rows are split by max_allowed_packet, and their insert IDs are derived by auto_increment_increment.
+            query += ", @@max_allowed_packet AS p, @@auto_increment_increment AS a";
+        }
+
+        return QueryFlow.execute(client, query)
+            .windowUntil(QueryFlow.RESULT_DONE)
+            .map(messages -> new MySqlResult(false, codecs, context, null, messages))
+            .flatMap(rewrite ? REWRITE_INIT_HANDLER : INIT_HANDLER)
             .last()
-            .map(data -> new MySqlConnection(client, context, codecs, data));
+            .map(data -> new MySqlConnection(client, context, codecs, data, queryCache, configuration));
+    }
+
+    private static void applyData(ConnectionContext context, InitData data) {
+        if (data.maxAllowedPacket != null) {
+            context.setMaxAllowedPacket(data.maxAllowedPacket);
+        }
+
+        if (data.autoIncrementIncrement != null) {
+            context.setAutoIncrementIncrement(data.autoIncrementIncrement);
+        }
     }
 
     private static IsolationLevel convertIsolationLevel(@Nullable String name) {
@@ -415,9 +653,17 @@ public final class MySqlConnection implements Connection {
         @Nullable
         private final String product;
 
-        private InitData(IsolationLevel level, @Nullable String product) {
+        @Nullable
+        private final Long maxAllowedPacket;
+
+        @Nullable
+        private final Long autoIncrementIncrement;
+
+        private InitData(IsolationLevel level, @Nullable String product, @Nullable Long maxAllowedPacket, @Nullable Long autoIncrementIncrement) {
             this.level = level;
             this.product = product;
+            this.maxAllowedPacket = maxAllowedPacket;
+            this.autoIncrementIncrement = autoIncrementIncrement;
         }
     }
 }
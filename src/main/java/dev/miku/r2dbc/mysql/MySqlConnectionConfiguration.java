@@ -16,10 +16,13 @@
 
 package dev.miku.r2dbc.mysql;
 
+import dev.miku.r2dbc.mysql.constant.CompressionAlgorithm;
 import dev.miku.r2dbc.mysql.constant.SslMode;
 import dev.miku.r2dbc.mysql.constant.ZeroDateOption;
 import reactor.util.annotation.Nullable;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.Duration;
 import java.util.Objects;
 
@@ -37,6 +40,61 @@ public final class MySqlConnectionConfiguration {
      */
     private static final int DEFAULT_PORT = 3306;
 
+    /**
+     * Default capacity of server-side prepared statement cache for each connection.
+     */
+    private static final int DEFAULT_PREPARE_CACHE_SIZE = 256;
+
+    /**
+     * Default capacity of parsed query cache for each connection factory.
+     */
+    private static final int DEFAULT_QUERY_CACHE_SIZE = 256;
+
+    /**
+     * Default maximum number of bindings which are executing concurrently when pipelining is enabled.
+     */
+    private static final int DEFAULT_EXECUTE_WINDOW = 32;
+
+    /**
+     * Maximum of execute window, queued requests of a connection should not exceed the request queue.
+     */
+    private static final int MAX_EXECUTE_WINDOW = 128;
+
+    /**
+     * Default number of buffered server messages which makes the connection stop reading from the socket.
+     */
+    private static final int DEFAULT_INBOUND_HIGH_WATERMARK = 256;
+
+    /**
+     * Default number of buffered server messages which makes the connection resume reading from the socket.
+     */
+    private static final int DEFAULT_INBOUND_LOW_WATERMARK = 64;
+
+    /**
+     * Default minimum byte size of compressed packets, smaller packets will be sent uncompressed.
+     */
+    private static final int DEFAULT_COMPRESSION_MIN_SIZE = 50;
+
+    /**
+     * Default compression level of Zstandard, it is same as the default level of MySQL.
+     */
+    private static final int DEFAULT_ZSTD_COMPRESSION_LEVEL = 3;
+
+    private static final int MIN_ZSTD_COMPRESSION_LEVEL = 1;
+
+    private static final int MAX_ZSTD_COMPRESSION_LEVEL = 22;
+
+    /**
+     * The class name of Zstandard implementation, it is an optional dependency.
+     */
+    private static final String ZSTD_CLASS_NAME = "com.github.luben.zstd.Zstd";
+
+    private static final int DEFAULT_POOL_MIN_SIZE = 0;
+
+    private static final int DEFAULT_POOL_MAX_SIZE = 10;
+
+    private static final Duration DEFAULT_POOL_MAX_IDLE_TIME = Duration.ofMinutes(30);
+
     /**
      * {@code true} if {@link #domain} is hostname, otherwise {@link #domain} is unix domain socket path.
      */
@@ -63,10 +121,57 @@ public final class MySqlConnectionConfiguration {
 
     private final String database;
 
+    private final int prepareCacheSize;
+
+    private final int queryCacheSize;
+
+    private final boolean pipelining;
+
+    private final int executeWindow;
+
+    private final boolean rewriteBatchedInserts;
+
+    private final int inboundHighWatermark;
+
+    private final int inboundLowWatermark;
+
+    private final CompressionAlgorithm compressionAlgorithm;
+
+    private final int compressionMinSize;
+
+    private final int zstdCompressionLevel;
+
+    private final boolean pooled;
+
+    private final int poolMinSize;
+
+    private final int poolMaxSize;
+
+    private final Duration poolMaxIdleTime;
+
+    @Nullable
+    private final Duration poolAcquireTimeout;
+
+    private final boolean lobStreaming;
+
+    @Nullable
+    private final Path allowLoadLocalInfileInPath;
+
+    @Nullable
+    private final Path serverRsaPublicKeyFile;
+
+    private final boolean allowPublicKeyRetrieval;
+
     private MySqlConnectionConfiguration(
         boolean isHost, String domain, int port, @Nullable MySqlSslConfiguration ssl,
         @Nullable Duration connectTimeout, ZeroDateOption zeroDateOption,
-        String username, @Nullable CharSequence password, @Nullable String database
+        String username, @Nullable CharSequence password, @Nullable String database,
+        int prepareCacheSize, int queryCacheSize, boolean pipelining, int executeWindow, boolean rewriteBatchedInserts,
+        int inboundHighWatermark, int inboundLowWatermark, CompressionAlgorithm compressionAlgorithm, int compressionMinSize,
+        int zstdCompressionLevel, boolean pooled, int poolMinSize, int poolMaxSize, Duration poolMaxIdleTime,
+        @Nullable Duration poolAcquireTimeout,
+        boolean lobStreaming, @Nullable Path allowLoadLocalInfileInPath, @Nullable Path serverRsaPublicKeyFile,
+        boolean allowPublicKeyRetrieval
     ) {
         this.isHost = isHost;
         this.domain = domain;
@@ -77,6 +182,25 @@ public final class MySqlConnectionConfiguration {
         this.username = requireNonNull(username, "username must not be null");
         this.password = password;
         this.database = database == null || database.isEmpty() ? "" : database;
+        this.prepareCacheSize = prepareCacheSize;
+        this.queryCacheSize = queryCacheSize;
+        this.pipelining = pipelining;
+        this.executeWindow = executeWindow;
+        this.rewriteBatchedInserts = rewriteBatchedInserts;
+        this.inboundHighWatermark = inboundHighWatermark;
+        this.inboundLowWatermark = inboundLowWatermark;
+        this.compressionAlgorithm = requireNonNull(compressionAlgorithm, "compressionAlgorithm must not be null");
+        this.compressionMinSize = compressionMinSize;
+        this.zstdCompressionLevel = zstdCompressionLevel;
+        this.pooled = pooled;
+        this.poolMinSize = poolMinSize;
+        this.poolMaxSize = poolMaxSize;
+        this.poolMaxIdleTime = poolMaxIdleTime;
+        this.poolAcquireTimeout = poolAcquireTimeout;
+        this.lobStreaming = lobStreaming;
+        this.allowLoadLocalInfileInPath = allowLoadLocalInfileInPath;
+        this.serverRsaPublicKeyFile = serverRsaPublicKeyFile;
+        this.allowPublicKeyRetrieval = allowPublicKeyRetrieval;
     }
 
     public static Builder builder() {
@@ -121,6 +245,85 @@ public final class MySqlConnectionConfiguration {
         return database;
     }
 
+    int getPrepareCacheSize() {
+        return prepareCacheSize;
+    }
+
+    int getQueryCacheSize() {
+        return queryCacheSize;
+    }
+
+    boolean isPipelining() {
+        return pipelining;
+    }
+
+    int getExecuteWindow() {
+        return executeWindow;
+    }
+
+    boolean isRewriteBatchedInserts() {
+        return rewriteBatchedInserts;
+    }
+
+    int getInboundHighWatermark() {
+        return inboundHighWatermark;
+    }
+
+    int getInboundLowWatermark() {
+        return inboundLowWatermark;
+    }
+
+    CompressionAlgorithm getCompressionAlgorithm() {
+        return compressionAlgorithm;
+    }
+
+    int getCompressionMinSize() {
+        return compressionMinSize;
+    }
+
+    int getZstdCompressionLevel() {
+        return zstdCompressionLevel;
+    }
+
+    boolean isPooled() {
+        return pooled;
+    }
+
+    int getPoolMinSize() {
+        return poolMinSize;
+    }
+
+    int getPoolMaxSize() {
+        return poolMaxSize;
+    }
+
+    Duration getPoolMaxIdleTime() {
+        return poolMaxIdleTime;
+    }
+
+    @Nullable
+    Duration getPoolAcquireTimeout() {
+        return poolAcquireTimeout;
+    }
+
+    boolean isLobStreaming() {
+        return lobStreaming;
+    }
+
+    @Nullable
+    Path getAllowLoadLocalInfileInPath() {
+        return allowLoadLocalInfileInPath;
+    }
+
+    @Nullable
+    Path getServerRsaPublicKeyFile() {
+        return serverRsaPublicKeyFile;
+    }
+
+    boolean isAllowPublicKeyRetrieval() {
+        return allowPublicKeyRetrieval;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -138,22 +341,41 @@ public final class MySqlConnectionConfiguration {
             zeroDateOption == that.zeroDateOption &&
             username.equals(that.username) &&
             Objects.equals(password, that.password) &&
-            database.equals(that.database);
+            database.equals(that.database) &&
+            prepareCacheSize == that.prepareCacheSize &&
+            queryCacheSize == that.queryCacheSize &&
+            pipelining == that.pipelining &&
+            executeWindow == that.executeWindow &&
+            rewriteBatchedInserts == that.rewriteBatchedInserts &&
+            inboundHighWatermark == that.inboundHighWatermark &&
+            inboundLowWatermark == that.inboundLowWatermark &&
+            compressionAlgorithm == that.compressionAlgorithm &&
+            compressionMinSize == that.compressionMinSize &&
+            zstdCompressionLevel == that.zstdCompressionLevel &&
+            pooled == that.pooled &&
+            poolMinSize == that.poolMinSize &&
+            poolMaxSize == that.poolMaxSize &&
+            Objects.equals(poolMaxIdleTime, that.poolMaxIdleTime) &&
+            Objects.equals(poolAcquireTimeout, that.poolAcquireTimeout) &&
+            lobStreaming == that.lobStreaming &&
+            Objects.equals(allowLoadLocalInfileInPath, that.allowLoadLocalInfileInPath) &&
+            Objects.equals(serverRsaPublicKeyFile, that.serverRsaPublicKeyFile) &&
+            allowPublicKeyRetrieval == that.allowPublicKeyRetrieval;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(isHost, domain, port, ssl, connectTimeout, zeroDateOption, username, password, database);
+        return Objects.hash(isHost, domain, port, ssl, connectTimeout, zeroDateOption, username, password, database, prepareCacheSize, queryCacheSize, pipelining, executeWindow, rewriteBatchedInserts, inboundHighWatermark, inboundLowWatermark, compressionAlgorithm, compressionMinSize, zstdCompressionLevel, pooled, poolMinSize, poolMaxSize, poolMaxIdleTime, poolAcquireTimeout, lobStreaming, allowLoadLocalInfileInPath, serverRsaPublicKeyFile, allowPublicKeyRetrieval);
     }
 
     @Override
     public String toString() {
         if (isHost) {
-            return String.format("MySqlConnectionConfiguration{host=%s, port=%d, ssl=%s, connectTimeout=%s, zeroDateOption=%s, username='%s', password=REDACTED, database='%s'}",
-                domain, port, ssl, connectTimeout, zeroDateOption, username, database);
+            return String.format("MySqlConnectionConfiguration{host=%s, port=%d, ssl=%s, connectTimeout=%s, zeroDateOption=%s, username='%s', password=REDACTED, database='%s', prepareCacheSize=%d, queryCacheSize=%d, pipelining=%s, executeWindow=%d, rewriteBatchedInserts=%s, inboundHighWatermark=%d, inboundLowWatermark=%d, compressionAlgorithm=%s, compressionMinSize=%d, zstdCompressionLevel=%d, pooled=%s, poolMinSize=%d, poolMaxSize=%d, poolMaxIdleTime=%s, poolAcquireTimeout=%s, lobStreaming=%s, allowLoadLocalInfileInPath=%s, serverRsaPublicKeyFile=%s, allowPublicKeyRetrieval=%s}",
+                domain, port, ssl, connectTimeout, zeroDateOption, username, database, prepareCacheSize, queryCacheSize, pipelining, executeWindow, rewriteBatchedInserts, inboundHighWatermark, inboundLowWatermark, compressionAlgorithm, compressionMinSize, zstdCompressionLevel, pooled, poolMinSize, poolMaxSize, poolMaxIdleTime, poolAcquireTimeout, lobStreaming, allowLoadLocalInfileInPath, serverRsaPublicKeyFile, allowPublicKeyRetrieval);
         } else {
-            return String.format("MySqlConnectionConfiguration{unixSocket=%s, connectTimeout=%s, zeroDateOption=%s, username='%s', password=REDACTED, database='%s'}",
-                domain, connectTimeout, zeroDateOption, username, database);
+            return String.format("MySqlConnectionConfiguration{unixSocket=%s, connectTimeout=%s, zeroDateOption=%s, username='%s', password=REDACTED, database='%s', prepareCacheSize=%d, queryCacheSize=%d, pipelining=%s, executeWindow=%d, rewriteBatchedInserts=%s, inboundHighWatermark=%d, inboundLowWatermark=%d, compressionAlgorithm=%s, compressionMinSize=%d, zstdCompressionLevel=%d, pooled=%s, poolMinSize=%d, poolMaxSize=%d, poolMaxIdleTime=%s, poolAcquireTimeout=%s, lobStreaming=%s, allowLoadLocalInfileInPath=%s, serverRsaPublicKeyFile=%s, allowPublicKeyRetrieval=%s}",
+                domain, connectTimeout, zeroDateOption, username, database, prepareCacheSize, queryCacheSize, pipelining, executeWindow, rewriteBatchedInserts, inboundHighWatermark, inboundLowWatermark, compressionAlgorithm, compressionMinSize, zstdCompressionLevel, pooled, poolMinSize, poolMaxSize, poolMaxIdleTime, poolAcquireTimeout, lobStreaming, allowLoadLocalInfileInPath, serverRsaPublicKeyFile, allowPublicKeyRetrieval);
         }
     }
 
@@ -195,6 +417,49 @@ public final class MySqlConnectionConfiguration {
         @Nullable
         private String sslCert;
 
+        private boolean preferOpenSsl;
+
+        private int prepareCacheSize = DEFAULT_PREPARE_CACHE_SIZE;
+
+        private int queryCacheSize = DEFAULT_QUERY_CACHE_SIZE;
+
+        private boolean pipelining;
+
+        private int executeWindow = DEFAULT_EXECUTE_WINDOW;
+
+        private boolean rewriteBatchedInserts;
+
+        private int inboundHighWatermark = DEFAULT_INBOUND_HIGH_WATERMARK;
+
+        private int inboundLowWatermark = DEFAULT_INBOUND_LOW_WATERMARK;
+
+        private CompressionAlgorithm compressionAlgorithm = CompressionAlgorithm.UNCOMPRESSED;
+
+        private int compressionMinSize = DEFAULT_COMPRESSION_MIN_SIZE;
+
+        private int zstdCompressionLevel = DEFAULT_ZSTD_COMPRESSION_LEVEL;
+
+        private boolean pooled;
+
+        private int poolMinSize = DEFAULT_POOL_MIN_SIZE;
+
+        private int poolMaxSize = DEFAULT_POOL_MAX_SIZE;
+
+        private Duration poolMaxIdleTime = DEFAULT_POOL_MAX_IDLE_TIME;
+
+        @Nullable
+        private Duration poolAcquireTimeout;
+
+        private boolean lobStreaming;
+
+        @Nullable
+        private Path allowLoadLocalInfileInPath;
+
+        @Nullable
+        private Path serverRsaPublicKeyFile;
+
+        private boolean allowPublicKeyRetrieval;
+
         private Builder() {
         }
 
@@ -209,8 +474,14 @@ public final class MySqlConnectionConfiguration {
                 require(!sslMode.startSsl(), "sslMode must be disabled when using unix domain socket");
             }
 
-            MySqlSslConfiguration ssl = MySqlSslConfiguration.create(sslMode, tlsVersion, sslCa, sslKey, sslKeyPassword, sslCert);
-            return new MySqlConnectionConfiguration(isHost, domain, port, ssl, connectTimeout, zeroDateOption, username, password, database);
+            require(inboundLowWatermark < inboundHighWatermark, "inboundLowWatermark must be less than inboundHighWatermark");
+            require(compressionAlgorithm != CompressionAlgorithm.ZSTD || isPresent(ZSTD_CLASS_NAME),
+                "compressionAlgorithm ZSTD requires com.github.luben:zstd-jni in the classpath");
+            require(poolMinSize <= poolMaxSize, "poolMinSize must not be greater than poolMaxSize");
+
+            MySqlSslConfiguration ssl = MySqlSslConfiguration.create(sslMode, tlsVersion, sslCa, sslKey, sslKeyPassword, sslCert, preferOpenSsl);
+            return new MySqlConnectionConfiguration(isHost, domain, port, ssl, connectTimeout, zeroDateOption, username, password, database,
+                prepareCacheSize, queryCacheSize, pipelining, executeWindow, rewriteBatchedInserts, inboundHighWatermark, inboundLowWatermark, compressionAlgorithm, compressionMinSize, zstdCompressionLevel, pooled, poolMinSize, poolMaxSize, poolMaxIdleTime, poolAcquireTimeout, lobStreaming, allowLoadLocalInfileInPath, serverRsaPublicKeyFile, allowPublicKeyRetrieval);
         }
 
         public Builder database(@Nullable String database) {
@@ -295,6 +566,185 @@ public final class MySqlConnectionConfiguration {
             return this;
         }
 
+        /**
+         * Use the OpenSSL engine of Netty for SSL/TLS if {@literal io.netty:netty-tcnative} (or its BoringSSL
+         * flavor) is in the classpath, otherwise it falls back to the JDK engine automatically. OpenSSL has much
+         * better throughput of AES-GCM and cheaper handshakes, but client-side sessions will not be resumed.
+         *
+         * @param preferOpenSsl if prefer OpenSSL engine.
+         * @return this {@link Builder}.
+         */
+        public Builder preferOpenSsl(boolean preferOpenSsl) {
+            this.preferOpenSsl = preferOpenSsl;
+            return this;
+        }
+
+        public Builder prepareCacheSize(int prepareCacheSize) {
+            require(prepareCacheSize >= 0, "prepareCacheSize must not be a negative integer");
+
+            this.prepareCacheSize = prepareCacheSize;
+            return this;
+        }
+
+        public Builder queryCacheSize(int queryCacheSize) {
+            require(queryCacheSize >= 0, "queryCacheSize must not be a negative integer");
+
+            this.queryCacheSize = queryCacheSize;
+            return this;
+        }
+
+        public Builder pipelining(boolean pipelining) {
+            this.pipelining = pipelining;
+            return this;
+        }
+
+        public Builder executeWindow(int executeWindow) {
+            require(executeWindow > 0 && executeWindow <= MAX_EXECUTE_WINDOW, "executeWindow must be between 1 and " + MAX_EXECUTE_WINDOW);
+
+            this.executeWindow = executeWindow;
+            return this;
+        }
+
+        public Builder rewriteBatchedInserts(boolean rewriteBatchedInserts) {
+            this.rewriteBatchedInserts = rewriteBatchedInserts;
+            return this;
+        }
+
+        public Builder inboundHighWatermark(int inboundHighWatermark) {
+            require(inboundHighWatermark > 1, "inboundHighWatermark must be greater than 1");
+
+            this.inboundHighWatermark = inboundHighWatermark;
+            return this;
+        }
+
+        public Builder inboundLowWatermark(int inboundLowWatermark) {
+            require(inboundLowWatermark > 0, "inboundLowWatermark must be greater than 0");
+
+            this.inboundLowWatermark = inboundLowWatermark;
+            return this;
+        }
+
+        public Builder compressionAlgorithm(CompressionAlgorithm compressionAlgorithm) {
+            this.compressionAlgorithm = requireNonNull(compressionAlgorithm, "compressionAlgorithm must not be null");
+            return this;
+        }
+
+        public Builder compressionMinSize(int compressionMinSize) {
+            require(compressionMinSize >= 0, "compressionMinSize must not be a negative integer");
+
+            this.compressionMinSize = compressionMinSize;
+            return this;
+        }
+
+        public Builder zstdCompressionLevel(int zstdCompressionLevel) {
+            require(zstdCompressionLevel >= MIN_ZSTD_COMPRESSION_LEVEL && zstdCompressionLevel <= MAX_ZSTD_COMPRESSION_LEVEL,
+                "zstdCompressionLevel must be between " + MIN_ZSTD_COMPRESSION_LEVEL + " and " + MAX_ZSTD_COMPRESSION_LEVEL);
+
+            this.zstdCompressionLevel = zstdCompressionLevel;
+            return this;
+        }
+
+        public Builder pooled(boolean pooled) {
+            this.pooled = pooled;
+            return this;
+        }
+
+        public Builder poolMinSize(int poolMinSize) {
+            require(poolMinSize >= 0, "poolMinSize must not be a negative integer");
+
+            this.poolMinSize = poolMinSize;
+            return this;
+        }
+
+        public Builder poolMaxSize(int poolMaxSize) {
+            require(poolMaxSize > 0, "poolMaxSize must be a positive integer");
+
+            this.poolMaxSize = poolMaxSize;
+            return this;
+        }
+
+        public Builder poolMaxIdleTime(Duration poolMaxIdleTime) {
+            requireNonNull(poolMaxIdleTime, "poolMaxIdleTime must not be null");
+            require(!poolMaxIdleTime.isNegative() && !poolMaxIdleTime.isZero(), "poolMaxIdleTime must be positive");
+
+            this.poolMaxIdleTime = poolMaxIdleTime;
+            return this;
+        }
+
+        public Builder poolAcquireTimeout(@Nullable Duration poolAcquireTimeout) {
+            require(poolAcquireTimeout == null || !poolAcquireTimeout.isNegative(), "poolAcquireTimeout must not be negative");
+
+            this.poolAcquireTimeout = poolAcquireTimeout;
+            return this;
+        }
+
+        /**
+         * Stream large {@code BLOB} and {@code TEXT} values while they are being received. It takes effect when a
+         * row is larger than a single envelope (16MB) and its last column is a {@code BLOB} or {@code TEXT}, the
+         * value of that column should be read as {@link io.r2dbc.spi.Blob} or {@link io.r2dbc.spi.Clob}, and
+         * its stream must be consumed or discarded before next row.
+         *
+         * @param lobStreaming if enable streaming LOB decode.
+         * @return this {@link Builder}.
+         */
+        public Builder lobStreaming(boolean lobStreaming) {
+            this.lobStreaming = lobStreaming;
+            return this;
+        }
+
+        /**
+         * Allow {@code LOAD DATA LOCAL INFILE} to send files which are in the directory {@code path} by
+         * {@link MySqlConnection#loadLocalInfile(String, java.nio.file.Path)}. Files in other directories will be
+         * rejected, default is {@code null} which means no file can be sent.
+         * <p>
+         * Note: it does not restrict {@link MySqlConnection#loadLocalInfile(String, org.reactivestreams.Publisher)},
+         * which sends data provided by the caller.
+         *
+         * @param path the directory which files can be sent, or {@code null} to reject all files.
+         * @return this {@link Builder}.
+         */
+        public Builder allowLoadLocalInfileInPath(@Nullable String path) {
+            this.allowLoadLocalInfileInPath = path == null || path.isEmpty() ? null : Paths.get(path);
+            return this;
+        }
+
+        /**
+         * Use the RSA public key of server in a {@code PEM} file to encrypt the password for authentication types
+         * {@code sha256_password} and {@code caching_sha2_password} when the connection is not on SSL. It saves a
+         * round trip of requesting the public key from server, and it is safe from man-in-the-middle attacks.
+         *
+         * @param file the {@code PEM} file of the RSA public key of server, or {@code null} if it is unknown.
+         * @return this {@link Builder}.
+         */
+        public Builder serverRsaPublicKeyFile(@Nullable String file) {
+            this.serverRsaPublicKeyFile = file == null || file.isEmpty() ? null : Paths.get(file);
+            return this;
+        }
+
+        /**
+         * Allow to request the RSA public key from server if it is not configured by {@link #serverRsaPublicKeyFile},
+         * for authentication types {@code sha256_password} and {@code caching_sha2_password} without SSL. The key
+         * will be cached and shared by all connections of the same factory.
+         * <p>
+         * Note: it is vulnerable to man-in-the-middle attacks, because the public key is not verified.
+         *
+         * @param allowPublicKeyRetrieval if allow to request the public key from server.
+         * @return this {@link Builder}.
+         */
+        public Builder allowPublicKeyRetrieval(boolean allowPublicKeyRetrieval) {
+            this.allowPublicKeyRetrieval = allowPublicKeyRetrieval;
+            return this;
+        }
+
+        private static boolean isPresent(String className) {
+            try {
+                Class.forName(className, false, Builder.class.getClassLoader());
+                return true;
+            } catch (ClassNotFoundException | LinkageError e) {
+                return false;
+            }
+        }
+
         private SslMode requireSslMode() {
             SslMode sslMode = this.sslMode;
 
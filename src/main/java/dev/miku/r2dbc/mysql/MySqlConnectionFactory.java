@@ -17,6 +17,8 @@
 package dev.miku.r2dbc.mysql;
 
 import dev.miku.r2dbc.mysql.client.Client;
+import dev.miku.r2dbc.mysql.client.SslContextCache;
+import dev.miku.r2dbc.mysql.constant.CompressionAlgorithm;
 import dev.miku.r2dbc.mysql.constant.SslMode;
 import dev.miku.r2dbc.mysql.util.ConnectionContext;
 import io.netty.channel.unix.DomainSocketAddress;
@@ -36,8 +38,14 @@ public final class MySqlConnectionFactory implements ConnectionFactory {
 
     private final Mono<MySqlConnection> client;
 
-    private MySqlConnectionFactory(Mono<MySqlConnection> client) {
+    private final QueryCache queryCache;
+
+    private final SslContextCache sslContexts;
+
+    private MySqlConnectionFactory(Mono<MySqlConnection> client, QueryCache queryCache, SslContextCache sslContexts) {
         this.client = client;
+        this.queryCache = queryCache;
+        this.sslContexts = sslContexts;
     }
 
     @Override
@@ -50,18 +58,39 @@ public final class MySqlConnectionFactory implements ConnectionFactory {
         return MySqlConnectionFactoryMetadata.INSTANCE;
     }
 
+    /**
+     * Get statistics of the parsed query cache which is shared by all connections of this factory.
+     *
+     * @return the statistics of parsed query cache.
+     */
+    public CacheStatistics getQueryCacheStatistics() {
+        return queryCache;
+    }
+
+    /**
+     * Get statistics of SSL handshakes of all connections which are created by this factory.
+     *
+     * @return the statistics of SSL handshakes.
+     */
+    public SslStatistics getSslStatistics() {
+        return sslContexts;
+    }
+
     public static MySqlConnectionFactory from(MySqlConnectionConfiguration configuration) {
         requireNonNull(configuration, "configuration must not be null");
 
+        QueryCache queryCache = new QueryCache(configuration.getQueryCacheSize());
+        // SSL contexts and client-side session caches are shared by all connections of this factory.
+        SslContextCache sslContexts = new SslContextCache(configuration.isHost() ? configuration.getSsl() : MySqlSslConfiguration.disabled());
+        RsaPublicKeyCache publicKeys = new RsaPublicKeyCache(configuration.getServerRsaPublicKeyFile(), configuration.isAllowPublicKeyRetrieval());
+
         return new MySqlConnectionFactory(Mono.defer(() -> {
-            MySqlSslConfiguration ssl;
+            MySqlSslConfiguration ssl = sslContexts.getConfiguration();
             SocketAddress address;
 
             if (configuration.isHost()) {
-                ssl = configuration.getSsl();
                 address = InetSocketAddress.createUnresolved(configuration.getDomain(), configuration.getPort());
             } else {
-                ssl = MySqlSslConfiguration.disabled();
                 address = new DomainSocketAddress(configuration.getDomain());
             }
 
@@ -69,11 +98,16 @@ public final class MySqlConnectionFactory implements ConnectionFactory {
             String username = configuration.getUsername();
             CharSequence password = configuration.getPassword();
             SslMode sslMode = ssl.getSslMode();
-            ConnectionContext context = new ConnectionContext(configuration.getZeroDateOption());
+            CompressionAlgorithm compressionAlgorithm = configuration.getCompressionAlgorithm();
+            int zstdCompressionLevel = configuration.getZstdCompressionLevel();
+            ConnectionContext context = new ConnectionContext(configuration.getZeroDateOption(), configuration.isLobStreaming());
 
-            return Client.connect(address, ssl, context, configuration.getConnectTimeout())
-                .flatMap(client -> LoginFlow.login(client, sslMode, database, context, username, password))
-                .flatMap(client -> MySqlConnection.create(client, context));
-        }));
+            return Client.connect(address, sslContexts, context, configuration.getConnectTimeout(), configuration.isPipelining(),
+                configuration.getInboundHighWatermark(), configuration.getInboundLowWatermark(), configuration.getCompressionMinSize(),
+                zstdCompressionLevel)
+                .flatMap(client -> LoginFlow.login(client, sslMode, database, context, username, password, compressionAlgorithm,
+                    zstdCompressionLevel, publicKeys))
+                .flatMap(client -> MySqlConnection.create(client, context, queryCache, configuration));
+        }), queryCache, sslContexts);
     }
 }
@@ -16,6 +16,7 @@
 
 package dev.miku.r2dbc.mysql;
 
+import dev.miku.r2dbc.mysql.constant.CompressionAlgorithm;
 import dev.miku.r2dbc.mysql.constant.SslMode;
 import dev.miku.r2dbc.mysql.constant.ZeroDateOption;
 import io.r2dbc.spi.ConnectionFactory;
@@ -23,6 +24,8 @@ import io.r2dbc.spi.ConnectionFactoryOptions;
 import io.r2dbc.spi.ConnectionFactoryProvider;
 import io.r2dbc.spi.Option;
 
+import java.time.Duration;
+
 import static dev.miku.r2dbc.mysql.util.AssertUtils.require;
 import static dev.miku.r2dbc.mysql.util.AssertUtils.requireNonNull;
 import static io.r2dbc.spi.ConnectionFactoryOptions.CONNECT_TIMEOUT;
@@ -60,6 +63,124 @@ public final class MySqlConnectionFactoryProvider implements ConnectionFactoryPr
 
     public static final Option<String> SSL_CERT = Option.valueOf("sslCert");
 
+    /**
+     * Use OpenSSL engine if {@literal io.netty:netty-tcnative} is in the classpath, otherwise fall back to the
+     * JDK engine, it can be a {@link Boolean} or a {@link String} which is parsed from URL.
+     */
+    public static final Option<Boolean> PREFER_OPEN_SSL = Option.valueOf("preferOpenSsl");
+
+    /**
+     * The capacity of server-side prepared statement cache for each connection, it can be
+     * an {@link Integer} or a {@link String} which is parsed from URL.
+     */
+    public static final Option<Integer> PREPARE_CACHE_SIZE = Option.valueOf("prepareCacheSize");
+
+    /**
+     * The capacity of parsed query cache which is shared by all connections of a factory, it can be
+     * an {@link Integer} or a {@link String} which is parsed from URL.
+     */
+    public static final Option<Integer> QUERY_CACHE_SIZE = Option.valueOf("queryCacheSize");
+
+    /**
+     * Enable pipelining of requests in a connection, it can be a {@link Boolean} or a {@link String}
+     * which is parsed from URL.
+     */
+    public static final Option<Boolean> PIPELINING = Option.valueOf("pipelining");
+
+    /**
+     * The maximum number of bindings of a prepared statement which are sent without waiting for
+     * responses, it takes effect only if pipelining is enabled. It can be an {@link Integer} or a
+     * {@link String} which is parsed from URL.
+     */
+    public static final Option<Integer> EXECUTE_WINDOW = Option.valueOf("executeWindow");
+
+    /**
+     * Rewrite multi-binding {@literal INSERT ... VALUES (...)} statements into multi-row {@literal INSERT}
+     * statements, it can be a {@link Boolean} or a {@link String} which is parsed from URL.
+     */
+    public static final Option<Boolean> REWRITE_BATCHED_INSERTS = Option.valueOf("rewriteBatchedInserts");
+
+    /**
+     * Stop reading from the socket when the number of buffered server messages reaches it, it can be an
+     * {@link Integer} or a {@link String} which is parsed from URL.
+     */
+    public static final Option<Integer> INBOUND_HIGH_WATERMARK = Option.valueOf("inboundHighWatermark");
+
+    /**
+     * Resume reading from the socket when the number of buffered server messages drops to it, it can be an
+     * {@link Integer} or a {@link String} which is parsed from URL.
+     */
+    public static final Option<Integer> INBOUND_LOW_WATERMARK = Option.valueOf("inboundLowWatermark");
+
+    /**
+     * The compression algorithm of protocol, it should be a name of {@link CompressionAlgorithm}.
+     */
+    public static final Option<String> COMPRESSION_ALGORITHM = Option.valueOf("compressionAlgorithm");
+
+    /**
+     * Packets which are smaller than it will be sent uncompressed, it can be an {@link Integer} or a
+     * {@link String} which is parsed from URL.
+     */
+    public static final Option<Integer> COMPRESSION_MIN_SIZE = Option.valueOf("compressionMinSize");
+
+    /**
+     * The compression level of Zstandard, it can be an {@link Integer} or a {@link String} which is parsed from URL.
+     */
+    public static final Option<Integer> ZSTD_COMPRESSION_LEVEL = Option.valueOf("zstdCompressionLevel");
+
+    /**
+     * Use the built-in connection pool, it can be a {@link Boolean} or a {@link String} which is parsed from URL.
+     */
+    public static final Option<Boolean> POOLED = Option.valueOf("pooled");
+
+    /**
+     * The minimum number of connections kept by the built-in pool, it can be an {@link Integer} or a {@link String}
+     * which is parsed from URL.
+     */
+    public static final Option<Integer> POOL_MIN_SIZE = Option.valueOf("poolMinSize");
+
+    /**
+     * The maximum number of connections allocated by the built-in pool, it can be an {@link Integer} or a {@link String}
+     * which is parsed from URL.
+     */
+    public static final Option<Integer> POOL_MAX_SIZE = Option.valueOf("poolMaxSize");
+
+    /**
+     * The maximum idle time of connections in the built-in pool, it can be a {@link Duration} or a {@link String}
+     * which is parsed from URL in ISO-8601 format, e.g. {@code PT30M}.
+     */
+    public static final Option<Duration> POOL_MAX_IDLE_TIME = Option.valueOf("poolMaxIdleTime");
+
+    /**
+     * The timeout of acquiring a connection from the built-in pool, it can be a {@link Duration} or a {@link String}
+     * which is parsed from URL in ISO-8601 format, e.g. {@code PT5S}.
+     */
+    public static final Option<Duration> POOL_ACQUIRE_TIMEOUT = Option.valueOf("poolAcquireTimeout");
+
+    /**
+     * Stream large {@code BLOB}/{@code TEXT} values which are the last column of a row while the row is arriving,
+     * it can be a {@link Boolean} or a {@link String} which is parsed from URL.
+     */
+    public static final Option<Boolean> LOB_STREAMING = Option.valueOf("lobStreaming");
+
+    /**
+     * The directory which files can be sent by {@code LOAD DATA LOCAL INFILE}, see also
+     * {@link MySqlConnection#loadLocalInfile(String, java.nio.file.Path)}.
+     */
+    public static final Option<String> ALLOW_LOAD_LOCAL_INFILE_IN_PATH = Option.valueOf("allowLoadLocalInfileInPath");
+
+    /**
+     * The {@code PEM} file of the RSA public key of server, it is used to encrypt password on a connection which
+     * is not on SSL.
+     */
+    public static final Option<String> SERVER_RSA_PUBLIC_KEY_FILE = Option.valueOf("serverRsaPublicKeyFile");
+
+    /**
+     * Allow to request the RSA public key from server when it is not configured, it can be a {@link Boolean} or
+     * a {@link String} which is parsed from URL.
+     */
+    public static final Option<Boolean> ALLOW_PUBLIC_KEY_RETRIEVAL = Option.valueOf("allowPublicKeyRetrieval");
+
     @Override
     public ConnectionFactory create(ConnectionFactoryOptions options) {
         requireNonNull(options, "connectionFactoryOptions must not be null");
@@ -100,6 +221,106 @@ public final class MySqlConnectionFactoryProvider implements ConnectionFactoryPr
             builder.sslKeyAndCert(sslCert, sslKey, sslKeyPassword);
         }
 
+        Object preferOpenSsl = options.getValue(PREFER_OPEN_SSL);
+        if (preferOpenSsl != null) {
+            builder.preferOpenSsl(booleanValue(preferOpenSsl));
+        }
+
+        Object prepareCacheSize = options.getValue(PREPARE_CACHE_SIZE);
+        if (prepareCacheSize != null) {
+            builder.prepareCacheSize(intValue(prepareCacheSize));
+        }
+
+        Object queryCacheSize = options.getValue(QUERY_CACHE_SIZE);
+        if (queryCacheSize != null) {
+            builder.queryCacheSize(intValue(queryCacheSize));
+        }
+
+        Object pipelining = options.getValue(PIPELINING);
+        if (pipelining != null) {
+            builder.pipelining(booleanValue(pipelining));
+        }
+
+        Object executeWindow = options.getValue(EXECUTE_WINDOW);
+        if (executeWindow != null) {
+            builder.executeWindow(intValue(executeWindow));
+        }
+
+        Object rewriteBatchedInserts = options.getValue(REWRITE_BATCHED_INSERTS);
+        if (rewriteBatchedInserts != null) {
+            builder.rewriteBatchedInserts(booleanValue(rewriteBatchedInserts));
+        }
+
+        Object inboundHighWatermark = options.getValue(INBOUND_HIGH_WATERMARK);
+        if (inboundHighWatermark != null) {
+            builder.inboundHighWatermark(intValue(inboundHighWatermark));
+        }
+
+        Object inboundLowWatermark = options.getValue(INBOUND_LOW_WATERMARK);
+        if (inboundLowWatermark != null) {
+            builder.inboundLowWatermark(intValue(inboundLowWatermark));
+        }
+
+        String compressionAlgorithm = options.getValue(COMPRESSION_ALGORITHM);
+        if (compressionAlgorithm != null) {
+            builder.compressionAlgorithm(CompressionAlgorithm.valueOf(compressionAlgorithm.toUpperCase()));
+        }
+
+        Object compressionMinSize = options.getValue(COMPRESSION_MIN_SIZE);
+        if (compressionMinSize != null) {
+            builder.compressionMinSize(intValue(compressionMinSize));
+        }
+
+        Object zstdCompressionLevel = options.getValue(ZSTD_COMPRESSION_LEVEL);
+        if (zstdCompressionLevel != null) {
+            builder.zstdCompressionLevel(intValue(zstdCompressionLevel));
+        }
+
+        Object pooled = options.getValue(POOLED);
+        if (pooled != null) {
+            builder.pooled(booleanValue(pooled));
+        }
+
+        Object poolMinSize = options.getValue(POOL_MIN_SIZE);
+        if (poolMinSize != null) {
+            builder.poolMinSize(intValue(poolMinSize));
+        }
+
+        Object poolMaxSize = options.getValue(POOL_MAX_SIZE);
+        if (poolMaxSize != null) {
+            builder.poolMaxSize(intValue(poolMaxSize));
+        }
+
+        Object poolMaxIdleTime = options.getValue(POOL_MAX_IDLE_TIME);
+        if (poolMaxIdleTime != null) {
+            builder.poolMaxIdleTime(durationValue(poolMaxIdleTime));
+        }
+
+        Object poolAcquireTimeout = options.getValue(POOL_ACQUIRE_TIMEOUT);
+        if (poolAcquireTimeout != null) {
+            builder.poolAcquireTimeout(durationValue(poolAcquireTimeout));
+        }
+
+        Object lobStreaming = options.getValue(LOB_STREAMING);
+        if (lobStreaming != null) {
+            builder.lobStreaming(booleanValue(lobStreaming));
+        }
+
+        Object allowLoadLocalInfileInPath = options.getValue(ALLOW_LOAD_LOCAL_INFILE_IN_PATH);
+        if (allowLoadLocalInfileInPath != null) {
+            builder.allowLoadLocalInfileInPath(allowLoadLocalInfileInPath.toString());
+        }
+
+        Object serverRsaPublicKeyFile = options.getValue(SERVER_RSA_PUBLIC_KEY_FILE);
+        if (serverRsaPublicKeyFile != null) {
+            builder.serverRsaPublicKeyFile(serverRsaPublicKeyFile.toString());
+        }
+
+        Object allowPublicKeyRetrieval = options.getValue(ALLOW_PUBLIC_KEY_RETRIEVAL);
+        if (allowPublicKeyRetrieval != null) {
+            builder.allowPublicKeyRetrieval(booleanValue(allowPublicKeyRetrieval));
+        }
+
         String unixSocket = options.getValue(UNIX_SOCKET);
         String host = options.getValue(HOST);
         if (unixSocket == null) {
@@ -117,6 +338,10 @@ public final class MySqlConnectionFactoryProvider implements ConnectionFactoryPr
             .sslCa(options.getValue(SSL_CA))
             .build();
 
+        if (configuration.isPooled()) {
+            return MySqlConnectionPool.from(configuration);
+        }
+
         return MySqlConnectionFactory.from(configuration);
     }
 
@@ -130,4 +355,34 @@ public final class MySqlConnectionFactoryProvider implements ConnectionFactoryPr
     public String getDriver() {
         return MYSQL_DRIVER;
     }
+
+    /**
+     * Options parsed from URL are always {@link String}s, but programmatic options can be any {@link Number}.
+     */
+    private static int intValue(Object value) {
+        if (value instanceof Number) {
+            return ((Number) value).intValue();
+        }
+
+        return Integer.parseInt(value.toString());
+    }
+
+    /**
+     * Options parsed from URL are always {@link String}s in ISO-8601 format, e.g. {@code PT30S}.
+     */
+    private static Duration durationValue(Object value) {
+        if (value instanceof Duration) {
+            return (Duration) value;
+        }
+
+        return Duration.parse(value.toString());
+    }
+
+    private static boolean booleanValue(Object value) {
+        if (value instanceof Boolean) {
+            return (Boolean) value;
+        }
+
+        return Boolean.parseBoolean(value.toString());
+    }
 }
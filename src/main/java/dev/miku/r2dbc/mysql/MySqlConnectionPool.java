@@ -0,0 +1,114 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.miku.r2dbc.mysql;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import reactor.core.publisher.Mono;
+
+import static dev.miku.r2dbc.mysql.util.AssertUtils.requireNonNull;
+
+/**
+ * An implementation of {@link ConnectionFactory} which pools connections to a MySQL database.
+ * <p>
+ * Closing a {@link Connection} created by this factory will reset its session state and return it
+ * to the pool, see also {@link MySqlConnectionConfiguration.Builder#pooled(boolean)}.
+ */
+public final class MySqlConnectionPool implements ConnectionFactory {
+
+    private final MySqlConnectionFactory factory;
+
+    private final ConnectionPool pool;
+
+    private MySqlConnectionPool(MySqlConnectionFactory factory, ConnectionPool pool) {
+        this.factory = factory;
+        this.pool = pool;
+    }
+
+    /**
+     * Acquire a connection from the pool, a new connection will be created if there has no idle
+     * connection and the pool is not full, otherwise it will wait for a connection released.
+     *
+     * @return a {@link Mono} emits the acquired connection.
+     */
+    @Override
+    public Mono<Connection> create() {
+        return pool.acquire();
+    }
+
+    @Override
+    public ConnectionFactoryMetadata getMetadata() {
+        return MySqlConnectionFactoryMetadata.INSTANCE;
+    }
+
+    /**
+     * Get metrics of the connection pool.
+     *
+     * @return the metrics of connection pool.
+     */
+    public PoolMetrics getMetrics() {
+        return pool;
+    }
+
+    /**
+     * Get statistics of the parsed query cache which is shared by all connections of this pool.
+     *
+     * @return the statistics of parsed query cache.
+     */
+    public CacheStatistics getQueryCacheStatistics() {
+        return factory.getQueryCacheStatistics();
+    }
+
+    /**
+     * Get statistics of SSL handshakes of all connections which are created by this pool.
+     *
+     * @return the statistics of SSL handshakes.
+     */
+    public SslStatistics getSslStatistics() {
+        return factory.getSslStatistics();
+    }
+
+    /**
+     * Fill the pool to the minimum size in parallel.
+     *
+     * @return a {@link Mono} emits the number of connections which have been created.
+     */
+    public Mono<Integer> warmup() {
+        return pool.fill();
+    }
+
+    /**
+     * Close the pool, idle connections will be closed immediately and acquired connections will be
+     * closed when they are released.
+     *
+     * @return a {@link Mono} which completes when idle connections have been closed.
+     */
+    public Mono<Void> close() {
+        return pool.close();
+    }
+
+    public static MySqlConnectionPool from(MySqlConnectionConfiguration configuration) {
+        requireNonNull(configuration, "configuration must not be null");
+
+        MySqlConnectionFactory factory = MySqlConnectionFactory.from(configuration);
+        ConnectionPool pool = new ConnectionPool(factory.create(), configuration.getPoolMinSize(), configuration.getPoolMaxSize(),
+            configuration.getPoolMaxIdleTime(), configuration.getPoolAcquireTimeout());
+
+        return new MySqlConnectionPool(factory, pool);
+    }
+}
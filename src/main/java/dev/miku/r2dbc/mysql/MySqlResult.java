@@ -69,6 +69,11 @@ public final class MySqlResult implements Result {
 
     private MySqlRowMetadata rowMetadata;
 
+    /**
+     * Offsets and lengths of fields, it is reused for each row of the current result.
+     */
+    private int[] offsets;
+
     /**
      * @param isBinary rows is binary.
      * @param messages must include complete signal.
@@ -135,7 +140,13 @@ public final class MySqlResult implements Result {
             // Result mode, no need ok message.
             this.okProcessor.onComplete();
 
-            return OperatorUtils.discardOnCancel(messages).doOnDiscard(ReferenceCounted.class, RELEASE);
+            Flux<ServerMessage> results = OperatorUtils.discardOnCancel(messages);
+
+            if (context.isLobStreaming()) {
+                results = new FluxStreamingLob(results);
+            }
+
+            return results.doOnDiscard(ReferenceCounted.class, RELEASE);
         });
     }
 
@@ -146,6 +157,7 @@ public final class MySqlResult implements Result {
                 return;
             }
             this.rowMetadata = MySqlRowMetadata.create(metadataMessages);
+            this.offsets = new int[metadataMessages.length << 1];
         } else if (message instanceof RowMessage) {
             processRow((RowMessage) message, sink, f);
         } else {
@@ -162,6 +174,11 @@ public final class MySqlResult implements Result {
             return;
         }
 
+        if (message.isIndexable()) {
+            processIndexedRow(message, rowMetadata, sink, f);
+            return;
+        }
+
         FieldValue[] fields;
         T t;
 
@@ -184,4 +201,20 @@ public final class MySqlResult implements Result {
 
         sink.next(t);
     }
+
+    private <T> void processIndexedRow(RowMessage message, MySqlRowMetadata rowMetadata, SynchronousSink<T> sink, BiFunction<Row, RowMetadata, ? extends T> f) {
+        int[] offsets = this.offsets;
+        T t;
+
+        try {
+            message.index(isBinary, rowMetadata.unwrap(), offsets);
+            // Field values will be sliced lazily, so the message must be kept until mapping completed.
+            t = f.apply(new MySqlRow(message, offsets, rowMetadata, codecs, isBinary, context), rowMetadata);
+        } finally {
+            // Release row messages' reader.
+            ReferenceCountUtil.safeRelease(message);
+        }
+
+        sink.next(t);
+    }
 }
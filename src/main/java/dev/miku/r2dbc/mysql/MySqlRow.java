@@ -19,6 +19,7 @@ package dev.miku.r2dbc.mysql;
 import dev.miku.r2dbc.mysql.codec.Codecs;
 import dev.miku.r2dbc.mysql.util.ConnectionContext;
 import dev.miku.r2dbc.mysql.message.FieldValue;
+import dev.miku.r2dbc.mysql.message.server.RowMessage;
 import io.r2dbc.spi.Row;
 import reactor.util.annotation.Nullable;
 
@@ -32,8 +33,15 @@ import static dev.miku.r2dbc.mysql.util.AssertUtils.requireNonNull;
  */
 public final class MySqlRow implements Row {
 
+    @Nullable
     private final FieldValue[] fields;
 
+    @Nullable
+    private final RowMessage message;
+
+    @Nullable
+    private final int[] offsets;
+
     private final MySqlRowMetadata rowMetadata;
 
     private final Codecs codecs;
@@ -47,6 +55,24 @@ public final class MySqlRow implements Row {
 
     MySqlRow(FieldValue[] fields, MySqlRowMetadata rowMetadata, Codecs codecs, boolean binary, ConnectionContext context) {
         this.fields = requireNonNull(fields, "fields must not be null");
+        this.message = null;
+        this.offsets = null;
+        this.rowMetadata = requireNonNull(rowMetadata, "rowMetadata must not be null");
+        this.codecs = requireNonNull(codecs, "codecs must not be null");
+        this.binary = binary;
+        this.context = requireNonNull(context, "context must not be null");
+    }
+
+    /**
+     * Create a row which slices field values lazily from an indexed {@link RowMessage}.
+     *
+     * @param message the row message, it must be indexed by {@code offsets} and not be released when row using.
+     * @param offsets the offsets which indexed by {@link RowMessage#index}.
+     */
+    MySqlRow(RowMessage message, int[] offsets, MySqlRowMetadata rowMetadata, Codecs codecs, boolean binary, ConnectionContext context) {
+        this.fields = null;
+        this.message = requireNonNull(message, "message must not be null");
+        this.offsets = requireNonNull(offsets, "offsets must not be null");
         this.rowMetadata = requireNonNull(rowMetadata, "rowMetadata must not be null");
         this.codecs = requireNonNull(codecs, "codecs must not be null");
         this.binary = binary;
@@ -79,12 +105,141 @@ public final class MySqlRow implements Row {
         return get0(name, type);
     }
 
+    /**
+     * Get the value of an integer column as {@code int} without boxing, it supports the same columns as
+     * {@code get(index, Integer.class)}, i.e. {@code TINYINT}, {@code SMALLINT}, {@code MEDIUMINT},
+     * {@code YEAR} and signed {@code INT}.
+     *
+     * @param index the column index starting at 0
+     * @return the value of the column
+     * @throws IllegalArgumentException if the value is {@code null} or the column is not supported
+     */
+    public int getInt(int index) {
+        MySqlColumnMetadata info = rowMetadata.getColumnMetadata(index);
+        return codecs.decodeInt(getField(index), info, binary);
+    }
+
+    /**
+     * Get the value of an integer column by name as {@code int} without boxing, see also {@link #getInt(int)}.
+     *
+     * @param name the column name
+     * @return the value of the column
+     * @throws IllegalArgumentException if the value is {@code null} or the column is not supported
+     */
+    public int getInt(String name) {
+        MySqlColumnMetadata info = rowMetadata.getColumnMetadata(name);
+        return codecs.decodeInt(getField(info.getIndex()), info, binary);
+    }
+
+    /**
+     * Get the value of any integer column as {@code long} without boxing. Note: it does not check
+     * overflow for {@code BIGINT UNSIGNED}, see also {@link #getUnsignedLong(int)}.
+     *
+     * @param index the column index starting at 0
+     * @return the value of the column
+     * @throws IllegalArgumentException if the value is {@code null} or the column is not supported
+     */
+    public long getLong(int index) {
+        MySqlColumnMetadata info = rowMetadata.getColumnMetadata(index);
+        return codecs.decodeLong(getField(index), info, binary);
+    }
+
+    /**
+     * Get the value of any integer column by name as {@code long} without boxing, see also {@link #getLong(int)}.
+     *
+     * @param name the column name
+     * @return the value of the column
+     * @throws IllegalArgumentException if the value is {@code null} or the column is not supported
+     */
+    public long getLong(String name) {
+        MySqlColumnMetadata info = rowMetadata.getColumnMetadata(name);
+        return codecs.decodeLong(getField(info.getIndex()), info, binary);
+    }
+
+    /**
+     * Get the value of any integer column as an unsigned 64-bits integer without boxing, it should be
+     * used for {@code BIGINT UNSIGNED}, e.g. {@link Long#toUnsignedString(long)} and
+     * {@link Long#compareUnsigned(long, long)}.
+     *
+     * @param index the column index starting at 0
+     * @return the unsigned value of the column
+     * @throws IllegalArgumentException if the value is {@code null} or negative, or the column is not supported
+     */
+    public long getUnsignedLong(int index) {
+        MySqlColumnMetadata info = rowMetadata.getColumnMetadata(index);
+        return codecs.decodeUnsignedLong(getField(index), info, binary);
+    }
+
+    /**
+     * Get the value of any integer column by name as an unsigned 64-bits integer without boxing, see also
+     * {@link #getUnsignedLong(int)}.
+     *
+     * @param name the column name
+     * @return the unsigned value of the column
+     * @throws IllegalArgumentException if the value is {@code null} or negative, or the column is not supported
+     */
+    public long getUnsignedLong(String name) {
+        MySqlColumnMetadata info = rowMetadata.getColumnMetadata(name);
+        return codecs.decodeUnsignedLong(getField(info.getIndex()), info, binary);
+    }
+
+    /**
+     * Get the value of a {@code DOUBLE}, {@code FLOAT} or {@code DECIMAL} (precision less than 16) column
+     * as {@code double} without boxing.
+     *
+     * @param index the column index starting at 0
+     * @return the value of the column
+     * @throws IllegalArgumentException if the value is {@code null} or the column is not supported
+     */
+    public double getDouble(int index) {
+        MySqlColumnMetadata info = rowMetadata.getColumnMetadata(index);
+        return codecs.decodeDouble(getField(index), info, binary);
+    }
+
+    /**
+     * Get the value of a {@code DOUBLE}, {@code FLOAT} or {@code DECIMAL} (precision less than 16) column
+     * by name as {@code double} without boxing, see also {@link #getDouble(int)}.
+     *
+     * @param name the column name
+     * @return the value of the column
+     * @throws IllegalArgumentException if the value is {@code null} or the column is not supported
+     */
+    public double getDouble(String name) {
+        MySqlColumnMetadata info = rowMetadata.getColumnMetadata(name);
+        return codecs.decodeDouble(getField(info.getIndex()), info, binary);
+    }
+
+    /**
+     * Get the value of a {@code BIT(1)} column as {@code boolean} without boxing.
+     *
+     * @param index the column index starting at 0
+     * @return the value of the column
+     * @throws IllegalArgumentException if the value is {@code null} or the column is not supported
+     */
+    public boolean getBoolean(int index) {
+        MySqlColumnMetadata info = rowMetadata.getColumnMetadata(index);
+        return codecs.decodeBoolean(getField(index), info, binary);
+    }
+
+    /**
+     * Get the value of a {@code BIT(1)} column by name as {@code boolean} without boxing, see also
+     * {@link #getBoolean(int)}.
+     *
+     * @param name the column name
+     * @return the value of the column
+     * @throws IllegalArgumentException if the value is {@code null} or the column is not supported
+     */
+    public boolean getBoolean(String name) {
+        MySqlColumnMetadata info = rowMetadata.getColumnMetadata(name);
+        return codecs.decodeBoolean(getField(info.getIndex()), info, binary);
+    }
+
     @Nullable
     private <T> T get0(int index, Type type) {
         requireNonNull(type, "type must not be null");
 
         MySqlColumnMetadata info = rowMetadata.getColumnMetadata(index);
-        return codecs.decode(fields[index], info, type, binary, context);
+        return codecs.decode(getField(index), info, type, binary, context);
     }
 
     @Nullable
@@ -92,6 +247,16 @@ public final class MySqlRow implements Row {
         requireNonNull(type, "type must not be null");
 
         MySqlColumnMetadata info = rowMetadata.getColumnMetadata(name);
-        return codecs.decode(fields[info.getIndex()], info, type, binary, context);
+        return codecs.decode(getField(info.getIndex()), info, type, binary, context);
+    }
+
+    private FieldValue getField(int index) {
+        FieldValue[] fields = this.fields;
+
+        if (fields == null) {
+            return message.getField(offsets, index);
+        }
+
+        return fields[index];
     }
 }
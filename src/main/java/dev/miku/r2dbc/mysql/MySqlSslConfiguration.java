@@ -31,7 +31,7 @@ import static dev.miku.r2dbc.mysql.util.AssertUtils.requireNonNull;
  */
 public final class MySqlSslConfiguration {
 
-    private static final MySqlSslConfiguration DISABLED = new MySqlSslConfiguration(SslMode.DISABLED, EMPTY_STRINGS, null, null, null, null);
+    private static final MySqlSslConfiguration DISABLED = new MySqlSslConfiguration(SslMode.DISABLED, EMPTY_STRINGS, null, null, null, null, false);
 
     private final SslMode sslMode;
 
@@ -49,13 +49,16 @@ public final class MySqlSslConfiguration {
     @Nullable
     private final String sslCert;
 
-    private MySqlSslConfiguration(SslMode sslMode, String[] tlsVersion, @Nullable String sslCa, @Nullable String sslKey, @Nullable CharSequence sslKeyPassword, @Nullable String sslCert) {
+    private final boolean preferOpenSsl;
+
+    private MySqlSslConfiguration(SslMode sslMode, String[] tlsVersion, @Nullable String sslCa, @Nullable String sslKey, @Nullable CharSequence sslKeyPassword, @Nullable String sslCert, boolean preferOpenSsl) {
         this.sslMode = sslMode;
         this.tlsVersion = tlsVersion;
         this.sslCa = sslCa;
         this.sslKey = sslKey;
         this.sslKeyPassword = sslKeyPassword;
         this.sslCert = sslCert;
+        this.preferOpenSsl = preferOpenSsl;
     }
 
     public SslMode getSslMode() {
@@ -86,6 +89,10 @@ public final class MySqlSslConfiguration {
         return sslCert;
     }
 
+    public boolean isPreferOpenSsl() {
+        return preferOpenSsl;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -95,7 +102,8 @@ public final class MySqlSslConfiguration {
             return false;
         }
         MySqlSslConfiguration that = (MySqlSslConfiguration) o;
-        return sslMode == that.sslMode &&
+        return preferOpenSsl == that.preferOpenSsl &&
+            sslMode == that.sslMode &&
             Arrays.equals(tlsVersion, that.tlsVersion) &&
             Objects.equals(sslCa, that.sslCa) &&
             Objects.equals(sslKey, that.sslKey) &&
@@ -105,7 +113,7 @@ public final class MySqlSslConfiguration {
 
     @Override
     public int hashCode() {
-        int result = Objects.hash(sslMode, sslCa, sslKey, sslKeyPassword, sslCert);
+        int result = Objects.hash(sslMode, sslCa, sslKey, sslKeyPassword, sslCert, preferOpenSsl);
         result = 31 * result + Arrays.hashCode(tlsVersion);
         return result;
     }
@@ -113,8 +121,8 @@ public final class MySqlSslConfiguration {
     @Override
     public String toString() {
         if (sslMode.startSsl()) {
-            return String.format("MySqlSslConfiguration{sslMode=%s, tlsVersion=%s, sslCa='%s', sslKey='%s', sslKeyPassword=REDACTED, sslCert='%s'}",
-                sslMode, Arrays.toString(tlsVersion), sslCa, sslKey, sslCert);
+            return String.format("MySqlSslConfiguration{sslMode=%s, tlsVersion=%s, sslCa='%s', sslKey='%s', sslKeyPassword=REDACTED, sslCert='%s', preferOpenSsl=%s}",
+                sslMode, Arrays.toString(tlsVersion), sslCa, sslKey, sslCert, preferOpenSsl);
         }
 
         return "DISABLED";
@@ -124,7 +132,10 @@ public final class MySqlSslConfiguration {
         return DISABLED;
     }
 
-    static MySqlSslConfiguration create(SslMode sslMode, String[] tlsVersion, @Nullable String sslCa, @Nullable String sslKey, @Nullable CharSequence sslKeyPassword, @Nullable String sslCert) {
+    static MySqlSslConfiguration create(
+        SslMode sslMode, String[] tlsVersion, @Nullable String sslCa, @Nullable String sslKey, @Nullable CharSequence sslKeyPassword,
+        @Nullable String sslCert, boolean preferOpenSsl
+    ) {
         requireNonNull(sslMode, "sslMode must not be null");
 
         if (!sslMode.startSsl()) {
@@ -135,6 +146,6 @@ public final class MySqlSslConfiguration {
         require(!sslMode.verifyCertificate() || sslCa != null, "sslCa must not be null when verifying mode has set");
         require((sslKey == null && sslCert == null) || (sslKey != null && sslCert != null), "sslKey and cert must be both null or both non-null");
 
-        return new MySqlSslConfiguration(sslMode, tlsVersion, sslCa, sslKey, sslKeyPassword, sslCert);
+        return new MySqlSslConfiguration(sslMode, tlsVersion, sslCa, sslKey, sslKeyPassword, sslCert, preferOpenSsl);
     }
 }
@@ -123,8 +123,13 @@ public interface MySqlStatement extends Statement {
     Publisher<MySqlResult> execute();
 
     /**
-     * MySQL unsupported fetch size in current mainstream versions,
-     * so it will do nothing and just return {@code this} for now.
+     * If {@code rows} is greater than {@literal 0}, rows will be fetched by a read-only cursor of
+     * server-side prepared statement, and at most {@code rows} rows are fetched per round trip
+     * as downstream demand arrives. It is useful for large results, because rows will not be
+     * pushed by server all at once. Default is {@literal 0}, means all rows are pushed by server.
+     * <p>
+     * Note: simple statements will be prepared if {@code rows} is greater than {@literal 0},
+     * so it must be a single statement.
      * <p>
      * {@inheritDoc}
      */
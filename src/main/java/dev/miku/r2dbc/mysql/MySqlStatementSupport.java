@@ -18,6 +18,7 @@ package dev.miku.r2dbc.mysql;
 
 import reactor.util.annotation.Nullable;
 
+import static dev.miku.r2dbc.mysql.util.AssertUtils.require;
 import static dev.miku.r2dbc.mysql.util.AssertUtils.requireNonNull;
 import static dev.miku.r2dbc.mysql.util.AssertUtils.requireValidName;
 
@@ -31,6 +32,11 @@ abstract class MySqlStatementSupport implements MySqlStatement {
     @Nullable
     String generatedKeyName = null;
 
+    /**
+     * The number of rows fetched per round trip by cursor, {@literal 0} means fetch all rows without cursor.
+     */
+    int fetchSize = 0;
+
     @Override
     public final MySqlStatement returnGeneratedValues(String... columns) {
         requireNonNull(columns, "columns must not be null");
@@ -51,6 +57,9 @@ abstract class MySqlStatementSupport implements MySqlStatement {
 
     @Override
     public final MySqlStatement fetchSize(int rows) {
+        require(rows >= 0, "Fetch size must not be a negative integer");
+
+        this.fetchSize = rows;
         return this;
     }
 }
@@ -19,15 +19,22 @@ package dev.miku.r2dbc.mysql;
 import dev.miku.r2dbc.mysql.client.Client;
 import dev.miku.r2dbc.mysql.codec.Codecs;
 import dev.miku.r2dbc.mysql.message.ParameterValue;
+import dev.miku.r2dbc.mysql.message.server.OkMessage;
+import dev.miku.r2dbc.mysql.message.server.ServerMessage;
 import dev.miku.r2dbc.mysql.util.ConnectionContext;
+import dev.miku.r2dbc.mysql.util.OperatorUtils;
+import io.netty.util.ReferenceCountUtil;
 import reactor.core.publisher.Flux;
-import reactor.core.publisher.Mono;
+import reactor.core.publisher.SynchronousSink;
+import reactor.util.annotation.Nullable;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Spliterator;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
 import static dev.miku.r2dbc.mysql.util.AssertUtils.requireNonNull;
@@ -40,6 +47,26 @@ import static dev.miku.r2dbc.mysql.util.AssertUtils.requireNonNull;
  */
 final class ParametrizedMySqlStatement extends MySqlStatementSupport {
 
+    /**
+     * The maximum number of parameter markers of a prepared statement.
+     */
+    private static final int MAX_PARAMETERS = 0xFFFF;
+
+    /**
+     * Reserved bytes for command headers of a multi-row {@literal INSERT} statement, see {@link #mergeRows()}.
+     */
+    private static final int RESERVED_BYTES = 64;
+
+    private static final Consumer<Binding> CLEAR = Binding::clear;
+
+    private static final BiConsumer<ServerMessage, SynchronousSink<OkMessage>> OK_HANDLER = (message, sink) -> {
+        if (message instanceof OkMessage) {
+            sink.next((OkMessage) message);
+        } else {
+            ReferenceCountUtil.safeRelease(message);
+        }
+    };
+
     private final Client client;
 
     private final Codecs codecs;
@@ -48,15 +75,27 @@ final class ParametrizedMySqlStatement extends MySqlStatementSupport {
 
     private final Query query;
 
+    private final PrepareCache prepareCache;
+
+    private final int executeWindow;
+
+    private final boolean rewriteBatchedInserts;
+
     private final Bindings bindings;
 
     private final AtomicBoolean executed = new AtomicBoolean();
 
-    ParametrizedMySqlStatement(Client client, Codecs codecs, ConnectionContext context, Query query) {
+    ParametrizedMySqlStatement(
+        Client client, Codecs codecs, ConnectionContext context, Query query,
+        PrepareCache prepareCache, int executeWindow, boolean rewriteBatchedInserts
+    ) {
         this.client = requireNonNull(client, "client must not be null");
         this.codecs = requireNonNull(codecs, "codecs must not be null");
         this.context = requireNonNull(context, "context must not be null");
         this.query = requireNonNull(query, "sql must not be null");
+        this.prepareCache = requireNonNull(prepareCache, "prepareCache must not be null");
+        this.executeWindow = executeWindow;
+        this.rewriteBatchedInserts = rewriteBatchedInserts;
         this.bindings = new Bindings(this.query.getParameters());
     }
 
@@ -130,18 +169,112 @@ final class ParametrizedMySqlStatement extends MySqlStatementSupport {
                 return Flux.error(new IllegalStateException("Statement was already executed"));
             }
 
-            String sql = query.getSql();
+            if (rewriteBatchedInserts && bindings.bindings.size() > 1 && query.isRewritableInsert()) {
+                List<Binding> rows = mergeRows();
+
+                if (rows != null) {
+                    return executeRows(rows);
+                }
+            }
 
-            return QueryFlow.prepare(client, sql)
-                .doOnCancel(bindings::clear)
-                .flatMapMany(id -> QueryFlow.execute(client, sql, id, bindings.bindings)
-                    .windowUntil(QueryFlow.RESULT_DONE)
-                    .map(messages -> new MySqlResult(true, codecs, context, generatedKeyName, messages))
-                    .onErrorResume(e -> QueryFlow.close(client, id).then(Mono.error(e)))
-                    .concatWith(QueryFlow.close(client, id).then(Mono.empty())));
+            return QueryFlow.execute(client, prepareCache, query.getSql(), bindings.bindings, executeWindow, fetchSize)
+                .windowUntil(QueryFlow.RESULT_DONE)
+                .map(messages -> new MySqlResult(true, codecs, context, generatedKeyName, messages));
         });
     }
 
+    /**
+     * Execute merged bindings by multi-row {@literal INSERT} statements, each binding will still
+     * have its own {@link MySqlResult} which is derived from the result of merged statement.
+     *
+     * @param rows the merged bindings.
+     * @return the results of each original binding.
+     */
+    private Flux<MySqlResult> executeRows(List<Binding> rows) {
+        int parameters = query.getParameters();
+
+        return OperatorUtils.discardOnCancel(Flux.fromIterable(rows))
+            .doOnDiscard(Binding.class, CLEAR)
+            .concatMap(binding -> {
+                int size = binding.getLength() / parameters;
+                String sql = query.getMultiRowSql(size);
+                Flux<ServerMessage> messages = QueryFlow.execute(client, prepareCache, sql,
+                    Collections.singletonList(binding), 1, 0);
+
+                if (size == 1) {
+                    return messages.windowUntil(QueryFlow.RESULT_DONE)
+                        .map(window -> new MySqlResult(true, codecs, context, generatedKeyName, window));
+                }
+
+                return messages.handle(OK_HANDLER).flatMapIterable(message -> deriveResults(message, size));
+            });
+    }
+
+    private List<MySqlResult> deriveResults(OkMessage message, int size) {
+        // Last insert ID is the first generated ID of a multi-row INSERT statement.
+        long firstId = message.getLastInsertId();
+        long increment = context.getAutoIncrementIncrement();
+        List<MySqlResult> results = new ArrayList<>(size);
+
+        for (int i = 0; i < size; ++i) {
+            OkMessage derived = message.derive(1, firstId == 0 ? 0 : firstId + i * increment);
+            results.add(new MySqlResult(true, codecs, context, generatedKeyName, Flux.just(derived)));
+        }
+
+        return results;
+    }
+
+    /**
+     * Merge bindings into multi-row bindings, each merged binding should not have more than
+     * {@link #MAX_PARAMETERS} parameters, and its estimated size should not be greater than
+     * the {@literal max_allowed_packet} of server.
+     *
+     * @return the merged bindings, or {@code null} if any value size is unknown, e.g. LOB values.
+     */
+    @Nullable
+    private List<Binding> mergeRows() {
+        List<Binding> bindings = this.bindings.bindings;
+        int size = bindings.size();
+        int parameters = query.getParameters();
+        int byteSize = context.getCollation().getByteSize();
+        // Parameter types, null-bitmap and SQL text of a row, SQL text is also considered
+        // because the rewritten statement should also be prepared.
+        long rowExtra = parameters * 2L + ((parameters + 7) >>> 3) + (query.getRowLength() + 1L) * byteSize;
+        long[] rowSizes = new long[size];
+
+        for (int i = 0; i < size; ++i) {
+            long rowSize = bindings.get(i).estimateSize();
+
+            if (rowSize < 0) {
+                return null;
+            }
+
+            rowSizes[i] = rowSize + rowExtra;
+        }
+
+        int maxRows = Math.max(MAX_PARAMETERS / parameters, 1);
+        long budget = context.getMaxAllowedPacket() - RESERVED_BYTES - (long) query.getSql().length() * byteSize;
+        List<Binding> results = new ArrayList<>();
+        List<Binding> rows = new ArrayList<>();
+        long rowsSize = 0;
+
+        for (int i = 0; i < size; ++i) {
+            if (!rows.isEmpty() && (rows.size() >= maxRows || rowsSize + rowSizes[i] > budget)) {
+                results.add(Binding.merge(rows));
+                rows.clear();
+                rowsSize = 0;
+            }
+
+            rows.add(bindings.get(i));
+            rowsSize += rowSizes[i];
+        }
+
+        results.add(Binding.merge(rows));
+        bindings.clear();
+
+        return results;
+    }
+
     private void addBinding(int index, ParameterValue value) {
         assertNotExecuted();
 
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.miku.r2dbc.mysql;
+
+/**
+ * Metrics of a {@link MySqlConnectionPool}, all counters are accumulated since the pool
+ * has been created.
+ * <p>
+ * Note: values are read without blocking the pool, so they may be slightly out-of-date
+ * when the pool is used concurrently.
+ */
+public interface PoolMetrics {
+
+    /**
+     * @return the minimum number of connections which should be kept by the pool.
+     */
+    int getMinSize();
+
+    /**
+     * @return the maximum number of connections which can be allocated by the pool.
+     */
+    int getMaxSize();
+
+    /**
+     * @return the number of connections currently allocated, including connections which are connecting.
+     */
+    int getAllocatedSize();
+
+    /**
+     * @return the number of connections currently idle in the pool.
+     */
+    int getIdleSize();
+
+    /**
+     * @return the number of connections currently acquired by users.
+     */
+    int getAcquiredSize();
+
+    /**
+     * @return the number of acquisitions currently waiting for a connection.
+     */
+    int getPendingAcquireSize();
+
+    /**
+     * @return the number of succeeded acquisitions.
+     */
+    long getAcquireCount();
+
+    /**
+     * @return the number of connections which have been created.
+     */
+    long getCreatedCount();
+
+    /**
+     * @return the number of connections which have been reset by releasing.
+     */
+    long getResetCount();
+
+    /**
+     * @return the number of connections which have been evicted by idle time, broken or failed resetting.
+     */
+    long getEvictionCount();
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.miku.r2dbc.mysql;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.IsolationLevel;
+import io.r2dbc.spi.ValidationDepth;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A {@link Connection} which is acquired from a {@link ConnectionPool}, it delegates all operations to
+ * the pooled {@link MySqlConnection} and returns the connection to the pool instead of closing it.
+ */
+final class PooledConnection implements Connection {
+
+    private final ConnectionPool pool;
+
+    private final ConnectionPool.Entry entry;
+
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    PooledConnection(ConnectionPool pool, ConnectionPool.Entry entry) {
+        this.pool = pool;
+        this.entry = entry;
+    }
+
+    @Override
+    public Mono<Void> beginTransaction() {
+        return connection().beginTransaction();
+    }
+
+    @Override
+    public Mono<Void> close() {
+        return Mono.defer(() -> released.compareAndSet(false, true) ? pool.release(entry) : Mono.empty());
+    }
+
+    @Override
+    public Mono<Void> commitTransaction() {
+        return connection().commitTransaction();
+    }
+
+    @Override
+    public MySqlBatch createBatch() {
+        return connection().createBatch();
+    }
+
+    @Override
+    public Mono<Void> createSavepoint(String name) {
+        return connection().createSavepoint(name);
+    }
+
+    @Override
+    public MySqlStatement createStatement(String sql) {
+        return connection().createStatement(sql);
+    }
+
+    @Override
+    public Mono<Void> releaseSavepoint(String name) {
+        return connection().releaseSavepoint(name);
+    }
+
+    @Override
+    public Mono<Void> rollbackTransaction() {
+        return connection().rollbackTransaction();
+    }
+
+    @Override
+    public Mono<Void> rollbackTransactionToSavepoint(String name) {
+        return connection().rollbackTransactionToSavepoint(name);
+    }
+
+    @Override
+    public MySqlConnectionMetadata getMetadata() {
+        return connection().getMetadata();
+    }
+
+    @Override
+    public IsolationLevel getTransactionIsolationLevel() {
+        return connection().getTransactionIsolationLevel();
+    }
+
+    @Override
+    public Mono<Void> setTransactionIsolationLevel(IsolationLevel isolationLevel) {
+        return connection().setTransactionIsolationLevel(isolationLevel);
+    }
+
+    @Override
+    public Mono<Boolean> validate(ValidationDepth depth) {
+        if (released.get()) {
+            return Mono.just(false);
+        }
+
+        return entry.connection.validate(depth);
+    }
+
+    @Override
+    public boolean isAutoCommit() {
+        return connection().isAutoCommit();
+    }
+
+    @Override
+    public Mono<Void> setAutoCommit(boolean autoCommit) {
+        return connection().setAutoCommit(autoCommit);
+    }
+
+    private MySqlConnection connection() {
+        if (released.get()) {
+            throw new IllegalStateException("Connection has been released to the pool");
+        }
+
+        return entry.connection;
+    }
+}
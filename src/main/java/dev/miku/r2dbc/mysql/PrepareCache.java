@@ -0,0 +1,253 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.miku.r2dbc.mysql;
+
+import dev.miku.r2dbc.mysql.message.server.PreparedOkMessage;
+import reactor.util.annotation.Nullable;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+import static dev.miku.r2dbc.mysql.util.AssertUtils.require;
+import static dev.miku.r2dbc.mysql.util.AssertUtils.requireNonNull;
+
+/**
+ * A LRU cache of server-side prepared statements for a connection, it is keyed by parsed SQL.
+ * <p>
+ * An entry is acquired by each executing statement and released after the executing terminated,
+ * an evicted entry will be closed when it is no longer used. An entry which can not be cached
+ * (e.g. cache is disabled, or same SQL has been prepared and cached concurrently) will be closed
+ * on its released.
+ */
+final class PrepareCache implements CacheStatistics {
+
+    private final int capacity;
+
+    /**
+     * Close prepared statement by statement ID, it should not block the caller.
+     */
+    private final IntConsumer closer;
+
+    private final LinkedHashMap<String, Entry> entries;
+
+    private volatile int size;
+
+    private volatile long hits;
+
+    private volatile long misses;
+
+    private volatile long evictions;
+
+    PrepareCache(int capacity, IntConsumer closer) {
+        require(capacity >= 0, "capacity must not be a negative integer");
+
+        this.capacity = capacity;
+        this.closer = requireNonNull(closer, "closer must not be null");
+        // Access order for LRU.
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Acquire a cached prepared statement.
+     *
+     * @param sql the parametrize query.
+     * @return acquired entry, or {@code null} if it has not been cached.
+     */
+    @Nullable
+    Entry acquire(String sql) {
+        if (capacity <= 0) {
+            return null;
+        }
+
+        synchronized (this) {
+            Entry entry = entries.get(sql);
+
+            if (entry == null) {
+                ++misses;
+                return null;
+            }
+
+            ++hits;
+            ++entry.references;
+
+            return entry;
+        }
+    }
+
+    /**
+     * Put a new prepared statement into this cache and acquire it.
+     *
+     * @param sql     the parametrize query.
+     * @param message the prepared OK message of {@code sql}.
+     * @return acquired entry, it may be not cached.
+     */
+    Entry putAndAcquire(String sql, PreparedOkMessage message) {
+        Entry entry = new Entry(message);
+
+        if (capacity <= 0) {
+            return entry;
+        }
+
+        Entry evicted = null;
+
+        synchronized (this) {
+            if (entries.containsKey(sql)) {
+                // Same SQL has been prepared and cached concurrently.
+                return entry;
+            }
+
+            entry.cached = true;
+            entries.put(sql, entry);
+
+            if (entries.size() > capacity) {
+                Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+                Entry eldest = iterator.next().getValue();
+
+                iterator.remove();
+                ++evictions;
+                eldest.cached = false;
+
+                if (eldest.references <= 0) {
+                    evicted = eldest;
+                }
+            }
+
+            size = entries.size();
+        }
+
+        if (evicted != null) {
+            closer.accept(evicted.getStatementId());
+        }
+
+        return entry;
+    }
+
+    /**
+     * Release an entry which is acquired by {@link #acquire} or {@link #putAndAcquire}, the prepared
+     * statement will be closed if it is not cached and not used by other executing.
+     *
+     * @param entry the acquired entry.
+     */
+    void release(Entry entry) {
+        boolean close;
+
+        synchronized (this) {
+            close = --entry.references <= 0 && !entry.cached && !entry.closed;
+        }
+
+        if (close) {
+            closer.accept(entry.getStatementId());
+        }
+    }
+
+    /**
+     * Remove an entry without closing, e.g. its prepared statement has been deallocated by server, so that
+     * the SQL will be prepared again by the next executing.
+     *
+     * @param sql   the parametrize query.
+     * @param entry the entry which is no longer valid.
+     */
+    synchronized void invalidate(String sql, Entry entry) {
+        if (entries.remove(sql, entry)) {
+            size = entries.size();
+        }
+
+        entry.cached = false;
+        entry.closed = true;
+    }
+
+    /**
+     * Remove all entries without closing, e.g. prepared statements have been deallocated by server.
+     */
+    synchronized void clear() {
+        for (Entry entry : entries.values()) {
+            entry.cached = false;
+            entry.closed = true;
+        }
+
+        entries.clear();
+        size = 0;
+    }
+
+    @Override
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    @Override
+    public long getHits() {
+        return hits;
+    }
+
+    @Override
+    public long getMisses() {
+        return misses;
+    }
+
+    @Override
+    public long getEvictions() {
+        return evictions;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PrepareCache{capacity=%d, size=%d, hits=%d, misses=%d, evictions=%d}", capacity, size, hits, misses, evictions);
+    }
+
+    /**
+     * A prepared statement which is held by {@link PrepareCache}.
+     */
+    static final class Entry {
+
+        private final PreparedOkMessage message;
+
+        /**
+         * Guarded by its {@link PrepareCache}.
+         */
+        private int references = 1;
+
+        /**
+         * Guarded by its {@link PrepareCache}.
+         */
+        private boolean cached;
+
+        /**
+         * If the prepared statement has been deallocated by server, it should never be closed again.
+         * Guarded by its {@link PrepareCache}.
+         */
+        private boolean closed;
+
+        private Entry(PreparedOkMessage message) {
+            this.message = message;
+        }
+
+        int getStatementId() {
+            return message.getStatementId();
+        }
+
+        PreparedOkMessage getMessage() {
+            return message;
+        }
+    }
+}
@@ -26,6 +26,8 @@ import java.util.Set;
 
 /**
  * A structure of prepare statement and simple statement.
+ * <p>
+ * It is immutable, so it can be shared by multiple connections, see {@link QueryCache}.
  */
 final class Query {
 
@@ -35,10 +37,30 @@ final class Query {
 
     private final int parameters;
 
+    /**
+     * The start index of the only row of {@literal VALUES} clause in {@link #sql} if it
+     * is a rewritable {@literal INSERT} statement, otherwise it is {@literal -1}.
+     */
+    private final int rowStart;
+
+    /**
+     * The end index (exclusive) of the only row of {@literal VALUES} clause in {@link #sql}.
+     */
+    private final int rowEnd;
+
     private Query(String sql, Map<String, Object> nameKeyedIndex, int parameters) {
         this.sql = sql;
         this.nameKeyedIndex = nameKeyedIndex;
         this.parameters = parameters;
+
+        long range = parameters > 0 ? findInsertRow(sql, parameters) : -1;
+
+        if (range < 0) {
+            this.rowStart = this.rowEnd = -1;
+        } else {
+            this.rowStart = (int) (range >>> 32);
+            this.rowEnd = (int) range;
+        }
     }
 
     String getSql() {
@@ -67,6 +89,53 @@ final class Query {
         return parameters > 0;
     }
 
+    /**
+     * Check if it is a single row {@literal INSERT ... VALUES (...)} statement which all parameters
+     * are in the row, so that it can be rewritten to a multi-row {@literal INSERT} statement.
+     *
+     * @return if it can be rewritten by {@link #getMultiRowSql(int)}.
+     */
+    boolean isRewritableInsert() {
+        return rowStart >= 0;
+    }
+
+    /**
+     * Get the length of the only row of {@literal VALUES} clause, includes parentheses.
+     *
+     * @return the length of the row, or {@literal -1} if it is not a rewritable {@literal INSERT} statement.
+     */
+    int getRowLength() {
+        return rowStart < 0 ? -1 : rowEnd - rowStart;
+    }
+
+    /**
+     * Rewrite the {@literal INSERT} statement to {@code rows} rows of {@literal VALUES} clause, the
+     * parameters of row {@code i} will be indexed from {@code i * getParameters()}.
+     *
+     * @param rows the number of rows, it should be greater than {@literal 0}.
+     * @return the multi-row {@literal INSERT} statement.
+     * @throws IllegalStateException if it is not a rewritable {@literal INSERT} statement.
+     */
+    String getMultiRowSql(int rows) {
+        if (rowStart < 0) {
+            throw new IllegalStateException("Query is not a rewritable INSERT statement");
+        }
+
+        if (rows <= 1) {
+            return sql;
+        }
+
+        int rowSize = rowEnd - rowStart;
+        StringBuilder builder = new StringBuilder(sql.length() + (rowSize + 1) * (rows - 1))
+            .append(sql, 0, rowEnd);
+
+        for (int i = 1; i < rows; ++i) {
+            builder.append(',').append(sql, rowStart, rowEnd);
+        }
+
+        return builder.append(sql, rowEnd, sql.length()).toString();
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -173,7 +242,7 @@ final class Query {
                     } else if (value instanceof Integer) {
                         nameKeyedParams.put(name, new Indexes((Integer) value, paramIndex));
                     } else {
-                        ((Indexes) value).push(paramIndex);
+                        nameKeyedParams.put(name, ((Indexes) value).push(paramIndex));
                     }
                 }
             } // offset is length or end of a parameter.
@@ -200,7 +269,7 @@ final class Query {
             case 1:
                 return new Query(parsedSql, Collections.singletonMap(anyName, nameKeyedParams.get(anyName)), paramCount);
             default:
-                return new Query(parsedSql, nameKeyedParams, paramCount);
+                return new Query(parsedSql, Collections.unmodifiableMap(nameKeyedParams), paramCount);
         }
     }
 
@@ -293,43 +362,211 @@ final class Query {
         return -1;
     }
 
-    static final class Indexes {
+    /**
+     * Find the only row of {@literal VALUES} clause in a single row {@literal INSERT} statement, all
+     * parameters must be in the row. {@literal INSERT IGNORE}, {@literal INSERT ... SELECT} and
+     * {@literal INSERT ... ON DUPLICATE KEY UPDATE} will not be rewritten because the affected rows
+     * and last insert ID can not be derived for each row.
+     * <p>
+     * It uses same rules as {@link #findParamMark} for literals and comments, and {@literal #}
+     * comments also be considered.
+     *
+     * @param sql        the parsed SQL which has no parameter name.
+     * @param parameters the number of parameters.
+     * @return the start index in high 32-bits and the end index in low 32-bits, or a negative
+     * integer if it is not a rewritable statement.
+     */
+    private static long findInsertRow(String sql, int parameters) {
+        int length = sql.length();
+        int offset = 0;
+        int depth = 0;
+        int marks = 0;
+        int rowStart = -1;
+        int rowEnd = -1;
+        boolean firstWord = true;
+        boolean afterValues = false;
+
+        while (offset < length) {
+            char ch = sql.charAt(offset);
+
+            if (Character.isJavaIdentifierStart(ch)) {
+                int start = offset++;
+
+                while (offset < length && Character.isJavaIdentifierPart(sql.charAt(offset))) {
+                    ++offset;
+                }
+
+                if (rowEnd >= 0) {
+                    // Anything after the row, e.g. ON DUPLICATE KEY UPDATE, AS alias.
+                    return -1;
+                }
 
-        private static final int INIT_CAPACITY = 8;
+                if (firstWord) {
+                    if (!isWord(sql, start, offset, "INSERT")) {
+                        return -1;
+                    }
 
-        private int size = 2;
+                    firstWord = false;
+                } else if (depth == 0) {
+                    if (isWord(sql, start, offset, "IGNORE") || isWord(sql, start, offset, "SELECT")) {
+                        return -1;
+                    }
 
-        private int[] data;
+                    afterValues = isWord(sql, start, offset, "VALUES") || isWord(sql, start, offset, "VALUE");
+                }
 
-        private Indexes(int first, int second) {
-            int[] data = new int[INIT_CAPACITY];
+                continue;
+            }
 
-            data[0] = first;
-            data[1] = second;
+            ++offset;
 
-            this.data = data;
+            switch (ch) {
+                case '/':
+                    if (offset < length && sql.charAt(offset) == '*') {
+                        int end = sql.indexOf("*/", offset + 1);
+
+                        if (end < 0 || (offset + 1 < length && sql.charAt(offset + 1) == '!')) {
+                            // Unclosed comment or executable comment, e.g. /*!IGNORE*/.
+                            return -1;
+                        }
+
+                        offset = end + 2;
+                        continue;
+                    }
+
+                    break;
+                case '-':
+                    if (offset < length && sql.charAt(offset) == '-') {
+                        offset = skipLine(sql, offset);
+                        continue;
+                    }
+
+                    break;
+                case '#':
+                    offset = skipLine(sql, offset);
+                    continue;
+                case '`':
+                case '\'':
+                case '"':
+                    while (offset < length) {
+                        if (sql.charAt(offset++) == ch) {
+                            if (length == offset || sql.charAt(offset) != ch) {
+                                break;
+                            }
+
+                            ++offset;
+                        }
+                    }
+
+                    break;
+                case '(':
+                    if (depth++ == 0 && afterValues && rowStart < 0) {
+                        rowStart = offset - 1;
+                    }
+
+                    break;
+                case ')':
+                    if (--depth == 0 && rowStart >= 0 && rowEnd < 0) {
+                        rowEnd = offset;
+                        continue;
+                    } else if (depth < 0) {
+                        return -1;
+                    }
+
+                    break;
+                case '?':
+                    if (rowStart < 0 || rowEnd >= 0) {
+                        // Parameter outside of the row.
+                        return -1;
+                    }
+
+                    ++marks;
+                    break;
+                case ';':
+                    if (rowEnd < 0) {
+                        return -1;
+                    }
+
+                    continue;
+                default:
+                    if (Character.isWhitespace(ch)) {
+                        continue;
+                    }
+
+                    break;
+            }
+
+            if (rowEnd >= 0 || firstWord) {
+                // Anything after the row or before INSERT, e.g. another row of VALUES.
+                return -1;
+            }
+
+            afterValues = false;
+        }
+
+        if (rowEnd < 0 || marks != parameters) {
+            return -1;
         }
 
-        private void push(int another) {
-            int i = size++;
+        return ((long) rowStart << 32) | rowEnd;
+    }
+
+    private static boolean isWord(String sql, int start, int end, String word) {
+        return end - start == word.length() && sql.regionMatches(true, start, word, 0, end - start);
+    }
+
+    private static int skipLine(String sql, int offset) {
+        int length = sql.length();
+
+        while (offset < length) {
+            char ch = sql.charAt(offset++);
 
-            if (i >= data.length) {
-                int[] newData = new int[data.length << 1];
-                System.arraycopy(data, 0, newData, 0, data.length);
-                data = newData;
+            if (ch == '\n' || ch == '\r') {
+                break;
             }
+        }
+
+        return offset;
+    }
+
+    /**
+     * Immutable indexes of a parameter name which is used by multiple parameters.
+     */
+    static final class Indexes {
+
+        private final int[] data;
+
+        private Indexes(int first, int second) {
+            this(new int[]{first, second});
+        }
 
-            data[i] = another;
+        private Indexes(int[] data) {
+            this.data = data;
+        }
+
+        /**
+         * Should be used only when parsing, it is rare that a name is used by more than 2 parameters.
+         *
+         * @param another the next index of the name.
+         * @return new {@link Indexes} which contains all indexes of this and {@code another}.
+         */
+        private Indexes push(int another) {
+            int size = data.length;
+            int[] newData = Arrays.copyOf(data, size + 1);
+
+            newData[size] = another;
+
+            return new Indexes(newData);
         }
 
         void bind(Binding binding, ParameterValue value) {
-            for (int i = 0; i < size; ++i) {
-                binding.add(data[i], value);
+            for (int index : data) {
+                binding.add(index, value);
             }
         }
 
         int[] toIntArray() {
-            return Arrays.copyOf(data, size);
+            return Arrays.copyOf(data, data.length);
         }
 
         @Override
@@ -341,30 +578,12 @@ final class Query {
                 return false;
             }
 
-            Indexes indexes = (Indexes) o;
-
-            if (size != indexes.size) {
-                return false;
-            }
-
-            for (int i = 0; i < size; ++i) {
-                if (data[i] != indexes.data[i]) {
-                    return false;
-                }
-            }
-
-            return true;
+            return Arrays.equals(data, ((Indexes) o).data);
         }
 
         @Override
         public int hashCode() {
-            int result = 1;
-
-            for (int i = 0; i < size; ++i) {
-                result = 31 * result + data[i];
-            }
-
-            return result;
+            return Arrays.hashCode(data);
         }
 
         @Override
@@ -373,7 +592,7 @@ final class Query {
                 .append('[')
                 .append(data[0]);
 
-            for (int i = 1; i < size; ++i) {
+            for (int i = 1; i < data.length; ++i) {
                 builder.append(", ")
                     .append(data[i]);
             }
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.miku.r2dbc.mysql;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import static dev.miku.r2dbc.mysql.util.AssertUtils.require;
+
+/**
+ * A thread-safe and approximate LRU cache of parsed {@link Query}s, it is shared by all connections
+ * which are created by the same {@link MySqlConnectionFactory}.
+ * <p>
+ * Lookups never lock, they only record the access time of the hit query. The least recently used
+ * query is found by scanning when a new query makes the cache exceed its capacity, so misses pay for
+ * the eviction, and the order of queries accessed concurrently is approximate.
+ */
+final class QueryCache implements CacheStatistics {
+
+    private final int capacity;
+
+    private final ConcurrentHashMap<String, Node> queries = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    QueryCache(int capacity) {
+        require(capacity >= 0, "capacity must not be a negative integer");
+
+        this.capacity = capacity;
+    }
+
+    /**
+     * Get the parsed {@link Query} of {@code sql}, parse and cache it if it has not been cached.
+     *
+     * @param sql the statement want to parse.
+     * @return parsed {@link Query}
+     */
+    Query get(String sql) {
+        if (capacity <= 0) {
+            return Query.parse(sql);
+        }
+
+        Node node = queries.get(sql);
+
+        if (node != null) {
+            hits.increment();
+            node.accessed = System.nanoTime();
+            return node.query;
+        }
+
+        misses.increment();
+
+        // Parse it without locking, a same SQL may be parsed concurrently, but it is harmless.
+        node = new Node(Query.parse(sql));
+
+        Node existing = queries.putIfAbsent(sql, node);
+
+        if (existing != null) {
+            return existing.query;
+        }
+
+        while (queries.size() > capacity) {
+            evictEldest();
+        }
+
+        return node.query;
+    }
+
+    private void evictEldest() {
+        String eldestSql = null;
+        Node eldest = null;
+
+        for (Map.Entry<String, Node> entry : queries.entrySet()) {
+            Node node = entry.getValue();
+
+            // Compare by difference, see also System.nanoTime().
+            if (eldest == null || node.accessed - eldest.accessed < 0) {
+                eldestSql = entry.getKey();
+                eldest = node;
+            }
+        }
+
+        // It may have been evicted concurrently.
+        if (eldest != null && queries.remove(eldestSql, eldest)) {
+            evictions.increment();
+        }
+    }
+
+    @Override
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public int getSize() {
+        return queries.size();
+    }
+
+    @Override
+    public long getHits() {
+        return hits.sum();
+    }
+
+    @Override
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    @Override
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("QueryCache{capacity=%d, size=%d, hits=%d, misses=%d, evictions=%d}", capacity, getSize(), getHits(), getMisses(), getEvictions());
+    }
+
+    private static final class Node {
+
+        private final Query query;
+
+        /**
+         * The last access time by {@link System#nanoTime()}, a racy update is acceptable.
+         */
+        private volatile long accessed = System.nanoTime();
+
+        private Node(Query query) {
+            this.query = query;
+        }
+    }
+}
@@ -17,24 +17,36 @@
 package dev.miku.r2dbc.mysql;
 
 import dev.miku.r2dbc.mysql.client.Client;
+import dev.miku.r2dbc.mysql.constant.ServerStatuses;
+import dev.miku.r2dbc.mysql.message.client.ExchangeableMessage;
+import dev.miku.r2dbc.mysql.message.client.LocalInfileQueryMessage;
 import dev.miku.r2dbc.mysql.message.client.PrepareQueryMessage;
 import dev.miku.r2dbc.mysql.message.client.PreparedCloseMessage;
+import dev.miku.r2dbc.mysql.message.client.PreparedExecuteMessage;
+import dev.miku.r2dbc.mysql.message.client.PreparedFetchMessage;
+import dev.miku.r2dbc.mysql.message.client.PreparedLargeDataMessage;
+import dev.miku.r2dbc.mysql.message.client.PreparedResetMessage;
 import dev.miku.r2dbc.mysql.message.client.SimpleQueryMessage;
 import dev.miku.r2dbc.mysql.message.server.CompleteMessage;
 import dev.miku.r2dbc.mysql.message.server.ErrorMessage;
+import dev.miku.r2dbc.mysql.message.server.OkMessage;
 import dev.miku.r2dbc.mysql.message.server.PreparedOkMessage;
 import dev.miku.r2dbc.mysql.message.server.ServerMessage;
+import dev.miku.r2dbc.mysql.message.server.ServerStatusMessage;
 import dev.miku.r2dbc.mysql.message.server.SyntheticMetadataMessage;
 import dev.miku.r2dbc.mysql.util.OperatorUtils;
 import io.netty.util.ReferenceCountUtil;
 import io.netty.util.ReferenceCounted;
+import io.r2dbc.spi.R2dbcException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.SynchronousSink;
+import reactor.util.annotation.Nullable;
 
 import java.util.List;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Predicate;
 
 /**
@@ -57,16 +69,23 @@ final class QueryFlow {
 
     private static final Consumer<Binding> CLEAR = Binding::clear;
 
+    private static final Consumer<PreparedLargeDataMessage> DISPOSE = PreparedLargeDataMessage::dispose;
+
+    /**
+     * Error code of "Unknown prepared statement handler", the prepared statement does not exist in server.
+     */
+    private static final int UNKNOWN_STATEMENT = 1243;
+
     /**
-     * Prepare a query to an identifier of prepared statement.
+     * Prepare a query to a prepared statement.
      *
      * @param client the {@link Client} to exchange messages with.
      * @param sql    the parametrize query.
-     * @return prepared statement identifier.
+     * @return prepared OK message which includes the identifier of prepared statement.
      */
-    static Mono<Integer> prepare(Client client, String sql) {
+    static Mono<PreparedOkMessage> prepare(Client client, String sql) {
         return client.exchange(new PrepareQueryMessage(sql), PREPARE_DONE)
-            .<Integer>handle((message, sink) -> {
+            .<PreparedOkMessage>handle((message, sink) -> {
                 if (message instanceof ErrorMessage) {
                     sink.error(ExceptionFactory.createException((ErrorMessage) message, sql));
                 } else if (message instanceof SyntheticMetadataMessage) {
@@ -74,7 +93,7 @@ final class QueryFlow {
                         sink.complete(); // Must wait for last metadata message.
                     }
                 } else if (message instanceof PreparedOkMessage) {
-                    sink.next(((PreparedOkMessage) message).getStatementId());
+                    sink.next((PreparedOkMessage) message);
                 } else {
                     ReferenceCountUtil.release(message);
                 }
@@ -83,8 +102,20 @@ final class QueryFlow {
     }
 
     /**
-     * Execute multiple bindings of a prepared statement with one-by-one. Query execution
-     * terminates with a {@link ErrorMessage} and send Exception to signal.
+     * Execute multiple bindings of a prepared statement. Query execution terminates with
+     * a {@link ErrorMessage} and send Exception to signal.
+     * <p>
+     * If {@code window} is greater than {@literal 1}, at most {@code window} bindings will be
+     * sent without waiting for responses of previous bindings, and responses will be emitted
+     * in order of bindings. It is useful only if the {@link Client} pipelines requests, and
+     * bindings after a failed binding may have been executed by server. Bindings will be executed
+     * one-by-one if any of them has long data (e.g. BLOB, CLOB), see also {@link #executeBinding}.
+     * <p>
+     * If {@code fetchSize} is greater than {@literal 0}, each binding will open a read-only cursor,
+     * and fetch at most {@code fetchSize} rows per round trip only when previous rows have been
+     * consumed, bindings will be executed one-by-one and {@code window} will be ignored. If it is
+     * cancelled before all rows fetched, the cursor will be closed by server when the statement
+     * is executed next time or closed.
      * <p>
      * It will not close this prepared statement.
      *
@@ -92,21 +123,90 @@ final class QueryFlow {
      * @param sql         the original statement for exception tracing.
      * @param statementId the statement identifier want to execute.
      * @param bindings    the data of bindings.
+     * @param window      the maximum number of bindings which are executing concurrently.
+     * @param fetchSize   the number of rows fetched from cursor per round trip, {@literal 0} means no cursor.
      * @return the messages received in response to this exchange, and will be completed
      * by {@link CompleteMessage} when it is last result for each binding.
      */
-    static Flux<ServerMessage> execute(Client client, String sql, int statementId, List<Binding> bindings) {
+    static Flux<ServerMessage> execute(Client client, String sql, int statementId, List<Binding> bindings, int window, int fetchSize) {
+        return execute(client, sql, statementId, bindings, window, fetchSize, false);
+    }
+
+    /**
+     * Execute multiple bindings of a prepared statement, see also {@link #execute(Client, String, int, List, int, int)}.
+     * If {@code retain} is {@code true}, values will be kept by bindings rather than moved out, so that the
+     * bindings can be executed again, and they will not be cleared on cancelled.
+     */
+    private static Flux<ServerMessage> execute(
+        Client client, String sql, int statementId, List<Binding> bindings, int window, int fetchSize, boolean retain
+    ) {
         if (bindings.isEmpty()) {
             return Flux.empty();
         }
 
         Handler handler = new Handler(sql);
+        Flux<Binding> source = OperatorUtils.discardOnCancel(Flux.fromIterable(bindings));
+
+        if (!retain) {
+            source = source.doOnDiscard(Binding.class, CLEAR);
+        }
+
+        if (fetchSize > 0) {
+            return source.concatMap(binding -> executeCursor(client, handler, binding, statementId, fetchSize, retain));
+        }
+
+        Function<Binding, Flux<ServerMessage>> executor = binding ->
+            executeBinding(client, handler, binding, statementId, false, retain);
+
+        if (window > 1 && bindings.size() > 1 && !hasLongData(bindings)) {
+            return source.flatMapSequential(executor, window);
+        }
+
+        return source.concatMap(executor);
+    }
+
+    /**
+     * Prepare {@code sql} or acquire it from {@code prepareCache}, then execute multiple bindings by the
+     * prepared statement, see also {@link #execute(Client, String, int, List, int, int)}.
+     * <p>
+     * The cached prepared statement may have been deallocated by server, then server responds "Unknown
+     * prepared statement handler". In this case, it will be evicted from {@code prepareCache}, and the
+     * bindings will be retried once by a new prepared statement if none of them has long data, because
+     * long data can not be published twice. The values of bindings are kept until the first response
+     * of the cached statement, so a retry does not need to copy bindings up front.
+     *
+     * @param client       the {@link Client} to exchange messages with.
+     * @param prepareCache the prepared statements cache of current connection.
+     * @param sql          the parametrize query.
+     * @param bindings     the data of bindings, they will be cleared if preparing is cancelled.
+     * @param window       the maximum number of bindings which are executing concurrently.
+     * @param fetchSize    the number of rows fetched from cursor per round trip, {@literal 0} means no cursor.
+     * @return the messages received in response to this exchange, and will be completed
+     * by {@link CompleteMessage} when it is last result for each binding.
+     */
+    static Flux<ServerMessage> execute(
+        Client client, PrepareCache prepareCache, String sql, List<Binding> bindings, int window, int fetchSize
+    ) {
+        return Flux.defer(() -> {
+            PrepareCache.Entry cached = prepareCache.acquire(sql);
 
-        return OperatorUtils.discardOnCancel(Flux.fromIterable(bindings))
-            .doOnDiscard(Binding.class, CLEAR)
-            .concatMap(binding -> OperatorUtils.discardOnCancel(client.exchange(binding.toMessage(statementId), EXECUTE_DONE))
-                .doOnDiscard(ReferenceCounted.class, RELEASE)
-                .handle(handler));
+            if (cached == null) {
+                return prepareAndExecute(client, prepareCache, sql, bindings, window, fetchSize);
+            }
+
+            boolean retain = !hasLongData(bindings);
+
+            return executeEntry(client, prepareCache, cached, sql, bindings, window, fetchSize, retain)
+                .<ServerMessage>switchOnFirst((signal, messages) -> {
+                    if (retain && signal.isOnError() && isUnknownStatement(signal.getThrowable())) {
+                        prepareCache.invalidate(sql, cached);
+                        // Values are still kept by bindings, they will be moved out by this retry.
+                        return prepareAndExecute(client, prepareCache, sql, bindings, window, fetchSize);
+                    }
+
+                    return messages;
+                });
+        });
     }
 
     /**
@@ -135,6 +235,27 @@ final class QueryFlow {
             .handle(new Handler(sql));
     }
 
+    /**
+     * Execute a {@code LOAD DATA LOCAL INFILE} query, the local data of {@code message} will be sent
+     * when server requests it. Query execution terminates with a {@link ErrorMessage} and send
+     * Exception to signal.
+     *
+     * @param client  the {@link Client} to exchange messages with.
+     * @param message the query and its local data.
+     * @return the number of affected rows.
+     */
+    static Mono<Long> loadLocalInfile(Client client, LocalInfileQueryMessage message) {
+        return exchange(client, message, new Handler(message.getSql().toString()))
+            .<Long>handle((response, sink) -> {
+                if (response instanceof OkMessage) {
+                    sink.next(((OkMessage) response).getAffectedRows());
+                } else {
+                    ReferenceCountUtil.safeRelease(response);
+                }
+            })
+            .reduce(0L, Long::sum);
+    }
+
     /**
      * Execute multiple simple queries with one-by-one. Query execution terminates with a
      * {@link ErrorMessage} and send Exception to signal.
@@ -159,6 +280,131 @@ final class QueryFlow {
         });
     }
 
+    /**
+     * Execute a binding of a prepared statement. If the binding has long data, they will be sent by
+     * {@link PreparedLargeDataMessage}s chunk by chunk before the execution, so that a LOB parameter
+     * will never be buffered entirely. The statement will be reset if sending is failed or cancelled,
+     * because server keeps long data which has been received until the statement is executed or reset.
+     */
+    private static Flux<ServerMessage> executeBinding(
+        Client client, Handler handler, Binding binding, int statementId, boolean cursor, boolean retain
+    ) {
+        PreparedExecuteMessage message = binding.toMessage(statementId, cursor, retain);
+
+        if (!message.hasLongData()) {
+            return exchange(client, message, handler);
+        }
+
+        return message.longData(client.getByteBufAllocator())
+            .concatMap(client::sendOnly, 1)
+            .doOnDiscard(PreparedLargeDataMessage.class, DISPOSE)
+            .doOnDiscard(ReferenceCounted.class, RELEASE)
+            .then()
+            .onErrorResume(e -> {
+                message.dispose();
+                return reset(client, statementId).then(Mono.error(e));
+            })
+            .doOnCancel(() -> {
+                message.dispose();
+                reset(client, statementId).subscribe();
+            })
+            .thenMany(Flux.defer(() -> exchange(client, message, handler)));
+    }
+
+    /**
+     * Reset a prepared statement and ignore any error, it is used to clear long data which has been sent.
+     */
+    private static Mono<Void> reset(Client client, int statementId) {
+        return client.exchange(new PreparedResetMessage(statementId), EXECUTE_DONE)
+            .doOnNext(ReferenceCountUtil::safeRelease)
+            .onErrorResume(ignored -> Mono.empty())
+            .then();
+    }
+
+    private static Flux<ServerMessage> prepareAndExecute(
+        Client client, PrepareCache prepareCache, String sql, List<Binding> bindings, int window, int fetchSize
+    ) {
+        return prepare(client, sql)
+            .map(message -> prepareCache.putAndAcquire(sql, message))
+            .doOnCancel(() -> bindings.forEach(CLEAR))
+            .flatMapMany(entry -> executeEntry(client, prepareCache, entry, sql, bindings, window, fetchSize, false));
+    }
+
+    /**
+     * Execute bindings by an acquired entry, the prepared statement will be closed by cache if it is
+     * evicted or can not be cached.
+     */
+    private static Flux<ServerMessage> executeEntry(
+        Client client, PrepareCache prepareCache, PrepareCache.Entry entry, String sql, List<Binding> bindings,
+        int window, int fetchSize, boolean retain
+    ) {
+        return execute(client, sql, entry.getStatementId(), bindings, window, fetchSize, retain)
+            .doFinally(ignored -> prepareCache.release(entry));
+    }
+
+    private static boolean isUnknownStatement(@Nullable Throwable e) {
+        return e instanceof R2dbcException && ((R2dbcException) e).getErrorCode() == UNKNOWN_STATEMENT;
+    }
+
+    private static boolean hasLongData(List<Binding> bindings) {
+        for (Binding binding : bindings) {
+            if (binding.hasLongData()) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static Flux<ServerMessage> exchange(Client client, ExchangeableMessage message, Handler handler) {
+        return OperatorUtils.discardOnCancel(client.exchange(message, EXECUTE_DONE))
+            .doOnDiscard(ReferenceCounted.class, RELEASE)
+            .handle(handler);
+    }
+
+    private static Flux<ServerMessage> executeCursor(
+        Client client, Handler handler, Binding binding, int statementId, int fetchSize, boolean retain
+    ) {
+        CursorHandler cursor = new CursorHandler();
+        // Next fetching will be sent only if current rows have been consumed.
+        Flux<ServerMessage> fetches = Flux.defer(() -> exchange(client, new PreparedFetchMessage(statementId, fetchSize), handler)
+            .handle(cursor))
+            .repeat(cursor::hasMore);
+
+        return executeBinding(client, handler, binding, statementId, true, retain)
+            .handle(cursor)
+            .concatWith(Flux.defer(() -> cursor.hasMore() ? fetches : Flux.empty()));
+    }
+
+    /**
+     * Drops complete messages which mean more rows are in the opened cursor, so that the
+     * metadata and rows of all fetching are in the same result.
+     */
+    private static final class CursorHandler implements BiConsumer<ServerMessage, SynchronousSink<ServerMessage>> {
+
+        private boolean more;
+
+        @Override
+        public void accept(ServerMessage message, SynchronousSink<ServerMessage> sink) {
+            if (message instanceof CompleteMessage) {
+                short statuses = message instanceof ServerStatusMessage ? ((ServerStatusMessage) message).getServerStatuses() : 0;
+
+                this.more = (statuses & ServerStatuses.CURSOR_EXISTS) != 0 && (statuses & ServerStatuses.LAST_ROW_SENT) == 0;
+
+                if (this.more) {
+                    // Complete message has no need to release.
+                    return;
+                }
+            }
+
+            sink.next(message);
+        }
+
+        boolean hasMore() {
+            return more;
+        }
+    }
+
     private static final class Handler implements BiConsumer<ServerMessage, SynchronousSink<ServerMessage>> {
 
         private final String sql;
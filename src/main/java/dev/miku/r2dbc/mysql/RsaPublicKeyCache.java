@@ -0,0 +1,143 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.miku.r2dbc.mysql;
+
+import reactor.util.annotation.Nullable;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+
+/**
+ * A holder of the RSA public key of server, it is shared by all connections which are created by
+ * the same {@link MySqlConnectionFactory}.
+ * <p>
+ * The key is loaded from the configured {@code PEM} file, or cached after it has been requested
+ * from server by a connection, so later connections can skip the request.
+ */
+final class RsaPublicKeyCache {
+
+    private static final String BEGIN = "-----BEGIN PUBLIC KEY-----";
+
+    private static final String END = "-----END PUBLIC KEY-----";
+
+    @Nullable
+    private final Path file;
+
+    private final boolean retrievalAllowed;
+
+    @Nullable
+    private volatile PublicKey key;
+
+    RsaPublicKeyCache(@Nullable Path file, boolean retrievalAllowed) {
+        this.file = file;
+        this.retrievalAllowed = retrievalAllowed;
+    }
+
+    /**
+     * Get the public key, load it if it is configured but has not been loaded.
+     *
+     * @return the public key, or {@code null} if it is neither configured nor cached.
+     */
+    @Nullable
+    PublicKey get() {
+        PublicKey key = this.key;
+        Path file = this.file;
+
+        if (key != null || file == null) {
+            return key;
+        }
+
+        synchronized (this) {
+            key = this.key;
+
+            if (key == null) {
+                try {
+                    key = parse(new String(Files.readAllBytes(file), StandardCharsets.US_ASCII));
+                } catch (IOException e) {
+                    throw new IllegalArgumentException(String.format("Cannot read RSA public key file %s", file), e);
+                }
+
+                this.key = key;
+            }
+        }
+
+        return key;
+    }
+
+    boolean isRetrievalAllowed() {
+        return retrievalAllowed && file == null;
+    }
+
+    /**
+     * Cache a public key which has been requested from server.
+     *
+     * @param key the public key.
+     */
+    void retrieved(PublicKey key) {
+        if (file == null) {
+            this.key = key;
+        }
+    }
+
+    /**
+     * Invalidate a cached public key which has been requested from server, e.g. authentication failed
+     * because the server has been changed after failover.
+     *
+     * @param key the public key which is used by failed authentication.
+     */
+    synchronized void invalidate(PublicKey key) {
+        if (file == null && this.key == key) {
+            this.key = null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RsaPublicKeyCache{file=%s, retrievalAllowed=%s, cached=%s}", file, retrievalAllowed, key != null);
+    }
+
+    /**
+     * Parse an RSA public key in {@code PEM} format, i.e. Base64 encoded X.509 SubjectPublicKeyInfo.
+     *
+     * @param pem the public key in {@code PEM} format.
+     * @return parsed public key.
+     * @throws IllegalArgumentException if {@code pem} is not a valid RSA public key.
+     */
+    static PublicKey parse(String pem) {
+        int begin = pem.indexOf(BEGIN);
+        int end = pem.indexOf(END);
+
+        if (begin < 0 || end < begin) {
+            throw new IllegalArgumentException("RSA public key must be PEM format which starts with " + BEGIN);
+        }
+
+        try {
+            byte[] der = Base64.getMimeDecoder().decode(pem.substring(begin + BEGIN.length(), end));
+
+            return KeyFactory.getInstance("RSA").generatePublic(new X509EncodedKeySpec(der));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalArgumentException("Invalid RSA public key", e);
+        }
+    }
+}
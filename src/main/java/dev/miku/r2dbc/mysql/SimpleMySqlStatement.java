@@ -21,6 +21,8 @@ import dev.miku.r2dbc.mysql.codec.Codecs;
 import dev.miku.r2dbc.mysql.util.ConnectionContext;
 import reactor.core.publisher.Flux;
 
+import java.util.Collections;
+
 import static dev.miku.r2dbc.mysql.util.AssertUtils.requireNonNull;
 
 /**
@@ -36,11 +38,14 @@ final class SimpleMySqlStatement extends MySqlStatementSupport {
 
     private final String sql;
 
-    SimpleMySqlStatement(Client client, Codecs codecs, ConnectionContext context, String sql) {
+    private final PrepareCache prepareCache;
+
+    SimpleMySqlStatement(Client client, Codecs codecs, ConnectionContext context, String sql, PrepareCache prepareCache) {
         this.client = requireNonNull(client, "client must not be null");
         this.codecs = requireNonNull(codecs, "codecs must not be null");
         this.context = requireNonNull(context, "context must not be null");
         this.sql = requireNonNull(sql, "sql must not be null");
+        this.prepareCache = requireNonNull(prepareCache, "prepareCache must not be null");
     }
 
     @Override
@@ -70,6 +75,15 @@ final class SimpleMySqlStatement extends MySqlStatementSupport {
 
     @Override
     public Flux<MySqlResult> execute() {
+        int fetchSize = this.fetchSize;
+
+        if (fetchSize > 0) {
+            // Cursor is supported by prepared statements only, it is cached like parametrized statements.
+            return QueryFlow.execute(client, prepareCache, sql, Collections.singletonList(new Binding(0)), 1, fetchSize)
+                .windowUntil(QueryFlow.RESULT_DONE)
+                .map(messages -> new MySqlResult(true, codecs, context, generatedKeyName, messages));
+        }
+
         return QueryFlow.execute(client, sql)
             .windowUntil(QueryFlow.RESULT_DONE)
             .map(messages -> new MySqlResult(false, codecs, context, generatedKeyName, messages));
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.miku.r2dbc.mysql;
+
+/**
+ * Statistics of SSL/TLS handshakes of connections which are created by the same
+ * {@link MySqlConnectionFactory}, all counters are accumulated since the factory
+ * has been created.
+ * <p>
+ * Note: values are read without locking, so they may be slightly out-of-date when
+ * connections are handshaking concurrently.
+ */
+public interface SslStatistics {
+
+    /**
+     * @return the number of handshakes which have been completed successfully.
+     */
+    long getHandshakes();
+
+    /**
+     * @return the number of successful handshakes which resumed a cached session,
+     * i.e. no full handshake has been performed. It is detected by the session id which is
+     * same as the last session of the same peer, so TLS 1.3 resumptions which do not reuse
+     * session ids will not be counted.
+     */
+    long getResumedHandshakes();
+
+    /**
+     * @return the number of handshakes which have been failed.
+     */
+    long getFailedHandshakes();
+
+    /**
+     * @return the total time of all handshakes in nanoseconds, includes failed handshakes.
+     */
+    long getHandshakeNanos();
+
+    /**
+     * @return the longest time of a handshake in nanoseconds.
+     */
+    long getMaxHandshakeNanos();
+}
@@ -18,11 +18,15 @@ package dev.miku.r2dbc.mysql.authentication;
 
 import dev.miku.r2dbc.mysql.collation.CharCollation;
 
+import javax.crypto.Cipher;
 import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
 import java.nio.charset.Charset;
+import java.security.GeneralSecurityException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.util.Arrays;
 
 import static dev.miku.r2dbc.mysql.constant.DataValues.TERMINAL;
 
@@ -31,6 +35,10 @@ import static dev.miku.r2dbc.mysql.constant.DataValues.TERMINAL;
  */
 final class AuthHelper {
 
+    static final String RSA_OAEP = "RSA/ECB/OAEPWithSHA-1AndMGF1Padding";
+
+    static final String RSA_PKCS1 = "RSA/ECB/PKCS1Padding";
+
     private AuthHelper() {
     }
 
@@ -59,6 +67,40 @@ final class AuthHelper {
         return bytes;
     }
 
+    /**
+     * Encrypt password by RSA public key of server, the plain text is the password with terminal
+     * which is XOR by salt in rotation.
+     *
+     * @param transformation the transformation of {@link Cipher}
+     * @param password       user password
+     * @param salt           password salt
+     * @param collation      password character collation
+     * @param key            the RSA public key of server
+     * @return encrypted password
+     */
+    static byte[] encryptWithRsa(String transformation, CharSequence password, byte[] salt, CharCollation collation, PublicKey key) {
+        byte[] plain = encodeTerminal(CharBuffer.wrap(password), collation.getCharset());
+        int saltSize = salt.length;
+
+        try {
+            if (saltSize > 0) {
+                for (int i = 0; i < plain.length; ++i) {
+                    plain[i] ^= salt[i % saltSize];
+                }
+            }
+
+            Cipher cipher = Cipher.getInstance(transformation);
+
+            cipher.init(Cipher.ENCRYPT_MODE, key);
+
+            return cipher.doFinal(plain);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalArgumentException(String.format("Cannot encrypt password by %s", transformation), e);
+        } finally {
+            Arrays.fill(plain, (byte) 0);
+        }
+    }
+
     private static MessageDigest loadDigest(String name) {
         try {
             return MessageDigest.getInstance(name);
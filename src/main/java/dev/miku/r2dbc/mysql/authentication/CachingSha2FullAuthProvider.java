@@ -17,9 +17,11 @@
 package dev.miku.r2dbc.mysql.authentication;
 
 import dev.miku.r2dbc.mysql.collation.CharCollation;
+import dev.miku.r2dbc.mysql.util.ServerVersion;
 import reactor.util.annotation.Nullable;
 
 import java.nio.CharBuffer;
+import java.security.PublicKey;
 
 import static dev.miku.r2dbc.mysql.constant.AuthTypes.CACHING_SHA2_PASSWORD;
 import static dev.miku.r2dbc.mysql.constant.DataValues.TERMINAL;
@@ -32,6 +34,16 @@ final class CachingSha2FullAuthProvider implements MySqlAuthProvider {
 
     static final CachingSha2FullAuthProvider INSTANCE = new CachingSha2FullAuthProvider();
 
+    /**
+     * Request public key, i.e. the authentication data is 0x02.
+     */
+    private static final byte PUBLIC_KEY_REQUEST = 2;
+
+    /**
+     * Lowest version which decrypts password by OAEP padding, lower versions use PKCS#1 v1.5 padding.
+     */
+    private static final ServerVersion OAEP_VER = ServerVersion.create(8, 0, 5);
+
     private CachingSha2FullAuthProvider() {
     }
 
@@ -52,6 +64,27 @@ final class CachingSha2FullAuthProvider implements MySqlAuthProvider {
         return AuthHelper.encodeTerminal(CharBuffer.wrap(password), collation.getCharset());
     }
 
+    @Override
+    public byte[] publicKeyRequest() {
+        return new byte[]{PUBLIC_KEY_REQUEST};
+    }
+
+    @Override
+    public byte[] encryptedAuthentication(
+        @Nullable CharSequence password, @Nullable byte[] salt, CharCollation collation, PublicKey key, ServerVersion version
+    ) {
+        if (password == null || password.length() <= 0) {
+            return new byte[]{TERMINAL};
+        }
+
+        requireNonNull(salt, "salt must not be null when password exists");
+        requireNonNull(collation, "collation must not be null when password exists");
+
+        String transformation = version.isGreaterThanOrEqualTo(OAEP_VER) ? AuthHelper.RSA_OAEP : AuthHelper.RSA_PKCS1;
+
+        return AuthHelper.encryptWithRsa(transformation, password, salt, collation, key);
+    }
+
     @Override
     public MySqlAuthProvider next() {
         return this;
@@ -18,9 +18,12 @@ package dev.miku.r2dbc.mysql.authentication;
 
 import dev.miku.r2dbc.mysql.collation.CharCollation;
 import dev.miku.r2dbc.mysql.constant.AuthTypes;
+import dev.miku.r2dbc.mysql.util.ServerVersion;
 import io.r2dbc.spi.R2dbcPermissionDeniedException;
 import reactor.util.annotation.Nullable;
 
+import java.security.PublicKey;
+
 import static dev.miku.r2dbc.mysql.util.AssertUtils.requireNonNull;
 
 /**
@@ -70,6 +73,35 @@ public interface MySqlAuthProvider {
      */
     byte[] authentication(@Nullable CharSequence password, @Nullable byte[] salt, CharCollation collation);
 
+    /**
+     * Get the request of RSA public key of server, it is used when {@link #isSslNecessary()} but the connection
+     * is not on SSL and the public key is unknown.
+     *
+     * @return the request of public key, or {@code null} if the authentication type does not support RSA encryption.
+     */
+    @Nullable
+    default byte[] publicKeyRequest() {
+        return null;
+    }
+
+    /**
+     * Generate an authorization which is encrypted by the RSA public key of server, it is used when
+     * {@link #isSslNecessary()} but the connection is not on SSL.
+     *
+     * @param password  user password
+     * @param salt      password salt for hash algorithm
+     * @param collation password character collation
+     * @param key       the RSA public key of server
+     * @param version   the version of server
+     * @return encrypted authentication.
+     * @throws UnsupportedOperationException if the authentication type does not support RSA encryption.
+     */
+    default byte[] encryptedAuthentication(
+        @Nullable CharSequence password, @Nullable byte[] salt, CharCollation collation, PublicKey key, ServerVersion version
+    ) {
+        throw new UnsupportedOperationException(String.format("Authentication type '%s' does not support RSA encryption", getType()));
+    }
+
     /**
      * @return next authentication provider for same authentication type, or {@code this} if has not next provider.
      */
@@ -17,9 +17,11 @@
 package dev.miku.r2dbc.mysql.authentication;
 
 import dev.miku.r2dbc.mysql.collation.CharCollation;
+import dev.miku.r2dbc.mysql.util.ServerVersion;
 import reactor.util.annotation.Nullable;
 
 import java.nio.CharBuffer;
+import java.security.PublicKey;
 
 import static dev.miku.r2dbc.mysql.constant.AuthTypes.SHA256_PASSWORD;
 import static dev.miku.r2dbc.mysql.constant.DataValues.TERMINAL;
@@ -32,6 +34,11 @@ final class Sha256AuthProvider implements MySqlAuthProvider {
 
     static final Sha256AuthProvider INSTANCE = new Sha256AuthProvider();
 
+    /**
+     * Request public key, i.e. the authentication data is 0x01.
+     */
+    private static final byte PUBLIC_KEY_REQUEST = 1;
+
     private Sha256AuthProvider() {
     }
 
@@ -51,6 +58,25 @@ final class Sha256AuthProvider implements MySqlAuthProvider {
         return AuthHelper.encodeTerminal(CharBuffer.wrap(password), collation.getCharset());
     }
 
+    @Override
+    public byte[] publicKeyRequest() {
+        return new byte[]{PUBLIC_KEY_REQUEST};
+    }
+
+    @Override
+    public byte[] encryptedAuthentication(
+        @Nullable CharSequence password, @Nullable byte[] salt, CharCollation collation, PublicKey key, ServerVersion version
+    ) {
+        if (password == null || password.length() <= 0) {
+            return new byte[]{TERMINAL};
+        }
+
+        requireNonNull(salt, "salt must not be null when password exists");
+        requireNonNull(collation, "collation must not be null when password exists");
+
+        return AuthHelper.encryptWithRsa(AuthHelper.RSA_OAEP, password, salt, collation, key);
+    }
+
     @Override
     public MySqlAuthProvider next() {
         return this;
@@ -16,11 +16,11 @@
 
 package dev.miku.r2dbc.mysql.client;
 
-import dev.miku.r2dbc.mysql.MySqlSslConfiguration;
 import dev.miku.r2dbc.mysql.message.client.ExchangeableMessage;
 import dev.miku.r2dbc.mysql.message.client.SendOnlyMessage;
 import dev.miku.r2dbc.mysql.message.server.ServerMessage;
 import dev.miku.r2dbc.mysql.util.ConnectionContext;
+import io.netty.buffer.ByteBufAllocator;
 import io.netty.channel.ChannelOption;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -41,6 +41,9 @@ public interface Client {
     /**
      * Perform an exchange of messages. Calling this method while a previous exchange is active will
      * return a deferred handle and queue the request until the previous exchange terminates.
+     * <p>
+     * If pipelining is enabled, the request will be queued only until the previous request has been
+     * sent, and responses will be emitted after the previous exchange terminates.
      *
      * @param request  one request for get server responses
      * @param complete determining the last response frame to {@code Subscriber#onComplete()}
@@ -60,13 +63,25 @@ public interface Client {
 
     boolean isConnected();
 
+    /**
+     * Get the {@link ByteBufAllocator} of the connection, it should be used to encode data which is
+     * not encoded by messages self, e.g. chunks of long data.
+     *
+     * @return the allocator of the connection.
+     */
+    ByteBufAllocator getByteBufAllocator();
+
     void sslUnsupported();
 
     void loginSuccess();
 
-    static Mono<Client> connect(SocketAddress address, MySqlSslConfiguration ssl, ConnectionContext context, @Nullable Duration connectTimeout) {
+    static Mono<Client> connect(
+        SocketAddress address, SslContextCache sslContexts, ConnectionContext context,
+        @Nullable Duration connectTimeout, boolean pipelining, int highWatermark, int lowWatermark,
+        int compressionMinSize, int zstdCompressionLevel
+    ) {
         requireNonNull(address, "address must not be null");
-        requireNonNull(ssl, "ssl must not be null");
+        requireNonNull(sslContexts, "sslContexts must not be null");
         requireNonNull(context, "context must not be null");
 
         return TcpClient.newConnection()
@@ -78,6 +93,6 @@ public interface Client {
                 return b.remoteAddress(address);
             })
             .connect()
-            .map(conn -> new ReactorNettyClient(conn, ssl, context));
+            .map(conn -> new ReactorNettyClient(conn, sslContexts, context, pipelining, highWatermark, lowWatermark, compressionMinSize, zstdCompressionLevel));
     }
 }
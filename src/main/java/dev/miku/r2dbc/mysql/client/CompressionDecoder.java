@@ -0,0 +1,75 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.miku.r2dbc.mysql.client;
+
+import dev.miku.r2dbc.mysql.constant.Envelopes;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.ByteToMessageDecoder;
+
+import java.util.List;
+
+import static dev.miku.r2dbc.mysql.util.AssertUtils.requireNonNull;
+
+/**
+ * Unwrap compressed packets of MySQL protocol, and pass uncompressed payloads to {@link EnvelopeSlicer}.
+ * <p>
+ * The payload of a compressed packet may contain multiple envelopes or a part of envelope, so it will
+ * be sliced by {@link EnvelopeSlicer} again. The sequence id of compressed packets is ignored, like
+ * the official connectors.
+ */
+final class CompressionDecoder extends ByteToMessageDecoder {
+
+    static final String NAME = "R2dbcMySqlCompressionDecoder";
+
+    private final Compressor compressor;
+
+    CompressionDecoder(Compressor compressor) {
+        this.compressor = requireNonNull(compressor, "compressor must not be null");
+    }
+
+    @Override
+    protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) {
+        if (in.readableBytes() < Envelopes.COMPRESSION_HEADER_SIZE) {
+            return;
+        }
+
+        int readerIndex = in.readerIndex();
+        int compressedSize = in.getUnsignedMediumLE(readerIndex);
+
+        if (in.readableBytes() < Envelopes.COMPRESSION_HEADER_SIZE + compressedSize) {
+            return;
+        }
+
+        int uncompressedSize = in.getUnsignedMediumLE(readerIndex + Envelopes.PART_HEADER_SIZE);
+
+        in.skipBytes(Envelopes.COMPRESSION_HEADER_SIZE);
+
+        if (uncompressedSize == 0) {
+            // The payload is not compressed.
+            out.add(in.readRetainedSlice(compressedSize));
+        } else {
+            ByteBuf payload = in.readSlice(compressedSize);
+            out.add(compressor.decompress(payload, uncompressedSize, ctx.alloc()));
+        }
+    }
+
+    @Override
+    protected void handlerRemoved0(ChannelHandlerContext ctx) {
+        compressor.dispose();
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.miku.r2dbc.mysql.client;
+
+import dev.miku.r2dbc.mysql.constant.Envelopes;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.CoalescingBufferQueue;
+
+import java.nio.channels.ClosedChannelException;
+
+import static dev.miku.r2dbc.mysql.util.AssertUtils.requireNonNull;
+
+/**
+ * Wrap outbound envelopes into compressed packets of MySQL protocol.
+ * <p>
+ * Envelopes are queued until flush, so a message will be compressed as a whole instead of compressing
+ * headers and bodies respectively. Payloads which are smaller than {@link #minSize} or can not be
+ * compressed smaller will be sent uncompressed.
+ */
+final class CompressionEncoder extends ChannelOutboundHandlerAdapter {
+
+    static final String NAME = "R2dbcMySqlCompressionEncoder";
+
+    private final Compressor compressor;
+
+    private final int minSize;
+
+    private CoalescingBufferQueue pending;
+
+    /**
+     * The sequence id of next compressed packet, it starts from the sequence id of the first envelope
+     * in the queue, same as the official connectors.
+     */
+    private int sequenceId;
+
+    CompressionEncoder(Compressor compressor, int minSize) {
+        this.compressor = requireNonNull(compressor, "compressor must not be null");
+        this.minSize = minSize;
+    }
+
+    @Override
+    public void handlerAdded(ChannelHandlerContext ctx) {
+        this.pending = new CoalescingBufferQueue(ctx.channel());
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+        if (msg instanceof ByteBuf) {
+            ByteBuf buf = (ByteBuf) msg;
+
+            if (pending.isEmpty() && buf.readableBytes() >= Envelopes.PART_HEADER_SIZE) {
+                this.sequenceId = buf.getUnsignedByte(buf.readerIndex() + Envelopes.SIZE_FIELD_SIZE);
+            }
+
+            pending.add(buf, promise);
+        } else {
+            ctx.write(msg, promise);
+        }
+    }
+
+    @Override
+    public void flush(ChannelHandlerContext ctx) {
+        while (!pending.isEmpty()) {
+            ChannelPromise promise = ctx.newPromise();
+            ByteBuf payload = pending.remove(Math.min(pending.readableBytes(), Envelopes.MAX_ENVELOPE_SIZE), promise);
+
+            try {
+                writePacket(ctx, payload, promise);
+            } catch (Throwable e) {
+                promise.tryFailure(e);
+            } finally {
+                payload.release();
+            }
+        }
+
+        ctx.flush();
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) {
+        pending.releaseAndFailAll(new ClosedChannelException());
+        compressor.dispose();
+    }
+
+    private void writePacket(ChannelHandlerContext ctx, ByteBuf payload, ChannelPromise promise) {
+        int uncompressedSize = payload.readableBytes();
+
+        if (uncompressedSize <= 0) {
+            promise.trySuccess();
+            return;
+        }
+
+        ByteBuf compressed = uncompressedSize < minSize ? null : compressor.compress(payload, ctx.alloc());
+        ByteBuf header = ctx.alloc().buffer(Envelopes.COMPRESSION_HEADER_SIZE, Envelopes.COMPRESSION_HEADER_SIZE);
+
+        if (compressed == null) {
+            // Uncompressed size field is 0 means the payload is not compressed.
+            ctx.write(header.writeMediumLE(uncompressedSize).writeByte(sequenceId++).writeMediumLE(0));
+            ctx.write(payload.retain(), promise);
+        } else {
+            ctx.write(header.writeMediumLE(compressed.readableBytes()).writeByte(sequenceId++).writeMediumLE(uncompressedSize));
+            ctx.write(compressed, promise);
+        }
+    }
+}
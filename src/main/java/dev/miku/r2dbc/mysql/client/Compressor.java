@@ -0,0 +1,52 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.miku.r2dbc.mysql.client;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import reactor.core.Disposable;
+import reactor.util.annotation.Nullable;
+
+/**
+ * An abstraction of the compression algorithm for payloads of compressed packets.
+ * <p>
+ * It is used only by the event loop of a connection, so implementations do not need to be thread-safe.
+ */
+interface Compressor extends Disposable {
+
+    /**
+     * Compress readable bytes of {@code buf}, it will not change {@code buf} or its reader index.
+     *
+     * @param buf   the uncompressed payload.
+     * @param alloc the allocator for the compressed payload.
+     * @return compressed payload, or {@code null} if the compressed payload is not smaller than
+     * the uncompressed payload.
+     */
+    @Nullable
+    ByteBuf compress(ByteBuf buf, ByteBufAllocator alloc);
+
+    /**
+     * Decompress readable bytes of {@code buf}, it will not change {@code buf} or its reader index.
+     *
+     * @param buf              the compressed payload.
+     * @param uncompressedSize the byte size of uncompressed payload.
+     * @param alloc            the allocator for the uncompressed payload.
+     * @return uncompressed payload.
+     * @throws io.netty.handler.codec.DecoderException if {@code buf} is corrupted.
+     */
+    ByteBuf decompress(ByteBuf buf, int uncompressedSize, ByteBufAllocator alloc);
+}
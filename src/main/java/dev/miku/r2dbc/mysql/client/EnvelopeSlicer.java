@@ -18,6 +18,7 @@ package dev.miku.r2dbc.mysql.client;
 
 import dev.miku.r2dbc.mysql.constant.Envelopes;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
 import io.netty.handler.codec.DecoderException;
 import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
 
@@ -30,6 +31,25 @@ final class EnvelopeSlicer extends LengthFieldBasedFrameDecoder {
 
     static final String NAME = "R2dbcMySqlEnvelopeSlicer";
 
+    /**
+     * Cumulation larger than this bytes is most likely a part of large envelopes.
+     */
+    private static final int COMPOSITE_THRESHOLD = 1 << 20;
+
+    /**
+     * Small reads are merged into a contiguous cumulation which is cheap to read. When the cumulation grows
+     * beyond {@link #COMPOSITE_THRESHOLD}, following reads are composed instead of being copied into an
+     * expanding buffer, so that large envelopes are sliced as views of received buffers.
+     */
+    private static final Cumulator ADAPTIVE_CUMULATOR = (alloc, cumulation, in) -> {
+        if (cumulation instanceof CompositeByteBuf ||
+            (long) cumulation.readableBytes() + in.readableBytes() > COMPOSITE_THRESHOLD) {
+            return COMPOSITE_CUMULATOR.cumulate(alloc, cumulation, in);
+        }
+
+        return MERGE_CUMULATOR.cumulate(alloc, cumulation, in);
+    };
+
     EnvelopeSlicer() {
         super(
             ByteOrder.LITTLE_ENDIAN,
@@ -40,6 +60,7 @@ final class EnvelopeSlicer extends LengthFieldBasedFrameDecoder {
             0, // do NOT strip header
             true
         );
+        setCumulator(ADAPTIVE_CUMULATOR);
     }
 
     /**
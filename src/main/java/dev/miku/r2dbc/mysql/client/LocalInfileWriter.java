@@ -0,0 +1,273 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.miku.r2dbc.mysql.client;
+
+import dev.miku.r2dbc.mysql.constant.Envelopes;
+import dev.miku.r2dbc.mysql.message.client.LocalInfileQueryMessage;
+import dev.miku.r2dbc.mysql.message.server.LocalInfileRequest;
+import dev.miku.r2dbc.mysql.util.ConnectionContext;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.DefaultFileRegion;
+import io.netty.handler.ssl.SslHandler;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscription;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.CoreSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.annotation.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Sends local data as the answer of {@link LocalInfileRequest}.
+ * <p>
+ * The data is sent as envelopes chunk by chunk, and next chunk will be requested only after previous
+ * chunk has been written, so at most one chunk is buffered whatever the size of data. The data will be
+ * terminated by an empty envelope. If the data can not be read, the connection will be closed without
+ * the empty envelope, so the server will not complete the loading.
+ * <p>
+ * A file will be sent by {@link DefaultFileRegion}s (zero-copy) if the connection is neither encrypted
+ * nor compressed, otherwise it will be read into {@link ByteBuf}s.
+ */
+final class LocalInfileWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalInfileWriter.class);
+
+    private static final int MIN_CHUNK_SIZE = 1 << 12;
+
+    private static final int MAX_CHUNK_SIZE = 1 << 23;
+
+    private LocalInfileWriter() {
+    }
+
+    /**
+     * Answer a {@link LocalInfileRequest}.
+     *
+     * @param ctx     the context of the codec handler.
+     * @param request the request of server.
+     * @param message the query which is executing, or {@code null} if it is not requested by a
+     *                {@link LocalInfileQueryMessage}, then the request will be rejected by an empty
+     *                data, and the codec fails the statement after server responded it.
+     * @param context the connection context.
+     */
+    static void write(ChannelHandlerContext ctx, LocalInfileRequest request, @Nullable LocalInfileQueryMessage message, ConnectionContext context) {
+        int envelopeId = request.getEnvelopeId() + 1;
+
+        if (message == null) {
+            logger.warn("Server requests local file '{}' without loading API, reject it", request.getPath());
+            writeEnd(ctx, envelopeId);
+            return;
+        }
+
+        // The path of request is ignored, data always comes from the loading API.
+        int chunkSize = (int) Math.max(MIN_CHUNK_SIZE, Math.min(MAX_CHUNK_SIZE, context.getMaxAllowedPacket() >>> 1));
+        Path file = message.getFile();
+        Publisher<ByteBuf> data;
+
+        if (file == null) {
+            data = message.getData();
+        } else if (isZeroCopyAvailable(ctx)) {
+            new FileSender(ctx, file.toFile(), chunkSize, envelopeId).next();
+            return;
+        } else {
+            data = readFile(file, chunkSize, ctx.alloc());
+        }
+
+        if (data == null) {
+            // Should never happen.
+            fail(ctx, new IllegalStateException("Local data of LOAD DATA LOCAL INFILE is not found"));
+            return;
+        }
+
+        data.subscribe(new DataSubscriber(ctx, chunkSize, envelopeId));
+    }
+
+    private static boolean isZeroCopyAvailable(ChannelHandlerContext ctx) {
+        return ctx.pipeline().get(SslHandler.class) == null && ctx.pipeline().get(CompressionEncoder.NAME) == null;
+    }
+
+    private static Publisher<ByteBuf> readFile(Path file, int chunkSize, ByteBufAllocator allocator) {
+        return Flux.using(() -> FileChannel.open(file, StandardOpenOption.READ), channel -> Flux.<ByteBuf>generate(sink -> {
+            ByteBuf buf = allocator.buffer(chunkSize, chunkSize);
+
+            try {
+                if (buf.writeBytes(channel, chunkSize) < 0) {
+                    buf.release();
+                    sink.complete();
+                } else {
+                    sink.next(buf);
+                }
+            } catch (IOException e) {
+                buf.release();
+                sink.error(e);
+            }
+        }), LocalInfileWriter::closeQuietly)
+            // Avoid blocking the event loop by file reading.
+            .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private static ChannelFuture writeHeader(ChannelHandlerContext ctx, int size, int envelopeId) {
+        return ctx.write(ctx.alloc().buffer(Envelopes.PART_HEADER_SIZE, Envelopes.PART_HEADER_SIZE)
+            .writeMediumLE(size)
+            .writeByte(envelopeId));
+    }
+
+    private static void writeEnd(ChannelHandlerContext ctx, int envelopeId) {
+        writeHeader(ctx, 0, envelopeId);
+        ctx.flush();
+    }
+
+    /**
+     * The connection can not be used after partial data has been sent, close it so that the server
+     * will abort the loading instead of waiting for following data.
+     */
+    private static void fail(ChannelHandlerContext ctx, Throwable cause) {
+        ctx.fireExceptionCaught(cause);
+        ctx.close();
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            logger.warn("Close local file failed", e);
+        }
+    }
+
+    private static final class FileSender implements ChannelFutureListener {
+
+        private final ChannelHandlerContext ctx;
+
+        private final File file;
+
+        private final int chunkSize;
+
+        private int envelopeId;
+
+        private long position = 0;
+
+        private long size = -1;
+
+        private FileSender(ChannelHandlerContext ctx, File file, int chunkSize, int envelopeId) {
+            this.ctx = ctx;
+            this.file = file;
+            this.chunkSize = chunkSize;
+            this.envelopeId = envelopeId;
+        }
+
+        @Override
+        public void operationComplete(ChannelFuture future) {
+            if (future.isSuccess()) {
+                next();
+            } else {
+                fail(ctx, future.cause());
+            }
+        }
+
+        void next() {
+            if (size < 0) {
+                // The size of file will be fixed when it starts sending.
+                size = file.length();
+            }
+
+            long remaining = size - position;
+
+            if (remaining <= 0) {
+                writeEnd(ctx, envelopeId);
+                return;
+            }
+
+            int count = (int) Math.min(remaining, chunkSize);
+
+            writeHeader(ctx, count, envelopeId++);
+            ctx.writeAndFlush(new DefaultFileRegion(file, position, count)).addListener(this);
+            position += count;
+        }
+    }
+
+    private static final class DataSubscriber implements CoreSubscriber<ByteBuf>, ChannelFutureListener {
+
+        private final ChannelHandlerContext ctx;
+
+        private final int chunkSize;
+
+        private int envelopeId;
+
+        private Subscription subscription;
+
+        private DataSubscriber(ChannelHandlerContext ctx, int chunkSize, int envelopeId) {
+            this.ctx = ctx;
+            this.chunkSize = chunkSize;
+            this.envelopeId = envelopeId;
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            this.subscription = s;
+            s.request(1);
+        }
+
+        @Override
+        public void onNext(ByteBuf buf) {
+            if (!buf.isReadable()) {
+                // An empty envelope means the end of data, so never send it before completion.
+                buf.release();
+                subscription.request(1);
+                return;
+            }
+
+            while (buf.readableBytes() > chunkSize) {
+                writeHeader(ctx, chunkSize, envelopeId++);
+                ctx.write(buf.readRetainedSlice(chunkSize));
+            }
+
+            writeHeader(ctx, buf.readableBytes(), envelopeId++);
+            ctx.writeAndFlush(buf).addListener(this);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            logger.error("Local data of LOAD DATA LOCAL INFILE is failed, connection will be closed", t);
+            fail(ctx, t);
+        }
+
+        @Override
+        public void onComplete() {
+            writeEnd(ctx, envelopeId);
+        }
+
+        @Override
+        public void operationComplete(ChannelFuture future) {
+            if (future.isSuccess()) {
+                subscription.request(1);
+            } else {
+                subscription.cancel();
+                fail(ctx, future.cause());
+            }
+        }
+    }
+}
@@ -17,15 +17,24 @@
 package dev.miku.r2dbc.mysql.client;
 
 import dev.miku.r2dbc.mysql.constant.Capabilities;
+import dev.miku.r2dbc.mysql.constant.ServerStatuses;
+import dev.miku.r2dbc.mysql.constant.SqlStates;
+import dev.miku.r2dbc.mysql.message.client.LocalInfileQueryMessage;
 import dev.miku.r2dbc.mysql.message.client.PrepareQueryMessage;
+import dev.miku.r2dbc.mysql.message.client.PreparedExecuteMessage;
+import dev.miku.r2dbc.mysql.message.client.PreparedFetchMessage;
 import dev.miku.r2dbc.mysql.util.ConnectionContext;
 import dev.miku.r2dbc.mysql.message.client.ClientMessage;
+import dev.miku.r2dbc.mysql.message.client.ExchangeableMessage;
 import dev.miku.r2dbc.mysql.message.client.SslRequest;
 import dev.miku.r2dbc.mysql.message.header.SequenceIdProvider;
 import dev.miku.r2dbc.mysql.message.server.ColumnCountMessage;
 import dev.miku.r2dbc.mysql.message.server.CompleteMessage;
 import dev.miku.r2dbc.mysql.message.server.DecodeContext;
+import dev.miku.r2dbc.mysql.message.server.EofMessage;
 import dev.miku.r2dbc.mysql.message.server.ErrorMessage;
+import dev.miku.r2dbc.mysql.message.server.LocalInfileRequest;
+import dev.miku.r2dbc.mysql.message.server.OkMessage;
 import dev.miku.r2dbc.mysql.message.server.PreparedOkMessage;
 import dev.miku.r2dbc.mysql.message.server.ServerMessage;
 import dev.miku.r2dbc.mysql.message.server.ServerMessageDecoder;
@@ -40,12 +49,19 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.util.annotation.Nullable;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static dev.miku.r2dbc.mysql.util.AssertUtils.requireNonNull;
 
 /**
  * Client/server messages encode/decode logic.
+ * <p>
+ * In command phase, requests may be pipelined if {@link #pipelining} is enabled, so the initial decode
+ * context of each request is queued until responses of all previous requests are completed. Server
+ * always responds requests in order, so responses can be decoded by FIFO.
  */
 final class MessageDuplexCodec extends ChannelDuplexHandler {
 
@@ -53,8 +69,47 @@ final class MessageDuplexCodec extends ChannelDuplexHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(MessageDuplexCodec.class);
 
+    /**
+     * The error code of loading local data is disabled, i.e. {@code ER_CLIENT_LOCAL_FILES_DISABLED}.
+     */
+    private static final int LOCAL_FILES_REJECTED = 3948;
+
     private DecodeContext decodeContext = DecodeContext.connection();
 
+    /**
+     * Initial decode contexts of requests which are waiting for responses of previous requests.
+     * It is used only in command phase if {@link #pipelining} is enabled, and always accessed by
+     * the event loop.
+     */
+    private final Deque<DecodeContext> pendingContexts = new ArrayDeque<>();
+
+    /**
+     * The number of requests which have been written but responses have not completed, it is used
+     * only if {@link #pipelining} is enabled.
+     */
+    private int inflight;
+
+    private boolean commandPhase;
+
+    /**
+     * If rows of current response are binary, it is kept for following results of a multi-results response.
+     */
+    private boolean binaryResult;
+
+    /**
+     * The executing {@code LOAD DATA LOCAL INFILE} query, its data will be sent when server requests.
+     * It is executed exclusively, so there is at most one.
+     */
+    @Nullable
+    private LocalInfileQueryMessage localInfile;
+
+    /**
+     * The path of a local file request which is rejected, the response of the rejection will be replaced
+     * by an error, so that the statement fails rather than succeeds with nothing loaded.
+     */
+    @Nullable
+    private String rejectedLocalInfile;
+
     @Nullable
     private SequenceIdProvider.Linkable linkableIdProvider;
 
@@ -64,12 +119,15 @@ final class MessageDuplexCodec extends ChannelDuplexHandler {
 
     private final RequestQueue requestQueue;
 
+    private final boolean pipelining;
+
     private final ServerMessageDecoder decoder = new ServerMessageDecoder();
 
-    MessageDuplexCodec(ConnectionContext context, AtomicBoolean closing, RequestQueue requestQueue) {
+    MessageDuplexCodec(ConnectionContext context, AtomicBoolean closing, RequestQueue requestQueue, boolean pipelining) {
         this.context = requireNonNull(context, "context must not be null");
         this.closing = requireNonNull(closing, "closing must not be null");
         this.requestQueue = requireNonNull(requestQueue, "requestQueue must not be null");
+        this.pipelining = pipelining;
     }
 
     @Override
@@ -78,6 +136,7 @@ final class MessageDuplexCodec extends ChannelDuplexHandler {
             if (Lifecycle.COMMAND == evt) {
                 // Message sequence id always from 0 in command phase.
                 this.linkableIdProvider = null;
+                this.commandPhase = true;
             }
         } else {
             super.userEventTriggered(ctx, evt);
@@ -90,9 +149,29 @@ final class MessageDuplexCodec extends ChannelDuplexHandler {
             DecodeContext context = this.decodeContext;
             ServerMessage message = decoder.decode((ByteBuf) msg, this.context, context, this.linkableIdProvider);
 
-            if (message != null) {
+            if (message instanceof LocalInfileRequest) {
+                // Answered by codec, the response of loading will be following.
+                LocalInfileQueryMessage query = this.localInfile;
+
+                this.localInfile = null;
+
+                if (query == null) {
+                    this.rejectedLocalInfile = ((LocalInfileRequest) message).getPath();
+                }
+
+                LocalInfileWriter.write(ctx, (LocalInfileRequest) message, query, this.context);
+            } else if (message != null) {
                 if (decodeFilter(message)) {
-                    ctx.fireChannelRead(message);
+                    ctx.fireChannelRead(this.rejectedLocalInfile == null ? message : rejectLocalInfile(message));
+                }
+
+                if (message instanceof SyntheticMetadataMessage) {
+                    EofMessage eof = ((SyntheticMetadataMessage) message).getEof();
+
+                    // The EOF of metadata is also the last message if a cursor has been opened.
+                    if (isCursorOpened(eof) && decodeFilter(eof)) {
+                        ctx.fireChannelRead(eof);
+                    }
                 }
             }
         } else if (msg instanceof ServerMessage) {
@@ -108,10 +187,45 @@ final class MessageDuplexCodec extends ChannelDuplexHandler {
     @Override
     public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
         if (msg instanceof ClientMessage) {
+            if (msg instanceof LocalInfileQueryMessage) {
+                this.localInfile = (LocalInfileQueryMessage) msg;
+            } else if (msg instanceof PreparedExecuteMessage && !promise.isVoid()) {
+                int statementId = ((PreparedExecuteMessage) msg).getStatementId();
+
+                // Server has not received the parameter types if the execution has not been written.
+                promise.addListener(future -> {
+                    if (!future.isSuccess()) {
+                        this.context.removeBoundTypes(statementId);
+                    }
+                });
+            }
+
             ((ClientMessage) msg).encode(ctx.alloc(), this.context)
                 .subscribe(WriteSubscriber.create(ctx, promise, this.linkableIdProvider));
 
-            if (msg instanceof PrepareQueryMessage) {
+            if (commandPhase) {
+                if (msg instanceof ExchangeableMessage) {
+                    DecodeContext initial = initialContext((ExchangeableMessage) msg);
+
+                    if (!pipelining) {
+                        setDecodeContext(initial);
+                    } else {
+                        if (inflight++ == 0) {
+                            setDecodeContext(initial);
+                        } else {
+                            pendingContexts.offer(initial);
+                        }
+
+                        if (!promise.isVoid()) {
+                            promise.addListener(future -> {
+                                if (!future.isSuccess()) {
+                                    writeFailed();
+                                }
+                            });
+                        }
+                    }
+                }
+            } else if (msg instanceof PrepareQueryMessage) {
                 setDecodeContext(DecodeContext.prepareQuery());
             } else if (msg instanceof SslRequest) {
                 ctx.channel().pipeline().fireUserEventTriggered(SslState.BRIDGING);
@@ -128,6 +242,9 @@ final class MessageDuplexCodec extends ChannelDuplexHandler {
     public void channelInactive(ChannelHandlerContext ctx) {
         decoder.dispose();
         requestQueue.dispose();
+        localInfile = null;
+        rejectedLocalInfile = null;
+        pendingContexts.clear();
 
         // Server has closed the connection without us wanting to close it
         // Typically happens if we send data asynchronously (i.e. previous command didn't complete).
@@ -153,18 +270,36 @@ final class MessageDuplexCodec extends ChannelDuplexHandler {
             this.context.setServerStatuses(((ServerStatusMessage) msg).getServerStatuses());
         }
 
+        if (msg instanceof OkMessage) {
+            OkMessage message = (OkMessage) msg;
+            String schema = message.getSchema();
+
+            if (schema != null) {
+                this.context.setSchema(schema);
+            }
+
+            for (Map.Entry<String, String> variable : message.getSystemVariables().entrySet()) {
+                this.context.setSystemVariable(variable.getKey(), variable.getValue());
+            }
+        }
+
         if (msg instanceof ColumnCountMessage) {
             boolean deprecateEof = (this.context.getCapabilities() & Capabilities.DEPRECATE_EOF) != 0;
-            setDecodeContext(DecodeContext.result(deprecateEof, ((ColumnCountMessage) msg).getTotalColumns()));
+            this.binaryResult = DecodeContext.isBinaryCommand(this.decodeContext);
+            setDecodeContext(DecodeContext.result(deprecateEof, ((ColumnCountMessage) msg).getTotalColumns(), this.binaryResult));
             return false;
         }
 
         if (msg instanceof CompleteMessage) {
             // Metadata EOF message will be not receive in here.
-            setDecodeContext(DecodeContext.command());
+            if (((CompleteMessage) msg).isDone()) {
+                completeResponse();
+            } else {
+                setDecodeContext(binaryResult ? DecodeContext.binaryCommand() : DecodeContext.command());
+            }
         } else if (msg instanceof SyntheticMetadataMessage) {
             if (((SyntheticMetadataMessage) msg).isCompleted()) {
-                setDecodeContext(DecodeContext.command());
+                completeResponse();
             }
         } else if (msg instanceof PreparedOkMessage) {
             PreparedOkMessage message = (PreparedOkMessage) msg;
@@ -176,7 +311,7 @@ final class MessageDuplexCodec extends ChannelDuplexHandler {
                 boolean deprecateEof = (this.context.getCapabilities() & Capabilities.DEPRECATE_EOF) != 0;
                 setDecodeContext(DecodeContext.preparedMetadata(deprecateEof, columns, parameters));
             } else {
-                setDecodeContext(DecodeContext.command());
+                completeResponse();
             }
         } else if (msg instanceof ErrorMessage) {
             ErrorMessage message = (ErrorMessage) msg;
@@ -185,12 +320,83 @@ final class MessageDuplexCodec extends ChannelDuplexHandler {
                 logger.warn("Error: error code {}, sql state: {}, message: {}", message.getErrorCode(), message.getSqlState(), message.getErrorMessage());
             }
 
-            setDecodeContext(DecodeContext.command());
+            completeResponse();
         }
 
         return true;
     }
 
+    /**
+     * Replace the response of a rejected local file request by an error, so that the statement fails
+     * rather than succeeds with nothing loaded. The response has been applied by {@link #decodeFilter}.
+     */
+    private ServerMessage rejectLocalInfile(ServerMessage message) {
+        String path = this.rejectedLocalInfile;
+
+        this.rejectedLocalInfile = null;
+
+        if (!(message instanceof OkMessage)) {
+            // Server has failed the statement, e.g. local loading is disabled by server.
+            return message;
+        }
+
+        return ErrorMessage.from(LOCAL_FILES_REJECTED, SqlStates.SYNTAX_ERROR_OR_ACCESS_RULE_VIOLATION,
+            String.format("Local file '%s' is not requested by loading API, it has been rejected", path));
+    }
+
+    private static DecodeContext initialContext(ExchangeableMessage message) {
+        if (message instanceof PrepareQueryMessage) {
+            return DecodeContext.prepareQuery();
+        } else if (message instanceof PreparedFetchMessage) {
+            return DecodeContext.fetch();
+        } else if (message instanceof PreparedExecuteMessage) {
+            return DecodeContext.binaryCommand();
+        }
+
+        return DecodeContext.command();
+    }
+
+    private static boolean isCursorOpened(@Nullable EofMessage eof) {
+        return eof instanceof ServerStatusMessage &&
+            (((ServerStatusMessage) eof).getServerStatuses() & ServerStatuses.CURSOR_EXISTS) != 0;
+    }
+
+    /**
+     * Responses of current request are completed, switch to the initial decode context of next request.
+     */
+    private void completeResponse() {
+        // The query may be not a LOAD DATA LOCAL INFILE statement.
+        this.localInfile = null;
+
+        if (pipelining && commandPhase && inflight > 0 && --inflight > 0) {
+            DecodeContext next = pendingContexts.poll();
+
+            if (next != null) {
+                setDecodeContext(next);
+                return;
+            }
+        }
+
+        setDecodeContext(DecodeContext.command());
+    }
+
+    /**
+     * A pipelined request has not been written, so server will never respond it. Next request will be
+     * written only after current request has been flushed, so it is always the last tracked request.
+     */
+    private void writeFailed() {
+        if (inflight <= 0) {
+            return;
+        }
+
+        if (--inflight > 0) {
+            // Its initial decode context is still pending.
+            pendingContexts.pollLast();
+        } else {
+            setDecodeContext(DecodeContext.command());
+        }
+    }
+
     private void setDecodeContext(DecodeContext context) {
         this.decodeContext = context;
         if (logger.isDebugEnabled()) {
@@ -16,14 +16,17 @@
 
 package dev.miku.r2dbc.mysql.client;
 
-import dev.miku.r2dbc.mysql.MySqlSslConfiguration;
+import dev.miku.r2dbc.mysql.constant.Capabilities;
 import dev.miku.r2dbc.mysql.message.client.ClientMessage;
 import dev.miku.r2dbc.mysql.message.client.ExchangeableMessage;
 import dev.miku.r2dbc.mysql.message.client.ExitMessage;
+import dev.miku.r2dbc.mysql.message.client.LocalInfileQueryMessage;
 import dev.miku.r2dbc.mysql.message.client.SendOnlyMessage;
 import dev.miku.r2dbc.mysql.message.server.ServerMessage;
 import dev.miku.r2dbc.mysql.message.server.WarningMessage;
 import dev.miku.r2dbc.mysql.util.ConnectionContext;
+import dev.miku.r2dbc.mysql.util.OperatorUtils;
+import io.netty.buffer.ByteBufAllocator;
 import io.netty.handler.logging.LogLevel;
 import io.netty.handler.logging.LoggingHandler;
 import io.netty.util.ReferenceCounted;
@@ -34,6 +37,8 @@ import reactor.core.Disposable;
 import reactor.core.publisher.EmitterProcessor;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+import reactor.core.publisher.SignalType;
 import reactor.core.publisher.SynchronousSink;
 import reactor.netty.Connection;
 import reactor.netty.FutureMono;
@@ -44,6 +49,7 @@ import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
+import static dev.miku.r2dbc.mysql.util.AssertUtils.require;
 import static dev.miku.r2dbc.mysql.util.AssertUtils.requireNonNull;
 
 /**
@@ -63,30 +69,69 @@ final class ReactorNettyClient implements Client {
     private static final BiConsumer<Object, SynchronousSink<ServerMessage>> INBOUND_HANDLE =
         ReactorNettyClient::inboundHandle;
 
+    private static final Consumer<ReferenceCounted> RELEASE = ReferenceCounted::release;
+
+    /**
+     * The buffer size of response processor. Inbound messages are buffered by watermarks, see also
+     * {@link #byWatermarks}. The processor holds at most one message, so it adds at most one message
+     * beyond the high watermark. A larger buffer would request and replenish by its own ratio, then
+     * buffered messages could exceed the high watermark by the buffer size, and reading would resume
+     * before consumed down to the low watermark.
+     */
+    static final int RESPONSE_BUFFER_SIZE = 1;
+
     private final Connection connection;
 
     private final ConnectionContext context;
 
-    private final EmitterProcessor<ServerMessage> responseProcessor = EmitterProcessor.create(false);
+    /**
+     * Messages are requested from inbound by demand of responses, and inbound buffers messages with
+     * watermarks, so it does not need its own buffer, see also {@link #RESPONSE_BUFFER_SIZE}.
+     */
+    private final EmitterProcessor<ServerMessage> responseProcessor = EmitterProcessor.create(RESPONSE_BUFFER_SIZE, false);
 
     private final RequestQueue requestQueue = new RequestQueue();
 
     private final AtomicBoolean closing = new AtomicBoolean();
 
-    ReactorNettyClient(Connection connection, MySqlSslConfiguration ssl, ConnectionContext context) {
+    private final boolean pipelining;
+
+    private final int compressionMinSize;
+
+    private final int zstdCompressionLevel;
+
+    /**
+     * Requests will be pipelined after login succeed if {@link #pipelining} is enabled.
+     */
+    private volatile boolean pipelined;
+
+    /**
+     * Completes when responses of the last pipelined exchange completed. It is changed only by
+     * request tasks, which have been serialized by {@link #requestQueue}.
+     */
+    private volatile Mono<Void> lastResponded = Mono.empty();
+
+    ReactorNettyClient(
+        Connection connection, SslContextCache sslContexts, ConnectionContext context, boolean pipelining,
+        int highWatermark, int lowWatermark, int compressionMinSize, int zstdCompressionLevel
+    ) {
         requireNonNull(connection, "connection must not be null");
         requireNonNull(context, "context must not be null");
-        requireNonNull(ssl, "ssl must not be null");
+        requireNonNull(sslContexts, "sslContexts must not be null");
+        require(lowWatermark > 0 && lowWatermark < highWatermark, "lowWatermark must be between 1 and highWatermark");
 
         this.connection = connection;
         this.context = context;
+        this.pipelining = pipelining;
+        this.compressionMinSize = compressionMinSize;
+        this.zstdCompressionLevel = zstdCompressionLevel;
 
         // Note: encoder/decoder should before reactor bridge.
         connection.addHandlerLast(EnvelopeSlicer.NAME, new EnvelopeSlicer())
-            .addHandlerLast(MessageDuplexCodec.NAME, new MessageDuplexCodec(context, this.closing, this.requestQueue));
+            .addHandlerLast(MessageDuplexCodec.NAME, new MessageDuplexCodec(context, this.closing, this.requestQueue, pipelining));
 
-        if (ssl.getSslMode().startSsl()) {
-            connection.addHandlerFirst(SslBridgeHandler.NAME, new SslBridgeHandler(context, ssl));
+        if (sslContexts.getConfiguration().getSslMode().startSsl()) {
+            connection.addHandlerFirst(SslBridgeHandler.NAME, new SslBridgeHandler(context, sslContexts));
         }
 
         if (InternalLoggerFactory.getInstance(ReactorNettyClient.class).isTraceEnabled()) {
@@ -104,14 +149,30 @@ final class ReactorNettyClient implements Client {
             inbound = inbound.doOnNext(INFO_LOGGING);
         }
 
-        inbound.subscribe(this.responseProcessor::onNext, throwable -> {
-            try {
-                logger.error("Connection Error: {}", throwable.getMessage(), throwable);
-                responseProcessor.onError(throwable);
-            } finally {
-                connection.dispose();
-            }
-        }, this.responseProcessor::onComplete);
+        byWatermarks(inbound, highWatermark, lowWatermark)
+            .doOnDiscard(ReferenceCounted.class, RELEASE)
+            .doOnError(throwable -> logger.error("Connection Error: {}", throwable.getMessage(), throwable))
+            .doFinally(signal -> {
+                if (signal == SignalType.ON_ERROR) {
+                    connection.dispose();
+                }
+            })
+            .subscribe(this.responseProcessor);
+    }
+
+    /**
+     * Request messages from {@code inbound} by watermarks. Reactor Netty stops reading from the channel
+     * when there is no demand from downstream, so at most {@code highWatermark} messages are buffered,
+     * and reading will be resumed after the buffered messages have been consumed down to
+     * {@code lowWatermark}.
+     *
+     * @param inbound       the messages received from the channel.
+     * @param highWatermark the maximum number of messages which are requested but not consumed.
+     * @param lowWatermark  the number of messages which are not consumed when requesting more messages.
+     * @return the messages requested by watermarks.
+     */
+    static Flux<ServerMessage> byWatermarks(Flux<ServerMessage> inbound, int highWatermark, int lowWatermark) {
+        return inbound.limitRate(highWatermark, highWatermark - lowWatermark);
     }
 
     @Override
@@ -127,10 +188,18 @@ final class ReactorNettyClient implements Client {
                 return;
             }
 
+            // Server treats all envelopes as local data after a LOAD DATA LOCAL INFILE query, so it can
+            // not be pipelined with other requests.
+            if (pipelined && !(request instanceof LocalInfileQueryMessage)) {
+                requestQueue.submit(RequestTask.wrap(request, sink, () -> pipelinedExchange(request, complete)));
+                return;
+            }
+
             requestQueue.submit(RequestTask.wrap(request, sink, () -> {
                 boolean[] completed = new boolean[]{false};
 
-                return send(request)
+                // Wait for responses of previous pipelined exchanges, it is empty if requests are not pipelined.
+                return lastResponded.then(Mono.defer(() -> send(request)))
                     .thenMany(responseProcessor)
                     .<ServerMessage>handle((message, response) -> {
                         response.next(message);
@@ -191,7 +260,8 @@ final class ReactorNettyClient implements Client {
                 return;
             }
 
-            requestQueue.submit(RequestTask.wrap(sink, () -> send(ExitMessage.getInstance())
+            // Wait for responses of all pipelined exchanges before exit.
+            requestQueue.submit(RequestTask.wrap(sink, () -> lastResponded.then(Mono.defer(() -> send(ExitMessage.getInstance())))
                 .onErrorResume(e -> {
                     logger.error("Exit message sending failed, force closing", e);
                     return Mono.empty();
@@ -210,6 +280,11 @@ final class ReactorNettyClient implements Client {
         return !closing.get() && connection.channel().isOpen();
     }
 
+    @Override
+    public ByteBufAllocator getByteBufAllocator() {
+        return connection.channel().alloc();
+    }
+
     @Override
     public void sslUnsupported() {
         connection.channel().pipeline().fireUserEventTriggered(SslState.UNSUPPORTED);
@@ -217,7 +292,31 @@ final class ReactorNettyClient implements Client {
 
     @Override
     public void loginSuccess() {
+        int capabilities = context.getCapabilities();
+        Compressor compressor = null;
+
+        // Server prefers zlib if both of zlib and Zstandard are enabled.
+        if ((capabilities & Capabilities.COMPRESS) != 0) {
+            logger.debug("Protocol will be compressed by zlib in command phase");
+            compressor = new ZlibCompressor();
+        } else if ((capabilities & Capabilities.Z_STD_COMPRESSION) != 0) {
+            logger.debug("Protocol will be compressed by Zstandard level {} in command phase", zstdCompressionLevel);
+            compressor = new ZstdCompressor(zstdCompressionLevel);
+        }
+
+        if (compressor != null) {
+            // Server does not send anything before next request, so it is safe to change the pipeline.
+            connection.channel().pipeline()
+                .addBefore(EnvelopeSlicer.NAME, CompressionDecoder.NAME, new CompressionDecoder(compressor))
+                .addBefore(EnvelopeSlicer.NAME, CompressionEncoder.NAME, new CompressionEncoder(compressor, compressionMinSize));
+        }
+
         connection.channel().pipeline().fireUserEventTriggered(Lifecycle.COMMAND);
+
+        if (pipelining) {
+            logger.debug("Requests will be pipelined in command phase");
+            this.pipelined = true;
+        }
     }
 
     @Override
@@ -225,6 +324,36 @@ final class ReactorNettyClient implements Client {
         return String.format("ReactorNettyClient(%s){connectionId=%d}", this.closing.get() ? "closing or closed" : "activating", context.getConnectionId());
     }
 
+    /**
+     * Pipelined exchange: next request will be written after current request has been flushed, and
+     * responses will be received after responses of previous exchange completed. Server responds
+     * requests in order, so responses will be routed to exchanges by FIFO.
+     * <p>
+     * It will drain its responses even if it is cancelled, otherwise responses will be routed to next
+     * exchange.
+     */
+    private Flux<ServerMessage> pipelinedExchange(ExchangeableMessage request, Predicate<ServerMessage> complete) {
+        Mono<Void> previous = this.lastResponded;
+        MonoProcessor<Void> responded = MonoProcessor.create();
+
+        this.lastResponded = responded;
+
+        Flux<ServerMessage> responses = previous.thenMany(responseProcessor)
+            .<ServerMessage>handle((message, response) -> {
+                response.next(message);
+
+                if (complete.test(message)) {
+                    response.complete();
+                }
+            });
+
+        return OperatorUtils.discardOnCancel(send(request)
+            .doOnTerminate(requestQueue)
+            .thenMany(responses)
+            .doOnTerminate(responded::onComplete))
+            .doOnDiscard(ReferenceCounted.class, RELEASE);
+    }
+
     private Mono<Void> send(ClientMessage message) {
         logger.debug("Request: {}", message);
         return FutureMono.from(connection.channel().writeAndFlush(message));
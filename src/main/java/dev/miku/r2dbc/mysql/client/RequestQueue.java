@@ -50,6 +50,8 @@ abstract class ActiveStatus extends LeftPadding {
  * Submission conditionally queues requests if an ongoing exchange was active by the time of subscription.
  * Drains queued commands on exchange completion if there are queued commands or disable active flag.
  * <p>
+ * Note: a pipelined exchange completes its task when its request has been sent, see {@code ReactorNettyClient}.
+ * <p>
  * It should discard all tasks when it is discarded by connection.
  */
 final class RequestQueue extends ActiveStatus implements Runnable {
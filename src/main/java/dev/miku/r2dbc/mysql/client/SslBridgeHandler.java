@@ -16,25 +16,19 @@
 
 package dev.miku.r2dbc.mysql.client;
 
-import dev.miku.r2dbc.mysql.MySqlSslConfiguration;
-import dev.miku.r2dbc.mysql.util.ServerVersion;
-import dev.miku.r2dbc.mysql.constant.SslMode;
-import dev.miku.r2dbc.mysql.constant.TlsVersions;
 import dev.miku.r2dbc.mysql.util.ConnectionContext;
 import dev.miku.r2dbc.mysql.message.server.SyntheticSslResponseMessage;
 import io.netty.channel.ChannelDuplexHandler;
 import io.netty.channel.ChannelHandlerContext;
-import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslHandler;
 import io.netty.handler.ssl.SslHandshakeCompletionEvent;
-import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import reactor.netty.tcp.SslProvider;
 
 import javax.net.ssl.SSLEngine;
-import java.io.File;
 import java.net.InetSocketAddress;
+import java.net.SocketAddress;
 
 import static dev.miku.r2dbc.mysql.util.AssertUtils.requireNonNull;
 
@@ -49,29 +43,25 @@ final class SslBridgeHandler extends ChannelDuplexHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(SslBridgeHandler.class);
 
-    /**
-     * Lowest version of community edition for TLSv1.2 support.
-     */
-    private static final ServerVersion TLS1_2_COMMUNITY_VER = ServerVersion.create(8, 0, 4);
-
-    /**
-     * Lowest version of enterprise edition for TLSv1.2 support. Should be
-     * judged in conjunction with {@link ServerVersion#isEnterprise()}.
-     */
-    private static final ServerVersion TLS1_2_ENTERPRISE_VER = ServerVersion.create(5, 6, 0);
-
     private final ConnectionContext context;
 
+    private final SslContextCache sslContexts;
+
     private final boolean verifyIdentity;
 
+    private volatile boolean bridged;
+
     private volatile SSLEngine sslEngine;
 
-    private volatile MySqlSslConfiguration ssl;
+    /**
+     * The start time of handshake by {@link System#nanoTime()}.
+     */
+    private volatile long handshakeStart;
 
-    SslBridgeHandler(ConnectionContext context, MySqlSslConfiguration ssl) {
+    SslBridgeHandler(ConnectionContext context, SslContextCache sslContexts) {
         this.context = requireNonNull(context, "context must not be null");
-        this.ssl = requireNonNull(ssl, "ssl must not be null");
-        this.verifyIdentity = ssl.getSslMode().verifyIdentity();
+        this.sslContexts = requireNonNull(sslContexts, "sslContexts must not be null");
+        this.verifyIdentity = sslContexts.getConfiguration().getSslMode().verifyIdentity();
     }
 
     @Override
@@ -84,21 +74,34 @@ final class SslBridgeHandler extends ChannelDuplexHandler {
 
         if (SslHandshakeCompletionEvent.SUCCESS == evt) {
             handleSslCompleted(ctx);
+        } else if (evt instanceof SslHandshakeCompletionEvent) {
+            long nanos = System.nanoTime() - handshakeStart;
+
+            sslContexts.handshakeFailed(nanos);
+            logger.debug("SSL handshake failed after {}ns", nanos);
         }
 
         super.userEventTriggered(ctx, evt);
     }
 
     private void handleSslCompleted(ChannelHandlerContext ctx) {
+        long nanos = System.nanoTime() - handshakeStart;
+        SSLEngine sslEngine = this.sslEngine;
+
+        if (sslEngine == null) {
+            ctx.fireExceptionCaught(new IllegalStateException("sslEngine must not be null when SSL handshake completed"));
+            return;
+        }
+
+        String host = sslEngine.getPeerHost();
+        String peer = host == null ? null : host + ':' + sslEngine.getPeerPort();
+        boolean resumed = sslContexts.handshakeCompleted(nanos, peer, sslEngine.getSession());
+
+        logger.debug("SSL handshake completed in {}ns, resumed: {}", nanos, resumed);
+
         if (verifyIdentity) {
-            SSLEngine sslEngine = this.sslEngine;
             String hostname = ((InetSocketAddress) ctx.channel().remoteAddress()).getHostName();
 
-            if (sslEngine == null) {
-                ctx.fireExceptionCaught(new IllegalStateException("sslEngine must not be null when verify identity"));
-                return;
-            }
-
             try {
                 MySqlHostVerifier.accept(hostname, sslEngine.getSession());
             } catch (Exception e) {
@@ -119,19 +122,29 @@ final class SslBridgeHandler extends ChannelDuplexHandler {
             case BRIDGING:
                 logger.debug("SSL event triggered, enable SSL handler to pipeline");
 
-                MySqlSslConfiguration ssl = this.ssl;
-                this.ssl = null;
-
-                if (ssl == null) {
+                if (bridged) {
                     ctx.fireExceptionCaught(new IllegalStateException("The SSL bridge has used, cannot build SSL handler twice"));
                     return;
                 }
 
-                SslProvider sslProvider = buildProvider(ssl, context.getServerVersion());
-                SslHandler sslHandler = sslProvider.getSslContext().newHandler(ctx.alloc());
+                bridged = true;
+
+                SslContext sslContext = sslContexts.get(context.getServerVersion());
+                SocketAddress address = ctx.channel().remoteAddress();
+                SslHandler sslHandler;
+
+                if (address instanceof InetSocketAddress) {
+                    // Peer host and port are the key of client-side session cache, see also SSLContext.createSSLEngine.
+                    InetSocketAddress peer = (InetSocketAddress) address;
+                    sslHandler = sslContext.newHandler(ctx.alloc(), peer.getHostString(), peer.getPort());
+                } else {
+                    sslHandler = sslContext.newHandler(ctx.alloc());
+                }
 
                 this.sslEngine = sslHandler.engine();
+                this.handshakeStart = System.nanoTime();
 
+                // Handshake starts when the SSL handler has been added to an active channel.
                 ctx.pipeline().addBefore(NAME, SSL_NAME, sslHandler);
 
                 break;
@@ -143,60 +156,4 @@ final class SslBridgeHandler extends ChannelDuplexHandler {
         }
         // Ignore another custom SSL states because they are useless.
     }
-
-    private static SslProvider buildProvider(MySqlSslConfiguration ssl, ServerVersion version) {
-        return SslProvider.builder()
-            .sslContext(buildContext(ssl, version))
-            .defaultConfiguration(SslProvider.DefaultConfigurationType.TCP)
-            .build();
-    }
-
-    private static SslContextBuilder buildContext(MySqlSslConfiguration ssl, ServerVersion version) {
-        SslContextBuilder builder = withTlsVersion(SslContextBuilder.forClient(), ssl, version);
-        String sslKey = ssl.getSslKey();
-
-        if (sslKey != null) {
-            CharSequence keyPassword = ssl.getSslKeyPassword();
-            String sslCert = ssl.getSslCert();
-
-            if (sslCert == null) {
-                throw new IllegalStateException("SSL key param requires but SSL cert param to be present");
-            }
-
-            builder.keyManager(new File(sslCert), new File(sslKey), keyPassword == null ? null : keyPassword.toString());
-        }
-
-        SslMode mode = ssl.getSslMode();
-        if (mode.verifyCertificate()) {
-            String sslCa = ssl.getSslCa();
-
-            if (sslCa == null) {
-                throw new IllegalStateException(String.format("SSL mode %s requires SSL CA parameter", mode));
-            }
-
-            builder.trustManager(new File(sslCa));
-        } else {
-            builder.trustManager(InsecureTrustManagerFactory.INSTANCE);
-        }
-
-        return builder;
-    }
-
-    private static SslContextBuilder withTlsVersion(SslContextBuilder builder, MySqlSslConfiguration ssl, ServerVersion version) {
-        String[] tlsProtocols = ssl.getTlsVersion();
-
-        if (tlsProtocols.length > 0) {
-            builder.protocols(tlsProtocols);
-        } else if (isEnabledTls1_2(version)) {
-            builder.protocols(TlsVersions.TLS1, TlsVersions.TLS1_1, TlsVersions.TLS1_2);
-        } else {
-            builder.protocols(TlsVersions.TLS1, TlsVersions.TLS1_1);
-        }
-
-        return builder;
-    }
-
-    private static boolean isEnabledTls1_2(ServerVersion version) {
-        return version.isGreaterThanOrEqualTo(TLS1_2_COMMUNITY_VER) || (version.isGreaterThanOrEqualTo(TLS1_2_ENTERPRISE_VER) && version.isEnterprise());
-    }
 }
@@ -0,0 +1,297 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.miku.r2dbc.mysql.client;
+
+import dev.miku.r2dbc.mysql.MySqlConnectionFactory;
+import dev.miku.r2dbc.mysql.MySqlSslConfiguration;
+import dev.miku.r2dbc.mysql.SslStatistics;
+import dev.miku.r2dbc.mysql.constant.SslMode;
+import dev.miku.r2dbc.mysql.constant.TlsVersions;
+import dev.miku.r2dbc.mysql.util.ServerVersion;
+import io.netty.handler.ssl.OpenSsl;
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.handler.ssl.SslProvider;
+import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Exceptions;
+import reactor.util.annotation.Nullable;
+
+import javax.net.ssl.SSLException;
+import javax.net.ssl.SSLSession;
+import java.io.File;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static dev.miku.r2dbc.mysql.util.AssertUtils.requireNonNull;
+
+/**
+ * A holder of {@link SslContext}s which are shared by all connections of the same
+ * {@link MySqlConnectionFactory}, it also accumulates statistics of handshakes.
+ * <p>
+ * An {@link SslContext} loads certificates and keys, so building it for each connection
+ * is expensive. And a shared {@link SslContext} keeps client-side session cache, so a new
+ * connection can resume a session (by session ID or ticket) which is cached by an earlier
+ * connection to the same server, rather than performing a full handshake.
+ * <p>
+ * Note: the client-side session cache is supported only by the JDK engine, sessions will not be resumed
+ * if the OpenSSL engine has been selected by {@link MySqlSslConfiguration#isPreferOpenSsl()}.
+ */
+public final class SslContextCache implements SslStatistics {
+
+    private static final Logger logger = LoggerFactory.getLogger(SslContextCache.class);
+
+    /**
+     * Lowest version of community edition for TLSv1.2 support.
+     */
+    private static final ServerVersion TLS1_2_COMMUNITY_VER = ServerVersion.create(8, 0, 4);
+
+    /**
+     * Lowest version of enterprise edition for TLSv1.2 support. Should be
+     * judged in conjunction with {@link ServerVersion#isEnterprise()}.
+     */
+    private static final ServerVersion TLS1_2_ENTERPRISE_VER = ServerVersion.create(5, 6, 0);
+
+    private final MySqlSslConfiguration ssl;
+
+    /**
+     * The context which has been enabled TLSv1.2 or user-specified TLS versions.
+     */
+    @Nullable
+    private volatile SslContext context;
+
+    /**
+     * The context for servers which do not support TLSv1.2 and the TLS versions is not
+     * specified by user.
+     */
+    @Nullable
+    private volatile SslContext legacyContext;
+
+    /**
+     * The id of last established session of each peer, a handshake resumed the cached session if it
+     * established a session with the same id.
+     */
+    private final Map<String, byte[]> sessionIds = new HashMap<>();
+
+    private volatile long handshakes;
+
+    private volatile long resumedHandshakes;
+
+    private volatile long failedHandshakes;
+
+    private volatile long handshakeNanos;
+
+    private volatile long maxHandshakeNanos;
+
+    public SslContextCache(MySqlSslConfiguration ssl) {
+        this.ssl = requireNonNull(ssl, "ssl must not be null");
+    }
+
+    public MySqlSslConfiguration getConfiguration() {
+        return ssl;
+    }
+
+    @Override
+    public long getHandshakes() {
+        return handshakes;
+    }
+
+    @Override
+    public long getResumedHandshakes() {
+        return resumedHandshakes;
+    }
+
+    @Override
+    public long getFailedHandshakes() {
+        return failedHandshakes;
+    }
+
+    @Override
+    public long getHandshakeNanos() {
+        return handshakeNanos;
+    }
+
+    @Override
+    public long getMaxHandshakeNanos() {
+        return maxHandshakeNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SslContextCache{handshakes=%d, resumedHandshakes=%d, failedHandshakes=%d, handshakeNanos=%d, maxHandshakeNanos=%d}",
+            handshakes, resumedHandshakes, failedHandshakes, handshakeNanos, maxHandshakeNanos);
+    }
+
+    /**
+     * Get the shared {@link SslContext} for a server, build it if it has not been built.
+     *
+     * @param version the version of server, it is used to select TLS versions when user has not specified.
+     * @return the shared {@link SslContext}.
+     */
+    SslContext get(ServerVersion version) {
+        if (ssl.getTlsVersion().length > 0 || isEnabledTls1_2(version)) {
+            SslContext context = this.context;
+
+            if (context == null) {
+                synchronized (this) {
+                    context = this.context;
+
+                    if (context == null) {
+                        this.context = context = buildContext(true);
+                    }
+                }
+            }
+
+            return context;
+        }
+
+        SslContext context = this.legacyContext;
+
+        if (context == null) {
+            synchronized (this) {
+                context = this.legacyContext;
+
+                if (context == null) {
+                    this.legacyContext = context = buildContext(false);
+                }
+            }
+        }
+
+        return context;
+    }
+
+    /**
+     * Record a successful handshake.
+     *
+     * @param nanos   the time of the handshake in nanoseconds.
+     * @param peer    the peer host and port, or {@code null} if they are unknown, then the session
+     *                can not be resumed.
+     * @param session the established session.
+     * @return if the handshake resumed the session which is cached by a previous handshake.
+     */
+    synchronized boolean handshakeCompleted(long nanos, @Nullable String peer, SSLSession session) {
+        byte[] id = session.getId();
+        boolean resumed = false;
+
+        ++handshakes;
+
+        if (peer != null && id != null && id.length > 0) {
+            resumed = Arrays.equals(sessionIds.put(peer, id), id);
+        }
+
+        if (resumed) {
+            ++resumedHandshakes;
+        }
+
+        addNanos(nanos);
+
+        return resumed;
+    }
+
+    synchronized void handshakeFailed(long nanos) {
+        ++failedHandshakes;
+        addNanos(nanos);
+    }
+
+    private void addNanos(long nanos) {
+        handshakeNanos += nanos;
+
+        if (nanos > maxHandshakeNanos) {
+            maxHandshakeNanos = nanos;
+        }
+    }
+
+    private SslContext buildContext(boolean tls1_2) {
+        try {
+            return buildContextBuilder(tls1_2).build();
+        } catch (SSLException e) {
+            throw Exceptions.propagate(e);
+        }
+    }
+
+    private SslContextBuilder buildContextBuilder(boolean tls1_2) {
+        SslContextBuilder builder = withTlsVersion(SslContextBuilder.forClient(), tls1_2)
+            .sslProvider(selectProvider(ssl.isPreferOpenSsl()));
+        String sslKey = ssl.getSslKey();
+
+        if (sslKey != null) {
+            CharSequence keyPassword = ssl.getSslKeyPassword();
+            String sslCert = ssl.getSslCert();
+
+            if (sslCert == null) {
+                throw new IllegalStateException("SSL key param requires but SSL cert param to be present");
+            }
+
+            builder.keyManager(new File(sslCert), new File(sslKey), keyPassword == null ? null : keyPassword.toString());
+        }
+
+        SslMode mode = ssl.getSslMode();
+        if (mode.verifyCertificate()) {
+            String sslCa = ssl.getSslCa();
+
+            if (sslCa == null) {
+                throw new IllegalStateException(String.format("SSL mode %s requires SSL CA parameter", mode));
+            }
+
+            builder.trustManager(new File(sslCa));
+        } else {
+            builder.trustManager(InsecureTrustManagerFactory.INSTANCE);
+        }
+
+        return builder;
+    }
+
+    private SslContextBuilder withTlsVersion(SslContextBuilder builder, boolean tls1_2) {
+        String[] tlsProtocols = ssl.getTlsVersion();
+
+        if (tlsProtocols.length > 0) {
+            builder.protocols(tlsProtocols);
+        } else if (tls1_2) {
+            builder.protocols(TlsVersions.TLS1, TlsVersions.TLS1_1, TlsVersions.TLS1_2);
+        } else {
+            builder.protocols(TlsVersions.TLS1, TlsVersions.TLS1_1);
+        }
+
+        return builder;
+    }
+
+    /**
+     * Select the engine provider, it falls back to the JDK engine if OpenSSL is not available.
+     *
+     * @param preferOpenSsl if prefer OpenSSL engine.
+     * @return the selected provider.
+     */
+    static SslProvider selectProvider(boolean preferOpenSsl) {
+        if (!preferOpenSsl) {
+            return SslProvider.JDK;
+        }
+
+        if (OpenSsl.isAvailable()) {
+            return SslProvider.OPENSSL;
+        }
+
+        logger.debug("OpenSSL is unavailable, fall back to JDK engine", OpenSsl.unavailabilityCause());
+
+        return SslProvider.JDK;
+    }
+
+    private static boolean isEnabledTls1_2(ServerVersion version) {
+        return version.isGreaterThanOrEqualTo(TLS1_2_COMMUNITY_VER) || (version.isGreaterThanOrEqualTo(TLS1_2_ENTERPRISE_VER) && version.isEnterprise());
+    }
+}
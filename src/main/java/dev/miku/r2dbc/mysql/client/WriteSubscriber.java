@@ -19,6 +19,7 @@ package dev.miku.r2dbc.mysql.client;
 import dev.miku.r2dbc.mysql.constant.Envelopes;
 import dev.miku.r2dbc.mysql.message.header.SequenceIdProvider;
 import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelPromise;
 import org.reactivestreams.Subscription;
@@ -29,7 +30,8 @@ import reactor.util.annotation.Nullable;
  * An implementation of {@link CoreSubscriber} for {@link ChannelHandlerContext} write
  * and flush subscribed by streaming {@link ByteBuf}s.
  * <p>
- * It ensures {@link #promise} will be complete.
+ * It ensures {@link #promise} will be complete, and it will be failed if the {@link ByteBuf}s can not be
+ * encoded or written.
  */
 final class WriteSubscriber implements CoreSubscriber<ByteBuf> {
 
@@ -39,6 +41,12 @@ final class WriteSubscriber implements CoreSubscriber<ByteBuf> {
 
     private final SequenceIdProvider provider;
 
+    /**
+     * The future of last written {@link ByteBuf}, writes are completed in order.
+     */
+    @Nullable
+    private ChannelFuture lastWrite;
+
     private WriteSubscriber(ChannelHandlerContext ctx, ChannelPromise promise, SequenceIdProvider provider) {
         this.ctx = ctx;
         this.promise = promise;
@@ -55,7 +63,7 @@ final class WriteSubscriber implements CoreSubscriber<ByteBuf> {
         ctx.write(ctx.alloc().buffer(Envelopes.PART_HEADER_SIZE, Envelopes.PART_HEADER_SIZE)
             .writeMediumLE(buf.readableBytes())
             .writeByte(provider.next()));
-        ctx.write(buf);
+        lastWrite = ctx.write(buf);
     }
 
     @Override
@@ -63,14 +71,27 @@ final class WriteSubscriber implements CoreSubscriber<ByteBuf> {
         try {
             ctx.fireExceptionCaught(cause);
         } finally {
-            // Ignore this cause for this promise because it is channel exception.
-            promise.setSuccess();
+            // Message has not been written entirely, server will not respond it.
+            promise.tryFailure(cause);
         }
     }
 
     @Override
     public void onComplete() {
-        promise.setSuccess();
+        ChannelFuture last = this.lastWrite;
+
+        if (last == null) {
+            promise.trySuccess();
+            return;
+        }
+
+        last.addListener(future -> {
+            if (future.isSuccess()) {
+                promise.trySuccess();
+            } else {
+                promise.tryFailure(future.cause());
+            }
+        });
     }
 
     static WriteSubscriber create(ChannelHandlerContext ctx, ChannelPromise promise, @Nullable SequenceIdProvider provider) {
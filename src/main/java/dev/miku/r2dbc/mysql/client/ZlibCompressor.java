@@ -0,0 +1,139 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.miku.r2dbc.mysql.client;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.handler.codec.DecoderException;
+import reactor.util.annotation.Nullable;
+
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * An implementation of {@link Compressor} for zlib, the compressed payload of each packet is a
+ * complete zlib stream.
+ */
+final class ZlibCompressor implements Compressor {
+
+    private final Deflater deflater = new Deflater();
+
+    private final Inflater inflater = new Inflater();
+
+    private volatile boolean disposed;
+
+    @Nullable
+    @Override
+    public ByteBuf compress(ByteBuf buf, ByteBufAllocator alloc) {
+        // Only accept the compressed payload which is smaller than the uncompressed payload.
+        int limit = buf.readableBytes() - 1;
+
+        if (limit <= 0) {
+            return null;
+        }
+
+        ByteBuf result = alloc.heapBuffer(limit);
+
+        try {
+            byte[] array = result.array();
+            int offset = result.arrayOffset();
+            int written = 0;
+
+            deflater.reset();
+            setInput(deflater, buf);
+            deflater.finish();
+
+            while (!deflater.finished() && written < limit) {
+                written += deflater.deflate(array, offset + written, limit - written);
+            }
+
+            if (!deflater.finished()) {
+                result.release();
+                return null;
+            }
+
+            return result.writerIndex(written);
+        } catch (Throwable e) {
+            result.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public ByteBuf decompress(ByteBuf buf, int uncompressedSize, ByteBufAllocator alloc) {
+        ByteBuf result = alloc.heapBuffer(uncompressedSize);
+
+        try {
+            byte[] array = result.array();
+            int offset = result.arrayOffset();
+            int read = 0;
+
+            inflater.reset();
+            setInput(inflater, buf);
+
+            while (read < uncompressedSize) {
+                int size = inflater.inflate(array, offset + read, uncompressedSize - read);
+
+                if (size == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new DecoderException(String.format("zlib payload is corrupted, expected %d bytes but got %d bytes", uncompressedSize, read));
+                }
+
+                read += size;
+            }
+
+            return result.writerIndex(uncompressedSize);
+        } catch (DataFormatException e) {
+            result.release();
+            throw new DecoderException("zlib payload is corrupted", e);
+        } catch (Throwable e) {
+            result.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public void dispose() {
+        if (!disposed) {
+            disposed = true;
+            deflater.end();
+            inflater.end();
+        }
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return disposed;
+    }
+
+    private static void setInput(Deflater deflater, ByteBuf buf) {
+        if (buf.hasArray()) {
+            deflater.setInput(buf.array(), buf.arrayOffset() + buf.readerIndex(), buf.readableBytes());
+        } else {
+            deflater.setInput(ByteBufUtil.getBytes(buf));
+        }
+    }
+
+    private static void setInput(Inflater inflater, ByteBuf buf) {
+        if (buf.hasArray()) {
+            inflater.setInput(buf.array(), buf.arrayOffset() + buf.readerIndex(), buf.readableBytes());
+        } else {
+            inflater.setInput(ByteBufUtil.getBytes(buf));
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.miku.r2dbc.mysql.client;
+
+import com.github.luben.zstd.Zstd;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.handler.codec.DecoderException;
+import reactor.util.annotation.Nullable;
+
+/**
+ * An implementation of {@link Compressor} for Zstandard, the compressed payload of each packet is a
+ * complete Zstandard frame.
+ * <p>
+ * It uses {@literal com.github.luben:zstd-jni}, which is an optional dependency, so it should be
+ * loaded only if Zstandard compression has been negotiated.
+ */
+final class ZstdCompressor implements Compressor {
+
+    private final int level;
+
+    private volatile boolean disposed;
+
+    ZstdCompressor(int level) {
+        this.level = level;
+    }
+
+    @Nullable
+    @Override
+    public ByteBuf compress(ByteBuf buf, ByteBufAllocator alloc) {
+        // Only accept the compressed payload which is smaller than the uncompressed payload.
+        int size = buf.readableBytes();
+        int limit = size - 1;
+
+        if (limit <= 0) {
+            return null;
+        }
+
+        ByteBuf result = alloc.heapBuffer(limit);
+
+        try {
+            long written;
+
+            if (buf.hasArray()) {
+                written = Zstd.compressByteArray(result.array(), result.arrayOffset(), limit,
+                    buf.array(), buf.arrayOffset() + buf.readerIndex(), size, level);
+            } else {
+                written = Zstd.compressByteArray(result.array(), result.arrayOffset(), limit,
+                    ByteBufUtil.getBytes(buf), 0, size, level);
+            }
+
+            if (Zstd.isError(written)) {
+                // Most likely the destination is too small, i.e. it can not be compressed smaller.
+                result.release();
+                return null;
+            }
+
+            return result.writerIndex((int) written);
+        } catch (Throwable e) {
+            result.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public ByteBuf decompress(ByteBuf buf, int uncompressedSize, ByteBufAllocator alloc) {
+        int size = buf.readableBytes();
+        ByteBuf result = alloc.heapBuffer(uncompressedSize);
+
+        try {
+            long read;
+
+            if (buf.hasArray()) {
+                read = Zstd.decompressByteArray(result.array(), result.arrayOffset(), uncompressedSize,
+                    buf.array(), buf.arrayOffset() + buf.readerIndex(), size);
+            } else {
+                read = Zstd.decompressByteArray(result.array(), result.arrayOffset(), uncompressedSize,
+                    ByteBufUtil.getBytes(buf), 0, size);
+            }
+
+            if (Zstd.isError(read)) {
+                throw new DecoderException("Zstandard payload is corrupted: " + Zstd.getErrorName(read));
+            } else if (read != uncompressedSize) {
+                throw new DecoderException(String.format("Zstandard payload is corrupted, expected %d bytes but got %d bytes", uncompressedSize, read));
+            }
+
+            return result.writerIndex(uncompressedSize);
+        } catch (Throwable e) {
+            result.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public void dispose() {
+        // Stateless native calls, nothing to release.
+        this.disposed = true;
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return disposed;
+    }
+}
@@ -37,6 +37,16 @@ abstract class AbstractLobValue extends AbstractParameterValue {
         return DataTypes.LONG_BLOB;
     }
 
+    /**
+     * LOB values are sent as long data by chunks, so they will not be buffered in the executing message.
+     *
+     * @return always {@code true}.
+     */
+    @Override
+    public final boolean isLongData() {
+        return true;
+    }
+
     @Override
     public final void dispose() {
         try {
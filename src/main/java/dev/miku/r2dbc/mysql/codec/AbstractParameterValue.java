@@ -16,7 +16,9 @@
 
 package dev.miku.r2dbc.mysql.codec;
 
+import dev.miku.r2dbc.mysql.constant.DataTypes;
 import dev.miku.r2dbc.mysql.message.ParameterValue;
+import dev.miku.r2dbc.mysql.util.CodecUtils;
 
 /**
  * Base class considers non null values for {@link ParameterValue} implementations.
@@ -28,6 +30,42 @@ abstract class AbstractParameterValue implements ParameterValue {
         return false;
     }
 
+    /**
+     * Estimate size by {@link #getType()} for fixed-length types, variable-length
+     * types should override it.
+     *
+     * @return the estimated bytes, or {@literal -1} if type is variable-length.
+     */
+    @Override
+    public int estimateSize() {
+        switch (getType()) {
+            case DataTypes.TINYINT:
+                return Byte.BYTES;
+            case DataTypes.SMALLINT:
+            case DataTypes.YEAR:
+                return Short.BYTES;
+            case DataTypes.MEDIUMINT:
+            case DataTypes.INT:
+            case DataTypes.FLOAT:
+                return Integer.BYTES;
+            case DataTypes.BIGINT:
+            case DataTypes.DOUBLE:
+                return Long.BYTES;
+            case DataTypes.DATE:
+                // Size byte + year (2 bytes) + month + day.
+                return 5;
+            case DataTypes.DATETIME:
+            case DataTypes.TIMESTAMP:
+                // Size byte + date (4 bytes) + hour + minute + second + micro-seconds (4 bytes).
+                return 12;
+            case DataTypes.TIME:
+                // Size byte + is negative + days (4 bytes) + hour + minute + second + micro-seconds (4 bytes).
+                return 13;
+            default:
+                return -1;
+        }
+    }
+
     @Override
     public void dispose() {
         // Do nothing for default
@@ -37,4 +75,15 @@ abstract class AbstractParameterValue implements ParameterValue {
     public String toString() {
         return getClass().getSimpleName() + "{ non-null, value is hidden }";
     }
+
+    /**
+     * Calculate bytes of a length encoded value.
+     *
+     * @param length the length of value content.
+     * @return the bytes includes var integer size and content.
+     */
+    static int lengthEncodedSize(long length) {
+        long size = CodecUtils.varIntBytes(length) + length;
+        return size > Integer.MAX_VALUE ? -1 : (int) size;
+    }
 }
@@ -25,7 +25,6 @@ import io.netty.buffer.ByteBuf;
 import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
-import java.nio.charset.StandardCharsets;
 
 /**
  * Codec for {@link BigDecimal}.
@@ -54,9 +53,8 @@ final class BigDecimalCodec extends AbstractClassedCodec<BigDecimal> {
             // Not float or double, is text-encoded yet.
         }
 
-        BigDecimal decimal = new BigDecimal(buf.toString(StandardCharsets.US_ASCII));
+        BigDecimal decimal = CodecNumberUtils.parseBigDecimal(buf);
 
-        // Why Java has not BigDecimal.parseBigDecimal(String)?
         if (BigDecimal.ZERO.equals(decimal)) {
             return BigDecimal.ZERO;
         } else if (BigDecimal.ONE.equals(decimal)) {
@@ -102,6 +100,12 @@ final class BigDecimalCodec extends AbstractClassedCodec<BigDecimal> {
             return DataTypes.NEW_DECIMAL;
         }
 
+        @Override
+        public int estimateSize() {
+            // Digits, sign, point, leading zeros or exponent are never more than precision + 14.
+            return lengthEncodedSize(decimal.precision() + 14);
+        }
+
         @Override
         public boolean equals(Object o) {
             if (this == o) {
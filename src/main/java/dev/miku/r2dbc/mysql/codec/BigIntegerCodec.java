@@ -26,15 +26,12 @@ import io.netty.buffer.ByteBuf;
 import reactor.core.publisher.Mono;
 
 import java.math.BigInteger;
-import java.nio.charset.StandardCharsets;
 
 /**
  * Codec for {@link BigInteger}.
  */
 final class BigIntegerCodec extends AbstractClassedCodec<BigInteger> {
 
-    private static final String LONG_MAX_VALUE = Long.toString(Long.MAX_VALUE);
-
     static final BigIntegerCodec INSTANCE = new BigIntegerCodec();
 
     private BigIntegerCodec() {
@@ -66,17 +63,6 @@ final class BigIntegerCodec extends AbstractClassedCodec<BigInteger> {
         return TypePredicates.isInt(info.getType());
     }
 
-    private static boolean isGreaterThanMaxValue(String num) {
-        int length = num.length();
-
-        if (length != LONG_MAX_VALUE.length()) {
-            // If length less than max value length, even it is 999...99, it is also less than max value.
-            return length > LONG_MAX_VALUE.length();
-        }
-
-        return num.compareTo(LONG_MAX_VALUE) > 0;
-    }
-
     static BigInteger unsignedBigInteger(long negative) {
         byte[] bits = new byte[Long.BYTES + 1];
 
@@ -94,25 +80,14 @@ final class BigIntegerCodec extends AbstractClassedCodec<BigInteger> {
     }
 
     private static BigInteger decodeText(NormalFieldValue value, FieldInformation info) {
-        ByteBuf buf = value.getBufferSlice();
-
-        if (info.getType() == DataTypes.BIGINT && (info.getDefinitions() & ColumnDefinitions.UNSIGNED) != 0) {
-            if (buf.getByte(buf.readerIndex()) == '+') {
-                buf.skipBytes(1);
-            }
+        // Text without '-' is parsed as unsigned, so BIGINT UNSIGNED keeps all bits.
+        long v = CodecNumberUtils.parseLong(value.getBufferSlice());
 
-            String num = buf.toString(StandardCharsets.US_ASCII);
-
-            // Why Java has not BigInteger.parseBigInteger(String)?
-            if (isGreaterThanMaxValue(num)) {
-                return new BigInteger(num);
-            } else {
-                // valueOf can use constant pool.
-                return BigInteger.valueOf(parseUnsigned(num));
-            }
-        } else {
-            return BigInteger.valueOf(LongCodec.parse(buf));
+        if (v < 0 && info.getType() == DataTypes.BIGINT && (info.getDefinitions() & ColumnDefinitions.UNSIGNED) != 0) {
+            return unsignedBigInteger(v);
         }
+
+        return BigInteger.valueOf(v);
     }
 
     private static BigInteger decodeBinary(NormalFieldValue value, FieldInformation info) {
@@ -153,17 +128,6 @@ final class BigIntegerCodec extends AbstractClassedCodec<BigInteger> {
         }
     }
 
-    private static long parseUnsigned(String num) {
-        long value = 0;
-        int size = num.length();
-
-        for (int i = 0; i < size; ++i) {
-            value = value * 10L + (num.charAt(i) - '0');
-        }
-
-        return value;
-    }
-
     private static class BigIntegerValue extends AbstractParameterValue {
 
         private final BigInteger value;
@@ -182,6 +146,12 @@ final class BigIntegerCodec extends AbstractClassedCodec<BigInteger> {
             return DataTypes.VARCHAR;
         }
 
+        @Override
+        public int estimateSize() {
+            // Decimal digits of n bits is less than n / 3 + 1, and maybe a sign.
+            return lengthEncodedSize(value.bitLength() / 3 + 2);
+        }
+
         @Override
         public boolean equals(Object o) {
             if (this == o) {
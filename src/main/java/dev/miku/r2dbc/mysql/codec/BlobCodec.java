@@ -22,8 +22,12 @@ import dev.miku.r2dbc.mysql.message.FieldValue;
 import dev.miku.r2dbc.mysql.message.LargeFieldValue;
 import dev.miku.r2dbc.mysql.message.NormalFieldValue;
 import dev.miku.r2dbc.mysql.message.ParameterValue;
+import dev.miku.r2dbc.mysql.message.StreamingFieldValue;
 import dev.miku.r2dbc.mysql.message.client.ParameterWriter;
 import dev.miku.r2dbc.mysql.util.ConnectionContext;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
 import io.r2dbc.spi.Blob;
 import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
@@ -61,7 +65,7 @@ final class BlobCodec implements Codec<Blob, FieldValue, Class<? super Blob>> {
             return false;
         }
 
-        if (!(value instanceof NormalFieldValue) && !(value instanceof LargeFieldValue)) {
+        if (!(value instanceof NormalFieldValue) && !(value instanceof LargeFieldValue) && !(value instanceof StreamingFieldValue)) {
             return false;
         }
 
@@ -102,6 +106,20 @@ final class BlobCodec implements Codec<Blob, FieldValue, Class<? super Blob>> {
             });
         }
 
+        @Override
+        public Flux<ByteBuf> publishLongData(ByteBufAllocator allocator) {
+            return Flux.defer(() -> {
+                Blob blob = this.blob.getAndSet(null);
+
+                if (blob == null) {
+                    return Flux.error(new IllegalStateException("Blob has written, can not write twice"));
+                }
+
+                // Wrap chunks without copying, they will be sent before next chunk requesting.
+                return Flux.from(blob.stream()).map(Unpooled::wrappedBuffer);
+            });
+        }
+
         @Override
         public boolean equals(Object o) {
             if (this == o) {
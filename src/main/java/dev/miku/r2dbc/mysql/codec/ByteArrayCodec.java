@@ -83,6 +83,11 @@ final class ByteArrayCodec extends AbstractClassedCodec<byte[]> {
             return DataTypes.LONG_BLOB;
         }
 
+        @Override
+        public int estimateSize() {
+            return lengthEncodedSize(bytes.length);
+        }
+
         @Override
         public boolean equals(Object o) {
             if (this == o) {
@@ -80,7 +80,8 @@ final class ByteBufferCodec extends AbstractClassedCodec<ByteBuffer> {
 
         @Override
         public Mono<Void> writeTo(ParameterWriter writer) {
-            return Mono.fromRunnable(() -> writer.writeByteBuffer(buffer));
+            // Write a duplicate, so the value can be written again, e.g. retried by a new prepared statement.
+            return Mono.fromRunnable(() -> writer.writeByteBuffer(buffer.duplicate()));
         }
 
         @Override
@@ -88,6 +89,11 @@ final class ByteBufferCodec extends AbstractClassedCodec<ByteBuffer> {
             return DataTypes.LONG_BLOB;
         }
 
+        @Override
+        public int estimateSize() {
+            return lengthEncodedSize(buffer.remaining());
+        }
+
         @Override
         public boolean equals(Object o) {
             if (this == o) {
@@ -40,7 +40,7 @@ final class ByteCodec extends AbstractPrimitiveCodec<Byte> {
         if (binary) {
             return value.getBufferSlice().readByte();
         } else {
-            return (byte) IntegerCodec.parse(value.getBufferSlice());
+            return (byte) CodecNumberUtils.parseInt(value.getBufferSlice());
         }
     }
 
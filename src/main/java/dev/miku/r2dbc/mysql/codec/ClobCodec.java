@@ -23,14 +23,22 @@ import dev.miku.r2dbc.mysql.message.FieldValue;
 import dev.miku.r2dbc.mysql.message.LargeFieldValue;
 import dev.miku.r2dbc.mysql.message.NormalFieldValue;
 import dev.miku.r2dbc.mysql.message.ParameterValue;
+import dev.miku.r2dbc.mysql.message.StreamingFieldValue;
 import dev.miku.r2dbc.mysql.message.client.ParameterWriter;
 import dev.miku.r2dbc.mysql.util.ConnectionContext;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
 import io.r2dbc.spi.Clob;
 import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.annotation.Nullable;
 
 import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
 import java.util.Objects;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -62,7 +70,7 @@ final class ClobCodec implements Codec<Clob, FieldValue, Class<? super Clob>> {
             return false;
         }
 
-        if (!(value instanceof NormalFieldValue) && !(value instanceof LargeFieldValue)) {
+        if (!(value instanceof NormalFieldValue) && !(value instanceof LargeFieldValue) && !(value instanceof StreamingFieldValue)) {
             return false;
         }
 
@@ -106,6 +114,23 @@ final class ClobCodec implements Codec<Clob, FieldValue, Class<? super Clob>> {
             });
         }
 
+        @Override
+        public Flux<ByteBuf> publishLongData(ByteBufAllocator allocator) {
+            return Flux.defer(() -> {
+                Clob clob = this.clob.getAndSet(null);
+
+                if (clob == null) {
+                    return Flux.error(new IllegalStateException("Clob has written, can not write twice"));
+                }
+
+                ChunkEncoder encoder = new ChunkEncoder(allocator, context.getCollation().getCharset().newEncoder());
+
+                return Flux.from(clob.stream())
+                    .map(encoder::encode)
+                    .concatWith(Mono.fromSupplier(encoder::complete));
+            });
+        }
+
         @Override
         public boolean equals(Object o) {
             if (this == o) {
@@ -132,4 +157,78 @@ final class ClobCodec implements Codec<Clob, FieldValue, Class<? super Clob>> {
             return clob == null ? null : clob.discard();
         }
     }
+
+    /**
+     * Encoder for chunks of a {@link Clob}, a surrogate pair may be split by chunks, so the high surrogate
+     * at the end of a chunk will be encoded with the following chunk.
+     */
+    private static final class ChunkEncoder {
+
+        private final ByteBufAllocator allocator;
+
+        private final CharsetEncoder encoder;
+
+        private char pending;
+
+        private boolean hasPending;
+
+        private ChunkEncoder(ByteBufAllocator allocator, CharsetEncoder encoder) {
+            this.allocator = allocator;
+            this.encoder = encoder.onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        }
+
+        ByteBuf encode(CharSequence sequence) {
+            CharBuffer in;
+
+            if (hasPending) {
+                in = CharBuffer.allocate(sequence.length() + 1).put(pending).append(sequence);
+                in.flip();
+                hasPending = false;
+            } else {
+                in = CharBuffer.wrap(sequence);
+            }
+
+            ByteBuf buf = encode(in, false);
+
+            if (in.hasRemaining()) {
+                // Only the high surrogate at the end would be remaining.
+                pending = in.get();
+                hasPending = true;
+            }
+
+            return buf;
+        }
+
+        @Nullable
+        ByteBuf complete() {
+            if (!hasPending) {
+                return null;
+            }
+
+            hasPending = false;
+
+            return encode(CharBuffer.wrap(new char[]{pending}), true);
+        }
+
+        private ByteBuf encode(CharBuffer in, boolean endOfInput) {
+            int capacity = (int) (in.remaining() * (double) encoder.maxBytesPerChar());
+            ByteBuf buf = allocator.buffer(capacity);
+
+            try {
+                ByteBuffer out = buf.nioBuffer(0, buf.capacity());
+
+                encoder.encode(in, out, endOfInput);
+
+                if (endOfInput) {
+                    encoder.flush(out);
+                }
+
+                return buf.writerIndex(out.position());
+            } catch (Throwable e) {
+                buf.release();
+                throw e;
+            }
+        }
+    }
 }
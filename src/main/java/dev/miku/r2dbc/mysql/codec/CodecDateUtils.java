@@ -24,13 +24,115 @@ import io.r2dbc.spi.R2dbcNonTransientResourceException;
 import reactor.util.annotation.Nullable;
 
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.time.temporal.Temporal;
+import java.util.concurrent.TimeUnit;
 
 /**
  * An utility with date/time generic logic for {@link Codec} implementations.
  */
 final class CodecDateUtils {
 
+    /**
+     * Size of text date layout {@code YYYY-MM-DD}.
+     */
+    private static final int DATE_SIZE = 10;
+
+    /**
+     * Size of text date time layout {@code YYYY-MM-DD hh:mm:ss}, without fractional seconds.
+     */
+    private static final int DATETIME_SIZE = 19;
+
+    private static final long NANOS_OF_DAY = TimeUnit.DAYS.toNanos(1);
+
+    /**
+     * Nanoseconds of a unit in the fractional seconds, indexed by count of fraction digits.
+     */
+    private static final int[] NANOS_OF_FRACTION_UNIT = {
+        0, 100_000_000, 10_000_000, 1_000_000, 100_000, 10_000, 1_000, 100, 10, 1,
+    };
+
+    private static final int MAX_FRACTION_DIGITS = NANOS_OF_FRACTION_UNIT.length - 1;
+
+    /**
+     * Parse a text value of {@code DATE}. The fixed layout {@code YYYY-MM-DD} is decoded in a single pass
+     * over the readable bytes, other layouts fall back to field by field parsing.
+     *
+     * @param buf the text value, reader index will not be changed if it is the fixed layout.
+     * @return the date, or {@code null} if it is a zero date.
+     */
+    @Nullable
+    static LocalDate parseDate(ByteBuf buf) {
+        int index = buf.readerIndex();
+
+        if (buf.readableBytes() == DATE_SIZE) {
+            int date = readDate(buf, index);
+
+            if (date >= 0) {
+                return toDate(date);
+            }
+        }
+
+        return readDateFields(buf);
+    }
+
+    /**
+     * Parse a text value of {@code DATETIME} or {@code TIMESTAMP}. The fixed layout
+     * {@code YYYY-MM-DD hh:mm:ss[.ffffff]} is decoded in a single pass over the readable bytes, other
+     * layouts fall back to field by field parsing.
+     *
+     * @param buf the text value, reader index will not be changed if it is the fixed layout.
+     * @return the date time, or {@code null} if its date part is a zero date.
+     */
+    @Nullable
+    static LocalDateTime parseDateTime(ByteBuf buf) {
+        int index = buf.readerIndex();
+        int bytes = buf.readableBytes();
+
+        if (bytes == DATE_SIZE || (bytes >= DATETIME_SIZE && buf.getByte(index + DATE_SIZE) == ' ')) {
+            int date = readDate(buf, index);
+            long nanoOfDay = bytes == DATE_SIZE ? 0 : readTime(buf, index + DATE_SIZE + 1, index + bytes);
+
+            if (date >= 0 && nanoOfDay >= 0 && nanoOfDay < NANOS_OF_DAY) {
+                LocalDate localDate = toDate(date);
+                return localDate == null ? null : LocalDateTime.of(localDate, LocalTime.ofNanoOfDay(nanoOfDay));
+            }
+        }
+
+        LocalDate date = readDateFields(buf);
+
+        if (date == null) {
+            return null;
+        }
+
+        return LocalDateTime.of(date, LocalTime.ofNanoOfDay(Math.floorMod(readTimeFields(buf), NANOS_OF_DAY)));
+    }
+
+    /**
+     * Parse a text value of {@code TIME}. The layout {@code [-]hh:mm:ss[.ffffff]} is decoded in a single
+     * pass over the readable bytes, other layouts fall back to field by field parsing.
+     *
+     * @param buf the text value, reader index will not be changed if it is the fixed layout.
+     * @return signed total nanoseconds of the value, it may be out of a day.
+     */
+    static long parseTime(ByteBuf buf) {
+        int index = buf.readerIndex();
+        int end = buf.writerIndex();
+
+        if (index < end) {
+            boolean isNegative = buf.getByte(index) == '-';
+            long nanos = readTime(buf, isNegative ? index + 1 : index, end);
+
+            if (nanos >= 0) {
+                return isNegative ? -nanos : nanos;
+            }
+        }
+
+        return readTimeFields(buf);
+    }
+
     static int readIntInDigits(ByteBuf buf) {
         if (!buf.isReadable()) {
             return 0;
@@ -71,12 +173,144 @@ final class CodecDateUtils {
         if (binary) {
             message = String.format("Binary value %s (hex dump) invalid and ZeroDateOption is %s", ByteBufUtil.hexDump(buf, index, bytes), ZeroDateOption.EXCEPTION.name());
         } else {
-            message = String.format("Text value '%s' invalid and ZeroDateOption is %s", buf.toString(StandardCharsets.US_ASCII), ZeroDateOption.EXCEPTION.name());
+            message = String.format("Text value '%s' invalid and ZeroDateOption is %s", buf.toString(index, bytes, StandardCharsets.US_ASCII), ZeroDateOption.EXCEPTION.name());
         }
 
         throw new R2dbcNonTransientResourceException(message, SqlStates.ILLEGAL_ARGUMENT);
     }
 
+    /**
+     * Read date in layout {@code YYYY-MM-DD} which starts at {@code i}, the caller must ensure that there are
+     * enough readable bytes.
+     *
+     * @return packed date fields, or {@code -1} if layout mismatches.
+     */
+    private static int readDate(ByteBuf buf, int i) {
+        int century = readTwoDigits(buf, i);
+        int yearOfCentury = readTwoDigits(buf, i + 2);
+        int month = readTwoDigits(buf, i + 5);
+        int day = readTwoDigits(buf, i + 8);
+
+        if (century < 0 || yearOfCentury < 0 || month < 0 || day < 0 ||
+            buf.getByte(i + 4) != '-' || buf.getByte(i + 7) != '-') {
+            return -1;
+        }
+
+        return ((century * 100 + yearOfCentury) << 9) | (month << 5) | day;
+    }
+
+    /**
+     * Read time in layout {@code h[h][h]:mm:ss[.f...]} from {@code i} until {@code end}.
+     *
+     * @return total nanoseconds, or {@code -1} if layout mismatches.
+     */
+    private static long readTime(ByteBuf buf, int i, int end) {
+        int hour = 0;
+        int hourEnd = Math.min(i + 4, end);
+        int colon = i;
+        byte b;
+
+        for (; colon < hourEnd; ++colon) {
+            b = buf.getByte(colon);
+
+            if (b >= '0' && b <= '9') {
+                hour = hour * 10 + (b - '0');
+            } else {
+                break;
+            }
+        }
+
+        // Both "mm" and "ss" are fixed 2 digits.
+        if (colon == i || colon + 6 > end || buf.getByte(colon) != ':' || buf.getByte(colon + 3) != ':') {
+            return -1;
+        }
+
+        int minute = readTwoDigits(buf, colon + 1);
+        int second = readTwoDigits(buf, colon + 4);
+
+        if (minute < 0 || second < 0) {
+            return -1;
+        }
+
+        long nanos = TimeUnit.HOURS.toNanos(hour) + TimeUnit.MINUTES.toNanos(minute) + TimeUnit.SECONDS.toNanos(second);
+        int dot = colon + 6;
+
+        if (dot == end) {
+            return nanos;
+        }
+
+        int digits = end - dot - 1;
+
+        if (digits <= 0 || digits > MAX_FRACTION_DIGITS || buf.getByte(dot) != '.') {
+            return -1;
+        }
+
+        int fraction = 0;
+
+        for (int j = dot + 1; j < end; ++j) {
+            b = buf.getByte(j);
+
+            if (b < '0' || b > '9') {
+                return -1;
+            }
+
+            fraction = fraction * 10 + (b - '0');
+        }
+
+        return nanos + (long) fraction * NANOS_OF_FRACTION_UNIT[digits];
+    }
+
+    private static int readTwoDigits(ByteBuf buf, int i) {
+        int high = buf.getByte(i) - '0';
+        int low = buf.getByte(i + 1) - '0';
+
+        if (high < 0 || high > 9 || low < 0 || low > 9) {
+            return -1;
+        }
+
+        return high * 10 + low;
+    }
+
+    @Nullable
+    private static LocalDate toDate(int date) {
+        int month = (date >>> 5) & 0xF;
+        int day = date & 0x1F;
+
+        if (month == 0 || day == 0) {
+            return null;
+        }
+
+        return LocalDate.of(date >>> 9, month, day);
+    }
+
+    @Nullable
+    private static LocalDate readDateFields(ByteBuf buf) {
+        int year = readIntInDigits(buf);
+        int month = readIntInDigits(buf);
+        int day = readIntInDigits(buf);
+
+        if (month == 0 || day == 0) {
+            return null;
+        }
+
+        return LocalDate.of(year, month, day);
+    }
+
+    private static long readTimeFields(ByteBuf buf) {
+        boolean isNegative = buf.isReadable() && buf.getByte(buf.readerIndex()) == '-';
+
+        if (isNegative) {
+            buf.skipBytes(1);
+        }
+
+        int hour = readIntInDigits(buf);
+        int minute = readIntInDigits(buf);
+        int second = readIntInDigits(buf);
+        long nanos = TimeUnit.HOURS.toNanos(hour) + TimeUnit.MINUTES.toNanos(minute) + TimeUnit.SECONDS.toNanos(second);
+
+        return isNegative ? -nanos : nanos;
+    }
+
     private CodecDateUtils() {
     }
 }
@@ -0,0 +1,413 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.miku.r2dbc.mysql.codec;
+
+import io.netty.buffer.ByteBuf;
+import reactor.util.annotation.Nullable;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * An utility with text-encoded number parsing logic for {@link Codec} implementations.
+ * <p>
+ * All methods parse digits from the readable bytes of a {@link ByteBuf} by absolute indexes, they never
+ * create intermediate {@link String}s or {@code char[]}s, and do not change indexes of the buffer.
+ */
+final class CodecNumberUtils {
+
+    /**
+     * The maximum number of digits which can always be held by a {@code long}.
+     */
+    private static final int LONG_DIGITS = 18;
+
+    private static final BigInteger LONG_DIGITS_POWER = BigInteger.TEN.pow(LONG_DIGITS);
+
+    /**
+     * Unsigned 64-bits integer can be multiplied by 10 without overflow if it is not greater than this.
+     */
+    private static final long UNSIGNED_MULTIPLY_LIMIT = Long.divideUnsigned(-1L, 10);
+
+    /**
+     * The maximum absolute value of exponent, it can avoid overflow of scale.
+     */
+    private static final int EXPONENT_LIMIT = 999_999_999;
+
+    /**
+     * Integers which have at most 15 significant digits can be exactly represented by a {@code double}.
+     */
+    private static final int DOUBLE_EXACT_DIGITS = 15;
+
+    /**
+     * Integers which have at most 7 significant digits can be exactly represented by a {@code float}.
+     */
+    private static final int FLOAT_EXACT_DIGITS = 7;
+
+    /**
+     * Powers of ten which can be exactly represented by a {@code double}.
+     */
+    private static final double[] DOUBLE_POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    /**
+     * Powers of ten which can be exactly represented by a {@code float}.
+     */
+    private static final float[] FLOAT_POWERS_OF_TEN = {
+        1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f
+    };
+
+    private CodecNumberUtils() {
+    }
+
+    /**
+     * Parse a signed 32-bits integer which may have a sign.
+     *
+     * @param buf a {@link ByteBuf} include an integer.
+     * @return the integer.
+     * @throws NumberFormatException if the text is not an integer or it overflows.
+     */
+    static int parseInt(ByteBuf buf) {
+        int index = buf.readerIndex();
+        int end = buf.writerIndex();
+
+        if (index >= end) {
+            throw invalid(buf);
+        }
+
+        byte first = buf.getByte(index);
+        boolean isNegative = first == '-';
+
+        if (isNegative || first == '+') {
+            if (++index >= end) {
+                throw invalid(buf);
+            }
+        }
+
+        // Accumulate negatively because the absolute value of Integer.MIN_VALUE is greater than Integer.MAX_VALUE.
+        int limit = isNegative ? Integer.MIN_VALUE : -Integer.MAX_VALUE;
+        int multiplyLimit = limit / 10;
+        int result = 0;
+
+        for (; index < end; ++index) {
+            int digit = buf.getByte(index) - '0';
+
+            if (digit < 0 || digit > 9 || result < multiplyLimit) {
+                throw invalid(buf);
+            }
+
+            result *= 10;
+
+            if (result < limit + digit) {
+                throw invalid(buf);
+            }
+
+            result -= digit;
+        }
+
+        return isNegative ? result : -result;
+    }
+
+    /**
+     * Parse a 64-bits integer which may have a sign. A value without {@literal '-'} is parsed as an
+     * unsigned 64-bits integer, so that {@code BIGINT UNSIGNED} keeps all bits, e.g. the result of
+     * {@code 18446744073709551615} is {@code -1}.
+     *
+     * @param buf a {@link ByteBuf} include an integer.
+     * @return the integer.
+     * @throws NumberFormatException if the text is not an integer or it overflows.
+     */
+    static long parseLong(ByteBuf buf) {
+        int index = buf.readerIndex();
+        int end = buf.writerIndex();
+
+        if (index >= end) {
+            throw invalid(buf);
+        }
+
+        byte first = buf.getByte(index);
+
+        if (first == '-' || first == '+') {
+            if (++index >= end) {
+                throw invalid(buf);
+            }
+        }
+
+        long result = 0;
+
+        if (first == '-') {
+            // Accumulate negatively because the absolute value of Long.MIN_VALUE is greater than Long.MAX_VALUE.
+            long multiplyLimit = Long.MIN_VALUE / 10;
+
+            for (; index < end; ++index) {
+                int digit = buf.getByte(index) - '0';
+
+                if (digit < 0 || digit > 9 || result < multiplyLimit) {
+                    throw invalid(buf);
+                }
+
+                result *= 10;
+
+                if (result < Long.MIN_VALUE + digit) {
+                    throw invalid(buf);
+                }
+
+                result -= digit;
+            }
+        } else {
+            for (; index < end; ++index) {
+                int digit = buf.getByte(index) - '0';
+
+                if (digit < 0 || digit > 9 || Long.compareUnsigned(result, UNSIGNED_MULTIPLY_LIMIT) > 0) {
+                    throw invalid(buf);
+                }
+
+                long multiplied = result * 10;
+
+                result = multiplied + digit;
+
+                if (Long.compareUnsigned(result, multiplied) < 0) {
+                    throw invalid(buf);
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Parse a decimal which may have a sign, a fraction and an exponent. The result has the same
+     * unscaled value and scale as {@link BigDecimal#BigDecimal(String)}.
+     * <p>
+     * Note: it would not create any {@link BigInteger} if the decimal has at most 18 digits.
+     *
+     * @param buf a {@link ByteBuf} include a decimal.
+     * @return the decimal.
+     * @throws NumberFormatException if the text is not a decimal.
+     */
+    static BigDecimal parseBigDecimal(ByteBuf buf) {
+        int index = buf.readerIndex();
+        int end = buf.writerIndex();
+
+        if (index >= end) {
+            throw invalid(buf);
+        }
+
+        byte first = buf.getByte(index);
+        boolean isNegative = first == '-';
+
+        if (isNegative || first == '+') {
+            ++index;
+        }
+
+        // The digits which are not merged into `merged` yet.
+        long unscaled = 0;
+        int digits = 0;
+        BigInteger merged = null;
+        long scale = 0;
+        boolean hasDigit = false;
+        boolean hasPoint = false;
+
+        for (; index < end; ++index) {
+            byte b = buf.getByte(index);
+
+            if (b >= '0' && b <= '9') {
+                if (digits == LONG_DIGITS) {
+                    merged = merge(merged, unscaled, LONG_DIGITS_POWER);
+                    unscaled = 0;
+                    digits = 0;
+                }
+
+                unscaled = unscaled * 10 + (b - '0');
+                ++digits;
+                hasDigit = true;
+
+                if (hasPoint) {
+                    ++scale;
+                }
+            } else if (b == '.' && !hasPoint) {
+                hasPoint = true;
+            } else if ((b == 'e' || b == 'E') && hasDigit) {
+                scale -= parseExponent(buf, index + 1, end);
+                break;
+            } else {
+                throw invalid(buf);
+            }
+        }
+
+        if (!hasDigit || scale > Integer.MAX_VALUE || scale < Integer.MIN_VALUE) {
+            throw invalid(buf);
+        }
+
+        if (merged == null) {
+            return BigDecimal.valueOf(isNegative ? -unscaled : unscaled, (int) scale);
+        }
+
+        merged = merge(merged, unscaled, BigInteger.TEN.pow(digits));
+
+        return new BigDecimal(isNegative ? merged.negate() : merged, (int) scale);
+    }
+
+    /**
+     * Parse a {@code double} which may have a sign, a fraction and an exponent. It computes the result
+     * by a single exact operation when the decimal has at most 15 significant digits and the power of
+     * ten is exact, otherwise falls back to {@link Double#parseDouble(String)}.
+     *
+     * @param buf a {@link ByteBuf} include a floating-point number.
+     * @return the correctly rounded {@code double}.
+     * @throws NumberFormatException if the text is not a floating-point number.
+     */
+    static double parseDouble(ByteBuf buf) {
+        return parseFloating(buf, false);
+    }
+
+    /**
+     * Parse a {@code float}, see also {@link #parseDouble(ByteBuf)}. It computes the result by a single
+     * exact operation when the decimal has at most 7 significant digits and the power of ten is exact.
+     *
+     * @param buf a {@link ByteBuf} include a floating-point number.
+     * @return the correctly rounded {@code float}.
+     * @throws NumberFormatException if the text is not a floating-point number.
+     */
+    static float parseFloat(ByteBuf buf) {
+        return (float) parseFloating(buf, true);
+    }
+
+    private static double parseFloating(ByteBuf buf, boolean isFloat) {
+        int index = buf.readerIndex();
+        int end = buf.writerIndex();
+
+        if (index >= end) {
+            throw invalid(buf);
+        }
+
+        byte first = buf.getByte(index);
+        boolean isNegative = first == '-';
+
+        if (isNegative || first == '+') {
+            ++index;
+        }
+
+        long mantissa = 0;
+        int digits = 0;
+        long exponent = 0;
+        boolean hasDigit = false;
+        boolean hasPoint = false;
+
+        for (; index < end; ++index) {
+            byte b = buf.getByte(index);
+
+            if (b >= '0' && b <= '9') {
+                hasDigit = true;
+
+                if (hasPoint) {
+                    --exponent;
+                }
+
+                // Leading zeros are not significant.
+                if ((mantissa != 0 || b != '0') && ++digits <= LONG_DIGITS) {
+                    mantissa = mantissa * 10 + (b - '0');
+                }
+            } else if (b == '.' && !hasPoint) {
+                hasPoint = true;
+            } else if ((b == 'e' || b == 'E') && hasDigit) {
+                exponent += parseExponent(buf, index + 1, end);
+                break;
+            } else {
+                throw invalid(buf);
+            }
+        }
+
+        if (!hasDigit) {
+            throw invalid(buf);
+        }
+
+        if (isFloat) {
+            if (digits <= FLOAT_EXACT_DIGITS && Math.abs(exponent) < FLOAT_POWERS_OF_TEN.length) {
+                float value = mantissa;
+
+                if (exponent > 0) {
+                    value *= FLOAT_POWERS_OF_TEN[(int) exponent];
+                } else if (exponent < 0) {
+                    value /= FLOAT_POWERS_OF_TEN[(int) -exponent];
+                }
+
+                return isNegative ? -value : value;
+            }
+
+            return Float.parseFloat(buf.toString(StandardCharsets.US_ASCII));
+        }
+
+        if (digits <= DOUBLE_EXACT_DIGITS && Math.abs(exponent) < DOUBLE_POWERS_OF_TEN.length) {
+            double value = mantissa;
+
+            if (exponent > 0) {
+                value *= DOUBLE_POWERS_OF_TEN[(int) exponent];
+            } else if (exponent < 0) {
+                value /= DOUBLE_POWERS_OF_TEN[(int) -exponent];
+            }
+
+            return isNegative ? -value : value;
+        }
+
+        return Double.parseDouble(buf.toString(StandardCharsets.US_ASCII));
+    }
+
+    private static int parseExponent(ByteBuf buf, int index, int end) {
+        if (index >= end) {
+            throw invalid(buf);
+        }
+
+        byte first = buf.getByte(index);
+        boolean isNegative = first == '-';
+
+        if (isNegative || first == '+') {
+            if (++index >= end) {
+                throw invalid(buf);
+            }
+        }
+
+        int result = 0;
+
+        for (; index < end; ++index) {
+            int digit = buf.getByte(index) - '0';
+
+            if (digit < 0 || digit > 9) {
+                throw invalid(buf);
+            }
+
+            result = result * 10 + digit;
+
+            if (result > EXPONENT_LIMIT) {
+                throw invalid(buf);
+            }
+        }
+
+        return isNegative ? -result : result;
+    }
+
+    private static BigInteger merge(@Nullable BigInteger merged, long unscaled, BigInteger power) {
+        BigInteger value = BigInteger.valueOf(unscaled);
+        return merged == null ? value : merged.multiply(power).add(value);
+    }
+
+    private static NumberFormatException invalid(ByteBuf buf) {
+        return new NumberFormatException(String.format("Invalid number text '%s'", buf.toString(StandardCharsets.US_ASCII)));
+    }
+}
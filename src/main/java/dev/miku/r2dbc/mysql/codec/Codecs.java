@@ -31,6 +31,16 @@ public interface Codecs {
     @Nullable
     <T> T decode(FieldValue value, FieldInformation info, Type type, boolean binary, ConnectionContext context);
 
+    int decodeInt(FieldValue value, FieldInformation info, boolean binary);
+
+    long decodeLong(FieldValue value, FieldInformation info, boolean binary);
+
+    long decodeUnsignedLong(FieldValue value, FieldInformation info, boolean binary);
+
+    double decodeDouble(FieldValue value, FieldInformation info, boolean binary);
+
+    boolean decodeBoolean(FieldValue value, FieldInformation info, boolean binary);
+
     <T> T decodeLastInsertId(long value, Class<T> type);
 
     ParameterValue encode(Object value, ConnectionContext context);
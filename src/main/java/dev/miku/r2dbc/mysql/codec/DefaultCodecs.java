@@ -16,15 +16,24 @@
 
 package dev.miku.r2dbc.mysql.codec;
 
+import dev.miku.r2dbc.mysql.collation.CharCollation;
+import dev.miku.r2dbc.mysql.constant.ColumnDefinitions;
 import dev.miku.r2dbc.mysql.util.ConnectionContext;
 import dev.miku.r2dbc.mysql.message.FieldValue;
+import dev.miku.r2dbc.mysql.message.LargeFieldValue;
 import dev.miku.r2dbc.mysql.message.NormalFieldValue;
 import dev.miku.r2dbc.mysql.message.ParameterValue;
+import io.netty.buffer.ByteBuf;
+import reactor.util.annotation.Nullable;
 
 import java.lang.reflect.Type;
 import java.math.BigInteger;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import static dev.miku.r2dbc.mysql.util.AssertUtils.requireNonNull;
 
@@ -66,10 +75,36 @@ final class DefaultCodecs implements Codecs {
         ByteArrayCodec.INSTANCE
     );
 
+    /**
+     * Bits of column type and flags in {@link #signature}, the column type is 1-byte in protocol.
+     */
+    private static final int SIGNATURE_BITS = Byte.SIZE + 5;
+
     private final Codec<?, ?, ?>[] codecs;
 
     private final Map<Class<?>, PrimitiveCodec<?>> primitiveCodecs;
 
+    /**
+     * Decoders resolved by {@link #signature}, then by the target {@link Type}, each slot is created lazily.
+     * <p>
+     * Note: it requires {@link Codec#canDecode} to decide only by attributes which are considered in the
+     * signature, i.e. column type, {@code UNSIGNED} flag, binary collation, size thresholds and value kind.
+     */
+    private final AtomicReferenceArray<ConcurrentMap<Type, Codec<?, ?, ?>>> decoders =
+        new AtomicReferenceArray<>(1 << SIGNATURE_BITS);
+
+    /**
+     * Encoders resolved by the class of values, it will not hold the class loader of values.
+     */
+    private final ClassValue<Encoder> encoders = new ClassValue<Encoder>() {
+
+        @Override
+        protected Encoder computeValue(Class<?> type) {
+            // SetCodec checks elements of a set, so encoders of sets can not be decided by the class.
+            return new Encoder(!Set.class.isAssignableFrom(type));
+        }
+    };
+
     private DefaultCodecs(Codec<?, ?, ?>... codecs) {
         this.codecs = requireNonNull(codecs, "codecs must not be null");
 
@@ -121,17 +156,48 @@ final class DefaultCodecs implements Codecs {
             return null;
         }
 
-        for (Codec<?, ?, ?> codec : codecs) {
-            if (codec.canDecode(value, info, target)) {
-                @SuppressWarnings("unchecked")
-                Codec<T, ? super FieldValue, ? super Type> c = (Codec<T, ? super FieldValue, ? super Type>) codec;
-                return c.decode(value, info, target, binary, context);
-            }
+        Codec<?, ?, ?> codec = findDecoder(value, info, target);
+
+        if (codec != null) {
+            @SuppressWarnings("unchecked")
+            Codec<T, ? super FieldValue, ? super Type> c = (Codec<T, ? super FieldValue, ? super Type>) codec;
+            return c.decode(value, info, target, binary, context);
         }
 
         throw new IllegalArgumentException(String.format("Cannot decode value of type %s for type %d with collation %d", target, info.getType(), info.getCollationId()));
     }
 
+    @Override
+    public int decodeInt(FieldValue value, FieldInformation info, boolean binary) {
+        return IntegerCodec.decodeInt(primitiveBuffer(value, info, IntegerCodec.INSTANCE), info, binary);
+    }
+
+    @Override
+    public long decodeLong(FieldValue value, FieldInformation info, boolean binary) {
+        return LongCodec.decodeLong(primitiveBuffer(value, info, LongCodec.INSTANCE), info, binary);
+    }
+
+    @Override
+    public long decodeUnsignedLong(FieldValue value, FieldInformation info, boolean binary) {
+        long result = LongCodec.decodeLong(primitiveBuffer(value, info, LongCodec.INSTANCE), info, binary);
+
+        if (result < 0 && (info.getDefinitions() & ColumnDefinitions.UNSIGNED) == 0) {
+            throw new IllegalArgumentException(String.format("Cannot decode negative value %d as unsigned for type %d", result, info.getType()));
+        }
+
+        return result;
+    }
+
+    @Override
+    public double decodeDouble(FieldValue value, FieldInformation info, boolean binary) {
+        return DoubleCodec.decodeDouble(primitiveBuffer(value, info, DoubleCodec.INSTANCE), info.getType(), binary);
+    }
+
+    @Override
+    public boolean decodeBoolean(FieldValue value, FieldInformation info, boolean binary) {
+        return primitiveBuffer(value, info, BooleanCodec.INSTANCE).readBoolean();
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public <T> T decodeLastInsertId(long value, Class<T> type) {
@@ -173,13 +239,23 @@ final class DefaultCodecs implements Codecs {
         requireNonNull(value, "value must not be null");
         requireNonNull(context, "context must not be null");
 
-        for (Codec<?, ?, ?> codec : codecs) {
-            if (codec.canEncode(value)) {
-                return codec.encode(value, context);
+        Encoder encoder = encoders.get(value.getClass());
+        Codec<?, ?, ?> codec = encoder.codec;
+
+        if (codec == null) {
+            codec = scanEncoder(value);
+
+            if (codec == null) {
+                throw new IllegalArgumentException(String.format("Cannot encode value of type '%s'", value.getClass()));
+            }
+
+            if (encoder.cacheable) {
+                // Same codec will be found by any thread, so just set it.
+                encoder.codec = codec;
             }
         }
 
-        throw new IllegalArgumentException(String.format("Cannot encode value of type '%s'", value.getClass()));
+        return codec.encode(value, context);
     }
 
     @Override
@@ -187,6 +263,122 @@ final class DefaultCodecs implements Codecs {
         return NullParameterValue.INSTANCE;
     }
 
+    /**
+     * Check the field can be decoded by a {@link PrimitiveCodec} and get its buffer, it is used by
+     * decoding without boxing.
+     *
+     * @return the buffer slice of the field.
+     * @throws IllegalArgumentException if the field is null, or the codec does not support its column.
+     */
+    private static ByteBuf primitiveBuffer(FieldValue value, FieldInformation info, PrimitiveCodec<?> codec) {
+        requireNonNull(value, "value must not be null");
+        requireNonNull(info, "info must not be null");
+
+        if (value.isNull()) {
+            throw new IllegalArgumentException(String.format("Cannot decode null for type %d", info.getType()));
+        }
+
+        if (value instanceof NormalFieldValue && codec.canPrimitiveDecode(info)) {
+            return ((NormalFieldValue) value).getBufferSlice();
+        }
+
+        throw new IllegalArgumentException(String.format("Cannot decode value of type %s for type %d", codec.getPrimitiveClass(), info.getType()));
+    }
+
+    @Nullable
+    private Codec<?, ?, ?> scanEncoder(Object value) {
+        for (Codec<?, ?, ?> codec : codecs) {
+            if (codec.canEncode(value)) {
+                return codec;
+            }
+        }
+
+        return null;
+    }
+
+    @Nullable
+    private Codec<?, ?, ?> findDecoder(FieldValue value, FieldInformation info, Type target) {
+        int signature = signature(value, info);
+
+        if (signature < 0) {
+            // Unknown value kind, can not be cached.
+            return scanDecoder(value, info, target);
+        }
+
+        ConcurrentMap<Type, Codec<?, ?, ?>> decoders = this.decoders.get(signature);
+
+        if (decoders == null) {
+            decoders = new ConcurrentHashMap<>();
+
+            if (!this.decoders.compareAndSet(signature, null, decoders)) {
+                decoders = this.decoders.get(signature);
+            }
+        } else {
+            Codec<?, ?, ?> codec = decoders.get(target);
+
+            if (codec != null) {
+                return codec;
+            }
+        }
+
+        Codec<?, ?, ?> codec = scanDecoder(value, info, target);
+
+        if (codec != null) {
+            // Same codec will be found by any thread, so just put it.
+            decoders.put(target, codec);
+        }
+
+        return codec;
+    }
+
+    @Nullable
+    private Codec<?, ?, ?> scanDecoder(FieldValue value, FieldInformation info, Type target) {
+        for (Codec<?, ?, ?> codec : codecs) {
+            if (codec.canDecode(value, info, target)) {
+                return codec;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Compute the signature of a non-null field, it consists of the column type, {@code UNSIGNED} flag,
+     * binary collation, value kind and the size threshold which is used by {@link BooleanCodec},
+     * {@link FloatCodec} and {@link DoubleCodec}.
+     *
+     * @return the signature, or {@code -1} if the value kind is unknown.
+     */
+    private static int signature(FieldValue value, FieldInformation info) {
+        int kind;
+
+        if (value instanceof NormalFieldValue) {
+            kind = 0;
+        } else if (value instanceof LargeFieldValue) {
+            kind = 1;
+        } else {
+            return -1;
+        }
+
+        long size = info.getSize();
+        int sizeLevel;
+
+        if (size == 1) {
+            sizeLevel = 0;
+        } else if (size < 7) {
+            sizeLevel = 1;
+        } else if (size < 16) {
+            sizeLevel = 2;
+        } else {
+            sizeLevel = 3;
+        }
+
+        int unsigned = (info.getDefinitions() & ColumnDefinitions.UNSIGNED) == 0 ? 0 : 1;
+        int binary = info.getCollationId() == CharCollation.BINARY_ID ? 1 : 0;
+
+        return ((info.getType() & 0xFF) << 5) | (unsigned << 4) | (binary << 3) | (kind << 2) | sizeLevel;
+    }
+
     private static Type chooseTarget(FieldInformation info, Type target) {
         // Object.class means could return any thing
         if (Object.class == target) {
@@ -201,4 +393,16 @@ final class DefaultCodecs implements Codecs {
 
         return target;
     }
+
+    private static final class Encoder {
+
+        private final boolean cacheable;
+
+        @Nullable
+        private volatile Codec<?, ?, ?> codec;
+
+        private Encoder(boolean cacheable) {
+            this.cacheable = cacheable;
+        }
+    }
 }
@@ -24,8 +24,6 @@ import dev.miku.r2dbc.mysql.util.ConnectionContext;
 import io.netty.buffer.ByteBuf;
 import reactor.core.publisher.Mono;
 
-import java.nio.charset.StandardCharsets;
-
 /**
  * Codec for {@link double}.
  */
@@ -39,18 +37,7 @@ final class DoubleCodec extends AbstractPrimitiveCodec<Double> {
 
     @Override
     public Double decode(NormalFieldValue value, FieldInformation info, Class<? super Double> target, boolean binary, ConnectionContext context) {
-        ByteBuf buf = value.getBufferSlice();
-
-        if (binary) {
-            switch (info.getType()) {
-                case DataTypes.DOUBLE:
-                    return buf.readDoubleLE();
-                case DataTypes.FLOAT:
-                    return (double) buf.readFloatLE();
-            }
-            // DECIMAL and size less than 16, encoded by text.
-        }
-        return Double.parseDouble(buf.toString(StandardCharsets.US_ASCII));
+        return decodeDouble(value.getBufferSlice(), info.getType(), binary);
     }
 
     @Override
@@ -69,6 +56,19 @@ final class DoubleCodec extends AbstractPrimitiveCodec<Double> {
         return DataTypes.DOUBLE == type || DataTypes.FLOAT == type || (info.getSize() < 16 && TypePredicates.isDecimal(type));
     }
 
+    static double decodeDouble(ByteBuf buf, short type, boolean binary) {
+        if (binary) {
+            switch (type) {
+                case DataTypes.DOUBLE:
+                    return buf.readDoubleLE();
+                case DataTypes.FLOAT:
+                    return buf.readFloatLE();
+            }
+            // DECIMAL and size less than 16, encoded by text.
+        }
+        return CodecNumberUtils.parseDouble(buf);
+    }
+
     private static final class DoubleValue extends AbstractParameterValue {
 
         private final double value;
@@ -44,7 +44,7 @@ final class DurationCodec extends AbstractClassedCodec<Duration> {
         if (binary) {
             return decodeBinary(value.getBufferSlice());
         } else {
-            return decodeText(value.getBufferSlice());
+            return Duration.ofNanos(CodecDateUtils.parseTime(value.getBufferSlice()));
         }
     }
 
@@ -63,16 +63,6 @@ final class DurationCodec extends AbstractClassedCodec<Duration> {
         return DataTypes.TIME == info.getType();
     }
 
-    private static Duration decodeText(ByteBuf buf) {
-        boolean isNegative = LocalTimeCodec.readNegative(buf);
-        int hour = CodecDateUtils.readIntInDigits(buf);
-        int minute = CodecDateUtils.readIntInDigits(buf);
-        int second = CodecDateUtils.readIntInDigits(buf);
-        long totalSeconds = TimeUnit.HOURS.toSeconds(hour) + TimeUnit.MINUTES.toSeconds(minute) + second;
-
-        return Duration.ofSeconds(isNegative ? -totalSeconds : totalSeconds);
-    }
-
     private static Duration decodeBinary(ByteBuf buf) {
         int bytes = buf.readableBytes();
 
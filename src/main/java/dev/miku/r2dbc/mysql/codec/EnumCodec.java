@@ -86,6 +86,11 @@ final class EnumCodec implements Codec<Enum<?>, NormalFieldValue, Class<?>> {
             return DataTypes.VARCHAR;
         }
 
+        @Override
+        public int estimateSize() {
+            return lengthEncodedSize((long) value.name().length() * context.getCollation().getByteSize());
+        }
+
         @Override
         public boolean equals(Object o) {
             if (this == o) {
@@ -24,8 +24,6 @@ import dev.miku.r2dbc.mysql.util.ConnectionContext;
 import io.netty.buffer.ByteBuf;
 import reactor.core.publisher.Mono;
 
-import java.nio.charset.StandardCharsets;
-
 /**
  * Codec for {@link float}.
  */
@@ -45,7 +43,7 @@ final class FloatCodec extends AbstractPrimitiveCodec<Float> {
             return buf.readFloatLE();
         }
         // otherwise encoded by text (must not be DOUBLE).
-        return Float.parseFloat(buf.toString(StandardCharsets.US_ASCII));
+        return CodecNumberUtils.parseFloat(buf);
     }
 
     @Override
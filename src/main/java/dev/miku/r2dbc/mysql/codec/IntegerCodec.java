@@ -38,14 +38,7 @@ final class IntegerCodec extends AbstractPrimitiveCodec<Integer> {
 
     @Override
     public Integer decode(NormalFieldValue value, FieldInformation info, Class<? super Integer> target, boolean binary, ConnectionContext context) {
-        ByteBuf buf = value.getBufferSlice();
-
-        if (binary) {
-            boolean isUnsigned = (info.getDefinitions() & ColumnDefinitions.UNSIGNED) != 0;
-            return decodeBinary(buf, info.getType(), isUnsigned);
-        } else {
-            return parse(buf);
-        }
+        return decodeInt(value.getBufferSlice(), info, binary);
     }
 
     @Override
@@ -74,34 +67,13 @@ final class IntegerCodec extends AbstractPrimitiveCodec<Integer> {
         return isLowerInt(type) || (DataTypes.INT == type && (info.getDefinitions() & ColumnDefinitions.UNSIGNED) == 0);
     }
 
-    /**
-     * Fast parse a negotiable integer from {@link ByteBuf} without copy.
-     *
-     * @param buf a {@link ByteBuf} include an integer that maybe has sign.
-     * @return an integer from {@code buf}.
-     */
-    static int parse(ByteBuf buf) {
-        byte first = buf.readByte();
-        boolean isNegative;
-        int value;
-
-        if (first == '-') {
-            isNegative = true;
-            value = 0;
-        } else if (first >= '0' && first <= '9') {
-            isNegative = false;
-            value = first - '0';
+    static int decodeInt(ByteBuf buf, FieldInformation info, boolean binary) {
+        if (binary) {
+            boolean isUnsigned = (info.getDefinitions() & ColumnDefinitions.UNSIGNED) != 0;
+            return decodeBinary(buf, info.getType(), isUnsigned);
         } else {
-            // Must be '+'.
-            isNegative = false;
-            value = 0;
+            return CodecNumberUtils.parseInt(buf);
         }
-
-        while (buf.isReadable()) {
-            value = value * 10 + (buf.readByte() - '0');
-        }
-
-        return isNegative ? -value : value;
     }
 
     private static boolean isLowerInt(short type) {
@@ -56,7 +56,7 @@ final class LocalDateCodec extends AbstractClassedCodec<LocalDate> {
                 return date;
             }
         } else {
-            LocalDate date = readDateText(buf);
+            LocalDate date = CodecDateUtils.parseDate(buf);
 
             if (date == null) {
                 return CodecDateUtils.handle(context.getZeroDateOption(), false, buf, index, bytes, ROUND);
@@ -81,19 +81,6 @@ final class LocalDateCodec extends AbstractClassedCodec<LocalDate> {
         return DataTypes.DATE == info.getType();
     }
 
-    @Nullable
-    static LocalDate readDateText(ByteBuf buf) {
-        int year = CodecDateUtils.readIntInDigits(buf);
-        int month = CodecDateUtils.readIntInDigits(buf);
-        int day = CodecDateUtils.readIntInDigits(buf);
-
-        if (month == 0 || day == 0) {
-            return null;
-        }
-
-        return LocalDate.of(year, month, day);
-    }
-
     @Nullable
     static LocalDate readDateBinary(ByteBuf buf, int bytes) {
         if (bytes < BinaryDateTimes.DATE_SIZE) {
@@ -59,7 +59,7 @@ final class LocalDateTimeCodec extends AbstractClassedCodec<LocalDateTime> {
                 return dateTime;
             }
         } else {
-            LocalDateTime dateTime = decodeText(buf);
+            LocalDateTime dateTime = CodecDateUtils.parseDateTime(buf);
 
             if (dateTime == null) {
                 return CodecDateUtils.handle(context.getZeroDateOption(), false, buf, index, bytes, ROUND);
@@ -85,18 +85,6 @@ final class LocalDateTimeCodec extends AbstractClassedCodec<LocalDateTime> {
         return DataTypes.DATETIME == type || DataTypes.TIMESTAMP == type || DataTypes.TIMESTAMP2 == type;
     }
 
-    @Nullable
-    private static LocalDateTime decodeText(ByteBuf buf) {
-        LocalDate date = LocalDateCodec.readDateText(buf);
-
-        if (date == null) {
-            return null;
-        }
-
-        LocalTime time = LocalTimeCodec.readTimeText(buf);
-        return LocalDateTime.of(date, time);
-    }
-
     @Nullable
     private static LocalDateTime decodeBinary(ByteBuf buf, int bytes) {
         LocalDate date = LocalDateCodec.readDateBinary(buf, bytes);
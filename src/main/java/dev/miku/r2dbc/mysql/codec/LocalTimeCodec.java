@@ -50,7 +50,7 @@ final class LocalTimeCodec extends AbstractClassedCodec<LocalTime> {
         if (binary) {
             return decodeBinary(value.getBufferSlice());
         } else {
-            return readTimeText(value.getBufferSlice());
+            return LocalTime.ofNanoOfDay(Math.floorMod(CodecDateUtils.parseTime(value.getBufferSlice()), NANO_OF_DAY));
         }
     }
 
@@ -69,30 +69,6 @@ final class LocalTimeCodec extends AbstractClassedCodec<LocalTime> {
         return DataTypes.TIME == info.getType();
     }
 
-    static LocalTime readTimeText(ByteBuf buf) {
-        boolean isNegative = readNegative(buf);
-        int hour = CodecDateUtils.readIntInDigits(buf);
-        int minute = CodecDateUtils.readIntInDigits(buf);
-        int second = CodecDateUtils.readIntInDigits(buf);
-
-        if (isNegative) {
-            // The `hour` is a positive integer.
-            long totalSeconds = -(TimeUnit.HOURS.toSeconds(hour) + TimeUnit.MINUTES.toSeconds(minute) + second);
-            return LocalTime.ofSecondOfDay(((totalSeconds % SECONDS_OF_DAY) + SECONDS_OF_DAY) % SECONDS_OF_DAY);
-        } else {
-            return LocalTime.of(hour % HOURS_OF_DAY, minute, second);
-        }
-    }
-
-    static boolean readNegative(ByteBuf buf) {
-        if (buf.getByte(buf.readerIndex()) == '-') {
-            buf.skipBytes(1);
-            return true;
-        } else {
-            return false;
-        }
-    }
-
     private static LocalTime decodeBinary(ByteBuf buf) {
         int bytes = buf.readableBytes();
 
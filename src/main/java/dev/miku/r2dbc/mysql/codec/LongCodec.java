@@ -40,15 +40,7 @@ final class LongCodec implements PrimitiveCodec<Long> {
 
     @Override
     public Long decode(NormalFieldValue value, FieldInformation info, Class<? super Long> target, boolean binary, ConnectionContext context) {
-        ByteBuf buf = value.getBufferSlice();
-
-        if (binary) {
-            boolean isUnsigned = (info.getDefinitions() & ColumnDefinitions.UNSIGNED) != 0;
-            return decodeBinary(buf, info.getType(), isUnsigned);
-        } else {
-            // Note: no check overflow for BIGINT UNSIGNED
-            return parse(buf);
-        }
+        return decodeLong(value.getBufferSlice(), info, binary);
     }
 
     @Override
@@ -105,34 +97,14 @@ final class LongCodec implements PrimitiveCodec<Long> {
         return Long.TYPE;
     }
 
-    /**
-     * Fast parse a negotiable integer from {@link ByteBuf} without copy.
-     *
-     * @param buf a {@link ByteBuf} include an integer that maybe has sign.
-     * @return an integer from {@code buf}.
-     */
-    static long parse(ByteBuf buf) {
-        byte first = buf.readByte();
-        boolean isNegative;
-        long value;
-
-        if (first == '-') {
-            isNegative = true;
-            value = 0L;
-        } else if (first >= '0' && first <= '9') {
-            isNegative = false;
-            value = (long) first - '0';
+    static long decodeLong(ByteBuf buf, FieldInformation info, boolean binary) {
+        if (binary) {
+            boolean isUnsigned = (info.getDefinitions() & ColumnDefinitions.UNSIGNED) != 0;
+            return decodeBinary(buf, info.getType(), isUnsigned);
         } else {
-            // Must be '+'.
-            isNegative = false;
-            value = 0L;
-        }
-
-        while (buf.isReadable()) {
-            value = value * 10L + (buf.readByte() - '0');
+            // Note: no check overflow for BIGINT UNSIGNED
+            return CodecNumberUtils.parseLong(buf);
         }
-
-        return isNegative ? -value : value;
     }
 
     private static long decodeBinary(ByteBuf buf, short type, boolean isUnsigned) {
@@ -49,6 +49,12 @@ final class NullParameterValue implements ParameterValue {
         return DataTypes.NULL;
     }
 
+    @Override
+    public int estimateSize() {
+        // Null value is marked by null-bitmap, nothing will be written.
+        return 0;
+    }
+
     @Override
     public void dispose() {
         // No resource to release.
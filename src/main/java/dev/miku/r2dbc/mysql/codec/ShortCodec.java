@@ -54,7 +54,7 @@ final class ShortCodec extends AbstractPrimitiveCodec<Short> {
                     }
             }
         } else {
-            return (short) IntegerCodec.parse(value.getBufferSlice());
+            return (short) CodecNumberUtils.parseInt(value.getBufferSlice());
         }
     }
 
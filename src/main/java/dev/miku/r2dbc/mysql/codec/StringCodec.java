@@ -85,6 +85,11 @@ final class StringCodec extends AbstractClassedCodec<String> {
             return DataTypes.VARCHAR;
         }
 
+        @Override
+        public int estimateSize() {
+            return lengthEncodedSize((long) value.length() * context.getCollation().getByteSize());
+        }
+
         @Override
         public boolean equals(Object o) {
             if (this == o) {
@@ -41,7 +41,7 @@ final class YearCodec extends AbstractClassedCodec<Year> {
         if (binary) {
             return Year.of(value.getBufferSlice().readShortLE());
         } else {
-            return Year.of(IntegerCodec.parse(value.getBufferSlice()));
+            return Year.of(CodecNumberUtils.parseInt(value.getBufferSlice()));
         }
     }
 
@@ -19,6 +19,7 @@ package dev.miku.r2dbc.mysql.codec.lob;
 import dev.miku.r2dbc.mysql.message.FieldValue;
 import dev.miku.r2dbc.mysql.message.LargeFieldValue;
 import dev.miku.r2dbc.mysql.message.NormalFieldValue;
+import dev.miku.r2dbc.mysql.message.StreamingFieldValue;
 import dev.miku.r2dbc.mysql.util.ServerVersion;
 import io.netty.buffer.ByteBuf;
 import io.netty.util.ReferenceCountUtil;
@@ -40,6 +41,12 @@ public final class LobUtils {
                 buf.release();
                 throw e;
             }
+        } else if (value instanceof StreamingFieldValue) {
+            StreamingFieldValue streaming = (StreamingFieldValue) value;
+
+            streaming.retain();
+
+            return new StreamingBlob(streaming);
         }
 
         ByteBuf[] buffers = ((LargeFieldValue) value).getBufferSlices();
@@ -70,6 +77,17 @@ public final class LobUtils {
                 buf.release();
                 throw e;
             }
+        } else if (value instanceof StreamingFieldValue) {
+            StreamingFieldValue streaming = (StreamingFieldValue) value;
+
+            streaming.retain();
+
+            try {
+                return new StreamingClob(streaming, collationId, version);
+            } catch (Throwable e) {
+                streaming.release();
+                throw e;
+            }
         }
 
         ByteBuf[] buffers = ((LargeFieldValue) value).getBufferSlices();
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.miku.r2dbc.mysql.codec.lob;
+
+import dev.miku.r2dbc.mysql.collation.CharCollation;
+import dev.miku.r2dbc.mysql.message.StreamingFieldValue;
+import dev.miku.r2dbc.mysql.util.ServerVersion;
+import io.netty.buffer.ByteBuf;
+import io.r2dbc.spi.Clob;
+import reactor.util.annotation.Nullable;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * An implementation of {@link Clob} for {@link StreamingFieldValue}.
+ * <p>
+ * A character may be split by chunks, so the incomplete bytes at the end of a chunk will be decoded
+ * with the following chunk.
+ */
+final class StreamingClob extends StreamingLob<CharSequence> implements Clob {
+
+    /**
+     * Enough for the incomplete bytes of a character for all supported charsets.
+     */
+    private static final int CARRY_CAPACITY = 16;
+
+    private final CharsetDecoder decoder;
+
+    /**
+     * The incomplete bytes of previous chunk, it is in write mode.
+     */
+    private final ByteBuffer carry = ByteBuffer.allocate(CARRY_CAPACITY);
+
+    StreamingClob(StreamingFieldValue value, int collationId, ServerVersion version) {
+        super(value);
+
+        this.decoder = CharCollation.fromId(collationId, version).getCharset().newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    @Override
+    protected CharSequence convert(ByteBuf buf) {
+        if (!buf.isReadable()) {
+            return "";
+        }
+
+        CharBuffer result = CharBuffer.allocate((int) ((buf.readableBytes() + carry.position()) * (double) decoder.maxCharsPerByte()) + 1);
+
+        for (ByteBuffer in : buf.nioBuffers()) {
+            decode(in, result);
+        }
+
+        result.flip();
+
+        return result;
+    }
+
+    @Nullable
+    @Override
+    protected CharSequence complete() {
+        CharBuffer result = CharBuffer.allocate(CARRY_CAPACITY);
+
+        carry.flip();
+        decoder.decode(carry, result, true);
+        decoder.flush(result);
+        result.flip();
+
+        return result.hasRemaining() ? result : null;
+    }
+
+    private void decode(ByteBuffer in, CharBuffer out) {
+        // Complete the character of previous chunk by bytes of current chunk.
+        while (carry.position() > 0 && in.hasRemaining()) {
+            carry.put(in.get());
+            carry.flip();
+            decoder.decode(carry, out, false);
+            carry.compact();
+        }
+
+        decoder.decode(in, out, false);
+
+        if (in.hasRemaining()) {
+            carry.put(in);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.miku.r2dbc.mysql.codec.lob;
+
+import dev.miku.r2dbc.mysql.message.StreamingFieldValue;
+import io.netty.buffer.ByteBuf;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.annotation.Nullable;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Base class considers a {@link StreamingFieldValue} which is still arriving, chunks are converted when
+ * they arrived, and following chunks are drained on cancellation.
+ */
+abstract class StreamingLob<T> {
+
+    private static final Consumer<ByteBuf> RELEASE = ByteBuf::release;
+
+    private final AtomicReference<StreamingFieldValue> value;
+
+    /**
+     * @param value the streaming field value, it must be retained.
+     */
+    StreamingLob(StreamingFieldValue value) {
+        this.value = new AtomicReference<>(value);
+    }
+
+    public final Flux<T> stream() {
+        return Flux.defer(() -> {
+            StreamingFieldValue value = this.value.getAndSet(null);
+
+            if (value == null) {
+                return Flux.error(new IllegalStateException("Source has been released"));
+            }
+
+            return value.chunks()
+                .doOnDiscard(ByteBuf.class, RELEASE)
+                .map(this::consume)
+                .concatWith(Mono.fromSupplier(this::complete))
+                .doFinally(ignored -> value.release());
+        });
+    }
+
+    public final Mono<Void> discard() {
+        return Mono.fromRunnable(() -> {
+            StreamingFieldValue value = this.value.getAndSet(null);
+
+            if (value != null) {
+                // Following chunks will be drained after it is deallocated.
+                value.release();
+            }
+        });
+    }
+
+    protected abstract T convert(ByteBuf buf);
+
+    /**
+     * @return the remaining value after all chunks converted, or {@code null} if it has nothing remaining.
+     */
+    @Nullable
+    protected T complete() {
+        return null;
+    }
+
+    private T consume(ByteBuf buf) {
+        try {
+            return convert(buf);
+        } finally {
+            buf.release();
+        }
+    }
+}
@@ -36,9 +36,20 @@ public final class Capabilities {
     public static final int CONNECT_WITH_DB = 8;
 
 //    public static final int NO_SCHEMA = 16; // Don't allows statement like {@code database.table.column}.
-//    public static final int COMPRESS = 32; // The deflate compression, old compression flag.
+
+    /**
+     * Use zlib compression protocol after connection phase.
+     */
+    public static final int COMPRESS = 32;
+
 //    public static final int ODBC = 64; // Is this client ODBC?
-//    public static final int LOCAL_FILES = 128; // Can use local data
+
+    /**
+     * Can use {@code LOAD DATA LOCAL INFILE}. Local file requests of server will be answered only for
+     * queries which are executed by {@code MySqlConnection#loadLocalInfile}, others will be rejected.
+     */
+    public static final int LOCAL_FILES = 128;
+
 //    public static final int IGNORE_SPACE = 256; // Ignore spaces before '('.
 
     public static final int PROTOCOL_41 = 512;
@@ -77,7 +88,11 @@ public final class Capabilities {
     public static final int PLUGIN_AUTH_VAR_INT_SIZED_DATA = 1 << 21;
 
 //    public static final int HANDLE_EXPIRED_PASSWORD = 1 << 22; // Client can handle expired passwords.
-//    public static final int SESSION_TRACK = 1 << 23;
+
+    /**
+     * Server reports session state changes in OK messages, e.g. system variables and schema.
+     */
+    public static final int SESSION_TRACK = 1 << 23;
 
     /**
      * WARNING: should ALWAYS enable this option. MySQL recommends deprecating EOF messages.
@@ -85,7 +100,13 @@ public final class Capabilities {
     public static final int DEPRECATE_EOF = 1 << 24;
 
 //    public static final int OPTIONAL_RESULT_SET_METADATA = 1 << 25; // means server MAYBE have NOT metadata in response, should NEVER enable this option.
-//    public static final int Z_STD_COMPRESSION = 1 << 26;
+
+    /**
+     * Use Zstandard compression protocol after connection phase, the compression level is sent in
+     * handshake response. It is ignored if {@link #COMPRESS} has been enabled.
+     */
+    public static final int Z_STD_COMPRESSION = 1 << 26;
+
 //    public static final int CAPABILITY_EXTENSION = 1 << 29;
 
     public static final int SSL_VERIFY_SERVER_CERT = 1 << 30;
@@ -93,11 +114,11 @@ public final class Capabilities {
 //    public static final int REMEMBER_OPTIONS = 1 << 31;
 
     public static final int ALL_SUPPORTED = Capabilities.LONG_PASSWORD | Capabilities.LONG_FLAG |
-        Capabilities.CONNECT_WITH_DB | Capabilities.PROTOCOL_41 | Capabilities.SSL | Capabilities.IGNORE_SIGPIPE |
+        Capabilities.CONNECT_WITH_DB | Capabilities.COMPRESS | Capabilities.LOCAL_FILES | Capabilities.PROTOCOL_41 | Capabilities.SSL | Capabilities.IGNORE_SIGPIPE |
         Capabilities.TRANSACTIONS | Capabilities.RESERVED | Capabilities.SECURE_CONNECTION |
         Capabilities.MULTI_STATEMENTS | Capabilities.MULTI_RESULTS | Capabilities.PREPARED_MULTI_RESULTS |
-        Capabilities.PLUGIN_AUTH | Capabilities.CONNECT_ATTRS | Capabilities.PLUGIN_AUTH_VAR_INT_SIZED_DATA |
-        Capabilities.DEPRECATE_EOF | Capabilities.SSL_VERIFY_SERVER_CERT;
+        Capabilities.PLUGIN_AUTH | Capabilities.CONNECT_ATTRS | Capabilities.PLUGIN_AUTH_VAR_INT_SIZED_DATA | Capabilities.SESSION_TRACK |
+        Capabilities.DEPRECATE_EOF | Capabilities.Z_STD_COMPRESSION | Capabilities.SSL_VERIFY_SERVER_CERT;
 
     private Capabilities() {
     }
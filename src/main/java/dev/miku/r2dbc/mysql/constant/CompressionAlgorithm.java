@@ -0,0 +1,41 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.miku.r2dbc.mysql.constant;
+
+/**
+ * The compression algorithm of MySQL protocol, the connection falls back to uncompressed if the
+ * server does not support the selected algorithm.
+ */
+public enum CompressionAlgorithm {
+
+    /**
+     * Do not compress the protocol.
+     */
+    UNCOMPRESSED,
+
+    /**
+     * Compress the protocol by zlib, it is supported by all versions of MySQL.
+     */
+    ZLIB,
+
+    /**
+     * Compress the protocol by Zstandard, it is supported only by MySQL {@code 8.0.18} or higher.
+     * <p>
+     * It requires {@literal com.github.luben:zstd-jni} in the classpath.
+     */
+    ZSTD
+}
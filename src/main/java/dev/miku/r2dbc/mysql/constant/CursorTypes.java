@@ -19,13 +19,14 @@ package dev.miku.r2dbc.mysql.constant;
 /**
  * Constants for MySQL prepared statement cursor types.
  * <p>
- * Note: no need support cursors for now, just use {@link #NO_CURSOR}.
+ * Note: only {@link #NO_CURSOR} and {@link #READ_ONLY} are used for now.
  */
 public final class CursorTypes {
 
     public static final byte NO_CURSOR = 0;
 
-//    public static final byte READ_ONLY = 1;
+    public static final byte READ_ONLY = 1;
+
 //    public static final byte FOR_UPDATE = 2;
 //    public static final byte SCROLLABLE = 4;
 
@@ -29,6 +29,11 @@ public final class Envelopes {
 
     public static final int PART_HEADER_SIZE = SIZE_FIELD_SIZE + 1;
 
+    /**
+     * The header size of compressed packets, includes compressed size, sequence id and uncompressed size.
+     */
+    public static final int COMPRESSION_HEADER_SIZE = PART_HEADER_SIZE + SIZE_FIELD_SIZE;
+
     /**
      * The max bytes size of each envelope, value is 16777215. (i.e. max value of int24, (2 ** 24) - 1)
      */
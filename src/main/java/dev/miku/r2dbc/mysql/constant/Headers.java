@@ -29,6 +29,11 @@ public final class Headers {
 
     public static final short HANDSHAKE_V10 = 10;
 
+    /**
+     * The header of local infile request in command phase, it is the same as {@code NULL} of text rows.
+     */
+    public static final short LOCAL_INFILE = 0xFB;
+
     public static final short EOF = 0xFE;
 
     public static final short ERROR = 0xFF;
@@ -29,15 +29,23 @@ public final class ServerStatuses {
 
 //    public static final short QUERY_NO_GOOD_INDEX_USED = 16;
 //    public static final short QUERY_NO_INDEX_USED = 32;
-//    public static final short CURSOR_EXISTS = 64;
-//    public static final short LAST_ROW_SENT = 128;
+
+    public static final short CURSOR_EXISTS = 64;
+
+    public static final short LAST_ROW_SENT = 128;
+
 //    public static final short DB_DROPPED = 256;
 //    public static final short NO_BACKSLASH_ESCAPES = 512;
 //    public static final short METADATA_CHANGED = 1024;
 //    public static final short QUERY_WAS_SLOW = 2048;
 //    public static final short PS_OUT_PARAMS = 4096;
 //    public static final short IN_TRANS_READONLY = 8192;
-//    public static final short SESSION_STATE_CHANGED = 16384;
+
+    /**
+     * Session state has been changed, the state information is in the OK message if
+     * {@link Capabilities#SESSION_TRACK} is enabled.
+     */
+    public static final short SESSION_STATE_CHANGED = 16384;
 
     private ServerStatuses() {
     }
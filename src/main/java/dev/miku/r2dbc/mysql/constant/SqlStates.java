@@ -25,6 +25,8 @@ public final class SqlStates {
 
     public static final String ILLEGAL_ARGUMENT = "S1009";
 
+    public static final String SYNTAX_ERROR_OR_ACCESS_RULE_VIOLATION = "42000";
+
     private SqlStates() {
     }
 }
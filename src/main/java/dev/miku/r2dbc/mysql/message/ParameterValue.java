@@ -17,7 +17,10 @@
 package dev.miku.r2dbc.mysql.message;
 
 import dev.miku.r2dbc.mysql.message.client.ParameterWriter;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
 import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 /**
@@ -29,5 +32,33 @@ public interface ParameterValue extends Disposable {
 
     Mono<Void> writeTo(ParameterWriter writer);
 
+    /**
+     * Check if this value should be sent as long data by {@link #publishLongData(ByteBufAllocator)} before
+     * the prepared statement executing, it will not be written by {@link #writeTo(ParameterWriter)}.
+     *
+     * @return if it is long data.
+     */
+    default boolean isLongData() {
+        return false;
+    }
+
+    /**
+     * Publish chunks of this value when it is long data, each chunk should be released by subscriber.
+     *
+     * @param allocator the allocator of chunks.
+     * @return the chunks of this value.
+     */
+    default Flux<ByteBuf> publishLongData(ByteBufAllocator allocator) {
+        return Flux.error(new UnsupportedOperationException("Parameter value is not long data"));
+    }
+
     short getType();
+
+    /**
+     * Estimate the encoded size of this value in binary protocol, it is used to split large
+     * statements by {@literal max_allowed_packet}, so it should not be less than real size.
+     *
+     * @return the estimated bytes, or a negative integer if it is unknown before encoding.
+     */
+    int estimateSize();
 }
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.miku.r2dbc.mysql.message;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.util.AbstractReferenceCounted;
+import io.netty.util.ReferenceCounted;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.util.annotation.Nullable;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongConsumer;
+
+import static dev.miku.r2dbc.mysql.util.AssertUtils.require;
+import static dev.miku.r2dbc.mysql.util.AssertUtils.requireNonNull;
+
+/**
+ * An implementation of {@link FieldValue} considers a LOB field value which is still arriving, it would
+ * be exists only when LOB streaming enabled and the LOB is the last column of a row which is larger than
+ * an envelope.
+ * <p>
+ * It contains the bytes which have been received with the row, following bytes will be delivered by
+ * {@link #onChunk(ByteBuf, boolean)} when {@link #chunks()} requesting. If it has been deallocated before
+ * {@link #chunks()} subscribed, all following bytes will be drained and released.
+ *
+ * @see FieldValue
+ */
+public final class StreamingFieldValue extends AbstractReferenceCounted implements FieldValue {
+
+    private final long size;
+
+    private final AtomicReference<ByteBuf> head;
+
+    private final AtomicBoolean claimed = new AtomicBoolean();
+
+    @Nullable
+    private volatile LongConsumer requester;
+
+    @Nullable
+    private volatile FluxSink<ByteBuf> sink;
+
+    @Nullable
+    private volatile Throwable error;
+
+    private volatile boolean draining;
+
+    /**
+     * @param head the bytes which have been received with the row, it must be retained.
+     * @param size the total bytes of the value, it must be greater than readable bytes of {@code head}.
+     */
+    public StreamingFieldValue(ByteBuf head, long size) {
+        requireNonNull(head, "head must not be null");
+        require(size > head.readableBytes(), "size must be greater than readable bytes of head");
+
+        this.head = new AtomicReference<>(head);
+        this.size = size;
+    }
+
+    /**
+     * @return the total bytes of the value.
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * Bind the requester of chunks, it would be called by the result operator when the row emitting.
+     *
+     * @param requester request {@code n} following chunks, {@link Long#MAX_VALUE} means unbounded.
+     */
+    public void bind(LongConsumer requester) {
+        this.requester = requireNonNull(requester, "requester must not be null");
+
+        if (draining) {
+            // Deallocated or cancelled before bound.
+            requester.accept(Long.MAX_VALUE);
+        }
+    }
+
+    /**
+     * Subscribe the bytes of the value, it is a single subscription {@link Flux}. Each chunk should
+     * be released by subscriber.
+     *
+     * @return the bytes of the value
+     */
+    public Flux<ByteBuf> chunks() {
+        return Flux.create(sink -> {
+            if (!claimed.compareAndSet(false, true)) {
+                sink.error(new IllegalStateException("Source has been released"));
+                return;
+            }
+
+            ByteBuf head = this.head.getAndSet(null);
+
+            if (head == null) {
+                sink.error(new IllegalStateException("Source has been released"));
+                return;
+            }
+
+            this.sink = sink;
+            sink.onCancel(this::drain);
+            sink.next(head);
+
+            Throwable e = this.error;
+
+            if (e != null) {
+                sink.error(e);
+                return;
+            }
+
+            sink.onRequest(n -> {
+                LongConsumer requester = this.requester;
+
+                if (requester != null) {
+                    requester.accept(n);
+                }
+            });
+        }, FluxSink.OverflowStrategy.BUFFER);
+    }
+
+    /**
+     * Receive a following chunk of the value, the {@code chunk} will be released or emitted.
+     *
+     * @param chunk the following chunk.
+     * @param last  if it is the last chunk of the value.
+     */
+    public void onChunk(ByteBuf chunk, boolean last) {
+        FluxSink<ByteBuf> sink = this.sink;
+
+        if (draining || sink == null || sink.isCancelled()) {
+            chunk.release();
+            return;
+        }
+
+        sink.next(chunk);
+
+        if (last) {
+            sink.complete();
+        }
+    }
+
+    /**
+     * Receive an error before all chunks received, e.g. the connection has been closed.
+     *
+     * @param e the error.
+     */
+    public void onError(Throwable e) {
+        this.error = e;
+
+        FluxSink<ByteBuf> sink = this.sink;
+
+        if (sink != null) {
+            sink.error(e);
+        }
+    }
+
+    @Override
+    public ReferenceCounted touch(Object hint) {
+        ByteBuf head = this.head.get();
+
+        if (head != null) {
+            head.touch(hint);
+        }
+
+        return this;
+    }
+
+    @Override
+    protected void deallocate() {
+        ByteBuf head = this.head.getAndSet(null);
+
+        if (head != null) {
+            head.release();
+        }
+
+        if (claimed.compareAndSet(false, true)) {
+            // Never subscribed, drain following chunks.
+            drain();
+        }
+    }
+
+    private void drain() {
+        this.draining = true;
+
+        LongConsumer requester = this.requester;
+
+        if (requester != null) {
+            requester.accept(Long.MAX_VALUE);
+        }
+    }
+}
@@ -27,12 +27,12 @@ public interface HandshakeResponse extends ExchangeableMessage {
 
     static HandshakeResponse from(
         int capabilities, int collationId, String username, byte[] authentication,
-        String authType, String database, Map<String, String> attributes
+        String authType, String database, Map<String, String> attributes, int zstdCompressionLevel
     ) {
         if ((capabilities & Capabilities.PROTOCOL_41) == 0) {
             return new HandshakeResponse320(capabilities, username, authentication, database);
         } else {
-            return new HandshakeResponse41(capabilities, collationId, username, authentication, authType, database, attributes);
+            return new HandshakeResponse41(capabilities, collationId, username, authentication, authType, database, attributes, zstdCompressionLevel);
         }
     }
 }
@@ -57,9 +57,12 @@ final class HandshakeResponse41 extends EnvelopeClientMessage implements Handsha
 
     private final Map<String, String> attributes;
 
-    // private final byte zStdCompressionLevel; // When Z-Standard compression supporting
+    private final int zstdCompressionLevel;
 
-    HandshakeResponse41(int capabilities, int collationId, String username, byte[] authentication, String authType, String database, Map<String, String> attributes) {
+    HandshakeResponse41(
+        int capabilities, int collationId, String username, byte[] authentication, String authType, String database,
+        Map<String, String> attributes, int zstdCompressionLevel
+    ) {
         this.head = new SslRequest41(capabilities, collationId);
 
         this.username = requireNonNull(username, "username must not be null");
@@ -67,6 +70,7 @@ final class HandshakeResponse41 extends EnvelopeClientMessage implements Handsha
         this.database = requireNonNull(database, "database must not be null");
         this.authType = requireNonNull(authType, "authType must not be null");
         this.attributes = requireNonNull(attributes, "attributes must not be null");
+        this.zstdCompressionLevel = zstdCompressionLevel;
     }
 
     @Override
@@ -95,6 +99,9 @@ final class HandshakeResponse41 extends EnvelopeClientMessage implements Handsha
         if (!database.equals(that.database)) {
             return false;
         }
+        if (zstdCompressionLevel != that.zstdCompressionLevel) {
+            return false;
+        }
         return attributes.equals(that.attributes);
     }
 
@@ -106,13 +113,14 @@ final class HandshakeResponse41 extends EnvelopeClientMessage implements Handsha
         result = 31 * result + authType.hashCode();
         result = 31 * result + database.hashCode();
         result = 31 * result + attributes.hashCode();
+        result = 31 * result + zstdCompressionLevel;
         return result;
     }
 
     @Override
     public String toString() {
-        return String.format("HandshakeResponse41{capabilities=%x, collationId=%d, username='%s', authentication=REDACTED, authType='%s', database='%s', attributes=%s}",
-            head.getCapabilities(), head.getCollationId(), username, authType, database, attributes);
+        return String.format("HandshakeResponse41{capabilities=%x, collationId=%d, username='%s', authentication=REDACTED, authType='%s', database='%s', attributes=%s, zstdCompressionLevel=%d}",
+            head.getCapabilities(), head.getCollationId(), username, authType, database, attributes, zstdCompressionLevel);
     }
 
     @Override
@@ -145,6 +153,10 @@ final class HandshakeResponse41 extends EnvelopeClientMessage implements Handsha
         if ((capabilities & Capabilities.CONNECT_ATTRS) != 0) {
             writeAttrs(buf, charset);
         }
+
+        if ((capabilities & Capabilities.Z_STD_COMPRESSION) != 0) {
+            buf.writeByte(zstdCompressionLevel);
+        }
     }
 
     private void writeAttrs(ByteBuf buf, Charset charset) {
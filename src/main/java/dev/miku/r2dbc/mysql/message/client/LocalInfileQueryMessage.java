@@ -0,0 +1,79 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.miku.r2dbc.mysql.message.client;
+
+import io.netty.buffer.ByteBuf;
+import org.reactivestreams.Publisher;
+import reactor.util.annotation.Nullable;
+
+import java.nio.file.Path;
+
+import static dev.miku.r2dbc.mysql.util.AssertUtils.requireNonNull;
+
+/**
+ * A plain text {@code LOAD DATA LOCAL INFILE} query message with the local data which will be sent when
+ * server requests it. Either {@link #getData()} or {@link #getFile()} is not {@code null}.
+ * <p>
+ * Note: it must be executed exclusively, because server treats all envelopes after the query as the
+ * content of file until it receives an empty envelope.
+ */
+public final class LocalInfileQueryMessage extends AbstractQueryMessage implements ExchangeableMessage {
+
+    private static final byte QUERY_FLAG = 3;
+
+    @Nullable
+    private final Publisher<ByteBuf> data;
+
+    @Nullable
+    private final Path file;
+
+    public LocalInfileQueryMessage(String sql, Publisher<ByteBuf> data) {
+        super(QUERY_FLAG, sql);
+
+        this.data = requireNonNull(data, "data must not be null");
+        this.file = null;
+    }
+
+    public LocalInfileQueryMessage(String sql, Path file) {
+        super(QUERY_FLAG, sql);
+
+        this.data = null;
+        this.file = requireNonNull(file, "file must not be null");
+    }
+
+    /**
+     * @return the data publisher, {@code null} if the content is a file.
+     */
+    @Nullable
+    public Publisher<ByteBuf> getData() {
+        return data;
+    }
+
+    /**
+     * @return the local file, {@code null} if the content is a data publisher.
+     */
+    @Nullable
+    public Path getFile() {
+        return file;
+    }
+
+    @Override
+    public String toString() {
+        // SQL should NOT be printed as this may contain security information.
+        return String.format("LocalInfileQueryMessage{sql=REDACTED, file=%s}", file);
+    }
+}
@@ -26,6 +26,7 @@ import io.netty.buffer.ByteBufAllocator;
 import io.netty.util.ReferenceCountUtil;
 import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
@@ -597,7 +598,8 @@ public final class ParameterWriter {
         ParameterWriter writer = new ParameterWriter(prefix);
         return OperatorUtils.discardOnCancel(Flux.fromArray(values))
             .doOnDiscard(ParameterValue.class, ParameterValue::dispose)
-            .concatMap(param -> param.writeTo(writer))
+            // Long data has been sent before executing.
+            .concatMap(param -> param.isLongData() ? Mono.empty() : param.writeTo(writer))
             .doOnError(ignored -> writer.dispose())
             .thenMany(writer.allBuffers());
     }
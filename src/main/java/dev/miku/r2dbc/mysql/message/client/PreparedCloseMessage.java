@@ -16,7 +16,10 @@
 
 package dev.miku.r2dbc.mysql.message.client;
 
+import dev.miku.r2dbc.mysql.util.ConnectionContext;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import reactor.core.publisher.Mono;
 
 /**
  * The message tell MySQL server to close the prepared statement specified by id.
@@ -33,6 +36,16 @@ public final class PreparedCloseMessage extends FixedSizeClientMessage implement
         this.statementId = statementId;
     }
 
+    @Override
+    public Mono<ByteBuf> encode(ByteBufAllocator allocator, ConnectionContext context) {
+        Mono<ByteBuf> encoded = super.encode(allocator, context);
+
+        // Bound types are released with the statement.
+        context.removeBoundTypes(statementId);
+
+        return encoded;
+    }
+
     @Override
     protected int size() {
         return SIZE;
@@ -21,8 +21,10 @@ import dev.miku.r2dbc.mysql.message.ParameterValue;
 import dev.miku.r2dbc.mysql.util.ConnectionContext;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
 import org.reactivestreams.Publisher;
 import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.ArrayList;
@@ -40,19 +42,62 @@ public final class PreparedExecuteMessage extends LargeClientMessage implements
 
     private static final byte EXECUTE_FLAG = 0x17;
 
-    private static final byte CURSOR_TYPE = CursorTypes.NO_CURSOR;
-
     private static final int TIMES = 1;
 
+    /**
+     * The maximum size of a long data chunk, it should be less than default {@code max_allowed_packet}
+     * of all server versions, larger chunks will be sliced.
+     */
+    static final int MAX_LONG_DATA_CHUNK = 1 << 19;
+
     private final int statementId;
 
+    /**
+     * Open a read-only cursor if it is {@code true}, rows will be fetched by {@link PreparedFetchMessage}.
+     */
+    private final boolean cursor;
+
     private final ParameterValue[] values;
 
-    public PreparedExecuteMessage(int statementId, ParameterValue[] values) {
+    public PreparedExecuteMessage(int statementId, boolean cursor, ParameterValue[] values) {
         this.statementId = statementId;
+        this.cursor = cursor;
         this.values = requireNonNull(values, "values must not be null");
     }
 
+    public int getStatementId() {
+        return statementId;
+    }
+
+    /**
+     * Check if any parameter should be sent by {@link PreparedLargeDataMessage}s before execution.
+     *
+     * @return {@code true} if has any long data parameter.
+     */
+    public boolean hasLongData() {
+        return hasLongData(values);
+    }
+
+    /**
+     * Publish long data chunks of all long data parameters in order, it should be subscribed and sent
+     * before this message. Each parameter requests only one chunk at a time, so the buffered data is
+     * bounded by the chunk size rather than the size of whole parameter.
+     *
+     * @param allocator the {@link ByteBufAllocator} for encoding character chunks.
+     * @return the {@link PreparedLargeDataMessage}s of all long data parameters.
+     */
+    public Flux<PreparedLargeDataMessage> longData(ByteBufAllocator allocator) {
+        requireNonNull(allocator, "allocator must not be null");
+
+        return Flux.range(0, values.length)
+            .filter(i -> values[i].isLongData())
+            .concatMap(i -> values[i].publishLongData(allocator)
+                // The value is not written by execution, an empty value must be sent as an empty chunk.
+                .defaultIfEmpty(Unpooled.EMPTY_BUFFER)
+                .concatMap(PreparedExecuteMessage::sliceChunk, 1)
+                .map(chunk -> new PreparedLargeDataMessage(statementId, i, chunk)), 1);
+    }
+
     @Override
     public void dispose() {
         for (ParameterValue value : values) {
@@ -63,7 +108,7 @@ public final class PreparedExecuteMessage extends LargeClientMessage implements
 
     @Override
     public String toString() {
-        return String.format("PreparedExecuteMessage{statementId=%d, has %d parameters}", statementId, values.length);
+        return String.format("PreparedExecuteMessage{statementId=%d, cursor=%b, has %d parameters}", statementId, cursor, values.length);
     }
 
     @Override
@@ -80,7 +125,7 @@ public final class PreparedExecuteMessage extends LargeClientMessage implements
         try {
             buf.writeByte(EXECUTE_FLAG)
                 .writeIntLE(statementId)
-                .writeByte(CURSOR_TYPE)
+                .writeByte(cursor ? CursorTypes.READ_ONLY : CursorTypes.NO_CURSOR)
                 .writeIntLE(TIMES);
 
             if (size == 0) {
@@ -99,13 +144,21 @@ public final class PreparedExecuteMessage extends LargeClientMessage implements
                 return Mono.just(buf);
             }
 
-            buf.writeBoolean(true);
-            writeTypes(buf, size);
+            if (isTypesBound(context, size)) {
+                // Server uses the types which are bound by last execution.
+                buf.writeBoolean(false);
+            } else {
+                buf.writeBoolean(true);
+                writeTypes(buf, size);
+            }
 
-            return ParameterWriter.publish(buf, values);
+            // Server will not receive the types if parameters can not be written.
+            return Flux.from(ParameterWriter.publish(buf, values))
+                .doOnError(ignored -> context.removeBoundTypes(statementId));
         } catch (Throwable e) {
             buf.release();
             cancelParameters();
+            context.removeBoundTypes(statementId);
             return Mono.error(e);
         }
     }
@@ -126,6 +179,41 @@ public final class PreparedExecuteMessage extends LargeClientMessage implements
         return nullMap;
     }
 
+    /**
+     * Check if parameter types are the same as the types bound by last execution of this statement,
+     * otherwise the types will be recorded as bound types for next execution. The recorded types must
+     * be removed if this message is not written entirely, see also {@code MessageDuplexCodec}.
+     *
+     * @param context the connection context which records bound types.
+     * @param size    the number of parameters.
+     * @return {@code true} if types have been bound, they can be omitted.
+     */
+    private boolean isTypesBound(ConnectionContext context, int size) {
+        short[] bound = context.getBoundTypes(statementId);
+
+        if (bound != null && bound.length == size) {
+            int i = 0;
+
+            while (i < size && bound[i] == values[i].getType()) {
+                ++i;
+            }
+
+            if (i == size) {
+                return true;
+            }
+        }
+
+        short[] types = new short[size];
+
+        for (int i = 0; i < size; ++i) {
+            types[i] = values[i].getType();
+        }
+
+        context.setBoundTypes(statementId, types);
+
+        return false;
+    }
+
     private void writeTypes(ByteBuf buf, int size) {
         for (int i = 0; i < size; ++i) {
             buf.writeShortLE(values[i].getType());
@@ -138,6 +226,38 @@ public final class PreparedExecuteMessage extends LargeClientMessage implements
         }
     }
 
+    /**
+     * Check if any value should be sent as long data before execution, e.g. BLOB, CLOB.
+     *
+     * @param values the parameter values, {@code null} elements are ignored.
+     * @return {@code true} if has any long data value.
+     */
+    public static boolean hasLongData(ParameterValue[] values) {
+        for (ParameterValue value : values) {
+            if (value != null && value.isLongData()) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    static Flux<ByteBuf> sliceChunk(ByteBuf chunk) {
+        if (chunk.readableBytes() <= MAX_LONG_DATA_CHUNK) {
+            return Flux.just(chunk);
+        }
+
+        return Flux.<ByteBuf>generate(sink -> {
+            int size = Math.min(chunk.readableBytes(), MAX_LONG_DATA_CHUNK);
+
+            sink.next(chunk.readRetainedSlice(size));
+
+            if (!chunk.isReadable()) {
+                sink.complete();
+            }
+        }).doFinally(ignored -> chunk.release());
+    }
+
     private static int ceilDiv8(int x) {
         int r = x >> 3;
         return (r << 3) == x ? r : r + 1;
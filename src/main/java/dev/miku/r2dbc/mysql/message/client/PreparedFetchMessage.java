@@ -0,0 +1,73 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.miku.r2dbc.mysql.message.client;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * The message tell MySQL server to fetch rows from the cursor of a prepared statement
+ * which is opened by {@link PreparedExecuteMessage}.
+ */
+public final class PreparedFetchMessage extends FixedSizeClientMessage implements ExchangeableMessage {
+
+    private static final int SIZE = Byte.BYTES + Integer.BYTES + Integer.BYTES;
+
+    private static final byte STATEMENT_FETCH_FLAG = 0x1C;
+
+    private final int statementId;
+
+    private final int fetchSize;
+
+    public PreparedFetchMessage(int statementId, int fetchSize) {
+        this.statementId = statementId;
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    protected int size() {
+        return SIZE;
+    }
+
+    @Override
+    protected void writeTo(ByteBuf buf) {
+        buf.writeByte(STATEMENT_FETCH_FLAG).writeIntLE(statementId).writeIntLE(fetchSize);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PreparedFetchMessage)) {
+            return false;
+        }
+
+        PreparedFetchMessage that = (PreparedFetchMessage) o;
+
+        return statementId == that.statementId && fetchSize == that.fetchSize;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * statementId + fetchSize;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PreparedFetchMessage{statementId=%d, fetchSize=%d}", statementId, fetchSize);
+    }
+}
@@ -16,23 +16,28 @@
 
 package dev.miku.r2dbc.mysql.message.client;
 
-import dev.miku.r2dbc.mysql.util.CodecUtils;
 import dev.miku.r2dbc.mysql.util.ConnectionContext;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
+import io.netty.util.ReferenceCountUtil;
 import org.reactivestreams.Publisher;
+import reactor.core.Disposable;
 import reactor.core.publisher.Flux;
 
+import java.util.concurrent.atomic.AtomicReference;
+
 import static dev.miku.r2dbc.mysql.util.AssertUtils.requireNonNull;
 
 /**
- * Send parameter long data for prepared statements, it should be used by LOB types. (e.g. BLOB, CLOB)
+ * Send a chunk of parameter long data for prepared statements, it should be used by LOB types. (e.g. BLOB, CLOB)
+ * <p>
+ * Server appends chunks of same parameter in sending order, and does not respond any of them.
  * <p>
  * Note: it must be sent before {@link PreparedExecuteMessage}.
  */
-public final class PreparedLargeDataMessage extends LargeClientMessage implements SendOnlyMessage {
+public final class PreparedLargeDataMessage extends LargeClientMessage implements SendOnlyMessage, Disposable {
 
-    private static final int MIN_SIZE = Byte.BYTES + Integer.BYTES + Short.BYTES + Byte.BYTES + Long.BYTES;
+    private static final int HEADER_SIZE = Byte.BYTES + Integer.BYTES + Short.BYTES;
 
     private static final byte LARGE_DATA_FLAG = 0x18;
 
@@ -40,43 +45,62 @@ public final class PreparedLargeDataMessage extends LargeClientMessage implement
 
     private final int parameterId;
 
-    private final Publisher<ByteBuf> data;
-
-    public PreparedLargeDataMessage(int statementId, int parameterId, Publisher<ByteBuf> data) {
+    /**
+     * The chunk of long data, it will be taken when encoding or disposing.
+     */
+    private final AtomicReference<ByteBuf> data;
+
+    /**
+     * @param statementId the id of prepared statement.
+     * @param parameterId the index of parameter, starting at 0.
+     * @param data        the chunk of long data, its ownership is transferred to the message.
+     */
+    public PreparedLargeDataMessage(int statementId, int parameterId, ByteBuf data) {
         this.statementId = statementId;
         this.parameterId = parameterId;
-        this.data = requireNonNull(data, "data must not be null");
+        this.data = new AtomicReference<>(requireNonNull(data, "data must not be null"));
+    }
+
+    @Override
+    public void dispose() {
+        ReferenceCountUtil.safeRelease(data.getAndSet(null));
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return data.get() == null;
     }
 
     @Override
     protected Publisher<ByteBuf> fragments(ByteBufAllocator allocator, ConnectionContext context) {
-        return Flux.from(data).collectList().flatMapMany(values -> {
-            int i = 0;
-            int size = values.size();
-            ByteBuf[] results = new ByteBuf[size + 1];
-            long bytes = 0;
-
-            for (; i < size; ++i) {
-                bytes += (results[i + 1] = values.get(i)).readableBytes();
+        return Flux.defer(() -> {
+            ByteBuf data = this.data.getAndSet(null);
+
+            if (data == null) {
+                return Flux.error(new IllegalStateException("Long data has written, can not write twice"));
             }
 
-            ByteBuf header = allocator.buffer(MIN_SIZE, MIN_SIZE);
+            ByteBuf header = null;
 
             try {
-                header.writeByte(LARGE_DATA_FLAG)
+                header = allocator.buffer(HEADER_SIZE, HEADER_SIZE)
+                    .writeByte(LARGE_DATA_FLAG)
                     .writeIntLE(statementId)
                     .writeShortLE(parameterId);
 
-                CodecUtils.writeVarInt(header, bytes);
-                results[0] = header;
-                header = null;
-
-                return Flux.fromArray(results);
-            } finally {
+                return Flux.just(header, data);
+            } catch (Throwable e) {
                 if (header != null) {
                     header.release();
                 }
+                data.release();
+                return Flux.error(e);
             }
         });
     }
+
+    @Override
+    public String toString() {
+        return String.format("PreparedLargeDataMessage{statementId=%d, parameterId=%d}", statementId, parameterId);
+    }
 }
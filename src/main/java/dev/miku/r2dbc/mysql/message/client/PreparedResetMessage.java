@@ -0,0 +1,83 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.miku.r2dbc.mysql.message.client;
+
+import dev.miku.r2dbc.mysql.util.ConnectionContext;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import reactor.core.publisher.Mono;
+
+/**
+ * The message tell MySQL server to reset the prepared statement specified by id, it will clear long data
+ * which has been sent by {@link PreparedLargeDataMessage} and close the cursor of the statement.
+ */
+public final class PreparedResetMessage extends FixedSizeClientMessage implements ExchangeableMessage {
+
+    private static final int SIZE = Byte.BYTES + Integer.BYTES;
+
+    private static final byte STATEMENT_RESET_FLAG = 0x1A;
+
+    private final int statementId;
+
+    public PreparedResetMessage(int statementId) {
+        this.statementId = statementId;
+    }
+
+    @Override
+    public Mono<ByteBuf> encode(ByteBufAllocator allocator, ConnectionContext context) {
+        Mono<ByteBuf> encoded = super.encode(allocator, context);
+
+        // Send types again after reset, even if server may keep them.
+        context.removeBoundTypes(statementId);
+
+        return encoded;
+    }
+
+    @Override
+    protected int size() {
+        return SIZE;
+    }
+
+    @Override
+    protected void writeTo(ByteBuf buf) {
+        buf.writeByte(STATEMENT_RESET_FLAG).writeIntLE(statementId);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PreparedResetMessage)) {
+            return false;
+        }
+
+        PreparedResetMessage that = (PreparedResetMessage) o;
+
+        return statementId == that.statementId;
+    }
+
+    @Override
+    public int hashCode() {
+        return statementId;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PreparedResetMessage{statementId=%d}", statementId);
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.miku.r2dbc.mysql.message.client;
+
+import dev.miku.r2dbc.mysql.util.ConnectionContext;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import reactor.core.publisher.Mono;
+
+/**
+ * The request message resets session state of the connection without re-authentication, it is
+ * supported by MySQL {@literal 5.7.3} or higher.
+ * <p>
+ * Server will rollback the active transaction, deallocate all prepared statements, drop temporary
+ * tables, release locks and reset session variables.
+ */
+public final class ResetConnectionMessage extends FixedSizeClientMessage implements ExchangeableMessage {
+
+    private static final int RESET_CONNECTION_FLAG = 0x1F;
+
+    private static final ResetConnectionMessage INSTANCE = new ResetConnectionMessage();
+
+    private ResetConnectionMessage() {
+    }
+
+    public static ResetConnectionMessage getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public Mono<ByteBuf> encode(ByteBufAllocator allocator, ConnectionContext context) {
+        Mono<ByteBuf> encoded = super.encode(allocator, context);
+
+        // All prepared statements will be deallocated, so all bound types are invalid.
+        context.clearBoundTypes();
+
+        return encoded;
+    }
+
+    @Override
+    protected int size() {
+        return Byte.BYTES;
+    }
+
+    @Override
+    protected void writeTo(ByteBuf buf) {
+        buf.writeByte(RESET_CONNECTION_FLAG);
+    }
+
+    @Override
+    public String toString() {
+        return "ResetConnectionMessage{}";
+    }
+}
@@ -21,13 +21,25 @@ package dev.miku.r2dbc.mysql.message.server;
  */
 final class CommandDecodeContext implements DecodeContext {
 
-    static final CommandDecodeContext INSTANCE = new CommandDecodeContext();
+    static final CommandDecodeContext INSTANCE = new CommandDecodeContext(false);
 
-    private CommandDecodeContext() {
+    /**
+     * The command context of executing a prepared statement, its result rows are binary.
+     */
+    static final CommandDecodeContext BINARY_INSTANCE = new CommandDecodeContext(true);
+
+    private final boolean binary;
+
+    private CommandDecodeContext(boolean binary) {
+        this.binary = binary;
+    }
+
+    boolean isBinary() {
+        return binary;
     }
 
     @Override
     public String toString() {
-        return "DecodeContext-Command";
+        return binary ? "DecodeContext-BinaryCommand" : "DecodeContext-Command";
     }
 }
@@ -29,12 +29,35 @@ public interface DecodeContext {
         return CommandDecodeContext.INSTANCE;
     }
 
+    /**
+     * @return the command context of executing a prepared statement, which has binary result rows.
+     */
+    static DecodeContext binaryCommand() {
+        return CommandDecodeContext.BINARY_INSTANCE;
+    }
+
+    /**
+     * @param context the command context.
+     * @return if {@code context} is a command context which has binary result rows.
+     */
+    static boolean isBinaryCommand(DecodeContext context) {
+        return context instanceof CommandDecodeContext && ((CommandDecodeContext) context).isBinary();
+    }
+
     static DecodeContext prepareQuery() {
         return PrepareQueryDecodeContext.INSTANCE;
     }
 
+    static DecodeContext fetch() {
+        return FetchDecodeContext.INSTANCE;
+    }
+
     static DecodeContext result(boolean deprecateEof, int totalColumns) {
-        return new ResultDecodeContext(deprecateEof, totalColumns);
+        return new ResultDecodeContext(deprecateEof, totalColumns, false);
+    }
+
+    static DecodeContext result(boolean deprecateEof, int totalColumns, boolean binary) {
+        return new ResultDecodeContext(deprecateEof, totalColumns, binary);
     }
 
     static DecodeContext preparedMetadata(boolean deprecateEof, int totalColumns, int totalParameters) {
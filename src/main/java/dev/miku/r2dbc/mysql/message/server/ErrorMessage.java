@@ -57,6 +57,18 @@ public final class ErrorMessage implements ServerMessage {
         return errorMessage;
     }
 
+    /**
+     * Create an error which is not received from server, e.g. client rejects a request of server.
+     *
+     * @param errorCode    the error code.
+     * @param sqlState     the SQL state, or {@code null} if it is unknown.
+     * @param errorMessage the message of error.
+     * @return the error message.
+     */
+    public static ErrorMessage from(int errorCode, @Nullable String sqlState, String errorMessage) {
+        return new ErrorMessage(errorCode, sqlState, errorMessage);
+    }
+
     public static ErrorMessage decode(ByteBuf buf) {
         buf.skipBytes(1); // 0xFF, error message header
         int errorCode = buf.readUnsignedShortLE(); // error code should be unsigned
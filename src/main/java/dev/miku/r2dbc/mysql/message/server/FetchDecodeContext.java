@@ -0,0 +1,34 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.miku.r2dbc.mysql.message.server;
+
+/**
+ * Decode context for responses of fetching rows from a cursor, it has rows and a complete
+ * message only, metadata has been received when the cursor opened.
+ */
+final class FetchDecodeContext implements DecodeContext {
+
+    static final FetchDecodeContext INSTANCE = new FetchDecodeContext();
+
+    private FetchDecodeContext() {
+    }
+
+    @Override
+    public String toString() {
+        return "DecodeContext-Fetch";
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.miku.r2dbc.mysql.message.server;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.util.ReferenceCounted;
+
+import static dev.miku.r2dbc.mysql.util.AssertUtils.requireNonNull;
+
+/**
+ * A message includes a following chunk of the streaming LOB which is the last column of previous
+ * {@link RowMessage}, see also {@link RowMessage#getStreamingField()}.
+ */
+public final class LobChunkMessage implements ReferenceCounted, ServerMessage {
+
+    private final ByteBuf buf;
+
+    private final boolean last;
+
+    LobChunkMessage(ByteBuf buf, boolean last) {
+        this.buf = requireNonNull(buf, "buf must not be null");
+        this.last = last;
+    }
+
+    /**
+     * @return the bytes of chunk, it is not retained.
+     */
+    public ByteBuf getBuffer() {
+        return buf;
+    }
+
+    /**
+     * @return if it is the last chunk of the LOB.
+     */
+    public boolean isLast() {
+        return last;
+    }
+
+    @Override
+    public int refCnt() {
+        return buf.refCnt();
+    }
+
+    @Override
+    public LobChunkMessage retain() {
+        buf.retain();
+        return this;
+    }
+
+    @Override
+    public LobChunkMessage retain(int increment) {
+        buf.retain(increment);
+        return this;
+    }
+
+    @Override
+    public LobChunkMessage touch() {
+        buf.touch();
+        return this;
+    }
+
+    @Override
+    public LobChunkMessage touch(Object o) {
+        buf.touch(o);
+        return this;
+    }
+
+    @Override
+    public boolean release() {
+        return buf.release();
+    }
+
+    @Override
+    public boolean release(int decrement) {
+        return buf.release(decrement);
+    }
+
+    @Override
+    public String toString() {
+        return "LobChunkMessage{bytes=" + buf.readableBytes() + ", last=" + last + '}';
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.miku.r2dbc.mysql.message.server;
+
+import dev.miku.r2dbc.mysql.util.ConnectionContext;
+import io.netty.buffer.ByteBuf;
+
+import static dev.miku.r2dbc.mysql.util.AssertUtils.requireNonNull;
+
+/**
+ * A message that server requests a local file for {@code LOAD DATA LOCAL INFILE}, client should send
+ * content of the file and an empty envelope following this message, or only an empty envelope to reject.
+ */
+public final class LocalInfileRequest implements ServerMessage {
+
+    /**
+     * The sequence id of the envelope, the content of file should be sent starting from next sequence id.
+     */
+    private final int envelopeId;
+
+    private final String path;
+
+    private LocalInfileRequest(int envelopeId, String path) {
+        this.envelopeId = envelopeId;
+        this.path = requireNonNull(path, "path must not be null");
+    }
+
+    public int getEnvelopeId() {
+        return envelopeId;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    static LocalInfileRequest decode(int envelopeId, ByteBuf buf, ConnectionContext context) {
+        buf.skipBytes(1); // Constant 0xFB
+        return new LocalInfileRequest(envelopeId, buf.toString(context.getCollation().getCharset()));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof LocalInfileRequest)) {
+            return false;
+        }
+
+        LocalInfileRequest that = (LocalInfileRequest) o;
+
+        return envelopeId == that.envelopeId && path.equals(that.path);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * envelopeId + path.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("LocalInfileRequest{envelopeId=%d, path='%s'}", envelopeId, path);
+    }
+}
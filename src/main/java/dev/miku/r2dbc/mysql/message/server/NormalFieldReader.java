@@ -64,6 +64,58 @@ final class NormalFieldReader implements FieldReader {
         return new NormalFieldValue(CodecUtils.readVarIntSizedSlice(buf).retain());
     }
 
+    /**
+     * Skip a length fixed field and record its offset and length into {@code offsets}.
+     *
+     * @param length  must be a positive integer.
+     * @param offsets the offsets of fields.
+     * @param i       the index of {@code offsets} for recording.
+     */
+    void indexSizeFixedField(int length, int[] offsets, int i) {
+        offsets[i] = buf.readerIndex();
+        offsets[i + 1] = length;
+        buf.skipBytes(length);
+    }
+
+    /**
+     * Skip a var integer sized field and record its offset and length into {@code offsets}.
+     *
+     * @param offsets the offsets of fields.
+     * @param i       the index of {@code offsets} for recording.
+     */
+    void indexVarIntSizedField(int[] offsets, int i) {
+        int size = (int) CodecUtils.readVarInt(buf);
+
+        offsets[i] = buf.readerIndex();
+        offsets[i + 1] = size;
+        buf.skipBytes(size);
+    }
+
+    /**
+     * Skip bytes without reading.
+     *
+     * @param length must be a positive integer.
+     * @return the index of the first skipped byte.
+     */
+    int skipBytes(int length) {
+        int index = buf.readerIndex();
+
+        buf.skipBytes(length);
+
+        return index;
+    }
+
+    byte getByte(int index) {
+        return buf.getByte(index);
+    }
+
+    /**
+     * @return the field which is not retained, it is available only before this reader released.
+     */
+    FieldValue getField(int offset, int length) {
+        return new NormalFieldValue(buf.slice(offset, length));
+    }
+
     @Override
     public int refCnt() {
         return buf.refCnt();
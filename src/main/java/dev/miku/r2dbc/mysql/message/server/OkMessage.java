@@ -21,8 +21,13 @@ import dev.miku.r2dbc.mysql.constant.ServerStatuses;
 import dev.miku.r2dbc.mysql.util.CodecUtils;
 import dev.miku.r2dbc.mysql.util.ConnectionContext;
 import io.netty.buffer.ByteBuf;
+import reactor.util.annotation.Nullable;
 
 import java.nio.charset.Charset;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
 
 import static dev.miku.r2dbc.mysql.util.AssertUtils.requireNonNull;
 
@@ -35,6 +40,16 @@ public final class OkMessage implements WarningMessage, ServerStatusMessage, Com
 
     private static final int MIN_SIZE = 7;
 
+    /**
+     * Session state type of system variables, the data is a pair of var-int sized name and value.
+     */
+    private static final short SYSTEM_VARIABLES = 0;
+
+    /**
+     * Session state type of current schema, the data is a var-int sized name.
+     */
+    private static final short SCHEMA = 1;
+
     private final long affectedRows;
 
     /**
@@ -48,12 +63,32 @@ public final class OkMessage implements WarningMessage, ServerStatusMessage, Com
 
     private final String information;
 
+    /**
+     * Changed system variables which are tracked by server, only available if session tracking enabled.
+     */
+    private final Map<String, String> systemVariables;
+
+    /**
+     * Changed schema, only available if session tracking enabled.
+     */
+    @Nullable
+    private final String schema;
+
     private OkMessage(long affectedRows, long lastInsertId, short serverStatuses, int warnings, String information) {
+        this(affectedRows, lastInsertId, serverStatuses, warnings, information, Collections.emptyMap(), null);
+    }
+
+    private OkMessage(
+        long affectedRows, long lastInsertId, short serverStatuses, int warnings, String information,
+        Map<String, String> systemVariables, @Nullable String schema
+    ) {
         this.affectedRows = affectedRows;
         this.lastInsertId = lastInsertId;
         this.serverStatuses = serverStatuses;
         this.warnings = warnings;
         this.information = requireNonNull(information, "information must not be null");
+        this.systemVariables = requireNonNull(systemVariables, "systemVariables must not be null");
+        this.schema = schema;
     }
 
     public long getAffectedRows() {
@@ -74,11 +109,45 @@ public final class OkMessage implements WarningMessage, ServerStatusMessage, Com
         return warnings;
     }
 
+    /**
+     * Get the system variables which have been changed by the command, they are reported only if the
+     * {@link Capabilities#SESSION_TRACK} is enabled and the variables are tracked by server, see also
+     * {@literal @@session_track_system_variables}.
+     *
+     * @return the changed system variables, it is an empty map if nothing has been reported.
+     */
+    public Map<String, String> getSystemVariables() {
+        return systemVariables;
+    }
+
+    /**
+     * Get the current schema which has been changed by the command, e.g. {@code USE db}, it is reported
+     * only if the {@link Capabilities#SESSION_TRACK} is enabled.
+     *
+     * @return the changed schema, or {@code null} if the schema has not been reported.
+     */
+    @Nullable
+    public String getSchema() {
+        return schema;
+    }
+
     @Override
     public boolean isDone() {
         return (serverStatuses & ServerStatuses.MORE_RESULTS_EXISTS) == 0;
     }
 
+    /**
+     * Derive an OK message with specified affected rows and last insert ID, it is used to
+     * split the result of a multi-row {@literal INSERT} statement for each row.
+     *
+     * @param affectedRows the affected rows of derived message.
+     * @param lastInsertId the last insert ID of derived message.
+     * @return the derived message which has same server statuses and other information.
+     */
+    public OkMessage derive(long affectedRows, long lastInsertId) {
+        return new OkMessage(affectedRows, lastInsertId, serverStatuses, warnings, information, systemVariables, schema);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -102,7 +171,13 @@ public final class OkMessage implements WarningMessage, ServerStatusMessage, Com
         if (warnings != okMessage.warnings) {
             return false;
         }
-        return information.equals(okMessage.information);
+        if (!information.equals(okMessage.information)) {
+            return false;
+        }
+        if (!systemVariables.equals(okMessage.systemVariables)) {
+            return false;
+        }
+        return Objects.equals(schema, okMessage.schema);
     }
 
     @Override
@@ -112,6 +187,8 @@ public final class OkMessage implements WarningMessage, ServerStatusMessage, Com
         result = 31 * result + (int) serverStatuses;
         result = 31 * result + warnings;
         result = 31 * result + information.hashCode();
+        result = 31 * result + systemVariables.hashCode();
+        result = 31 * result + (schema == null ? 0 : schema.hashCode());
         return result;
     }
 
@@ -151,6 +228,18 @@ public final class OkMessage implements WarningMessage, ServerStatusMessage, Com
 
         if (buf.isReadable()) {
             Charset charset = context.getCollation().getCharset();
+
+            if ((capabilities & Capabilities.SESSION_TRACK) != 0) {
+                String information = CodecUtils.readVarIntSizedString(buf, charset);
+
+                if ((serverStatuses & ServerStatuses.SESSION_STATE_CHANGED) != 0 && buf.isReadable()) {
+                    return decodeSessionState(CodecUtils.readVarIntSizedSlice(buf), charset, affectedRows, lastInsertId,
+                        serverStatuses, warnings, information);
+                }
+
+                return new OkMessage(affectedRows, lastInsertId, serverStatuses, warnings, information);
+            }
+
             int sizeAfterVarInt = CodecUtils.checkNextVarInt(buf);
 
             if (sizeAfterVarInt < 0) {
@@ -172,4 +261,33 @@ public final class OkMessage implements WarningMessage, ServerStatusMessage, Com
             return new OkMessage(affectedRows, lastInsertId, serverStatuses, warnings, "");
         }
     }
+
+    private static OkMessage decodeSessionState(
+        ByteBuf state, Charset charset, long affectedRows, long lastInsertId, short serverStatuses, int warnings, String information
+    ) {
+        Map<String, String> systemVariables = Collections.emptyMap();
+        String schema = null;
+
+        while (state.isReadable()) {
+            short type = state.readUnsignedByte();
+            ByteBuf data = CodecUtils.readVarIntSizedSlice(state);
+
+            switch (type) {
+                case SYSTEM_VARIABLES:
+                    if (systemVariables.isEmpty()) {
+                        systemVariables = new LinkedHashMap<>();
+                    }
+
+                    String name = CodecUtils.readVarIntSizedString(data, charset);
+                    systemVariables.put(name, CodecUtils.readVarIntSizedString(data, charset));
+                    break;
+                case SCHEMA:
+                    schema = CodecUtils.readVarIntSizedString(data, charset);
+                    break;
+                // Ignore other state types, e.g. GTIDs and transaction state, they are useless for now.
+            }
+        }
+
+        return new OkMessage(affectedRows, lastInsertId, serverStatuses, warnings, information, systemVariables, schema);
+    }
 }
@@ -16,6 +16,8 @@
 
 package dev.miku.r2dbc.mysql.message.server;
 
+import reactor.util.annotation.Nullable;
+
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -56,7 +58,7 @@ final class PreparedMetadataDecodeContext extends MetadataDecodeContext {
     }
 
     @Override
-    protected SyntheticMetadataMessage checkComplete(int index) {
+    protected SyntheticMetadataMessage checkComplete(int index, @Nullable EofMessage eof) {
         if (index == paramMetadata.length) {
             if (colMetadata.length == 0) {
                 // Has no column metadata.
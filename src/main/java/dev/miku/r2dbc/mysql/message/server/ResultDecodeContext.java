@@ -16,6 +16,8 @@
 
 package dev.miku.r2dbc.mysql.message.server;
 
+import reactor.util.annotation.Nullable;
+
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static dev.miku.r2dbc.mysql.util.AssertUtils.require;
@@ -29,14 +31,17 @@ final class ResultDecodeContext extends MetadataDecodeContext {
 
     private final AtomicInteger columns = new AtomicInteger();
 
+    private final boolean binary;
+
     private boolean inMetadata = true;
 
-    ResultDecodeContext(boolean deprecateEof, int totalColumns) {
+    ResultDecodeContext(boolean deprecateEof, int totalColumns, boolean binary) {
         super(deprecateEof);
 
         require(totalColumns > 0, "result must has least 1 column");
 
         this.metadataMessages = new DefinitionMetadataMessage[totalColumns];
+        this.binary = binary;
     }
 
     @Override
@@ -50,12 +55,13 @@ final class ResultDecodeContext extends MetadataDecodeContext {
     }
 
     @Override
-    protected SyntheticMetadataMessage checkComplete(int index) {
+    protected SyntheticMetadataMessage checkComplete(int index, @Nullable EofMessage eof) {
         if (index == metadataMessages.length) {
             inMetadata = false;
 
             // In results, row metadata has filled-up does not means complete. (has rows or OK/EOF following)
-            return new SyntheticMetadataMessage(false, metadataMessages);
+            // The EOF message is kept for cursor, see SyntheticMetadataMessage.getEof.
+            return new SyntheticMetadataMessage(false, metadataMessages, eof);
         } else {
             return null;
         }
@@ -92,4 +98,16 @@ final class ResultDecodeContext extends MetadataDecodeContext {
     int getTotalColumns() {
         return metadataMessages.length;
     }
+
+    boolean isBinary() {
+        return binary;
+    }
+
+    /**
+     * @param index the column index starting at 0, the metadata must be filled up.
+     * @return the type of the column.
+     */
+    short getColumnType(int index) {
+        return metadataMessages[index].getType();
+    }
 }
@@ -20,8 +20,10 @@ import dev.miku.r2dbc.mysql.codec.FieldInformation;
 import dev.miku.r2dbc.mysql.constant.DataTypes;
 import dev.miku.r2dbc.mysql.constant.DataValues;
 import dev.miku.r2dbc.mysql.message.FieldValue;
+import dev.miku.r2dbc.mysql.message.StreamingFieldValue;
 import io.netty.util.ReferenceCountUtil;
 import io.netty.util.ReferenceCounted;
+import reactor.util.annotation.Nullable;
 
 import static dev.miku.r2dbc.mysql.util.AssertUtils.requireNonNull;
 
@@ -34,20 +36,148 @@ public final class RowMessage implements ReferenceCounted, ServerMessage {
 
     private final FieldReader reader;
 
+    /**
+     * The last field which is still arriving, the {@link #reader} contains other fields only.
+     */
+    @Nullable
+    private final StreamingFieldValue streaming;
+
     RowMessage(FieldReader reader) {
+        this(reader, null);
+    }
+
+    RowMessage(FieldReader reader, @Nullable StreamingFieldValue streaming) {
         this.reader = requireNonNull(reader, "reader must not be null");
+        this.streaming = streaming;
     }
 
     public final FieldValue[] decode(boolean isBinary, FieldInformation[] context) {
+        StreamingFieldValue streaming = this.streaming;
+        int size = context.length;
+
+        if (streaming == null) {
+            return isBinary ? binary(context, size) : text(size, size);
+        }
+
+        // The last field is streaming, read others from reader.
+        --size;
+
+        FieldValue[] fields = isBinary ? binary(context, size) : text(context.length, size);
+
+        streaming.retain();
+        fields[size] = streaming;
+
+        return fields;
+    }
+
+    /**
+     * Get the last field of this row if it is still arriving, following chunks of it will be received by
+     * {@link LobChunkMessage}s after this message.
+     *
+     * @return the streaming field, or {@code null} if all fields of this row have been received.
+     */
+    @Nullable
+    public final StreamingFieldValue getStreamingField() {
+        return streaming;
+    }
+
+    /**
+     * Check if this row can be indexed by {@link #index(boolean, FieldInformation[], int[])}, it is {@code false}
+     * when the row is too large to be held in a single buffer.
+     *
+     * @return if this row can be indexed.
+     */
+    public final boolean isIndexable() {
+        return streaming == null && reader instanceof NormalFieldReader;
+    }
+
+    /**
+     * Index offsets and lengths of all fields without slicing or retaining any of them. The field values can be
+     * sliced lazily by {@link #getField(int[], int)} before this message released.
+     *
+     * @param isBinary if the row is binary.
+     * @param context  the column definitions of the row.
+     * @param offsets  the array to record offsets and lengths, its length must be at least double of columns,
+     *                 it can be reused for each row of a result.
+     * @throws IllegalStateException if this row is not indexable.
+     */
+    public final void index(boolean isBinary, FieldInformation[] context, int[] offsets) {
+        if (!isIndexable()) {
+            throw new IllegalStateException("Row is too large to be indexed");
+        }
+
+        NormalFieldReader reader = (NormalFieldReader) this.reader;
+
         if (isBinary) {
-            return binary(context);
+            indexBinary(reader, context, offsets);
         } else {
-            return text(context.length);
+            indexText(reader, context.length, offsets);
+        }
+    }
+
+    /**
+     * Get a field value which has been indexed by {@link #index(boolean, FieldInformation[], int[])}.
+     *
+     * @param offsets the offsets of this row.
+     * @param index   the column index starting at 0.
+     * @return the field value, it is not retained and available only before this message released.
+     */
+    public final FieldValue getField(int[] offsets, int index) {
+        int i = index << 1;
+        int offset = offsets[i];
+
+        if (offset < 0) {
+            return FieldValue.nullField();
+        }
+
+        return ((NormalFieldReader) reader).getField(offset, offsets[i + 1]);
+    }
+
+    private static void indexText(NormalFieldReader reader, int size, int[] offsets) {
+        for (int i = 0; i < size; ++i) {
+            if (DataValues.NULL_VALUE == reader.getUnsignedByte()) {
+                reader.skipOneByte();
+                offsets[i << 1] = -1;
+            } else {
+                reader.indexVarIntSizedField(offsets, i << 1);
+            }
+        }
+    }
+
+    private static void indexBinary(NormalFieldReader reader, FieldInformation[] context, int[] offsets) {
+        reader.skipOneByte(); // constant 0x00
+
+        int size = context.length;
+        int bitmap = reader.skipBytes((size + 9) >> 3);
+        byte bitMask = BIT_MASK_INIT;
+
+        for (int i = 0; i < size; ++i) {
+            if ((reader.getByte(bitmap) & bitMask) != 0) {
+                offsets[i << 1] = -1;
+            } else {
+                int bytes = getFixedBinaryBytes(context[i].getType());
+                if (bytes > 0) {
+                    reader.indexSizeFixedField(bytes, offsets, i << 1);
+                } else {
+                    reader.indexVarIntSizedField(offsets, i << 1);
+                }
+            }
+
+            bitMask <<= 1;
+
+            if ((bitMask & 0xFF) == 0) {
+                bitMask = 1;
+                ++bitmap;
+            }
         }
     }
 
-    private FieldValue[] text(int size) {
-        FieldValue[] fields = new FieldValue[size];
+    /**
+     * @param length the number of all fields.
+     * @param size   the number of fields which should be read.
+     */
+    private FieldValue[] text(int length, int size) {
+        FieldValue[] fields = new FieldValue[length];
 
         try {
             for (int i = 0; i < size; ++i) {
@@ -66,15 +196,19 @@ public final class RowMessage implements ReferenceCounted, ServerMessage {
         }
     }
 
-    private FieldValue[] binary(FieldInformation[] context) {
+    /**
+     * @param context the column definitions of all fields.
+     * @param size    the number of fields which should be read.
+     */
+    private FieldValue[] binary(FieldInformation[] context, int size) {
         reader.skipOneByte(); // constant 0x00
 
-        int size = context.length;
+        int length = context.length;
         // MySQL will make sure columns less than 4096, no need check overflow.
-        byte[] nullBitmap = reader.readSizeFixedBytes((size + 9) >> 3);
+        byte[] nullBitmap = reader.readSizeFixedBytes((length + 9) >> 3);
         int bitmapIndex = 0;
         byte bitMask = BIT_MASK_INIT;
-        FieldValue[] fields = new FieldValue[size];
+        FieldValue[] fields = new FieldValue[length];
 
         try {
             for (int i = 0; i < size; ++i) {
@@ -138,12 +272,12 @@ public final class RowMessage implements ReferenceCounted, ServerMessage {
 
     @Override
     public boolean release() {
-        return reader.release();
+        return releaseStreaming(reader.release());
     }
 
     @Override
     public boolean release(int decrement) {
-        return reader.release(decrement);
+        return releaseStreaming(reader.release(decrement));
     }
 
     @Override
@@ -165,13 +299,24 @@ public final class RowMessage implements ReferenceCounted, ServerMessage {
 
     @Override
     public String toString() {
-        return "RowMessage(encoded)";
+        return streaming == null ? "RowMessage(encoded)" : "RowMessage(encoded, streaming)";
+    }
+
+    private boolean releaseStreaming(boolean released) {
+        StreamingFieldValue streaming = this.streaming;
+
+        if (released && streaming != null) {
+            // The streaming field has been retained by each decoded fields.
+            streaming.release();
+        }
+
+        return released;
     }
 
     /**
      * @return {@literal 0} means field is var integer sized in binary result.
      */
-    private static int getFixedBinaryBytes(short type) {
+    static int getFixedBinaryBytes(short type) {
         switch (type) {
             case DataTypes.TINYINT:
                 return Byte.BYTES;
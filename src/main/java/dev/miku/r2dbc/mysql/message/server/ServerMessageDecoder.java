@@ -16,11 +16,13 @@
 
 package dev.miku.r2dbc.mysql.message.server;
 
+import dev.miku.r2dbc.mysql.constant.DataTypes;
 import dev.miku.r2dbc.mysql.constant.DataValues;
 import dev.miku.r2dbc.mysql.constant.Envelopes;
 import dev.miku.r2dbc.mysql.constant.Headers;
 import dev.miku.r2dbc.mysql.util.CodecUtils;
 import dev.miku.r2dbc.mysql.util.ConnectionContext;
+import dev.miku.r2dbc.mysql.message.StreamingFieldValue;
 import dev.miku.r2dbc.mysql.message.header.SequenceIdProvider;
 import io.netty.buffer.ByteBuf;
 import io.netty.util.ReferenceCountUtil;
@@ -42,20 +44,46 @@ public final class ServerMessageDecoder {
 
     private final List<ByteBuf> parts = new ArrayList<>();
 
+    /**
+     * The remaining bytes of current streaming LOB, {@code 0} means it is not streaming a LOB.
+     */
+    private long lobRemaining;
+
+    /**
+     * The streaming LOB has been completed by a full envelope, so an empty envelope will be following.
+     */
+    private boolean lobTail;
+
+    /**
+     * The sequence id of the last envelope of current message.
+     */
+    private int envelopeId;
+
     @Nullable
     public ServerMessage decode(ByteBuf envelope, ConnectionContext context, DecodeContext decodeContext, @Nullable SequenceIdProvider.Linkable idProvider) {
         requireNonNull(envelope, "envelope must not be null");
         requireNonNull(context, "context must not be null");
         requireNonNull(decodeContext, "decodeContext must not be null");
 
+        if (lobRemaining > 0 || lobTail) {
+            return decodeLobChunk(envelope, idProvider);
+        }
+
         if (readNotFinish(envelope, idProvider)) {
+            if (parts.size() == 1 && context.isLobStreaming() && decodeContext instanceof ResultDecodeContext) {
+                return decodeStreamingRow((ResultDecodeContext) decodeContext);
+            }
+
             return null;
         }
 
-        return decodeMessage(parts, context, decodeContext);
+        return decodeMessage(parts, envelopeId, context, decodeContext);
     }
 
     public void dispose() {
+        lobRemaining = 0;
+        lobTail = false;
+
         try {
             for (ByteBuf part : parts) {
                 ReferenceCountUtil.safeRelease(part);
@@ -65,18 +93,137 @@ public final class ServerMessageDecoder {
         }
     }
 
+    /**
+     * Try to decode a row which last field is a LOB and still arriving. The bytes of LOB which are not
+     * arrived will be decoded as {@link LobChunkMessage}s.
+     *
+     * @param decodeContext the result decode context.
+     * @return the streaming row, or {@code null} if the row can not be streamed, then it will be decoded
+     * as normal after all envelopes arrived.
+     */
+    @Nullable
+    private RowMessage decodeStreamingRow(ResultDecodeContext decodeContext) {
+        if (decodeContext.isInMetadata()) {
+            return null;
+        }
+
+        int columns = decodeContext.getTotalColumns();
+
+        if (!isLob(decodeContext.getColumnType(columns - 1))) {
+            return null;
+        }
+
+        ByteBuf firstBuf = parts.get(0);
+        int lobIndex = decodeContext.isBinary() ? skipBinaryFields(firstBuf, decodeContext, columns) :
+            skipTextFields(firstBuf, columns);
+
+        if (lobIndex < 0) {
+            return null;
+        }
+
+        int end = firstBuf.writerIndex();
+        short header = firstBuf.getUnsignedByte(lobIndex);
+        int headerSize = varIntBytes(header);
+
+        if (headerSize <= 0 || lobIndex + headerSize > end) {
+            return null;
+        }
+
+        long size = getVarInt(firstBuf, lobIndex, header);
+        int headStart = lobIndex + headerSize;
+
+        if (size <= end - headStart) {
+            // The LOB has been completed by first envelope, no need streaming.
+            return null;
+        }
+
+        int prefixStart = firstBuf.readerIndex();
+        ByteBuf prefix = firstBuf.retainedSlice(prefixStart, lobIndex - prefixStart);
+        StreamingFieldValue field;
+
+        try {
+            field = new StreamingFieldValue(firstBuf.retainedSlice(headStart, end - headStart), size);
+        } catch (Throwable e) {
+            prefix.release();
+            throw e;
+        }
+
+        this.lobRemaining = size - (end - headStart);
+        firstBuf.release();
+        parts.clear();
+
+        return new RowMessage(new NormalFieldReader(prefix), field);
+    }
+
+    @Nullable
+    private LobChunkMessage decodeLobChunk(ByteBuf envelope, @Nullable SequenceIdProvider.Linkable idProvider) {
+        int size;
+
+        try {
+            size = envelope.readUnsignedMediumLE();
+
+            if (size < Envelopes.MAX_ENVELOPE_SIZE) {
+                if (idProvider == null) {
+                    envelope.skipBytes(1);
+                } else {
+                    idProvider.last(envelope.readUnsignedByte());
+                }
+            } else {
+                envelope.skipBytes(1);
+            }
+        } catch (Throwable e) {
+            envelope.release();
+            throw e;
+        }
+
+        if (lobTail) {
+            lobTail = false;
+            envelope.release();
+
+            if (size != 0) {
+                throw new R2dbcNonTransientResourceException(String.format("Unexpected %d bytes after streaming LOB", size));
+            }
+
+            return null;
+        }
+
+        long remaining = this.lobRemaining - size;
+
+        if (remaining < 0 || (remaining > 0 && size < Envelopes.MAX_ENVELOPE_SIZE)) {
+            String message = String.format("Unexpected %d bytes of streaming LOB, remaining %d bytes", size, this.lobRemaining);
+
+            this.lobRemaining = 0;
+            envelope.release();
+
+            throw new R2dbcNonTransientResourceException(message);
+        }
+
+        this.lobRemaining = remaining;
+
+        if (remaining == 0) {
+            // The row ended by a full envelope, an empty envelope would be sent as the terminal.
+            this.lobTail = size == Envelopes.MAX_ENVELOPE_SIZE;
+            return new LobChunkMessage(envelope, true);
+        }
+
+        return new LobChunkMessage(envelope, false);
+    }
+
     @Nullable
-    private static ServerMessage decodeMessage(List<ByteBuf> buffers, ConnectionContext context, DecodeContext decodeContext) {
+    private static ServerMessage decodeMessage(List<ByteBuf> buffers, int envelopeId, ConnectionContext context, DecodeContext decodeContext) {
         if (decodeContext instanceof ResultDecodeContext) {
             // Maybe very large.
             return decodeResult(buffers, context, (ResultDecodeContext) decodeContext);
+        } else if (decodeContext instanceof FetchDecodeContext) {
+            // Rows of cursor, maybe also very large.
+            return decodeFetch(buffers, context);
         }
 
         ByteBuf joined = JOINER.join(buffers);
 
         try {
             if (decodeContext instanceof CommandDecodeContext) {
-                return decodeCommandMessage(joined, context);
+                return decodeCommandMessage(joined, envelopeId, context);
             } else if (decodeContext instanceof PreparedMetadataDecodeContext) {
                 return decodePreparedMetadata(joined, context, (PreparedMetadataDecodeContext) decodeContext);
             } else if (decodeContext instanceof PrepareQueryDecodeContext) {
@@ -136,6 +283,26 @@ public final class ServerMessageDecoder {
             // Should not has other messages when metadata reading.
         }
 
+        return decodeRow(buffers, firstBuf, header, context, "result");
+    }
+
+    private static ServerMessage decodeFetch(List<ByteBuf> buffers, ConnectionContext context) {
+        ByteBuf firstBuf = buffers.get(0);
+        short header = firstBuf.getUnsignedByte(firstBuf.readerIndex());
+
+        if (Headers.ERROR == header) {
+            ByteBuf joined = JOINER.join(buffers);
+            try {
+                return ErrorMessage.decode(joined);
+            } finally {
+                joined.release();
+            }
+        }
+
+        return decodeRow(buffers, firstBuf, header, context, "fetch");
+    }
+
+    private static ServerMessage decodeRow(List<ByteBuf> buffers, ByteBuf firstBuf, short header, ConnectionContext context, String phase) {
         if (isRow(buffers, firstBuf, header)) {
             return new RowMessage(FieldReader.of(JOINER, buffers));
         } else if (header == Headers.EOF) {
@@ -170,7 +337,7 @@ public final class ServerMessageDecoder {
             buffers.clear();
         }
 
-        throw new R2dbcNonTransientResourceException(String.format("Unknown message header 0x%x and readable bytes is %d on result phase", header, totalBytes));
+        throw new R2dbcNonTransientResourceException(String.format("Unknown message header 0x%x and readable bytes is %d on %s phase", header, totalBytes, phase));
     }
 
     private static ServerMessage decodePrepareQuery(ByteBuf buf) {
@@ -188,11 +355,14 @@ public final class ServerMessageDecoder {
         throw new R2dbcNonTransientResourceException(String.format("Unknown message header 0x%x and readable bytes is %d on prepare query phase", header, buf.readableBytes()));
     }
 
-    private static ServerMessage decodeCommandMessage(ByteBuf buf, ConnectionContext context) {
+    private static ServerMessage decodeCommandMessage(ByteBuf buf, int envelopeId, ConnectionContext context) {
         short header = buf.getUnsignedByte(buf.readerIndex());
         switch (header) {
             case Headers.ERROR:
                 return ErrorMessage.decode(buf);
+            case Headers.LOCAL_INFILE:
+                // Column count never be 0xFB, it is not a header of var integer.
+                return LocalInfileRequest.decode(envelopeId, buf, context);
             case Headers.OK:
                 if (OkMessage.isValidSize(buf.readableBytes())) {
                     return OkMessage.decode(buf, context);
@@ -254,14 +424,15 @@ public final class ServerMessageDecoder {
         try {
             int size = envelope.readUnsignedMediumLE();
             if (size < Envelopes.MAX_ENVELOPE_SIZE) {
-                if (idProvider == null) {
-                    // Just ignore sequence id because of no need link any message.
-                    envelope.skipBytes(1);
-                } else {
+                int envelopeId = envelope.readUnsignedByte();
+
+                if (idProvider != null) {
                     // Link last message.
-                    idProvider.last(envelope.readUnsignedByte());
+                    idProvider.last(envelopeId);
                 }
 
+                this.envelopeId = envelopeId;
+
                 parts.add(envelope);
                 // success, no need release
                 envelope = null;
@@ -303,6 +474,130 @@ public final class ServerMessageDecoder {
         }
     }
 
+    /**
+     * @return the index of the last field, or {@code -1} if other fields are not completed in the buffer.
+     */
+    private static int skipTextFields(ByteBuf buf, int columns) {
+        int index = buf.readerIndex();
+        int end = buf.writerIndex();
+
+        for (int i = 1; i < columns; ++i) {
+            if (index >= end) {
+                return -1;
+            }
+
+            short header = buf.getUnsignedByte(index);
+
+            if (header == DataValues.NULL_VALUE) {
+                ++index;
+            } else {
+                index = skipVarIntSizedField(buf, index, end, header);
+
+                if (index < 0) {
+                    return -1;
+                }
+            }
+        }
+
+        return index < end && buf.getUnsignedByte(index) != DataValues.NULL_VALUE ? index : -1;
+    }
+
+    /**
+     * @return the index of the last field, or {@code -1} if other fields are not completed in the buffer or
+     * the last field is {@code null}.
+     */
+    private static int skipBinaryFields(ByteBuf buf, ResultDecodeContext decodeContext, int columns) {
+        int bitmap = buf.readerIndex() + 1; // constant 0x00
+        int index = bitmap + ((columns + 9) >> 3);
+        int end = buf.writerIndex();
+
+        if (index > end) {
+            return -1;
+        }
+
+        for (int i = 0; i < columns; ++i) {
+            // The first 2-bits of null bitmap are reserved.
+            int bit = i + 2;
+            boolean isNull = (buf.getByte(bitmap + (bit >> 3)) & (1 << (bit & 7))) != 0;
+
+            if (i == columns - 1) {
+                return isNull || index >= end ? -1 : index;
+            } else if (isNull) {
+                continue;
+            } else if (index >= end) {
+                return -1;
+            }
+
+            int bytes = RowMessage.getFixedBinaryBytes(decodeContext.getColumnType(i));
+
+            if (bytes > 0) {
+                index += bytes;
+            } else {
+                index = skipVarIntSizedField(buf, index, end, buf.getUnsignedByte(index));
+
+                if (index < 0) {
+                    return -1;
+                }
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * @return the index after the field, or {@code -1} if the field is not completed in the buffer.
+     */
+    private static int skipVarIntSizedField(ByteBuf buf, int index, int end, short header) {
+        int headerSize = varIntBytes(header);
+
+        if (headerSize <= 0 || index + headerSize > end) {
+            return -1;
+        }
+
+        long size = getVarInt(buf, index, header);
+        long next = index + headerSize + size;
+
+        return size < 0 || next > end ? -1 : (int) next;
+    }
+
+    private static int varIntBytes(short header) {
+        if (header < 0xFB) {
+            return Byte.BYTES;
+        }
+
+        switch (header) {
+            case 0xFC:
+                return Byte.BYTES + Short.BYTES;
+            case 0xFD:
+                return Byte.BYTES + 3;
+            case 0xFE:
+                return Byte.BYTES + Long.BYTES;
+            default:
+                // 0xFB is NULL, 0xFF is undefined.
+                return -1;
+        }
+    }
+
+    private static long getVarInt(ByteBuf buf, int index, short header) {
+        switch (header) {
+            case 0xFC:
+                return buf.getUnsignedShortLE(index + 1);
+            case 0xFD:
+                return buf.getUnsignedMediumLE(index + 1);
+            case 0xFE:
+                return buf.getLongLE(index + 1);
+            default:
+                return header;
+        }
+    }
+
+    private static boolean isLob(short type) {
+        return DataTypes.TINY_BLOB == type ||
+            DataTypes.MEDIUM_BLOB == type ||
+            DataTypes.BLOB == type ||
+            DataTypes.LONG_BLOB == type;
+    }
+
     @Nullable
     private static SyntheticMetadataMessage decodeInMetadata(ByteBuf buf, short header, ConnectionContext context, MetadataDecodeContext decodeContext) {
         ServerMessage message;
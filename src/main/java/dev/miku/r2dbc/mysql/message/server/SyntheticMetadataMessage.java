@@ -16,7 +16,10 @@
 
 package dev.miku.r2dbc.mysql.message.server;
 
+import reactor.util.annotation.Nullable;
+
 import java.util.Arrays;
+import java.util.Objects;
 
 import static dev.miku.r2dbc.mysql.util.AssertUtils.requireNonNull;
 
@@ -32,9 +35,17 @@ public final class SyntheticMetadataMessage implements ServerMessage {
 
     private final DefinitionMetadataMessage[] messages;
 
+    @Nullable
+    private final EofMessage eof;
+
     SyntheticMetadataMessage(boolean completed, DefinitionMetadataMessage[] messages) {
+        this(completed, messages, null);
+    }
+
+    SyntheticMetadataMessage(boolean completed, DefinitionMetadataMessage[] messages, @Nullable EofMessage eof) {
         this.completed = completed;
         this.messages = requireNonNull(messages, "messages must not be null");
+        this.eof = eof;
     }
 
     public final DefinitionMetadataMessage[] unwrap() {
@@ -45,6 +56,17 @@ public final class SyntheticMetadataMessage implements ServerMessage {
         return completed;
     }
 
+    /**
+     * Get the EOF message which terminates the metadata. It is also the last message of
+     * response if a cursor has been opened by executing a prepared statement.
+     *
+     * @return the EOF message, or {@code null} if the metadata is terminated by filled-up.
+     */
+    @Nullable
+    public final EofMessage getEof() {
+        return eof;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -59,13 +81,17 @@ public final class SyntheticMetadataMessage implements ServerMessage {
         if (completed != that.completed) {
             return false;
         }
-        return Arrays.equals(messages, that.messages);
+        if (!Arrays.equals(messages, that.messages)) {
+            return false;
+        }
+        return Objects.equals(eof, that.eof);
     }
 
     @Override
     public int hashCode() {
         int result = Arrays.hashCode(messages);
         result = 31 * result + (completed ? 1 : 0);
+        result = 31 * result + (eof != null ? eof.hashCode() : 0);
         return result;
     }
 
@@ -19,6 +19,9 @@ package dev.miku.r2dbc.mysql.util;
 import dev.miku.r2dbc.mysql.collation.CharCollation;
 import dev.miku.r2dbc.mysql.constant.ServerStatuses;
 import dev.miku.r2dbc.mysql.constant.ZeroDateOption;
+import io.netty.util.collection.IntObjectHashMap;
+import io.netty.util.collection.IntObjectMap;
+import reactor.util.annotation.Nullable;
 
 /**
  * The MySQL connection context considers the behavior of server or client.
@@ -37,6 +40,11 @@ public final class ConnectionContext {
 
     private final ZeroDateOption zeroDateOption;
 
+    /**
+     * Stream large LOB of the last column while the row is arriving.
+     */
+    private final boolean lobStreaming;
+
     /**
      * Client character collation.
      */
@@ -50,8 +58,46 @@ public final class ConnectionContext {
 
     private volatile int capabilities = 0;
 
+    /**
+     * Parameter types which have been bound by last executions of prepared statements, keyed by statement
+     * id. Server keeps the types until the statement is closed or reset, so they can be omitted from the
+     * next execution if they are not changed.
+     * <p>
+     * It is NOT thread-safe, it should be accessed only by message encoding, i.e. in the event loop.
+     */
+    private final IntObjectMap<short[]> boundTypes = new IntObjectHashMap<>();
+
+    /**
+     * The {@literal max_allowed_packet} of server. It is queried only if batched inserts rewriting is
+     * enabled, so default is 1MB, which is the smallest default of supported server versions.
+     */
+    private volatile long maxAllowedPacket = 1048576;
+
+    /**
+     * The {@literal auto_increment_increment} of current session.
+     */
+    private volatile long autoIncrementIncrement = 1;
+
+    /**
+     * The {@literal transaction_isolation} of current session which is reported by session tracking,
+     * {@code null} if it has not been reported.
+     */
+    @Nullable
+    private volatile String transactionIsolation;
+
+    /**
+     * The current schema which is reported by session tracking, {@code null} if it has not been reported.
+     */
+    @Nullable
+    private volatile String schema;
+
     public ConnectionContext(ZeroDateOption zeroDateOption) {
+        this(zeroDateOption, false);
+    }
+
+    public ConnectionContext(ZeroDateOption zeroDateOption, boolean lobStreaming) {
         this.zeroDateOption = AssertUtils.requireNonNull(zeroDateOption, "zeroDateOption must not be null");
+        this.lobStreaming = lobStreaming;
     }
 
     public int getConnectionId() {
@@ -78,6 +124,10 @@ public final class ConnectionContext {
         return zeroDateOption;
     }
 
+    public boolean isLobStreaming() {
+        return lobStreaming;
+    }
+
     public short getServerStatuses() {
         return serverStatuses;
     }
@@ -93,4 +143,85 @@ public final class ConnectionContext {
     public void setCapabilities(int capabilities) {
         this.capabilities = capabilities;
     }
+
+    public long getMaxAllowedPacket() {
+        return maxAllowedPacket;
+    }
+
+    public void setMaxAllowedPacket(long maxAllowedPacket) {
+        this.maxAllowedPacket = maxAllowedPacket;
+    }
+
+    public long getAutoIncrementIncrement() {
+        return autoIncrementIncrement;
+    }
+
+    public void setAutoIncrementIncrement(long autoIncrementIncrement) {
+        this.autoIncrementIncrement = autoIncrementIncrement;
+    }
+
+    @Nullable
+    public String getTransactionIsolation() {
+        return transactionIsolation;
+    }
+
+    public void setTransactionIsolation(@Nullable String transactionIsolation) {
+        this.transactionIsolation = transactionIsolation;
+    }
+
+    @Nullable
+    public String getSchema() {
+        return schema;
+    }
+
+    public void setSchema(@Nullable String schema) {
+        this.schema = schema;
+    }
+
+    /**
+     * Apply a changed system variable which is reported by session tracking, unknown variables and
+     * malformed values will be ignored.
+     *
+     * @param name  the name of system variable.
+     * @param value the new value of system variable.
+     */
+    public void setSystemVariable(String name, String value) {
+        switch (name) {
+            case "transaction_isolation":
+            case "tx_isolation":
+                this.transactionIsolation = value;
+                break;
+            case "max_allowed_packet":
+                try {
+                    this.maxAllowedPacket = Long.parseLong(value);
+                } catch (NumberFormatException ignored) {
+                    // Keep the previous value.
+                }
+                break;
+            case "auto_increment_increment":
+                try {
+                    this.autoIncrementIncrement = Long.parseLong(value);
+                } catch (NumberFormatException ignored) {
+                    // Keep the previous value.
+                }
+                break;
+        }
+    }
+
+    @Nullable
+    public short[] getBoundTypes(int statementId) {
+        return boundTypes.get(statementId);
+    }
+
+    public void setBoundTypes(int statementId, short[] types) {
+        boundTypes.put(statementId, types);
+    }
+
+    public void removeBoundTypes(int statementId) {
+        boundTypes.remove(statementId);
+    }
+
+    public void clearBoundTypes() {
+        boundTypes.clear();
+    }
 }
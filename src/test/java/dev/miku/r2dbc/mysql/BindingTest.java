@@ -0,0 +1,88 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.miku.r2dbc.mysql;
+
+import dev.miku.r2dbc.mysql.codec.Codecs;
+import dev.miku.r2dbc.mysql.message.ParameterValue;
+import dev.miku.r2dbc.mysql.util.ConnectionContext;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link Binding}.
+ */
+class BindingTest {
+
+    private final ConnectionContext context = MockClient.context("8.0.18");
+
+    @Test
+    void estimateSize() {
+        Binding binding = new Binding(3);
+
+        // utf8mb4 is 4 bytes per character, and size prefix is 1 byte.
+        binding.add(0, Codecs.getInstance().encode("abc", context));
+        binding.add(1, Codecs.getInstance().encode(ByteBuffer.allocate(300), context));
+        binding.add(2, Codecs.getInstance().encodeNull());
+
+        assertEquals(13 + 303, binding.estimateSize());
+    }
+
+    @Test
+    void estimateUnknownSize() {
+        ParameterValue unknown = mock(ParameterValue.class);
+
+        when(unknown.estimateSize()).thenReturn(-1);
+
+        Binding binding = new Binding(2);
+
+        binding.add(0, Codecs.getInstance().encode("abc", context));
+        binding.add(1, unknown);
+
+        assertEquals(-1, binding.estimateSize());
+    }
+
+    @Test
+    void merge() {
+        ParameterValue a = Codecs.getInstance().encode("a", context);
+        ParameterValue b = Codecs.getInstance().encode("b", context);
+        ParameterValue c = Codecs.getInstance().encode("c", context);
+        Binding first = new Binding(2);
+        Binding second = new Binding(1);
+
+        first.add(0, a);
+        first.add(1, b);
+        second.add(0, c);
+
+        Binding merged = Binding.merge(Arrays.asList(first, second));
+        Binding expected = new Binding(3);
+
+        expected.add(0, a);
+        expected.add(1, b);
+        expected.add(2, c);
+
+        assertEquals(expected, merged);
+        // Values have been moved.
+        assertEquals(0, first.findUnbind());
+        assertEquals(0, second.findUnbind());
+    }
+}
@@ -0,0 +1,321 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.miku.r2dbc.mysql;
+
+import dev.miku.r2dbc.mysql.constant.DataTypes;
+import dev.miku.r2dbc.mysql.constant.ServerStatuses;
+import dev.miku.r2dbc.mysql.message.client.ClientMessage;
+import dev.miku.r2dbc.mysql.message.client.ResetConnectionMessage;
+import dev.miku.r2dbc.mysql.message.client.SimpleQueryMessage;
+import dev.miku.r2dbc.mysql.message.server.ServerMessage;
+import dev.miku.r2dbc.mysql.util.ConnectionContext;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionMetadata;
+import io.r2dbc.spi.IsolationLevel;
+import io.r2dbc.spi.R2dbcTimeoutException;
+import io.r2dbc.spi.ValidationDepth;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.util.annotation.Nullable;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link ConnectionPool} and {@link PooledConnection}.
+ */
+class ConnectionPoolTest {
+
+    private static final MySqlConnectionConfiguration CONFIGURATION = MySqlConnectionConfiguration.builder()
+        .host("localhost")
+        .username("root")
+        .build();
+
+    private static final String[] INIT_COLUMNS = {"i", "v"};
+
+    private static final short[] INIT_TYPES = {DataTypes.VARCHAR, DataTypes.VARCHAR};
+
+    private final List<MockClient> clients = new CopyOnWriteArrayList<>();
+
+    @Test
+    void acquireAndRelease() {
+        ConnectionPool pool = pool("8.0.18", false, 2, null);
+
+        try {
+            Connection first = pool.acquire().block();
+
+            assertThat(first).isInstanceOf(PooledConnection.class);
+            assertEquals(1, pool.getAllocatedSize());
+            assertEquals(1, pool.getAcquiredSize());
+            assertEquals(0, pool.getIdleSize());
+
+            ConnectionMetadata metadata = first.getMetadata();
+
+            Mono.from(first.close()).block();
+
+            assertEquals(1, pool.getAllocatedSize());
+            assertEquals(0, pool.getAcquiredSize());
+            assertEquals(1, pool.getIdleSize());
+            assertEquals(1, pool.getResetCount());
+            assertThrows(IllegalStateException.class, () -> first.createStatement("SELECT 1"));
+            Mono.from(first.validate(ValidationDepth.LOCAL))
+                .as(StepVerifier::create)
+                .expectNext(false)
+                .verifyComplete();
+
+            Connection second = pool.acquire().block();
+
+            assertNotNull(second);
+            // The idle connection is reused.
+            assertSame(metadata, second.getMetadata());
+            assertEquals(1, pool.getCreatedCount());
+            assertEquals(2, pool.getAcquireCount());
+            assertThat(clients).hasSize(1);
+            assertThat(clients.get(0).getRequests()).containsOnlyOnce(ResetConnectionMessage.getInstance());
+
+            Mono.from(second.close()).block();
+        } finally {
+            pool.close().block();
+        }
+    }
+
+    @Test
+    void waitForRelease() {
+        ConnectionPool pool = pool("8.0.18", false, 1, null);
+
+        try {
+            Connection first = pool.acquire().block();
+            AtomicReference<Connection> second = new AtomicReference<>();
+            pool.acquire().subscribe(second::set);
+
+            assertNotNull(first);
+            assertNull(second.get());
+            assertEquals(1, pool.getPendingAcquireSize());
+
+            Mono.from(first.close()).block();
+
+            assertNotNull(second.get());
+            assertEquals(0, pool.getPendingAcquireSize());
+            assertEquals(1, pool.getAllocatedSize());
+            assertEquals(1, pool.getCreatedCount());
+
+            Mono.from(second.get().close()).block();
+        } finally {
+            pool.close().block();
+        }
+    }
+
+    @Test
+    void acquireTimeout() {
+        ConnectionPool pool = pool("8.0.18", false, 1, Duration.ofMillis(100));
+
+        try {
+            Connection first = pool.acquire().block();
+
+            assertNotNull(first);
+
+            pool.acquire()
+                .as(StepVerifier::create)
+                .expectError(R2dbcTimeoutException.class)
+                .verify(Duration.ofSeconds(5));
+
+            assertEquals(0, pool.getPendingAcquireSize());
+
+            Mono.from(first.close()).block();
+        } finally {
+            pool.close().block();
+        }
+    }
+
+    @Test
+    void resetByRollback() {
+        ConnectionPool pool = pool("5.6.40", false, 1, null);
+
+        try {
+            Connection connection = pool.acquire().block();
+
+            assertNotNull(connection);
+
+            Mono.from(connection.setTransactionIsolationLevel(IsolationLevel.SERIALIZABLE)).block();
+            Mono.from(connection.beginTransaction()).block();
+            Mono.from(connection.close()).block();
+
+            // COM_RESET_CONNECTION is not supported by MySQL 5.6.
+            assertThat(sqls(clients.get(0))).containsExactly(
+                "SET TRANSACTION ISOLATION LEVEL SERIALIZABLE",
+                "SET autocommit=0;START TRANSACTION",
+                "ROLLBACK;SET autocommit=1"
+            );
+
+            Connection reused = pool.acquire().block();
+
+            assertNotNull(reused);
+            assertTrue(reused.isAutoCommit());
+            assertEquals(IsolationLevel.REPEATABLE_READ, reused.getTransactionIsolationLevel());
+
+            Mono.from(reused.close()).block();
+        } finally {
+            pool.close().block();
+        }
+    }
+
+    @Test
+    void resetAutoCommitAndIsolationLevel() {
+        ConnectionPool pool = pool("5.6.40", false, 1, null);
+
+        try {
+            Connection connection = pool.acquire().block();
+
+            assertNotNull(connection);
+
+            Mono.from(connection.setTransactionIsolationLevel(IsolationLevel.READ_COMMITTED)).block();
+            Mono.from(connection.setAutoCommit(false)).block();
+            Mono.from(connection.close()).block();
+
+            assertThat(sqls(clients.get(0))).containsExactly(
+                "SET TRANSACTION ISOLATION LEVEL READ COMMITTED",
+                "SET autocommit=0",
+                "SET autocommit=1",
+                "SET TRANSACTION ISOLATION LEVEL REPEATABLE READ"
+            );
+            assertEquals(1, pool.getResetCount());
+            assertEquals(1, pool.getIdleSize());
+        } finally {
+            pool.close().block();
+        }
+    }
+
+    @Test
+    void discardResetFailed() {
+        ConnectionPool pool = pool("8.0.18", true, 1, null);
+
+        try {
+            Connection connection = pool.acquire().block();
+
+            assertNotNull(connection);
+
+            Mono.from(connection.close()).block();
+
+            assertFalse(clients.get(0).isConnected());
+            assertEquals(0, pool.getAllocatedSize());
+            assertEquals(0, pool.getIdleSize());
+            assertEquals(0, pool.getAcquiredSize());
+            assertEquals(0, pool.getResetCount());
+            assertEquals(1, pool.getEvictionCount());
+
+            Connection created = pool.acquire().block();
+
+            assertNotNull(created);
+            assertEquals(2, pool.getCreatedCount());
+            assertEquals(1, pool.getAllocatedSize());
+
+            Mono.from(created.close()).block();
+        } finally {
+            pool.close().block();
+        }
+    }
+
+    @Test
+    void close() {
+        ConnectionPool pool = pool("8.0.18", false, 1, null);
+        Connection connection = pool.acquire().block();
+
+        assertNotNull(connection);
+
+        Mono.from(connection.close()).block();
+        pool.close().block();
+
+        assertFalse(clients.get(0).isConnected());
+        assertEquals(0, pool.getAllocatedSize());
+        pool.acquire()
+            .as(StepVerifier::create)
+            .expectError(IllegalStateException.class)
+            .verify();
+    }
+
+    private ConnectionPool pool(String version, boolean resetFailed, int maxSize, @Nullable Duration acquireTimeout) {
+        Mono<MySqlConnection> factory = Mono.defer(() -> {
+            ConnectionContext context = MockClient.context(version);
+            MockClient client = new MockClient(request -> respond(context, request, resetFailed));
+
+            clients.add(client);
+
+            return MySqlConnection.create(client, context, new QueryCache(16), CONFIGURATION);
+        });
+
+        return new ConnectionPool(factory, 0, maxSize, Duration.ofMinutes(30), acquireTimeout);
+    }
+
+    /**
+     * Respond requests like a server, and change server statuses of {@code context} like the codec.
+     */
+    private static List<ServerMessage> respond(ConnectionContext context, ClientMessage request, boolean resetFailed) {
+        if (request instanceof ResetConnectionMessage) {
+            if (resetFailed) {
+                return Collections.singletonList(MockClient.error(1047, "Unknown command"));
+            }
+
+            context.setServerStatuses(ServerStatuses.AUTO_COMMIT);
+
+            return Collections.singletonList(MockClient.ok(ServerStatuses.AUTO_COMMIT));
+        }
+
+        String sql = request instanceof SimpleQueryMessage ? ((SimpleQueryMessage) request).getSql().toString() : "";
+
+        if (sql.startsWith("SELECT @@")) {
+            return MockClient.textResult(INIT_COLUMNS, INIT_TYPES, "REPEATABLE-READ", "MySQL Community Server - GPL");
+        }
+
+        switch (sql) {
+            case "SET autocommit=0;START TRANSACTION":
+                context.setServerStatuses(ServerStatuses.IN_TRANSACTION);
+                break;
+            case "SET autocommit=0":
+                context.setServerStatuses((short) 0);
+                break;
+            case "ROLLBACK;SET autocommit=1":
+            case "SET autocommit=1":
+                context.setServerStatuses(ServerStatuses.AUTO_COMMIT);
+                break;
+        }
+
+        return Collections.singletonList(MockClient.ok(context.getServerStatuses()));
+    }
+
+    private static List<String> sqls(MockClient client) {
+        return client.getRequests()
+            .stream()
+            .filter(SimpleQueryMessage.class::isInstance)
+            .map(message -> ((SimpleQueryMessage) message).getSql().toString())
+            .filter(sql -> !sql.startsWith("SELECT @@"))
+            .collect(Collectors.toList());
+    }
+}
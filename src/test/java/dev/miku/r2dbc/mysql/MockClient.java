@@ -0,0 +1,284 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.miku.r2dbc.mysql;
+
+import dev.miku.r2dbc.mysql.client.Client;
+import dev.miku.r2dbc.mysql.collation.CharCollation;
+import dev.miku.r2dbc.mysql.constant.Capabilities;
+import dev.miku.r2dbc.mysql.constant.ColumnDefinitions;
+import dev.miku.r2dbc.mysql.constant.DataTypes;
+import dev.miku.r2dbc.mysql.constant.ServerStatuses;
+import dev.miku.r2dbc.mysql.constant.ZeroDateOption;
+import dev.miku.r2dbc.mysql.message.client.ClientMessage;
+import dev.miku.r2dbc.mysql.message.client.ExchangeableMessage;
+import dev.miku.r2dbc.mysql.message.client.SendOnlyMessage;
+import dev.miku.r2dbc.mysql.message.server.DecodeContext;
+import dev.miku.r2dbc.mysql.message.server.ServerMessage;
+import dev.miku.r2dbc.mysql.message.server.ServerMessageDecoder;
+import dev.miku.r2dbc.mysql.util.CodecUtils;
+import dev.miku.r2dbc.mysql.util.ConnectionContext;
+import dev.miku.r2dbc.mysql.util.ServerVersion;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.annotation.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A {@link Client} which responds requests by scripted server messages, it is used by unit tests
+ * which should not connect to a real server.
+ */
+final class MockClient implements Client {
+
+    private static final ConnectionContext DECODE_CONTEXT = context("8.0.18");
+
+    private static final int UTF8MB4_GENERAL_CI = 45;
+
+    private final Function<ClientMessage, List<ServerMessage>> responder;
+
+    private final Function<ClientMessage, Duration> delay;
+
+    private final List<ClientMessage> requests = Collections.synchronizedList(new ArrayList<>());
+
+    private volatile boolean connected = true;
+
+    /**
+     * @param responder returns the response messages of an exchangeable request, responses of send-only
+     *                  requests will be ignored.
+     */
+    MockClient(Function<ClientMessage, List<ServerMessage>> responder) {
+        this(responder, request -> Duration.ZERO);
+    }
+
+    /**
+     * @param responder returns the response messages of an exchangeable request, responses of send-only
+     *                  requests will be ignored.
+     * @param delay     returns the delay of responses of an exchangeable request, it is called after
+     *                  {@code responder}.
+     */
+    MockClient(Function<ClientMessage, List<ServerMessage>> responder, Function<ClientMessage, Duration> delay) {
+        this.responder = responder;
+        this.delay = delay;
+    }
+
+    @Override
+    public Flux<ServerMessage> exchange(ExchangeableMessage request, Predicate<ServerMessage> complete) {
+        return Flux.defer(() -> {
+            requests.add(request);
+
+            Flux<ServerMessage> responses = Flux.fromIterable(responder.apply(request));
+            Duration duration = delay.apply(request);
+
+            return duration.isZero() ? responses : responses.delaySubscription(duration);
+        });
+    }
+
+    @Override
+    public Mono<Void> sendOnly(SendOnlyMessage message) {
+        return Mono.fromRunnable(() -> requests.add(message));
+    }
+
+    @Override
+    public Mono<ServerMessage> receiveOnly() {
+        return Mono.error(new UnsupportedOperationException("Mocked client can not receive only"));
+    }
+
+    @Override
+    public Mono<Void> close() {
+        return Mono.fromRunnable(() -> connected = false);
+    }
+
+    @Override
+    public Mono<Void> forceClose() {
+        return Mono.fromRunnable(() -> connected = false);
+    }
+
+    @Override
+    public boolean isConnected() {
+        return connected;
+    }
+
+    @Override
+    public ByteBufAllocator getByteBufAllocator() {
+        return UnpooledByteBufAllocator.DEFAULT;
+    }
+
+    @Override
+    public void sslUnsupported() {
+    }
+
+    @Override
+    public void loginSuccess() {
+    }
+
+    List<ClientMessage> getRequests() {
+        synchronized (requests) {
+            return new ArrayList<>(requests);
+        }
+    }
+
+    static ConnectionContext context(String version) {
+        ConnectionContext context = new ConnectionContext(ZeroDateOption.USE_NULL);
+
+        context.setConnectionId(1);
+        context.setCapabilities(Capabilities.ALL_SUPPORTED);
+        context.setServerVersion(ServerVersion.parse(version));
+        context.setServerStatuses(ServerStatuses.AUTO_COMMIT);
+
+        return context;
+    }
+
+    static ServerMessage ok(short serverStatuses) {
+        return ok(0, 0, serverStatuses);
+    }
+
+    static ServerMessage ok(long affectedRows, long lastInsertId, short serverStatuses) {
+        ByteBuf buf = Unpooled.buffer().writeByte(0);
+
+        CodecUtils.writeVarInt(buf, affectedRows);
+        CodecUtils.writeVarInt(buf, lastInsertId);
+        buf.writeShortLE(serverStatuses).writeShortLE(0);
+
+        return decode(buf, DecodeContext.command());
+    }
+
+    static ServerMessage eof(short serverStatuses) {
+        ByteBuf buf = Unpooled.buffer().writeByte(0xFE).writeShortLE(0).writeShortLE(serverStatuses);
+
+        return decode(buf, DecodeContext.command());
+    }
+
+    static ServerMessage error(int errorCode, String message) {
+        ByteBuf buf = Unpooled.buffer()
+            .writeByte(0xFF)
+            .writeShortLE(errorCode)
+            .writeByte('#')
+            .writeBytes("HY000".getBytes(StandardCharsets.US_ASCII))
+            .writeBytes(message.getBytes(StandardCharsets.US_ASCII));
+
+        return decode(buf, DecodeContext.command());
+    }
+
+    static ServerMessage preparedOk(int statementId, int columns, int parameters) {
+        ByteBuf buf = Unpooled.buffer()
+            .writeByte(0)
+            .writeIntLE(statementId)
+            .writeShortLE(columns)
+            .writeShortLE(parameters)
+            .writeByte(0)
+            .writeShortLE(0);
+
+        return decode(buf, DecodeContext.prepareQuery());
+    }
+
+    /**
+     * Create messages of a text result which has only one row, the last message is an EOF message.
+     *
+     * @param columns the names of columns.
+     * @param types   the types of columns, see {@link DataTypes}.
+     * @param values  the text values of the row, {@code null} means a SQL NULL.
+     * @return the metadata, row and EOF messages.
+     */
+    static List<ServerMessage> textResult(String[] columns, short[] types, String... values) {
+        return textResult(columns, types, new int[columns.length], values);
+    }
+
+    /**
+     * Create messages of a text result which has only one row, the last message is an EOF message.
+     *
+     * @param columns     the names of columns.
+     * @param types       the types of columns, see {@link DataTypes}.
+     * @param definitions the definitions of columns, see {@link ColumnDefinitions}.
+     * @param values      the text values of the row, {@code null} means a SQL NULL.
+     * @return the metadata, row and EOF messages.
+     */
+    static List<ServerMessage> textResult(String[] columns, short[] types, int[] definitions, String... values) {
+        DecodeContext result = DecodeContext.result(true, columns.length);
+        List<ServerMessage> messages = new ArrayList<>();
+
+        for (int i = 0; i < columns.length; ++i) {
+            ByteBuf buf = Unpooled.buffer();
+
+            CodecUtils.writeVarIntSizedString(buf, "def", StandardCharsets.UTF_8);
+            CodecUtils.writeVarIntSizedString(buf, "", StandardCharsets.UTF_8);
+            CodecUtils.writeVarIntSizedString(buf, "", StandardCharsets.UTF_8);
+            CodecUtils.writeVarIntSizedString(buf, "", StandardCharsets.UTF_8);
+            CodecUtils.writeVarIntSizedString(buf, columns[i], StandardCharsets.UTF_8);
+            CodecUtils.writeVarIntSizedString(buf, columns[i], StandardCharsets.UTF_8);
+            CodecUtils.writeVarInt(buf, 0x0C);
+            buf.writeShortLE(types[i] == DataTypes.VARCHAR ? UTF8MB4_GENERAL_CI : CharCollation.BINARY_ID)
+                .writeIntLE(255)
+                .writeByte(types[i])
+                .writeShortLE(definitions[i])
+                .writeByte(0)
+                .writeShortLE(0);
+
+            ServerMessage message = decodeNullable(buf, result);
+
+            if (message != null) {
+                messages.add(message);
+            }
+        }
+
+        ByteBuf row = Unpooled.buffer();
+
+        for (String value : values) {
+            if (value == null) {
+                row.writeByte(0xFB);
+            } else {
+                CodecUtils.writeVarIntSizedString(row, value, StandardCharsets.UTF_8);
+            }
+        }
+
+        messages.add(decode(row, result));
+        messages.add(eof(ServerStatuses.AUTO_COMMIT));
+
+        return messages;
+    }
+
+    private static ServerMessage decode(ByteBuf payload, DecodeContext decodeContext) {
+        ServerMessage message = decodeNullable(payload, decodeContext);
+
+        if (message == null) {
+            throw new IllegalStateException("Mocked message is incomplete");
+        }
+
+        return message;
+    }
+
+    @Nullable
+    private static ServerMessage decodeNullable(ByteBuf payload, DecodeContext decodeContext) {
+        ByteBuf envelope = Unpooled.buffer()
+            .writeMediumLE(payload.readableBytes())
+            .writeByte(1)
+            .writeBytes(payload);
+
+        payload.release();
+
+        return new ServerMessageDecoder().decode(envelope, DECODE_CONTEXT, decodeContext, null);
+    }
+}
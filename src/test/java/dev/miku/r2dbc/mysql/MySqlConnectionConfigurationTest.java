@@ -16,6 +16,7 @@
 
 package dev.miku.r2dbc.mysql;
 
+import dev.miku.r2dbc.mysql.constant.CompressionAlgorithm;
 import dev.miku.r2dbc.mysql.constant.SslMode;
 import dev.miku.r2dbc.mysql.constant.TlsVersions;
 import dev.miku.r2dbc.mysql.constant.ZeroDateOption;
@@ -98,11 +99,69 @@ class MySqlConnectionConfigurationTest {
         assertThrows(IllegalArgumentException.class, () -> MySqlConnectionConfiguration.builder().port(65536));
     }
 
+    @Test
+    void negativePrepareCacheSize() {
+        assertThrows(IllegalArgumentException.class, () -> MySqlConnectionConfiguration.builder().prepareCacheSize(-1));
+    }
+
+    @Test
+    void outOfExecuteWindowRange() {
+        assertThrows(IllegalArgumentException.class, () -> MySqlConnectionConfiguration.builder().executeWindow(0));
+        assertThrows(IllegalArgumentException.class, () -> MySqlConnectionConfiguration.builder().executeWindow(129));
+    }
+
+    @Test
+    void negativeQueryCacheSize() {
+        assertThrows(IllegalArgumentException.class, () -> MySqlConnectionConfiguration.builder().queryCacheSize(-1));
+    }
+
+    @Test
+    void invalidInboundWatermarks() {
+        assertThrows(IllegalArgumentException.class, () -> MySqlConnectionConfiguration.builder().inboundHighWatermark(1));
+        assertThrows(IllegalArgumentException.class, () -> MySqlConnectionConfiguration.builder().inboundLowWatermark(0));
+        assertThrows(IllegalArgumentException.class, () -> MySqlConnectionConfiguration.builder()
+            .host(HOST)
+            .username(USERNAME)
+            .inboundHighWatermark(64)
+            .inboundLowWatermark(64)
+            .build());
+    }
+
+    @Test
+    void invalidPoolSizes() {
+        assertThrows(IllegalArgumentException.class, () -> MySqlConnectionConfiguration.builder().poolMinSize(-1));
+        assertThrows(IllegalArgumentException.class, () -> MySqlConnectionConfiguration.builder().poolMaxSize(0));
+        assertThrows(IllegalArgumentException.class, () -> MySqlConnectionConfiguration.builder().poolMaxIdleTime(Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> MySqlConnectionConfiguration.builder()
+            .host(HOST)
+            .username(USERNAME)
+            .pooled(true)
+            .poolMinSize(8)
+            .poolMaxSize(4)
+            .build());
+    }
+
     @Test
     void allFillUp() {
         assertThat(filledUp()).extracting(MySqlConnectionConfiguration::getSsl).isNotNull();
     }
 
+    @Test
+    void compression() {
+        MySqlConnectionConfiguration configuration = filledUp();
+
+        assertThat(configuration.getCompressionAlgorithm()).isEqualTo(CompressionAlgorithm.ZLIB);
+        assertThat(configuration.getCompressionMinSize()).isEqualTo(100);
+        assertThat(configuration.getZstdCompressionLevel()).isEqualTo(7);
+    }
+
+    @Test
+    void invalidCompression() {
+        assertThrows(IllegalArgumentException.class, () -> MySqlConnectionConfiguration.builder().compressionMinSize(-1));
+        assertThrows(IllegalArgumentException.class, () -> MySqlConnectionConfiguration.builder().zstdCompressionLevel(0));
+        assertThrows(IllegalArgumentException.class, () -> MySqlConnectionConfiguration.builder().zstdCompressionLevel(23));
+    }
+
     @Test
     void isEquals() {
         assertThat(filledUp()).isEqualTo(filledUp()).extracting(Objects::hashCode).isEqualTo(filledUp().hashCode());
@@ -137,7 +196,27 @@ class MySqlConnectionConfigurationTest {
             .sslCa(SSL_CA)
             .sslKeyAndCert("/path/to/mysql/client-cert.pem", "/path/to/mysql/client-key.pem", "pem-password-in-here")
             .tlsVersion(TlsVersions.TLS1_1, TlsVersions.TLS1_2, TlsVersions.TLS1_3)
+            .preferOpenSsl(true)
             .zeroDateOption(ZeroDateOption.USE_NULL)
+            .prepareCacheSize(128)
+            .queryCacheSize(128)
+            .pipelining(true)
+            .executeWindow(64)
+            .rewriteBatchedInserts(true)
+            .inboundHighWatermark(512)
+            .inboundLowWatermark(128)
+            .compressionAlgorithm(CompressionAlgorithm.ZLIB)
+            .compressionMinSize(100)
+            .zstdCompressionLevel(7)
+            .pooled(true)
+            .poolMinSize(2)
+            .poolMaxSize(20)
+            .poolMaxIdleTime(Duration.ofMinutes(10))
+            .poolAcquireTimeout(Duration.ofSeconds(5))
+            .lobStreaming(true)
+            .allowLoadLocalInfileInPath("/var/lib/mysql-files")
+            .serverRsaPublicKeyFile("/path/to/mysql/public_key.pem")
+            .allowPublicKeyRetrieval(true)
             .build();
     }
 }
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.miku.r2dbc.mysql;
+
+import dev.miku.r2dbc.mysql.constant.DataTypes;
+import dev.miku.r2dbc.mysql.constant.ServerStatuses;
+import dev.miku.r2dbc.mysql.message.client.ClientMessage;
+import dev.miku.r2dbc.mysql.message.client.LocalInfileQueryMessage;
+import dev.miku.r2dbc.mysql.message.client.SimpleQueryMessage;
+import dev.miku.r2dbc.mysql.message.server.ServerMessage;
+import dev.miku.r2dbc.mysql.util.ConnectionContext;
+import io.r2dbc.spi.IsolationLevel;
+import io.r2dbc.spi.R2dbcPermissionDeniedException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.test.StepVerifier;
+import reactor.util.annotation.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link MySqlConnection}.
+ */
+class MySqlConnectionTest {
+
+    @Test
+    void loadLocalInfileInPath(@TempDir Path dir) throws IOException {
+        Path allowed = Files.createDirectory(dir.resolve("allowed"));
+        Path file = Files.write(allowed.resolve("data.csv"), new byte[]{'1'});
+        MockClient client = client();
+
+        connection(client, allowed).loadLocalInfile("LOAD DATA LOCAL INFILE 'data.csv' INTO TABLE t", file)
+            .as(StepVerifier::create)
+            .expectNext(3L)
+            .verifyComplete();
+
+        assertThat(client.getRequests()).filteredOn(LocalInfileQueryMessage.class::isInstance)
+            .extracting(message -> ((LocalInfileQueryMessage) message).getFile())
+            .containsExactly(file.toRealPath());
+    }
+
+    @Test
+    void loadLocalInfileDisabled(@TempDir Path dir) throws IOException {
+        Path file = Files.write(dir.resolve("data.csv"), new byte[]{'1'});
+        MockClient client = client();
+
+        connection(client, null).loadLocalInfile("LOAD DATA LOCAL INFILE 'data.csv' INTO TABLE t", file)
+            .as(StepVerifier::create)
+            .verifyError(R2dbcPermissionDeniedException.class);
+
+        assertNoLocalInfile(client);
+    }
+
+    @Test
+    void loadLocalInfileOutOfPath(@TempDir Path dir) throws IOException {
+        Path allowed = Files.createDirectory(dir.resolve("allowed"));
+        Path outside = Files.write(dir.resolve("data.csv"), new byte[]{'1'});
+        Path link = Files.createSymbolicLink(allowed.resolve("link.csv"), outside);
+        MockClient client = client();
+        MySqlConnection connection = connection(client, allowed);
+
+        connection.loadLocalInfile("LOAD DATA LOCAL INFILE 'data.csv' INTO TABLE t", outside)
+            .as(StepVerifier::create)
+            .verifyError(R2dbcPermissionDeniedException.class);
+
+        // Traverse to the parent directory.
+        connection.loadLocalInfile("LOAD DATA LOCAL INFILE 'data.csv' INTO TABLE t", allowed.resolve("../data.csv"))
+            .as(StepVerifier::create)
+            .verifyError(R2dbcPermissionDeniedException.class);
+
+        // A symbolic link is checked by its target.
+        connection.loadLocalInfile("LOAD DATA LOCAL INFILE 'link.csv' INTO TABLE t", link)
+            .as(StepVerifier::create)
+            .verifyError(R2dbcPermissionDeniedException.class);
+
+        // The allowed directory itself is not a file.
+        connection.loadLocalInfile("LOAD DATA LOCAL INFILE 'allowed' INTO TABLE t", allowed)
+            .as(StepVerifier::create)
+            .verifyError(R2dbcPermissionDeniedException.class);
+
+        // A sibling directory which has the allowed directory as its name prefix.
+        Path sibling = Files.createDirectory(dir.resolve("allowed-other"));
+        Path siblingFile = Files.write(sibling.resolve("data.csv"), new byte[]{'1'});
+
+        connection.loadLocalInfile("LOAD DATA LOCAL INFILE 'data.csv' INTO TABLE t", siblingFile)
+            .as(StepVerifier::create)
+            .verifyError(R2dbcPermissionDeniedException.class);
+
+        assertNoLocalInfile(client);
+    }
+
+    @Test
+    void queryDefaultsWithoutRewrite() {
+        MockClient client = client();
+        ConnectionContext context = MockClient.context("8.0.18");
+        MySqlConnection connection = MySqlConnection.create(client, context, new QueryCache(16), configuration(false)).block();
+
+        assertThat(connection).isNotNull();
+        assertThat(connection.getTransactionIsolationLevel()).isEqualTo(IsolationLevel.REPEATABLE_READ);
+        assertThat(client.getRequests()).hasSize(1)
+            .allMatch(message -> message instanceof SimpleQueryMessage &&
+                ((SimpleQueryMessage) message).getSql().toString().equals("SELECT @@transaction_isolation AS i, @@version_comment AS v"));
+        // Not queried, keep defaults of the context.
+        assertThat(context.getMaxAllowedPacket()).isEqualTo(1048576);
+        assertThat(context.getAutoIncrementIncrement()).isEqualTo(1);
+    }
+
+    @Test
+    void queryDefaultsByEachConnection() {
+        QueryCache queryCache = new QueryCache(16);
+        MySqlConnectionConfiguration configuration = configuration(true);
+        MockClient first = new MockClient(request -> respondDefaults(request, "REPEATABLE-READ", "4194304", "1"));
+        ConnectionContext firstContext = MockClient.context("8.0.18");
+        MySqlConnection connection = MySqlConnection.create(first, firstContext, queryCache, configuration).block();
+
+        assertThat(connection).isNotNull();
+        assertThat(connection.getTransactionIsolationLevel()).isEqualTo(IsolationLevel.REPEATABLE_READ);
+        assertThat(firstContext.getMaxAllowedPacket()).isEqualTo(4194304);
+        assertThat(firstContext.getAutoIncrementIncrement()).isEqualTo(1);
+
+        // Global variables have been changed, e.g. SET GLOBAL, the next connection should not reuse old values.
+        MockClient second = new MockClient(request -> respondDefaults(request, "READ-COMMITTED", "8388608", "2"));
+        ConnectionContext secondContext = MockClient.context("8.0.18");
+        connection = MySqlConnection.create(second, secondContext, queryCache, configuration).block();
+
+        assertThat(connection).isNotNull();
+        assertThat(connection.getTransactionIsolationLevel()).isEqualTo(IsolationLevel.READ_COMMITTED);
+        assertThat(secondContext.getMaxAllowedPacket()).isEqualTo(8388608);
+        assertThat(secondContext.getAutoIncrementIncrement()).isEqualTo(2);
+
+        assertDefaultsQueried(first);
+        assertDefaultsQueried(second);
+    }
+
+    private static List<ServerMessage> respondDefaults(ClientMessage request, String level, String maxAllowedPacket, String autoIncrementIncrement) {
+        return MockClient.textResult(new String[]{"i", "v", "p", "a"},
+            new short[]{DataTypes.VARCHAR, DataTypes.VARCHAR, DataTypes.BIGINT, DataTypes.BIGINT},
+            level, "MySQL Community Server - GPL", maxAllowedPacket, autoIncrementIncrement);
+    }
+
+    private static void assertDefaultsQueried(MockClient client) {
+        assertThat(client.getRequests()).hasSize(1)
+            .allMatch(message -> message instanceof SimpleQueryMessage &&
+                ((SimpleQueryMessage) message).getSql().toString().endsWith("@@max_allowed_packet AS p, @@auto_increment_increment AS a"));
+    }
+
+    private static MySqlConnectionConfiguration configuration(boolean rewriteBatchedInserts) {
+        return MySqlConnectionConfiguration.builder()
+            .host("localhost")
+            .username("root")
+            .rewriteBatchedInserts(rewriteBatchedInserts)
+            .build();
+    }
+
+    private static MySqlConnection connection(MockClient client, @Nullable Path allowed) {
+        MySqlConnectionConfiguration configuration = MySqlConnectionConfiguration.builder()
+            .host("localhost")
+            .username("root")
+            .allowLoadLocalInfileInPath(allowed == null ? null : allowed.toString())
+            .build();
+
+        return MySqlConnection.create(client, MockClient.context("8.0.18"), new QueryCache(16), configuration).block();
+    }
+
+    private static MockClient client() {
+        return new MockClient(MySqlConnectionTest::respond);
+    }
+
+    private static List<ServerMessage> respond(ClientMessage request) {
+        if (request instanceof LocalInfileQueryMessage) {
+            return Collections.singletonList(MockClient.ok(3, 0, ServerStatuses.AUTO_COMMIT));
+        }
+
+        if (request instanceof SimpleQueryMessage && ((SimpleQueryMessage) request).getSql().toString().startsWith("SELECT @@")) {
+            return MockClient.textResult(new String[]{"i", "v"}, new short[]{DataTypes.VARCHAR, DataTypes.VARCHAR},
+                "REPEATABLE-READ", "MySQL Community Server - GPL");
+        }
+
+        return Collections.singletonList(MockClient.ok(ServerStatuses.AUTO_COMMIT));
+    }
+
+    private static void assertNoLocalInfile(MockClient client) {
+        assertThat(client.getRequests()).noneMatch(LocalInfileQueryMessage.class::isInstance);
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.miku.r2dbc.mysql;
+
+import dev.miku.r2dbc.mysql.codec.Codecs;
+import dev.miku.r2dbc.mysql.constant.ColumnDefinitions;
+import dev.miku.r2dbc.mysql.constant.DataTypes;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for {@link MySqlRow}.
+ */
+class MySqlRowTest {
+
+    private static final String[] COLUMNS = {"i", "l", "u", "d", "s", "n"};
+
+    private static final short[] TYPES = {
+        DataTypes.INT, DataTypes.BIGINT, DataTypes.BIGINT, DataTypes.DOUBLE, DataTypes.VARCHAR, DataTypes.BIGINT
+    };
+
+    private static final int[] DEFINITIONS = {0, 0, ColumnDefinitions.UNSIGNED, 0, 0, 0};
+
+    private static final String[] VALUES = {
+        "-2147483648", "-9223372036854775808", "18446744073709551615", "1.5", "text", null
+    };
+
+    @Test
+    void primitives() {
+        withRow(row -> {
+            assertEquals(Integer.MIN_VALUE, row.getInt(0));
+            assertEquals(Integer.MIN_VALUE, row.getInt("i"));
+            assertEquals(Integer.MIN_VALUE, row.getLong("i"));
+            assertEquals(Long.MIN_VALUE, row.getLong(1));
+            assertEquals(Long.MIN_VALUE, row.getLong("l"));
+            assertEquals(1.5, row.getDouble(3));
+            assertEquals(1.5, row.getDouble("d"));
+        });
+    }
+
+    @Test
+    void unsignedLong() {
+        withRow(row -> {
+            // 2^64 - 1 is greater than Long.MAX_VALUE, so it can only be kept as all bits.
+            assertEquals(-1L, row.getUnsignedLong(2));
+            assertEquals(-1L, row.getUnsignedLong("u"));
+            assertEquals("18446744073709551615", Long.toUnsignedString(row.getUnsignedLong("u")));
+            assertEquals(1, Long.compareUnsigned(row.getUnsignedLong("u"), Long.MAX_VALUE));
+            // Negative value of a signed column is not an unsigned value.
+            assertThrows(IllegalArgumentException.class, () -> row.getUnsignedLong(1));
+            assertThrows(IllegalArgumentException.class, () -> row.getUnsignedLong("l"));
+        });
+    }
+
+    @Test
+    void nullValue() {
+        withRow(row -> {
+            assertThrows(IllegalArgumentException.class, () -> row.getInt(5));
+            assertThrows(IllegalArgumentException.class, () -> row.getLong(5));
+            assertThrows(IllegalArgumentException.class, () -> row.getLong("n"));
+            assertThrows(IllegalArgumentException.class, () -> row.getUnsignedLong(5));
+            assertThrows(IllegalArgumentException.class, () -> row.getUnsignedLong("n"));
+        });
+    }
+
+    @Test
+    void unsupportedColumn() {
+        withRow(row -> {
+            assertThrows(IllegalArgumentException.class, () -> row.getInt(1));
+            assertThrows(IllegalArgumentException.class, () -> row.getInt("u"));
+            assertThrows(IllegalArgumentException.class, () -> row.getLong("s"));
+            assertThrows(IllegalArgumentException.class, () -> row.getDouble("l"));
+            assertThrows(IllegalArgumentException.class, () -> row.getBoolean(0));
+            assertThrows(IllegalArgumentException.class, () -> row.getBoolean("s"));
+        });
+    }
+
+    @Test
+    void unknownName() {
+        withRow(row -> {
+            assertThrows(NoSuchElementException.class, () -> row.getInt("x"));
+            assertThrows(NoSuchElementException.class, () -> row.getLong("x"));
+            assertThrows(NoSuchElementException.class, () -> row.getUnsignedLong("x"));
+            assertThrows(NoSuchElementException.class, () -> row.getDouble("x"));
+            assertThrows(NoSuchElementException.class, () -> row.getBoolean("x"));
+        });
+    }
+
+    @Test
+    void valuesNotConsumed() {
+        withRow(row -> {
+            // Primitive getters must not move the reader index of field values.
+            assertEquals(row.getLong(1), row.getLong("l"));
+            assertEquals(row.getLong(1), row.get(1, Long.class));
+            assertEquals("text", row.get("s", String.class));
+        });
+    }
+
+    private static void withRow(Consumer<MySqlRow> consumer) {
+        MySqlResult result = new MySqlResult(false, Codecs.getInstance(), MockClient.context("8.0.18"), null,
+            Flux.fromIterable(MockClient.textResult(COLUMNS, TYPES, DEFINITIONS, VALUES)));
+
+        Flux.from(result.map((row, metadata) -> {
+            consumer.accept((MySqlRow) row);
+            return true;
+        }))
+            .as(StepVerifier::create)
+            .expectNext(true)
+            .verifyComplete();
+    }
+}
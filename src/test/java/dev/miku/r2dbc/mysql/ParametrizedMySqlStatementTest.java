@@ -0,0 +1,196 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.miku.r2dbc.mysql;
+
+import dev.miku.r2dbc.mysql.codec.Codecs;
+import dev.miku.r2dbc.mysql.constant.ServerStatuses;
+import dev.miku.r2dbc.mysql.message.client.ClientMessage;
+import dev.miku.r2dbc.mysql.message.client.PrepareQueryMessage;
+import dev.miku.r2dbc.mysql.message.client.PreparedExecuteMessage;
+import dev.miku.r2dbc.mysql.util.ConnectionContext;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link ParametrizedMySqlStatement}.
+ */
+class ParametrizedMySqlStatementTest {
+
+    private static final String SQL = "INSERT INTO t (a, b) VALUES (?, ?)";
+
+    private static final Pattern PARAMETERS = Pattern.compile("has (\\d+) parameters");
+
+    private final ConnectionContext context = MockClient.context("8.0.18");
+
+    private final Query query = Query.parse(SQL);
+
+    @Test
+    void mergeRows() {
+        MockClient client = insertClient(10);
+        ParametrizedMySqlStatement statement = statement(client);
+
+        for (int i = 0; i < 3; ++i) {
+            statement.bind(0, i).bind(1, "row" + i).add();
+        }
+
+        statement.execute()
+            .concatMap(MySqlResult::getRowsUpdated)
+            .as(StepVerifier::create)
+            .expectNext(1, 1, 1)
+            .verifyComplete();
+
+        assertThat(prepared(client)).containsExactly(query.getMultiRowSql(3));
+        assertThat(executed(client)).containsExactly(6);
+    }
+
+    @Test
+    void splitRows() {
+        MockClient client = insertClient(0);
+        ParametrizedMySqlStatement statement = statement(client);
+        String value = String.join("", Collections.nCopies(1000, "a"));
+        long rowSize = Codecs.getInstance().encode(value, context).estimateSize() * 2L;
+
+        // Only 2 rows can be merged into a statement, other costs of a row are much smaller than values.
+        context.setMaxAllowedPacket(rowSize * 5 / 2);
+
+        for (int i = 0; i < 5; ++i) {
+            statement.bind(0, value).bind(1, value).add();
+        }
+
+        statement.execute()
+            .concatMap(MySqlResult::getRowsUpdated)
+            .as(StepVerifier::create)
+            .expectNext(1, 1, 1, 1, 1)
+            .verifyComplete();
+
+        assertThat(prepared(client)).containsExactly(query.getMultiRowSql(2), query.getMultiRowSql(2), SQL);
+        assertThat(executed(client)).containsExactly(4, 4, 2);
+    }
+
+    @Test
+    void deriveResults() {
+        MockClient client = insertClient(10);
+        ParametrizedMySqlStatement statement = statement(client);
+
+        context.setAutoIncrementIncrement(5);
+
+        for (int i = 0; i < 3; ++i) {
+            statement.bind(0, i).bind(1, "row" + i).add();
+        }
+
+        Flux.from(statement.returnGeneratedValues("id").execute())
+            .concatMap(result -> Flux.from(result.map((row, metadata) -> row.get("id", Long.class))))
+            .as(StepVerifier::create)
+            .expectNext(10L, 15L, 20L)
+            .verifyComplete();
+    }
+
+    @Test
+    void deriveResultsWithoutGenerated() {
+        MockClient client = insertClient(0);
+        ParametrizedMySqlStatement statement = statement(client);
+
+        for (int i = 0; i < 2; ++i) {
+            statement.bind(0, i).bind(1, "row" + i).add();
+        }
+
+        Flux.from(statement.returnGeneratedValues("id").execute())
+            .concatMap(result -> Flux.from(result.map((row, metadata) -> row.get("id", Long.class))))
+            .as(StepVerifier::create)
+            .expectNext(0L, 0L)
+            .verifyComplete();
+    }
+
+    @Test
+    void notRewritable() {
+        MockClient client = insertClient(0);
+        ParametrizedMySqlStatement statement = new ParametrizedMySqlStatement(client, Codecs.getInstance(),
+            context, query, new PrepareCache(1, id -> {
+        }), 1, false);
+
+        for (int i = 0; i < 2; ++i) {
+            statement.bind(0, i).bind(1, "row" + i).add();
+        }
+
+        statement.execute()
+            .concatMap(MySqlResult::getRowsUpdated)
+            .as(StepVerifier::create)
+            .expectNext(1, 1)
+            .verifyComplete();
+
+        assertThat(prepared(client)).containsExactly(SQL);
+        assertThat(executed(client)).containsExactly(2, 2);
+    }
+
+    private ParametrizedMySqlStatement statement(MockClient client) {
+        return new ParametrizedMySqlStatement(client, Codecs.getInstance(), context, query, new PrepareCache(0, id -> {
+        }), 1, true);
+    }
+
+    /**
+     * Create a {@link MockClient} which responds an execution of a multi-row {@literal INSERT} statement
+     * by affected rows and the first generated ID.
+     */
+    private static MockClient insertClient(long firstId) {
+        AtomicInteger statementId = new AtomicInteger();
+
+        return new MockClient(request -> {
+            if (request instanceof PrepareQueryMessage) {
+                String sql = ((PrepareQueryMessage) request).getSql().toString();
+                int parameters = (int) sql.chars().filter(c -> c == '?').count();
+
+                return Collections.singletonList(MockClient.preparedOk(statementId.incrementAndGet(), 0, parameters));
+            }
+
+            int rows = parameters(request) / 2;
+
+            return Collections.singletonList(MockClient.ok(rows, firstId, ServerStatuses.AUTO_COMMIT));
+        });
+    }
+
+    private static List<String> prepared(MockClient client) {
+        return client.getRequests()
+            .stream()
+            .filter(PrepareQueryMessage.class::isInstance)
+            .map(message -> ((PrepareQueryMessage) message).getSql().toString())
+            .collect(Collectors.toList());
+    }
+
+    private static List<Integer> executed(MockClient client) {
+        return client.getRequests()
+            .stream()
+            .filter(PreparedExecuteMessage.class::isInstance)
+            .map(ParametrizedMySqlStatementTest::parameters)
+            .collect(Collectors.toList());
+    }
+
+    private static int parameters(ClientMessage message) {
+        Matcher matcher = PARAMETERS.matcher(message.toString());
+
+        return matcher.find() ? Integer.parseInt(matcher.group(1)) : 0;
+    }
+}
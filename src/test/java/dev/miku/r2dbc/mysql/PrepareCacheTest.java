@@ -0,0 +1,163 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.miku.r2dbc.mysql;
+
+import dev.miku.r2dbc.mysql.message.server.PreparedOkMessage;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for {@link PrepareCache}.
+ */
+class PrepareCacheTest {
+
+    @Test
+    void lru() {
+        List<Integer> closed = new ArrayList<>();
+        PrepareCache cache = new PrepareCache(2, closed::add);
+
+        cache.release(cache.putAndAcquire("SELECT 1", prepared(1)));
+        cache.release(cache.putAndAcquire("SELECT 2", prepared(2)));
+
+        // Access the first statement, so second statement is the least recently used.
+        PrepareCache.Entry first = cache.acquire("SELECT 1");
+
+        assertNotNull(first);
+        assertEquals(1, first.getStatementId());
+        cache.release(first);
+
+        cache.release(cache.putAndAcquire("SELECT 3", prepared(3)));
+
+        assertThat(closed).containsExactly(2);
+        assertNull(cache.acquire("SELECT 2"));
+        assertEquals(2, cache.getSize());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.getEvictions());
+    }
+
+    @Test
+    void closeEvictedOnReleased() {
+        List<Integer> closed = new ArrayList<>();
+        PrepareCache cache = new PrepareCache(1, closed::add);
+        PrepareCache.Entry first = cache.putAndAcquire("SELECT 1", prepared(1));
+
+        cache.release(cache.putAndAcquire("SELECT 2", prepared(2)));
+
+        // Evicted but still executing.
+        assertThat(closed).isEmpty();
+
+        cache.release(first);
+
+        assertThat(closed).containsExactly(1);
+    }
+
+    @Test
+    void concurrentPrepared() {
+        List<Integer> closed = new ArrayList<>();
+        PrepareCache cache = new PrepareCache(2, closed::add);
+        PrepareCache.Entry first = cache.putAndAcquire("SELECT 1", prepared(1));
+        PrepareCache.Entry second = cache.putAndAcquire("SELECT 1", prepared(2));
+
+        cache.release(second);
+
+        assertThat(closed).containsExactly(2);
+
+        cache.release(first);
+
+        assertThat(closed).containsExactly(2);
+        assertSame(first, cache.acquire("SELECT 1"));
+    }
+
+    @Test
+    void disabled() {
+        List<Integer> closed = new ArrayList<>();
+        PrepareCache cache = new PrepareCache(0, closed::add);
+
+        assertNull(cache.acquire("SELECT 1"));
+
+        cache.release(cache.putAndAcquire("SELECT 1", prepared(1)));
+
+        assertThat(closed).containsExactly(1);
+        assertNull(cache.acquire("SELECT 1"));
+        assertEquals(0, cache.getSize());
+        assertEquals(0, cache.getMisses());
+    }
+
+    @Test
+    void invalidate() {
+        List<Integer> closed = new ArrayList<>();
+        PrepareCache cache = new PrepareCache(2, closed::add);
+
+        cache.release(cache.putAndAcquire("SELECT 1", prepared(1)));
+
+        PrepareCache.Entry entry = cache.acquire("SELECT 1");
+
+        assertNotNull(entry);
+
+        cache.invalidate("SELECT 1", entry);
+        cache.release(entry);
+
+        // Server has deallocated it, no need to close.
+        assertThat(closed).isEmpty();
+        assertNull(cache.acquire("SELECT 1"));
+        assertEquals(0, cache.getSize());
+
+        PrepareCache.Entry renewed = cache.putAndAcquire("SELECT 1", prepared(2));
+
+        // Invalidate a stale entry should not remove the renewed entry.
+        cache.invalidate("SELECT 1", entry);
+
+        assertSame(renewed, cache.acquire("SELECT 1"));
+    }
+
+    @Test
+    void clear() {
+        List<Integer> closed = new ArrayList<>();
+        PrepareCache cache = new PrepareCache(2, closed::add);
+        PrepareCache.Entry entry = cache.putAndAcquire("SELECT 1", prepared(1));
+
+        assertSame(entry, cache.acquire("SELECT 1"));
+
+        cache.clear();
+        cache.release(entry);
+        cache.release(entry);
+
+        // Server has deallocated it, the last release should not close it.
+        assertThat(closed).isEmpty();
+        assertNull(cache.acquire("SELECT 1"));
+    }
+
+    @Test
+    void invalid() {
+        assertThrows(IllegalArgumentException.class, () -> new PrepareCache(-1, id -> {
+        }));
+    }
+
+    private static PreparedOkMessage prepared(int statementId) {
+        return (PreparedOkMessage) MockClient.preparedOk(statementId, 0, 1);
+    }
+}
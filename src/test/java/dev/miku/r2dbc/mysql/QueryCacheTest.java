@@ -0,0 +1,103 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.miku.r2dbc.mysql;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for {@link QueryCache}.
+ */
+class QueryCacheTest {
+
+    @Test
+    void lru() {
+        QueryCache cache = new QueryCache(2);
+        Query first = cache.get("SELECT * FROM `user` WHERE `id` = ?id");
+
+        assertEquals(Query.parse("SELECT * FROM `user` WHERE `id` = ?id"), first);
+        assertSame(first, cache.get("SELECT * FROM `user` WHERE `id` = ?id"));
+
+        cache.get("SELECT * FROM `user` WHERE `name` = ?name");
+        // Access the first query, so second query is the least recently used.
+        assertSame(first, cache.get("SELECT * FROM `user` WHERE `id` = ?id"));
+        cache.get("SELECT 1");
+
+        assertEquals(2, cache.getSize());
+        assertEquals(2, cache.getHits());
+        assertEquals(3, cache.getMisses());
+        assertEquals(1, cache.getEvictions());
+        assertSame(first, cache.get("SELECT * FROM `user` WHERE `id` = ?id"));
+    }
+
+    @Test
+    void concurrentGet() throws Exception {
+        QueryCache cache = new QueryCache(4);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+
+            for (int i = 0; i < 4; ++i) {
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < 1000; ++j) {
+                        String sql = "SELECT * FROM `user` WHERE `id` = ?id AND `type` = " + (j % 8);
+
+                        assertEquals(Query.parse(sql), cache.get(sql));
+                    }
+                }));
+            }
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(cache.getSize()).isBetween(1, 4);
+        assertEquals(4000, cache.getHits() + cache.getMisses());
+        assertThat(cache.getEvictions()).isLessThanOrEqualTo(cache.getMisses());
+    }
+
+    @Test
+    void disabled() {
+        QueryCache cache = new QueryCache(0);
+        Query query = cache.get("SELECT * FROM `user` WHERE `id` = ?id");
+
+        assertNotSame(query, cache.get("SELECT * FROM `user` WHERE `id` = ?id"));
+        assertEquals(0, cache.getSize());
+        assertEquals(0, cache.getHits());
+        assertEquals(0, cache.getMisses());
+    }
+
+    @Test
+    void invalid() {
+        assertThrows(IllegalArgumentException.class, () -> new QueryCache(-1));
+    }
+}
@@ -0,0 +1,307 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.miku.r2dbc.mysql;
+
+import dev.miku.r2dbc.mysql.codec.Codecs;
+import dev.miku.r2dbc.mysql.constant.ServerStatuses;
+import dev.miku.r2dbc.mysql.message.ParameterValue;
+import dev.miku.r2dbc.mysql.message.client.ClientMessage;
+import dev.miku.r2dbc.mysql.message.client.PrepareQueryMessage;
+import dev.miku.r2dbc.mysql.message.client.PreparedExecuteMessage;
+import dev.miku.r2dbc.mysql.message.client.PreparedFetchMessage;
+import dev.miku.r2dbc.mysql.message.client.PreparedLargeDataMessage;
+import dev.miku.r2dbc.mysql.message.server.OkMessage;
+import dev.miku.r2dbc.mysql.message.server.PreparedOkMessage;
+import dev.miku.r2dbc.mysql.message.server.ServerMessage;
+import dev.miku.r2dbc.mysql.message.server.ServerStatusMessage;
+import dev.miku.r2dbc.mysql.util.ConnectionContext;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import io.r2dbc.spi.Blob;
+import io.r2dbc.spi.R2dbcException;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for {@link QueryFlow}.
+ */
+class QueryFlowTest {
+
+    private static final String SQL = "SELECT ?";
+
+    /**
+     * A row of cursor, it is a placeholder which should be passed through.
+     */
+    private static final ServerMessage ROW = new ServerMessage() {
+    };
+
+    private final ConnectionContext context = MockClient.context("8.0.18");
+
+    @Test
+    void retryUnknownStatement() {
+        List<Integer> closed = new ArrayList<>();
+        PrepareCache cache = cached(closed);
+        MockClient client = new MockClient(request -> {
+            if (request instanceof PrepareQueryMessage) {
+                return Collections.singletonList(MockClient.preparedOk(2, 0, 1));
+            } else if (isExecute(request, 1)) {
+                return Collections.singletonList(MockClient.error(1243, "Unknown prepared statement handler (1) given to mysqld_stmt_execute"));
+            }
+
+            return Collections.singletonList(MockClient.ok(1, 0, ServerStatuses.AUTO_COMMIT));
+        });
+
+        QueryFlow.execute(client, cache, SQL, Collections.singletonList(binding(1)), 1, 0)
+            .as(StepVerifier::create)
+            .assertNext(message -> assertThat(message).isInstanceOf(OkMessage.class))
+            .verifyComplete();
+
+        List<ClientMessage> requests = client.getRequests();
+
+        assertEquals(3, requests.size());
+        assertThat(isExecute(requests.get(0), 1)).isTrue();
+        assertThat(requests.get(1)).isEqualTo(new PrepareQueryMessage(SQL));
+        assertThat(isExecute(requests.get(2), 2)).isTrue();
+        // Deallocated statement should not be closed again.
+        assertThat(closed).isEmpty();
+
+        PrepareCache.Entry entry = cache.acquire(SQL);
+
+        assertNotNull(entry);
+        assertEquals(2, entry.getStatementId());
+    }
+
+    @Test
+    void retryUnknownStatementBindings() {
+        PrepareCache cache = cached(new ArrayList<>());
+        MockClient client = new MockClient(request -> {
+            if (request instanceof PrepareQueryMessage) {
+                return Collections.singletonList(MockClient.preparedOk(2, 0, 1));
+            } else if (isExecute(request, 1)) {
+                return Collections.singletonList(MockClient.error(1243, "Unknown prepared statement handler (1) given to mysqld_stmt_execute"));
+            }
+
+            return Collections.singletonList(MockClient.ok(1, 0, ServerStatuses.AUTO_COMMIT));
+        });
+
+        QueryFlow.execute(client, cache, SQL, Arrays.asList(binding(1), binding(2)), 1, 0)
+            .as(StepVerifier::create)
+            .expectNextCount(2)
+            .verifyComplete();
+
+        List<ClientMessage> requests = client.getRequests();
+
+        assertEquals(4, requests.size());
+        // Values of all bindings are kept after the first execution failed.
+        assertArrayEquals(encode(binding(1).toMessage(2, false, false)), encode(requests.get(2)));
+        assertArrayEquals(encode(binding(2).toMessage(2, false, false)), encode(requests.get(3)));
+    }
+
+    @Test
+    void notRetryOtherErrors() {
+        List<Integer> closed = new ArrayList<>();
+        PrepareCache cache = cached(closed);
+        MockClient client = new MockClient(request ->
+            Collections.singletonList(MockClient.error(1064, "You have an error in your SQL syntax")));
+
+        QueryFlow.execute(client, cache, SQL, Collections.singletonList(binding(1)), 1, 0)
+            .as(StepVerifier::create)
+            .expectErrorMatches(e -> e instanceof R2dbcException && ((R2dbcException) e).getErrorCode() == 1064)
+            .verify();
+
+        assertEquals(1, client.getRequests().size());
+        assertThat(closed).isEmpty();
+
+        PrepareCache.Entry entry = cache.acquire(SQL);
+
+        assertNotNull(entry);
+        assertEquals(1, entry.getStatementId());
+    }
+
+    @Test
+    void pipelinedInOrder() {
+        AtomicInteger executes = new AtomicInteger();
+        AtomicInteger responded = new AtomicInteger();
+        List<Integer> respondedOnExecutes = Collections.synchronizedList(new ArrayList<>());
+        // Later bindings are responded earlier.
+        MockClient client = new MockClient(request -> {
+            respondedOnExecutes.add(responded.get());
+            return Collections.singletonList(MockClient.ok(executes.incrementAndGet(), 0, ServerStatuses.AUTO_COMMIT));
+        }, request -> Duration.ofMillis(100L * (3 - executes.get())));
+
+        QueryFlow.execute(client, SQL, 1, Arrays.asList(binding(1), binding(2), binding(3)), 3, 0)
+            .doOnNext(ignored -> responded.incrementAndGet())
+            .map(message -> ((OkMessage) message).getAffectedRows())
+            .as(StepVerifier::create)
+            .expectNext(1L, 2L, 3L)
+            .verifyComplete();
+
+        // All bindings are sent before any response.
+        assertThat(respondedOnExecutes).containsExactly(0, 0, 0);
+    }
+
+    @Test
+    void pipelinedFailed() {
+        ParameterValue third = mock(ParameterValue.class);
+        ParameterValue fourth = mock(ParameterValue.class);
+        AtomicInteger executes = new AtomicInteger();
+        MockClient client = new MockClient(request -> executes.incrementAndGet() == 2 ?
+            Collections.singletonList(MockClient.error(1062, "Duplicate entry '2' for key 'PRIMARY'")) :
+            Collections.singletonList(MockClient.ok(1, 0, ServerStatuses.AUTO_COMMIT)),
+            request -> executes.get() == 1 ? Duration.ofMillis(100) : Duration.ZERO);
+
+        QueryFlow.execute(client, SQL, 1, Arrays.asList(binding(1), binding(2), binding(third), binding(fourth)), 2, 0)
+            .as(StepVerifier::create)
+            .expectErrorMatches(e -> e instanceof R2dbcException && ((R2dbcException) e).getErrorCode() == 1062)
+            .verify();
+
+        // Bindings after the failed binding are never sent, and their values are released.
+        assertThat(client.getRequests()).hasSize(2);
+        verify(third).dispose();
+        verify(fourth).dispose();
+    }
+
+    @Test
+    void longDataNotPipelined() {
+        AtomicInteger executes = new AtomicInteger();
+        AtomicInteger responded = new AtomicInteger();
+        List<Integer> respondedOnExecutes = Collections.synchronizedList(new ArrayList<>());
+        MockClient client = new MockClient(request -> {
+            respondedOnExecutes.add(responded.get());
+            return Collections.singletonList(MockClient.ok(executes.incrementAndGet(), 0, ServerStatuses.AUTO_COMMIT));
+        }, request -> executes.get() == 1 ? Duration.ofMillis(100) : Duration.ZERO);
+        Binding lob = binding(Codecs.getInstance().encode(blob(new byte[]{1, 2}), context));
+
+        QueryFlow.execute(client, SQL, 1, Arrays.asList(binding(1), lob, binding(3)), 3, 0)
+            .doOnNext(ignored -> responded.incrementAndGet())
+            .map(message -> ((OkMessage) message).getAffectedRows())
+            .as(StepVerifier::create)
+            .expectNext(1L, 2L, 3L)
+            .verifyComplete();
+
+        // Each binding is sent after the previous binding has been responded.
+        assertThat(respondedOnExecutes).containsExactly(0, 1, 2);
+        assertThat(client.getRequests()).hasSize(4);
+        assertThat(client.getRequests().get(1)).isInstanceOf(PreparedLargeDataMessage.class);
+    }
+
+    @Test
+    void fetchCursor() {
+        short opened = (short) (ServerStatuses.AUTO_COMMIT | ServerStatuses.CURSOR_EXISTS);
+        short last = (short) (opened | ServerStatuses.LAST_ROW_SENT);
+        AtomicInteger fetches = new AtomicInteger();
+        MockClient client = new MockClient(request -> {
+            if (request instanceof PrepareQueryMessage) {
+                return Collections.singletonList(MockClient.preparedOk(1, 1, 0));
+            } else if (request instanceof PreparedFetchMessage) {
+                return Arrays.asList(ROW, MockClient.eof(fetches.incrementAndGet() < 2 ? opened : last));
+            }
+
+            // The metadata EOF is the last message of executing if a cursor has been opened.
+            return Collections.singletonList(MockClient.eof(opened));
+        });
+        List<Integer> closed = new ArrayList<>();
+        String sql = "SELECT v FROM t";
+
+        QueryFlow.execute(client, new PrepareCache(1, closed::add), sql, Collections.singletonList(new Binding(0)), 1, 2)
+            .as(StepVerifier::create)
+            .expectNext(ROW, ROW)
+            .assertNext(message -> assertThat(((ServerStatusMessage) message).getServerStatuses() & ServerStatuses.LAST_ROW_SENT)
+                .isNotZero())
+            .verifyComplete();
+
+        assertThat(client.getRequests()).hasSize(4);
+        assertThat(client.getRequests().get(0)).isEqualTo(new PrepareQueryMessage(sql));
+        assertThat(client.getRequests().get(1)).hasToString("PreparedExecuteMessage{statementId=1, cursor=true, has 0 parameters}");
+        assertThat(client.getRequests().subList(2, 4)).containsExactly(new PreparedFetchMessage(1, 2), new PreparedFetchMessage(1, 2));
+        assertThat(closed).isEmpty();
+    }
+
+    private Binding binding(int value) {
+        return binding(Codecs.getInstance().encode(value, context));
+    }
+
+    private static Binding binding(ParameterValue value) {
+        Binding binding = new Binding(1);
+
+        binding.add(0, value);
+
+        return binding;
+    }
+
+    private static Blob blob(byte[] data) {
+        return new Blob() {
+
+            @Override
+            public Publisher<ByteBuffer> stream() {
+                return Mono.just(ByteBuffer.wrap(data));
+            }
+
+            @Override
+            public Publisher<Void> discard() {
+                return Mono.empty();
+            }
+        };
+    }
+
+    private static byte[] encode(ClientMessage message) {
+        // Each encoding uses a new context, so parameter types are always sent.
+        List<ByteBuf> buffers = Flux.from(message.encode(UnpooledByteBufAllocator.DEFAULT, MockClient.context("8.0.18")))
+            .collectList()
+            .block();
+        ByteBuf buf = Unpooled.wrappedBuffer(buffers.toArray(new ByteBuf[0]));
+
+        try {
+            return ByteBufUtil.getBytes(buf);
+        } finally {
+            buf.release();
+        }
+    }
+
+    private static PrepareCache cached(List<Integer> closed) {
+        PrepareCache cache = new PrepareCache(1, closed::add);
+
+        cache.release(cache.putAndAcquire(SQL, (PreparedOkMessage) MockClient.preparedOk(1, 0, 1)));
+
+        return cache;
+    }
+
+    private static boolean isExecute(ClientMessage message, int statementId) {
+        return message instanceof PreparedExecuteMessage &&
+            message.toString().startsWith("PreparedExecuteMessage{statementId=" + statementId + ",");
+    }
+}
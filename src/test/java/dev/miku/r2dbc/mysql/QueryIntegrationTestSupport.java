@@ -39,6 +39,10 @@ import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
 /**
  * Base class considers integration unit tests for queries and data.
  */
@@ -252,6 +256,47 @@ abstract class QueryIntegrationTestSupport extends IntegrationTestSupport {
 
     abstract Mono<Void> testTimeDuration(Connection connection, Duration origin, LocalTime time);
 
+    @Test
+    void primitiveGetters() {
+        String select = "SELECT id,value_int,value_bigint,value_double,value_bit FROM test WHERE id>?";
+
+        connectionFactory.create()
+            .flatMap(connection -> Mono.from(connection.createStatement("CREATE TEMPORARY TABLE test(id INT PRIMARY KEY AUTO_INCREMENT," +
+                "value_int INT,value_bigint BIGINT UNSIGNED,value_double DOUBLE,value_bit BIT(1))")
+                .execute())
+                .flatMap(IntegrationTestSupport::extractRowsUpdated)
+                .then(Mono.from(connection.createStatement("INSERT INTO test VALUES(DEFAULT,-2147483648,18446744073709551615,-1.5,b'1')")
+                    .execute()))
+                .flatMap(IntegrationTestSupport::extractRowsUpdated)
+                .thenMany(Flux.concat(
+                    // Text protocol.
+                    connection.createStatement(select.replace("?", "0")).execute(),
+                    // Binary protocol.
+                    connection.createStatement(select).bind(0, 0).execute()
+                ))
+                .concatMap(result -> result.map((row, metadata) -> {
+                    MySqlRow r = (MySqlRow) row;
+
+                    assertEquals(Integer.MIN_VALUE, r.getInt(1));
+                    assertEquals(Integer.MIN_VALUE, r.getInt("value_int"));
+                    assertEquals(Integer.MIN_VALUE, r.getLong(1));
+                    assertEquals(-1L, r.getLong("value_bigint"));
+                    assertEquals("18446744073709551615", Long.toUnsignedString(r.getUnsignedLong(2)));
+                    assertThrows(IllegalArgumentException.class, () -> r.getUnsignedLong("value_int"));
+                    assertThrows(IllegalArgumentException.class, () -> r.getInt(2));
+                    assertEquals(-1.5, r.getDouble(3));
+                    assertEquals(-1.5, r.getDouble("value_double"));
+                    assertTrue(r.getBoolean(4));
+                    assertTrue(r.getBoolean("value_bit"));
+
+                    return r.getInt(0);
+                }))
+                .concatWith(close(connection))
+                .then())
+            .as(StepVerifier::create)
+            .verifyComplete();
+    }
+
     @Test
     abstract void dateTime();
 
@@ -231,6 +231,29 @@ class QueryTest {
         assertTrue(indexes instanceof Integer);
     }
 
+    @Test
+    void rewritableInsert() {
+        assertEquals("INSERT INTO `user` VALUES (?, ?),(?, ?),(?, ?)", Query.parse("INSERT INTO `user` VALUES (?, ?)").getMultiRowSql(3));
+        assertEquals("INSERT INTO `user` (`id`, `name`) VALUE(?, NOW()),(?, NOW());", Query.parse("INSERT INTO `user` (`id`, `name`) VALUE(?, NOW());").getMultiRowSql(2));
+        assertEquals("/* c */ insert into `user` values (?),(?)", Query.parse("/* c */ insert into `user` values (?)").getMultiRowSql(2));
+        assertEquals("INSERT INTO `user` VALUES (?, '),('),(?, '),(') -- c", Query.parse("INSERT INTO `user` VALUES (?a, '),(') -- c").getMultiRowSql(2));
+        assertEquals("INSERT INTO `user` VALUES (?)", Query.parse("INSERT INTO `user` VALUES (?)").getMultiRowSql(1));
+
+        assertFalse(Query.parse("INSERT INTO `user` VALUES (1)").isRewritableInsert());
+        assertFalse(Query.parse("INSERT INTO `user` VALUES (?), (?)").isRewritableInsert());
+        assertFalse(Query.parse("INSERT IGNORE INTO `user` VALUES (?)").isRewritableInsert());
+        assertFalse(Query.parse("INSERT /*!IGNORE*/ INTO `user` VALUES (?)").isRewritableInsert());
+        assertFalse(Query.parse("INSERT INTO `user` SELECT ?").isRewritableInsert());
+        assertFalse(Query.parse("INSERT INTO `user` SET `id` = ?").isRewritableInsert());
+        assertFalse(Query.parse("INSERT INTO `user` VALUE (?) ON DUPLICATE KEY UPDATE `id` = ?").isRewritableInsert());
+        assertFalse(Query.parse("INSERT INTO `user` VALUE (?) AS `new`").isRewritableInsert());
+        assertFalse(Query.parse("INSERT INTO `user` VALUE (?); SELECT 1").isRewritableInsert());
+        assertFalse(Query.parse("REPLACE INTO `user` VALUES (?)").isRewritableInsert());
+        assertFalse(Query.parse("UPDATE `user` SET `id` = ?").isRewritableInsert());
+
+        assertThrows(IllegalStateException.class, () -> Query.parse("UPDATE `user` SET `id` = ?").getMultiRowSql(2));
+    }
+
     private static void assertPrepareQuery(String sql, String parsedSql, Map<String, int[]> nameKeyedIndexes, int parameters) {
         Query query = Query.parse(sql);
         assertTrue(query.toString().contains("parameters"));
@@ -301,6 +324,11 @@ class QueryTest {
             return DataTypes.INT;
         }
 
+        @Override
+        public int estimateSize() {
+            return Integer.BYTES;
+        }
+
         @Override
         public void dispose() {
         }
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.miku.r2dbc.mysql;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link RsaPublicKeyCache}.
+ */
+class RsaPublicKeyCacheTest {
+
+    @Test
+    void parse() throws NoSuchAlgorithmException {
+        PublicKey key = generate();
+
+        assertEquals(key, RsaPublicKeyCache.parse(pem(key)));
+        assertThrows(IllegalArgumentException.class, () -> RsaPublicKeyCache.parse("ssh-rsa AAAAB3NzaC1yc2E"));
+    }
+
+    @Test
+    void retrieved() throws NoSuchAlgorithmException {
+        RsaPublicKeyCache cache = new RsaPublicKeyCache(null, true);
+        PublicKey key = generate();
+
+        assertTrue(cache.isRetrievalAllowed());
+        assertNull(cache.get());
+
+        cache.retrieved(key);
+        assertSame(key, cache.get());
+
+        // Invalidate by another key should be ignored.
+        cache.invalidate(generate());
+        assertSame(key, cache.get());
+
+        cache.invalidate(key);
+        assertNull(cache.get());
+    }
+
+    @Test
+    void configured() throws IOException, NoSuchAlgorithmException {
+        PublicKey key = generate();
+        Path file = Files.createTempFile("public_key", ".pem");
+
+        try {
+            Files.write(file, pem(key).getBytes(StandardCharsets.US_ASCII));
+
+            RsaPublicKeyCache cache = new RsaPublicKeyCache(file, true);
+            PublicKey loaded = cache.get();
+
+            assertFalse(cache.isRetrievalAllowed());
+            assertEquals(key, loaded);
+
+            // Configured key should never be changed.
+            cache.retrieved(generate());
+            cache.invalidate(loaded);
+            assertSame(loaded, cache.get());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static PublicKey generate() throws NoSuchAlgorithmException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+
+        generator.initialize(2048);
+
+        return generator.generateKeyPair().getPublic();
+    }
+
+    private static String pem(PublicKey key) {
+        String encoded = Base64.getMimeEncoder(64, new byte[]{'\n'}).encodeToString(key.getEncoded());
+
+        return "-----BEGIN PUBLIC KEY-----\n" + encoded + "\n-----END PUBLIC KEY-----\n";
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.miku.r2dbc.mysql;
+
+import dev.miku.r2dbc.mysql.codec.Codecs;
+import dev.miku.r2dbc.mysql.constant.ServerStatuses;
+import dev.miku.r2dbc.mysql.message.client.PrepareQueryMessage;
+import dev.miku.r2dbc.mysql.message.client.PreparedCloseMessage;
+import dev.miku.r2dbc.mysql.message.client.PreparedExecuteMessage;
+import dev.miku.r2dbc.mysql.message.client.PreparedFetchMessage;
+import dev.miku.r2dbc.mysql.message.client.SimpleQueryMessage;
+import dev.miku.r2dbc.mysql.util.ConnectionContext;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link SimpleMySqlStatement}.
+ */
+class SimpleMySqlStatementTest {
+
+    private static final String SQL = "SELECT v FROM t";
+
+    private static final short CURSOR_OPENED = ServerStatuses.AUTO_COMMIT | ServerStatuses.CURSOR_EXISTS;
+
+    private static final short LAST_ROW_SENT = CURSOR_OPENED | ServerStatuses.LAST_ROW_SENT;
+
+    private final ConnectionContext context = MockClient.context("8.0.18");
+
+    @Test
+    void cursorByPrepareCache() {
+        List<Integer> closed = new ArrayList<>();
+        PrepareCache prepareCache = new PrepareCache(1, closed::add);
+        MockClient client = new MockClient(request -> {
+            if (request instanceof PrepareQueryMessage) {
+                return Collections.singletonList(MockClient.preparedOk(1, 1, 0));
+            } else if (request instanceof PreparedFetchMessage) {
+                return Collections.singletonList(MockClient.eof(LAST_ROW_SENT));
+            }
+
+            return Collections.singletonList(MockClient.eof(CURSOR_OPENED));
+        });
+
+        for (int i = 0; i < 2; ++i) {
+            MySqlStatement statement = new SimpleMySqlStatement(client, Codecs.getInstance(), context, SQL, prepareCache)
+                .fetchSize(10);
+
+            Flux.from(statement.execute())
+                .concatMap(MySqlResult::getRowsUpdated)
+                .as(StepVerifier::create)
+                .verifyComplete();
+        }
+
+        // Prepared once, executed with a cursor and fetched until last row sent.
+        assertThat(client.getRequests()).filteredOn(PrepareQueryMessage.class::isInstance).hasSize(1);
+        assertThat(client.getRequests()).filteredOn(PreparedExecuteMessage.class::isInstance)
+            .extracting(Object::toString)
+            .containsOnly("PreparedExecuteMessage{statementId=1, cursor=true, has 0 parameters}")
+            .hasSize(2);
+        assertThat(client.getRequests()).filteredOn(PreparedFetchMessage.class::isInstance)
+            .containsExactly(new PreparedFetchMessage(1, 10), new PreparedFetchMessage(1, 10));
+        assertThat(client.getRequests()).noneMatch(PreparedCloseMessage.class::isInstance);
+        assertThat(closed).isEmpty();
+    }
+
+    @Test
+    void textWithoutFetchSize() {
+        MockClient client = new MockClient(request -> Collections.singletonList(MockClient.ok(ServerStatuses.AUTO_COMMIT)));
+
+        new SimpleMySqlStatement(client, Codecs.getInstance(), context, "DO 1", new PrepareCache(1, id -> {
+        }))
+            .execute()
+            .concatMap(MySqlResult::getRowsUpdated)
+            .as(StepVerifier::create)
+            .expectNext(0)
+            .verifyComplete();
+
+        assertThat(client.getRequests()).containsExactly(new SimpleQueryMessage("DO 1"));
+    }
+}
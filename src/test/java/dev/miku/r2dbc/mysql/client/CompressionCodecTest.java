@@ -0,0 +1,141 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.miku.r2dbc.mysql.client;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link CompressionEncoder} and {@link CompressionDecoder} with {@link ZlibCompressor}
+ * and {@link ZstdCompressor}.
+ */
+class CompressionCodecTest {
+
+    private static final int MIN_SIZE = 50;
+
+    @Test
+    void zlib() {
+        compressed(ZlibCompressor::new);
+    }
+
+    @Test
+    void zstd() {
+        compressed(() -> new ZstdCompressor(3));
+    }
+
+    @Test
+    void uncompressed() {
+        byte[] payload = envelope(3, "SELECT 1");
+        ByteBuf packet = encode(payload, new ZlibCompressor());
+
+        try {
+            assertThat(packet.getUnsignedMediumLE(0)).isEqualTo(payload.length);
+            assertThat(packet.getUnsignedByte(3)).isEqualTo((short) 3);
+            assertThat(packet.getUnsignedMediumLE(4)).isZero();
+            assertThat(decode(packet.retain(), new ZlibCompressor())).isEqualTo(payload);
+        } finally {
+            packet.release();
+        }
+    }
+
+    private static void compressed(Supplier<Compressor> compressor) {
+        byte[] payload = envelope(0, repeat("SELECT 1 UNION ALL ", 100));
+        ByteBuf packet = encode(payload, compressor.get());
+
+        try {
+            assertThat(packet.getUnsignedMediumLE(0)).isEqualTo(packet.readableBytes() - 7);
+            assertThat(packet.getUnsignedByte(3)).isEqualTo((short) 0);
+            assertThat(packet.getUnsignedMediumLE(4)).isEqualTo(payload.length);
+            assertThat(packet.readableBytes()).isLessThan(payload.length);
+            assertThat(decode(packet.retain(), compressor.get())).isEqualTo(payload);
+        } finally {
+            packet.release();
+        }
+    }
+
+    private static ByteBuf encode(byte[] envelope, Compressor compressor) {
+        EmbeddedChannel channel = new EmbeddedChannel(new CompressionEncoder(compressor, MIN_SIZE));
+
+        try {
+            // Write header and body respectively, they should be compressed together.
+            channel.write(Unpooled.wrappedBuffer(envelope, 0, 4));
+            channel.writeAndFlush(Unpooled.wrappedBuffer(envelope, 4, envelope.length - 4));
+
+            ByteBuf header = channel.readOutbound();
+            ByteBuf body = channel.readOutbound();
+
+            try {
+                return Unpooled.buffer().writeBytes(header).writeBytes(body);
+            } finally {
+                header.release();
+                body.release();
+            }
+        } finally {
+            channel.finishAndReleaseAll();
+        }
+    }
+
+    private static byte[] decode(ByteBuf packet, Compressor compressor) {
+        EmbeddedChannel channel = new EmbeddedChannel(new CompressionDecoder(compressor));
+
+        try {
+            // Write it byte by byte, decoder should wait for whole packet.
+            while (packet.isReadable()) {
+                channel.writeInbound(packet.readRetainedSlice(1));
+            }
+
+            ByteBuf result = channel.readInbound();
+
+            try {
+                return ByteBufUtil.getBytes(result);
+            } finally {
+                result.release();
+            }
+        } finally {
+            packet.release();
+            channel.finishAndReleaseAll();
+        }
+    }
+
+    private static byte[] envelope(int sequenceId, String sql) {
+        byte[] body = sql.getBytes(StandardCharsets.UTF_8);
+        ByteBuf buf = Unpooled.buffer()
+            .writeMediumLE(body.length)
+            .writeByte(sequenceId)
+            .writeBytes(body);
+
+        return ByteBufUtil.getBytes(buf);
+    }
+
+    private static String repeat(String s, int times) {
+        StringBuilder builder = new StringBuilder(s.length() * times);
+
+        for (int i = 0; i < times; ++i) {
+            builder.append(s);
+        }
+
+        return builder.toString();
+    }
+}
@@ -0,0 +1,401 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.miku.r2dbc.mysql.client;
+
+import dev.miku.r2dbc.mysql.codec.Codecs;
+import dev.miku.r2dbc.mysql.constant.Capabilities;
+import dev.miku.r2dbc.mysql.constant.Envelopes;
+import dev.miku.r2dbc.mysql.constant.ServerStatuses;
+import dev.miku.r2dbc.mysql.constant.ZeroDateOption;
+import dev.miku.r2dbc.mysql.message.ParameterValue;
+import dev.miku.r2dbc.mysql.message.client.LocalInfileQueryMessage;
+import dev.miku.r2dbc.mysql.message.client.PrepareQueryMessage;
+import dev.miku.r2dbc.mysql.message.client.PreparedExecuteMessage;
+import dev.miku.r2dbc.mysql.message.client.SimpleQueryMessage;
+import dev.miku.r2dbc.mysql.message.server.ErrorMessage;
+import dev.miku.r2dbc.mysql.message.server.OkMessage;
+import dev.miku.r2dbc.mysql.message.server.PreparedOkMessage;
+import dev.miku.r2dbc.mysql.util.ConnectionContext;
+import dev.miku.r2dbc.mysql.util.ServerVersion;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.FileRegion;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.ReferenceCountUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link MessageDuplexCodec}.
+ */
+class MessageDuplexCodecTest {
+
+    /**
+     * The chunk size of local data, it is half of {@code max_allowed_packet}.
+     */
+    private static final int CHUNK_SIZE = 1 << 12;
+
+    private static final int STATEMENT_ID = 1;
+
+    @Test
+    void pipelined() {
+        EmbeddedChannel channel = commandChannel(new FailableWriter(), true);
+
+        try {
+            channel.writeOutbound(new SimpleQueryMessage("DO 1"));
+            channel.writeOutbound(new PrepareQueryMessage("SELECT 1"));
+            channel.writeOutbound(new SimpleQueryMessage("DO 2"));
+            releaseOutbound(channel);
+
+            // Responses are decoded by initial decode contexts of requests in order.
+            assertThat(read(channel, ok())).isInstanceOf(OkMessage.class);
+            assertThat(read(channel, preparedOk(1))).isInstanceOf(PreparedOkMessage.class);
+            assertThat(read(channel, ok())).isInstanceOf(OkMessage.class);
+        } finally {
+            channel.finishAndReleaseAll();
+        }
+    }
+
+    @Test
+    void pipelinedWriteFailed() {
+        FailableWriter writer = new FailableWriter();
+        EmbeddedChannel channel = commandChannel(writer, true);
+
+        try {
+            channel.writeOutbound(new SimpleQueryMessage("DO 1"));
+
+            writer.failing = true;
+
+            ChannelFuture failed = channel.writeOneOutbound(new PrepareQueryMessage("SELECT 1"));
+
+            channel.flushOutbound();
+            writer.failing = false;
+
+            assertThat(failed.isSuccess()).isFalse();
+
+            channel.writeOutbound(new SimpleQueryMessage("DO 2"));
+            releaseOutbound(channel);
+
+            // Failed request will never be responded.
+            assertThat(read(channel, ok())).isInstanceOf(OkMessage.class);
+            assertThat(read(channel, ok())).isInstanceOf(OkMessage.class);
+        } finally {
+            channel.finishAndReleaseAll();
+        }
+    }
+
+    @Test
+    void firstPipelinedWriteFailed() {
+        FailableWriter writer = new FailableWriter();
+        EmbeddedChannel channel = commandChannel(writer, true);
+
+        try {
+            writer.failing = true;
+
+            ChannelFuture failed = channel.writeOneOutbound(new PrepareQueryMessage("SELECT 1"));
+
+            channel.flushOutbound();
+            writer.failing = false;
+
+            assertThat(failed.isSuccess()).isFalse();
+
+            channel.writeOutbound(new SimpleQueryMessage("DO 1"));
+            channel.writeOutbound(new PrepareQueryMessage("SELECT 2"));
+            releaseOutbound(channel);
+
+            assertThat(read(channel, ok())).isInstanceOf(OkMessage.class);
+            assertThat(read(channel, preparedOk(2))).isInstanceOf(PreparedOkMessage.class);
+        } finally {
+            channel.finishAndReleaseAll();
+        }
+    }
+
+    @Test
+    void executeWriteFailed() {
+        FailableWriter writer = new FailableWriter();
+        ConnectionContext context = context();
+        EmbeddedChannel channel = commandChannel(context, writer, false);
+
+        try {
+            writer.failing = true;
+
+            ChannelFuture failed = channel.writeOneOutbound(execute(context, 1));
+
+            channel.flushOutbound();
+            writer.failing = false;
+
+            assertThat(failed.isSuccess()).isFalse();
+            // Server has not received the types, so they will be sent by next execution.
+            assertThat(context.getBoundTypes(STATEMENT_ID)).isNull();
+
+            channel.writeOutbound(execute(context, 2));
+            releaseOutbound(channel);
+
+            assertThat(context.getBoundTypes(STATEMENT_ID)).isNotNull();
+        } finally {
+            channel.finishAndReleaseAll();
+        }
+    }
+
+    @Test
+    void notPipelined() {
+        EmbeddedChannel channel = commandChannel(new FailableWriter(), false);
+
+        try {
+            channel.writeOutbound(new PrepareQueryMessage("SELECT 1"));
+            releaseOutbound(channel);
+
+            assertThat(read(channel, preparedOk(1))).isInstanceOf(PreparedOkMessage.class);
+
+            channel.writeOutbound(new SimpleQueryMessage("DO 1"));
+            releaseOutbound(channel);
+
+            assertThat(read(channel, ok())).isInstanceOf(OkMessage.class);
+        } finally {
+            channel.finishAndReleaseAll();
+        }
+    }
+
+    @Test
+    void localInfileData() {
+        EmbeddedChannel channel = commandChannel(new FailableWriter(), false);
+
+        try {
+            Flux<ByteBuf> data = Flux.just(Unpooled.wrappedBuffer(new byte[CHUNK_SIZE * 2 + 100]),
+                Unpooled.EMPTY_BUFFER, Unpooled.wrappedBuffer(new byte[10]));
+
+            channel.writeOutbound(new LocalInfileQueryMessage("LOAD DATA LOCAL INFILE 'data.csv' INTO TABLE t", data));
+            releaseOutbound(channel);
+            channel.writeInbound(localInfileRequest("data.csv"));
+
+            // Large buffers are sliced by chunk size, empty buffers are skipped, ids follow the request.
+            assertEnvelope(channel, CHUNK_SIZE, 2);
+            assertEnvelope(channel, CHUNK_SIZE, 3);
+            assertEnvelope(channel, 100, 4);
+            assertEnvelope(channel, 10, 5);
+            assertEnvelope(channel, 0, 6);
+            assertThat((Object) channel.readOutbound()).isNull();
+
+            assertThat(read(channel, ok())).isInstanceOf(OkMessage.class);
+        } finally {
+            channel.finishAndReleaseAll();
+        }
+    }
+
+    @Test
+    void localInfileFile(@TempDir Path dir) throws IOException {
+        EmbeddedChannel channel = commandChannel(new FailableWriter(), false);
+        Path file = Files.write(dir.resolve("data.csv"), new byte[CHUNK_SIZE + 100]);
+
+        try {
+            channel.writeOutbound(new LocalInfileQueryMessage("LOAD DATA LOCAL INFILE 'data.csv' INTO TABLE t", file));
+            releaseOutbound(channel);
+            channel.writeInbound(localInfileRequest("data.csv"));
+
+            // Without SSL and compression, the file is sent by file regions.
+            assertFileRegion(channel, 0, CHUNK_SIZE, 2);
+            assertFileRegion(channel, CHUNK_SIZE, 100, 3);
+            assertEnvelope(channel, 0, 4);
+            assertThat((Object) channel.readOutbound()).isNull();
+
+            assertThat(read(channel, ok())).isInstanceOf(OkMessage.class);
+        } finally {
+            channel.finishAndReleaseAll();
+        }
+    }
+
+    @Test
+    void unsolicitedLocalInfile() {
+        EmbeddedChannel channel = commandChannel(new FailableWriter(), false);
+
+        try {
+            channel.writeOutbound(new SimpleQueryMessage("LOAD DATA LOCAL INFILE '/etc/passwd' INTO TABLE t"));
+            releaseOutbound(channel);
+            channel.writeInbound(localInfileRequest("/etc/passwd"));
+
+            // Rejected by an empty envelope.
+            assertEnvelope(channel, 0, 2);
+            assertThat((Object) channel.readOutbound()).isNull();
+
+            // The OK of the rejected statement is replaced by an error.
+            assertThat(read(channel, ok())).isInstanceOfSatisfying(ErrorMessage.class, error -> {
+                assertThat(error.getErrorCode()).isEqualTo(3948);
+                assertThat(error.getSqlState()).isEqualTo("42000");
+            });
+
+            channel.writeOutbound(new SimpleQueryMessage("DO 1"));
+            releaseOutbound(channel);
+
+            assertThat(read(channel, ok())).isInstanceOf(OkMessage.class);
+        } finally {
+            channel.finishAndReleaseAll();
+        }
+    }
+
+    private static EmbeddedChannel commandChannel(FailableWriter writer, boolean pipelining) {
+        return commandChannel(context(), writer, pipelining);
+    }
+
+    private static EmbeddedChannel commandChannel(ConnectionContext context, FailableWriter writer, boolean pipelining) {
+        EmbeddedChannel channel = new EmbeddedChannel(writer,
+            new MessageDuplexCodec(context, new AtomicBoolean(), new RequestQueue(), pipelining));
+
+        channel.pipeline().fireUserEventTriggered(Lifecycle.COMMAND);
+
+        return channel;
+    }
+
+    private static ConnectionContext context() {
+        ConnectionContext context = new ConnectionContext(ZeroDateOption.USE_NULL);
+
+        context.setConnectionId(1);
+        context.setCapabilities(Capabilities.ALL_SUPPORTED);
+        context.setServerVersion(ServerVersion.parse("8.0.18"));
+        context.setMaxAllowedPacket(CHUNK_SIZE * 2);
+
+        return context;
+    }
+
+    private static PreparedExecuteMessage execute(ConnectionContext context, int value) {
+        return new PreparedExecuteMessage(STATEMENT_ID, false, new ParameterValue[]{
+            Codecs.getInstance().encode(value, context)
+        });
+    }
+
+    private static Object read(EmbeddedChannel channel, ByteBuf envelope) {
+        channel.writeInbound(envelope);
+
+        Object message = channel.readInbound();
+
+        ReferenceCountUtil.release(message);
+
+        return message;
+    }
+
+    private static void releaseOutbound(EmbeddedChannel channel) {
+        Object message;
+
+        while ((message = channel.readOutbound()) != null) {
+            ReferenceCountUtil.release(message);
+        }
+    }
+
+    private static ByteBuf ok() {
+        return envelope(Unpooled.buffer()
+            .writeByte(0)
+            .writeByte(0)
+            .writeByte(0)
+            .writeShortLE(ServerStatuses.AUTO_COMMIT)
+            .writeShortLE(0));
+    }
+
+    private static ByteBuf preparedOk(int statementId) {
+        return envelope(Unpooled.buffer()
+            .writeByte(0)
+            .writeIntLE(statementId)
+            .writeShortLE(0)
+            .writeShortLE(0)
+            .writeByte(0)
+            .writeShortLE(0));
+    }
+
+    private static void assertEnvelope(EmbeddedChannel channel, int size, int envelopeId) {
+        ByteBuf header = channel.readOutbound();
+
+        try {
+            assertThat(header.readableBytes()).isEqualTo(Envelopes.PART_HEADER_SIZE);
+            assertThat(header.getMediumLE(0)).isEqualTo(size);
+            assertThat(header.getUnsignedByte(3)).isEqualTo((short) envelopeId);
+        } finally {
+            header.release();
+        }
+
+        if (size > 0) {
+            ByteBuf data = channel.readOutbound();
+
+            try {
+                assertThat(data.readableBytes()).isEqualTo(size);
+            } finally {
+                data.release();
+            }
+        }
+    }
+
+    private static void assertFileRegion(EmbeddedChannel channel, long position, int size, int envelopeId) {
+        ByteBuf header = channel.readOutbound();
+        FileRegion region = channel.readOutbound();
+
+        try {
+            assertThat(header.getMediumLE(0)).isEqualTo(size);
+            assertThat(header.getUnsignedByte(3)).isEqualTo((short) envelopeId);
+            assertThat(region.position()).isEqualTo(position);
+            assertThat(region.count()).isEqualTo(size);
+        } finally {
+            header.release();
+            region.release();
+        }
+    }
+
+    private static ByteBuf localInfileRequest(String path) {
+        return envelope(Unpooled.buffer()
+            .writeByte(0xFB)
+            .writeBytes(path.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static ByteBuf envelope(ByteBuf payload) {
+        try {
+            return Unpooled.buffer()
+                .writeMediumLE(payload.readableBytes())
+                .writeByte(1)
+                .writeBytes(payload);
+        } finally {
+            payload.release();
+        }
+    }
+
+    /**
+     * Fails writes when {@link #failing} is enabled, e.g. the channel has been closed by peer.
+     */
+    private static final class FailableWriter extends ChannelOutboundHandlerAdapter {
+
+        private boolean failing;
+
+        @Override
+        public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+            if (failing) {
+                ReferenceCountUtil.release(msg);
+                promise.setFailure(new ClosedChannelException());
+            } else {
+                super.write(ctx, msg, promise);
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.miku.r2dbc.mysql.client;
+
+import dev.miku.r2dbc.mysql.message.server.ServerMessage;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.EmitterProcessor;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link ReactorNettyClient}.
+ */
+class ReactorNettyClientTest {
+
+    private static final ServerMessage MESSAGE = new ServerMessage() {
+    };
+
+    @Test
+    void watermarks() {
+        List<Long> requests = new ArrayList<>();
+        // Requests of inbound are the read demand of the channel, avoid fusion so that requests are observed.
+        Flux<ServerMessage> inbound = Flux.<ServerMessage>generate(sink -> sink.next(MESSAGE))
+            .doOnRequest(requests::add)
+            .hide();
+        EmitterProcessor<ServerMessage> processor = EmitterProcessor.create(ReactorNettyClient.RESPONSE_BUFFER_SIZE, false);
+
+        ReactorNettyClient.byWatermarks(inbound, 8, 2).subscribe(processor);
+
+        StepVerifier.create(processor, 0)
+            // Nothing is consumed, reading stops after high watermark messages.
+            .then(() -> assertThat(requests).containsExactly(8L))
+            .thenRequest(4)
+            .expectNextCount(4)
+            // Buffered messages are still more than low watermark.
+            .then(() -> assertThat(requests).containsExactly(8L))
+            .thenRequest(2)
+            .expectNextCount(2)
+            // Consumed down to low watermark, reading resumes until high watermark again.
+            .then(() -> assertThat(requests).containsExactly(8L, 6L))
+            .thenCancel()
+            .verify();
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.miku.r2dbc.mysql.client;
+
+import dev.miku.r2dbc.mysql.MySqlConnectionConfiguration;
+import dev.miku.r2dbc.mysql.MySqlConnectionFactory;
+import dev.miku.r2dbc.mysql.constant.SslMode;
+import dev.miku.r2dbc.mysql.constant.TlsVersions;
+import dev.miku.r2dbc.mysql.util.ServerVersion;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.handler.ssl.SslContext;
+import io.netty.util.ReferenceCountUtil;
+import org.junit.jupiter.api.Test;
+
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLSession;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link SslContextCache}.
+ */
+class SslContextCacheTest {
+
+    private static final ServerVersion MYSQL_8_0 = ServerVersion.parse("8.0.18");
+
+    private static final ServerVersion MYSQL_5_7 = ServerVersion.parse("5.7.28");
+
+    @Test
+    void shared() {
+        SslContextCache cache = cache(MySqlConnectionConfiguration.builder());
+        SslContext context = cache.get(MYSQL_8_0);
+
+        assertThat(cache.get(MYSQL_8_0)).isSameAs(context);
+        assertThat(cache.get(ServerVersion.parse("8.0.20"))).isSameAs(context);
+        assertThat(protocols(context)).contains(TlsVersions.TLS1_2);
+
+        SslContext legacy = cache.get(MYSQL_5_7);
+
+        assertThat(legacy).isNotSameAs(context);
+        assertThat(cache.get(MYSQL_5_7)).isSameAs(legacy);
+        assertThat(protocols(legacy)).doesNotContain(TlsVersions.TLS1_2);
+    }
+
+    @Test
+    void specifiedTlsVersion() {
+        SslContextCache cache = cache(MySqlConnectionConfiguration.builder().tlsVersion(TlsVersions.TLS1_2));
+
+        assertThat(cache.get(MYSQL_5_7)).isSameAs(cache.get(MYSQL_8_0));
+        assertThat(protocols(cache.get(MYSQL_5_7))).containsExactly(TlsVersions.TLS1_2);
+    }
+
+    @Test
+    void rebuildAfterConfigurationChanged() {
+        SslContextCache cache = cache(MySqlConnectionConfiguration.builder().tlsVersion(TlsVersions.TLS1_1));
+        SslContext context = cache.get(MYSQL_8_0);
+
+        assertThat(protocols(context)).containsExactly(TlsVersions.TLS1_1);
+
+        SslContextCache changed = cache(MySqlConnectionConfiguration.builder().tlsVersion(TlsVersions.TLS1_2));
+        SslContext rebuilt = changed.get(MYSQL_8_0);
+
+        assertThat(rebuilt).isNotSameAs(context);
+        assertThat(protocols(rebuilt)).containsExactly(TlsVersions.TLS1_2);
+        assertThat(cache.get(MYSQL_8_0)).isSameAs(context);
+    }
+
+    @Test
+    void resumed() {
+        SslContextCache cache = cache(MySqlConnectionConfiguration.builder());
+
+        assertThat(cache.handshakeCompleted(100, "localhost:3306", session(1, 2, 3))).isFalse();
+        assertThat(cache.handshakeCompleted(10, "localhost:3306", session(1, 2, 3))).isTrue();
+        assertThat(cache.handshakeCompleted(100, "localhost:3306", session(4, 5, 6))).isFalse();
+        assertThat(cache.handshakeCompleted(10, "localhost:3306", session(4, 5, 6))).isTrue();
+
+        assertThat(cache.getHandshakes()).isEqualTo(4);
+        assertThat(cache.getResumedHandshakes()).isEqualTo(2);
+        assertThat(cache.getHandshakeNanos()).isEqualTo(220);
+        assertThat(cache.getMaxHandshakeNanos()).isEqualTo(100);
+    }
+
+    @Test
+    void notResumed() {
+        SslContextCache cache = cache(MySqlConnectionConfiguration.builder());
+
+        assertThat(cache.handshakeCompleted(100, "localhost:3306", session(1, 2, 3))).isFalse();
+        assertThat(cache.handshakeCompleted(100, "localhost:3307", session(1, 2, 3))).isFalse();
+        assertThat(cache.handshakeCompleted(100, null, session(1, 2, 3))).isFalse();
+        assertThat(cache.handshakeCompleted(100, null, session(1, 2, 3))).isFalse();
+        assertThat(cache.handshakeCompleted(100, "localhost:3308", session())).isFalse();
+        assertThat(cache.handshakeCompleted(100, "localhost:3308", session())).isFalse();
+
+        cache.handshakeFailed(50);
+
+        assertThat(cache.getHandshakes()).isEqualTo(6);
+        assertThat(cache.getResumedHandshakes()).isZero();
+        assertThat(cache.getFailedHandshakes()).isEqualTo(1);
+        assertThat(cache.getHandshakeNanos()).isEqualTo(650);
+    }
+
+    private static SslContextCache cache(MySqlConnectionConfiguration.Builder builder) {
+        MySqlConnectionConfiguration configuration = builder.host("localhost")
+            .username("root")
+            .sslMode(SslMode.REQUIRED)
+            .build();
+
+        return (SslContextCache) MySqlConnectionFactory.from(configuration).getSslStatistics();
+    }
+
+    private static String[] protocols(SslContext context) {
+        SSLEngine engine = context.newEngine(ByteBufAllocator.DEFAULT);
+
+        try {
+            return engine.getEnabledProtocols();
+        } finally {
+            ReferenceCountUtil.release(engine);
+        }
+    }
+
+    private static SSLSession session(int... id) {
+        byte[] bytes = new byte[id.length];
+
+        for (int i = 0; i < id.length; ++i) {
+            bytes[i] = (byte) id[i];
+        }
+
+        SSLSession session = mock(SSLSession.class);
+
+        when(session.getId()).thenReturn(bytes);
+
+        return session;
+    }
+}
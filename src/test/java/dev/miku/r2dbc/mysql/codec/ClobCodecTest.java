@@ -0,0 +1,127 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.miku.r2dbc.mysql.codec;
+
+import dev.miku.r2dbc.mysql.constant.ZeroDateOption;
+import dev.miku.r2dbc.mysql.message.ParameterValue;
+import dev.miku.r2dbc.mysql.util.ConnectionContext;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import io.r2dbc.spi.Clob;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link ClobCodec}.
+ */
+class ClobCodecTest {
+
+    private static final ConnectionContext CONTEXT = new ConnectionContext(ZeroDateOption.USE_NULL);
+
+    @Test
+    void longData() {
+        release(assertLongData("Hello, ", "world", "!"));
+        release(assertLongData("", "你好", ""));
+    }
+
+    @Test
+    void surrogatePairSplit() {
+        // U+1F600 is a surrogate pair in UTF-16, the pair is split by chunks.
+        List<ByteBuf> chunks = assertLongData("a\uD83D", "\uDE00b");
+
+        assertThat(chunks.get(0).toString(StandardCharsets.UTF_8)).isEqualTo("a");
+        assertThat(chunks.get(1).toString(StandardCharsets.UTF_8)).isEqualTo("😀b");
+        release(chunks);
+
+        release(assertLongData("\uD83D", "\uDE00"));
+        release(assertLongData("a\uD83D", "", "\uDE00"));
+    }
+
+    @Test
+    void unpairedSurrogate() {
+        ParameterValue value = ClobCodec.INSTANCE.encode(clob("a\uD83D"), CONTEXT);
+
+        assertTrue(value.isLongData());
+
+        List<ByteBuf> chunks = value.publishLongData(UnpooledByteBufAllocator.DEFAULT)
+            .collectList()
+            .block();
+
+        // The pending high surrogate at the end of the Clob is replaced.
+        assertThat(concat(chunks)).isEqualTo("a?".getBytes(StandardCharsets.UTF_8));
+        release(chunks);
+    }
+
+    private static List<ByteBuf> assertLongData(String... sequences) {
+        List<ByteBuf> chunks = ClobCodec.INSTANCE.encode(clob(sequences), CONTEXT)
+            .publishLongData(UnpooledByteBufAllocator.DEFAULT)
+            .collectList()
+            .block();
+
+        assertArrayEquals(String.join("", sequences).getBytes(StandardCharsets.UTF_8), concat(chunks));
+
+        return chunks;
+    }
+
+    private static byte[] concat(List<ByteBuf> chunks) {
+        int size = 0;
+
+        for (ByteBuf chunk : chunks) {
+            size += chunk.readableBytes();
+        }
+
+        byte[] result = new byte[size];
+        int offset = 0;
+
+        for (ByteBuf chunk : chunks) {
+            int length = chunk.readableBytes();
+
+            chunk.getBytes(chunk.readerIndex(), result, offset, length);
+            offset += length;
+        }
+
+        return result;
+    }
+
+    private static void release(List<ByteBuf> chunks) {
+        chunks.forEach(ByteBuf::release);
+    }
+
+    private static Clob clob(String... sequences) {
+        return new Clob() {
+
+            @Override
+            public Publisher<CharSequence> stream() {
+                return Flux.<CharSequence>fromArray(sequences);
+            }
+
+            @Override
+            public Publisher<Void> discard() {
+                return Mono.empty();
+            }
+        };
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.miku.r2dbc.mysql.codec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Unit tests for text parsing of {@link CodecDateUtils}.
+ */
+class CodecDateUtilsTest {
+
+    @Test
+    void parseDate() {
+        assertEquals(LocalDate.of(2020, 2, 29), parse("2020-02-29", CodecDateUtils::parseDate));
+        assertEquals(LocalDate.of(0, 1, 1), parse("0000-01-01", CodecDateUtils::parseDate));
+        assertEquals(LocalDate.of(20, 1, 5), parse("20-1-5", CodecDateUtils::parseDate));
+        assertNull(parse("0000-00-00", CodecDateUtils::parseDate));
+        assertNull(parse("2020-00-01", CodecDateUtils::parseDate));
+    }
+
+    @Test
+    void parseDateTime() {
+        LocalDateTime dateTime = LocalDateTime.of(2020, 12, 31, 23, 59, 58);
+
+        assertEquals(dateTime, parse("2020-12-31 23:59:58", CodecDateUtils::parseDateTime));
+        assertEquals(dateTime.withNano(100_000_000), parse("2020-12-31 23:59:58.1", CodecDateUtils::parseDateTime));
+        assertEquals(dateTime.withNano(123_456_000), parse("2020-12-31 23:59:58.123456", CodecDateUtils::parseDateTime));
+        assertEquals(LocalDateTime.of(2020, 12, 31, 0, 0), parse("2020-12-31", CodecDateUtils::parseDateTime));
+        assertEquals(LocalDateTime.of(2020, 1, 5, 1, 2, 3), parse("2020-1-5 1:2:3", CodecDateUtils::parseDateTime));
+        assertNull(parse("0000-00-00 00:00:00", CodecDateUtils::parseDateTime));
+    }
+
+    @Test
+    void parseTime() {
+        assertEquals(LocalTime.of(12, 34, 56).toNanoOfDay(), parse("12:34:56", CodecDateUtils::parseTime));
+        assertEquals(LocalTime.of(12, 34, 56, 789_000).toNanoOfDay(), parse("12:34:56.000789", CodecDateUtils::parseTime));
+        assertEquals(-TimeUnit.SECONDS.toNanos(3723), parse("-01:02:03", CodecDateUtils::parseTime));
+        assertEquals(-TimeUnit.SECONDS.toNanos(3723), parse("-1:2:3", CodecDateUtils::parseTime));
+        assertEquals(TimeUnit.SECONDS.toNanos(838 * 3600 + 59 * 60 + 59), parse("838:59:59", CodecDateUtils::parseTime));
+    }
+
+    private static <T> T parse(String value, Function<ByteBuf, T> parser) {
+        ByteBuf buf = Unpooled.wrappedBuffer(value.getBytes(StandardCharsets.US_ASCII));
+
+        try {
+            return parser.apply(buf);
+        } finally {
+            buf.release();
+        }
+    }
+}
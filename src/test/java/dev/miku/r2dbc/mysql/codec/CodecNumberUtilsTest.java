@@ -0,0 +1,120 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.miku.r2dbc.mysql.codec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for {@link CodecNumberUtils}.
+ */
+class CodecNumberUtilsTest {
+
+    @Test
+    void parseInt() {
+        assertEquals(0, parse("0", CodecNumberUtils::parseInt));
+        assertEquals(-123, parse("-123", CodecNumberUtils::parseInt));
+        assertEquals(123, parse("+123", CodecNumberUtils::parseInt));
+        assertEquals(Integer.MAX_VALUE, parse("2147483647", CodecNumberUtils::parseInt));
+        assertEquals(Integer.MIN_VALUE, parse("-2147483648", CodecNumberUtils::parseInt));
+
+        assertInvalid("2147483648", CodecNumberUtils::parseInt);
+        assertInvalid("-2147483649", CodecNumberUtils::parseInt);
+    }
+
+    @Test
+    void parseLong() {
+        assertEquals(Long.MAX_VALUE, parse("9223372036854775807", CodecNumberUtils::parseLong));
+        assertEquals(Long.MIN_VALUE, parse("-9223372036854775808", CodecNumberUtils::parseLong));
+        // BIGINT UNSIGNED keeps its bits.
+        assertEquals(Long.MIN_VALUE, parse("9223372036854775808", CodecNumberUtils::parseLong));
+        assertEquals(-1L, parse("18446744073709551615", CodecNumberUtils::parseLong));
+
+        assertInvalid("18446744073709551616", CodecNumberUtils::parseLong);
+        assertInvalid("-9223372036854775809", CodecNumberUtils::parseLong);
+    }
+
+    @Test
+    void parseBigDecimal() {
+        String[] values = {
+            "0", "-0.00", "1.50", "123456789012345678", "1234567890123456789",
+            "-12345678901234567890123456789012345678.123456789012345678901234",
+            "1e20", "1.5E-7", "-3.25e+3",
+        };
+
+        for (String value : values) {
+            assertEquals(new BigDecimal(value), parse(value, CodecNumberUtils::parseBigDecimal), value);
+        }
+    }
+
+    @Test
+    void parseDouble() {
+        String[] values = {
+            "0", "-0", "1.5", "-123.456", "3.141592653589793", "1.7976931348623157E308",
+            "4.9E-324", "0.1", "123456789012345678901234567890", "1e22", "1e23",
+        };
+
+        for (String value : values) {
+            assertEquals(Double.parseDouble(value), parse(value, CodecNumberUtils::parseDouble), value);
+        }
+    }
+
+    @Test
+    void parseFloat() {
+        String[] values = {"0", "-0", "1.5", "-123.456", "3.4028235E38", "1.4E-45", "0.1", "16777217"};
+
+        for (String value : values) {
+            assertEquals(Float.parseFloat(value), parse(value, CodecNumberUtils::parseFloat), value);
+        }
+    }
+
+    @Test
+    void invalid() {
+        String[] values = {"", "-", "+", ".", "e5", "1e", "1e+", "1.2.3", "1a", "abc"};
+
+        for (String value : values) {
+            assertInvalid(value, CodecNumberUtils::parseBigDecimal);
+            assertInvalid(value, CodecNumberUtils::parseDouble);
+            assertInvalid(value, CodecNumberUtils::parseFloat);
+        }
+
+        assertInvalid("1.5", CodecNumberUtils::parseInt);
+        assertInvalid("1.5", CodecNumberUtils::parseLong);
+    }
+
+    private static <T> T parse(String value, Function<ByteBuf, T> parser) {
+        ByteBuf buf = Unpooled.wrappedBuffer(value.getBytes(StandardCharsets.US_ASCII));
+
+        try {
+            return parser.apply(buf);
+        } finally {
+            buf.release();
+        }
+    }
+
+    private static void assertInvalid(String value, Function<ByteBuf, ?> parser) {
+        assertThrows(NumberFormatException.class, () -> parse(value, parser), value);
+    }
+}
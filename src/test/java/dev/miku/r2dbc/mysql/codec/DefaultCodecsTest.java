@@ -0,0 +1,244 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.miku.r2dbc.mysql.codec;
+
+import dev.miku.r2dbc.mysql.collation.CharCollation;
+import dev.miku.r2dbc.mysql.constant.ColumnDefinitions;
+import dev.miku.r2dbc.mysql.constant.DataTypes;
+import dev.miku.r2dbc.mysql.constant.ZeroDateOption;
+import dev.miku.r2dbc.mysql.message.FieldValue;
+import dev.miku.r2dbc.mysql.message.LargeFieldValue;
+import dev.miku.r2dbc.mysql.message.NormalFieldValue;
+import dev.miku.r2dbc.mysql.message.ParameterValue;
+import dev.miku.r2dbc.mysql.message.StreamingFieldValue;
+import dev.miku.r2dbc.mysql.util.ConnectionContext;
+import dev.miku.r2dbc.mysql.util.ServerVersion;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.util.ReferenceCountUtil;
+import io.r2dbc.spi.Blob;
+import org.junit.jupiter.api.Test;
+import reactor.util.annotation.Nullable;
+
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for {@link DefaultCodecs}.
+ */
+class DefaultCodecsTest {
+
+    private static final int UTF8MB4_GENERAL_CI = 45;
+
+    private static final ConnectionContext CONTEXT = new ConnectionContext(ZeroDateOption.USE_NULL);
+
+    static {
+        CONTEXT.setServerVersion(ServerVersion.parse("8.0.18"));
+    }
+
+    private final DefaultCodecs codecs = DefaultCodecs.INSTANCE;
+
+    @Test
+    void unsigned() {
+        Field signed = new Field(DataTypes.INT, (short) 0, CharCollation.BINARY_ID, 11);
+        Field unsigned = new Field(DataTypes.INT, (short) ColumnDefinitions.UNSIGNED, CharCollation.BINARY_ID, 10);
+
+        assertThat(decode(normal("1"), signed, Number.class)).isEqualTo(1);
+        // INT UNSIGNED may overflow an int, so it is decoded as a long.
+        assertThat(decode(normal("1"), unsigned, Number.class)).isEqualTo(1L);
+        assertThat(decode(normal("1"), signed, Number.class)).isEqualTo(1);
+    }
+
+    @Test
+    void binaryCollation() {
+        Field text = new Field(DataTypes.VARCHAR, (short) 0, UTF8MB4_GENERAL_CI, 20);
+        Field binary = new Field(DataTypes.VARCHAR, (short) 0, CharCollation.BINARY_ID, 20);
+
+        assertEquals("abc", decode(normal("abc"), text, String.class));
+        assertThrows(IllegalArgumentException.class, () -> decode(normal("abc"), binary, String.class));
+        assertArrayEquals("abc".getBytes(StandardCharsets.UTF_8), (byte[]) decode(normal("abc"), binary, byte[].class));
+        assertEquals("abc", decode(normal("abc"), text, String.class));
+    }
+
+    @Test
+    void kind() {
+        Field field = new Field(DataTypes.LONG_BLOB, (short) 0, UTF8MB4_GENERAL_CI, 0xFFFFFFFFL);
+
+        assertEquals("abc", decode(normal("abc"), field, String.class));
+        // Large values can not be decoded as a string.
+        assertThrows(IllegalArgumentException.class, () -> decode(large("abc"), field, String.class));
+        assertEquals("abc", decode(normal("abc"), field, String.class));
+    }
+
+    @Test
+    void sizeLevel() {
+        Field small = new Field(DataTypes.NEW_DECIMAL, (short) 0, CharCollation.BINARY_ID, 5);
+        Field medium = new Field(DataTypes.NEW_DECIMAL, (short) 0, CharCollation.BINARY_ID, 10);
+        Field large = new Field(DataTypes.NEW_DECIMAL, (short) 0, CharCollation.BINARY_ID, 20);
+
+        assertEquals(1.5f, decode(normal("1.5"), small, Float.class));
+        // Precision of float is not enough for these decimals.
+        assertThrows(IllegalArgumentException.class, () -> decode(normal("1.5"), medium, Float.class));
+        assertEquals(1.5, decode(normal("1.5"), medium, Double.class));
+        assertThrows(IllegalArgumentException.class, () -> decode(normal("1.5"), large, Double.class));
+        assertEquals(1.5f, decode(normal("1.5"), small, Float.class));
+    }
+
+    @Test
+    void streaming() {
+        Field field = new Field(DataTypes.LONG_BLOB, (short) 0, CharCollation.BINARY_ID, 0xFFFFFFFFL);
+
+        assertArrayEquals(new byte[]{1, 2}, (byte[]) decode(new NormalFieldValue(Unpooled.wrappedBuffer(new byte[]{1, 2})), field, byte[].class));
+
+        StreamingFieldValue value = new StreamingFieldValue(Unpooled.wrappedBuffer(new byte[]{1, 2}), 4);
+
+        try {
+            // Streaming values are never cached by signature, so the decoder of normal values is not used.
+            assertThrows(IllegalArgumentException.class, () -> decode(value, field, byte[].class));
+
+            assertThat(decode(value, field, Blob.class)).isInstanceOf(Blob.class);
+        } finally {
+            // Release the value and the retained reference of the Blob.
+            ReferenceCountUtil.safeRelease(value, value.refCnt());
+        }
+    }
+
+    @Test
+    void encodeCached() {
+        assertEncoder(1, IntegerCodec.INSTANCE);
+        assertEncoder(1L, LongCodec.INSTANCE);
+        assertEncoder(Long.MAX_VALUE, LongCodec.INSTANCE);
+        assertEncoder(true, BooleanCodec.INSTANCE);
+        assertEncoder(BigDecimal.ONE, BigDecimalCodec.INSTANCE);
+        assertEncoder("abc", StringCodec.INSTANCE);
+        assertEncoder(new StringBuilder("abc"), StringCodec.INSTANCE);
+        assertEncoder(LocalDate.of(2019, 12, 31), LocalDateCodec.INSTANCE);
+        assertEncoder(ZeroDateOption.USE_NULL, EnumCodec.INSTANCE);
+        assertEncoder(new byte[]{1, 2}, ByteArrayCodec.INSTANCE);
+        assertEncoder(ByteBuffer.wrap(new byte[]{1, 2}), ByteBufferCodec.INSTANCE);
+    }
+
+    @Test
+    void encodeSet() {
+        Set<String> strings = new HashSet<>(Arrays.asList("a", "b"));
+        Set<Integer> integers = new HashSet<>(Arrays.asList(1, 2));
+
+        assertEncoder(strings, SetCodec.INSTANCE);
+        // Encoders of sets depend on their elements, so they are not cached by the class.
+        assertThrows(IllegalArgumentException.class, () -> codecs.encode(integers, CONTEXT));
+        assertEncoder(strings, SetCodec.INSTANCE);
+        assertEncoder(EnumSet.of(ZeroDateOption.USE_NULL), SetCodec.INSTANCE);
+    }
+
+    @Nullable
+    private Object decode(FieldValue value, FieldInformation info, Type type) {
+        try {
+            return codecs.decode(value, info, type, false, CONTEXT);
+        } finally {
+            if (!(value instanceof StreamingFieldValue)) {
+                ReferenceCountUtil.safeRelease(value);
+            }
+        }
+    }
+
+    private void assertEncoder(Object value, Codec<?, ?, ?> codec) {
+        ParameterValue expected = codec.encode(value, CONTEXT);
+
+        try {
+            // The first encoding scans codecs, and following encodings use the cached codec.
+            for (int i = 0; i < 2; ++i) {
+                ParameterValue actual = codecs.encode(value, CONTEXT);
+
+                try {
+                    assertEquals(expected.getClass(), actual.getClass());
+                    assertEquals(expected.getType(), actual.getType());
+                } finally {
+                    actual.dispose();
+                }
+            }
+        } finally {
+            expected.dispose();
+        }
+    }
+
+    private static NormalFieldValue normal(String value) {
+        return new NormalFieldValue(Unpooled.copiedBuffer(value, StandardCharsets.UTF_8));
+    }
+
+    private static LargeFieldValue large(String value) {
+        ByteBuf buf = Unpooled.copiedBuffer(value, StandardCharsets.UTF_8);
+
+        return new LargeFieldValue(Collections.singletonList(buf));
+    }
+
+    private static final class Field implements FieldInformation {
+
+        private final short type;
+
+        private final short definitions;
+
+        private final int collationId;
+
+        private final long size;
+
+        private Field(short type, short definitions, int collationId, long size) {
+            this.type = type;
+            this.definitions = definitions;
+            this.collationId = collationId;
+            this.size = size;
+        }
+
+        @Override
+        public short getType() {
+            return type;
+        }
+
+        @Override
+        public short getDefinitions() {
+            return definitions;
+        }
+
+        @Override
+        public int getCollationId() {
+            return collationId;
+        }
+
+        @Override
+        public long getSize() {
+            return size;
+        }
+
+        @Nullable
+        @Override
+        public Class<?> getJavaType() {
+            return null;
+        }
+    }
+}
@@ -100,6 +100,30 @@ class ParameterWriterTest {
         assertThat(values).extracting(MockParameterValue::refCnt).containsOnly(0);
     }
 
+    @Test
+    void publishSkipLongData() {
+        ByteBuf buf = Unpooled.buffer();
+        MockParameterValue[] values = new MockParameterValue[SIZE];
+
+        for (int i = 0; i < SIZE; ++i) {
+            // Long data values would fail if they are written.
+            values[i] = (i & 1) == 0 ? new MockParameterValue(true) : new MockParameterValue(false, true);
+        }
+
+        Flux.from(ParameterWriter.publish(buf, values))
+            .map(ByteBuf::release)
+            .reduce(Boolean::logicalAnd)
+            .as(StepVerifier::create)
+            .expectNext(Boolean.TRUE)
+            .verifyComplete();
+
+        assertEquals(buf.refCnt(), 0);
+
+        for (int i = 0; i < SIZE; ++i) {
+            assertEquals(values[i].refCnt(), i & 1);
+        }
+    }
+
     private static final class MockException extends RuntimeException {
 
         private static final MockException INSTANCE = new MockException();
@@ -113,9 +137,16 @@ class ParameterWriterTest {
 
         private final boolean success;
 
+        private final boolean longData;
+
         MockParameterValue(boolean success) {
+            this(success, false);
+        }
+
+        MockParameterValue(boolean success, boolean longData) {
             super(1);
             this.success = success;
+            this.longData = longData;
         }
 
         @Override
@@ -123,6 +154,11 @@ class ParameterWriterTest {
             return false;
         }
 
+        @Override
+        public boolean isLongData() {
+            return longData;
+        }
+
         @Override
         public Mono<Void> writeTo(ParameterWriter writer) {
             if (success) {
@@ -140,6 +176,11 @@ class ParameterWriterTest {
             return DataTypes.TIME;
         }
 
+        @Override
+        public int estimateSize() {
+            return -1;
+        }
+
         @Override
         public void dispose() {
             int refCnt;
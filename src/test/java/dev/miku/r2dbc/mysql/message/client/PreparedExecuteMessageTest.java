@@ -0,0 +1,232 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.miku.r2dbc.mysql.message.client;
+
+import dev.miku.r2dbc.mysql.codec.Codecs;
+import dev.miku.r2dbc.mysql.constant.CursorTypes;
+import dev.miku.r2dbc.mysql.constant.ZeroDateOption;
+import dev.miku.r2dbc.mysql.message.ParameterValue;
+import dev.miku.r2dbc.mysql.util.ConnectionContext;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import io.r2dbc.spi.Blob;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link PreparedExecuteMessage}.
+ */
+class PreparedExecuteMessageTest {
+
+    /**
+     * The index of new-params-bound flag: command (1), statement id (4), cursor (1), times (4), null-bitmap (1).
+     */
+    private static final int BOUND_FLAG_INDEX = 11;
+
+    /**
+     * The index of cursor type: command (1), statement id (4).
+     */
+    private static final int CURSOR_INDEX = 5;
+
+    /**
+     * The size of long data header: command (1), statement id (4), parameter id (2).
+     */
+    private static final int LONG_DATA_HEADER_SIZE = 7;
+
+    private static final int STATEMENT_ID = 1;
+
+    @Test
+    void omitBoundTypes() {
+        ConnectionContext context = new ConnectionContext(ZeroDateOption.USE_NULL);
+
+        assertThat(encode(context, 1)).extracting(buf -> buf.getByte(BOUND_FLAG_INDEX)).isEqualTo((byte) 1);
+        assertThat(encode(context, 2)).extracting(buf -> buf.getByte(BOUND_FLAG_INDEX)).isEqualTo((byte) 0);
+        // Type changed.
+        assertThat(encode(context, "3")).extracting(buf -> buf.getByte(BOUND_FLAG_INDEX)).isEqualTo((byte) 1);
+        assertThat(encode(context, "4")).extracting(buf -> buf.getByte(BOUND_FLAG_INDEX)).isEqualTo((byte) 0);
+
+        new PreparedResetMessage(STATEMENT_ID).encode(UnpooledByteBufAllocator.DEFAULT, context).block().release();
+
+        assertThat(encode(context, "5")).extracting(buf -> buf.getByte(BOUND_FLAG_INDEX)).isEqualTo((byte) 1);
+
+        new PreparedCloseMessage(STATEMENT_ID).encode(UnpooledByteBufAllocator.DEFAULT, context).block().release();
+
+        assertThat(encode(context, "6")).extracting(buf -> buf.getByte(BOUND_FLAG_INDEX)).isEqualTo((byte) 1);
+
+        ResetConnectionMessage.getInstance().encode(UnpooledByteBufAllocator.DEFAULT, context).block().release();
+
+        assertThat(encode(context, "7")).extracting(buf -> buf.getByte(BOUND_FLAG_INDEX)).isEqualTo((byte) 1);
+    }
+
+    @Test
+    void resendTypesAfterFailed() {
+        ConnectionContext context = new ConnectionContext(ZeroDateOption.USE_NULL);
+        ParameterValue failed = mock(ParameterValue.class);
+
+        when(failed.getType()).thenReturn(Codecs.getInstance().encode(1, context).getType());
+        when(failed.writeTo(any())).thenReturn(Mono.error(new IllegalStateException("failed")));
+
+        Flux<ByteBuf> encoded = new PreparedExecuteMessage(STATEMENT_ID, false, new ParameterValue[]{failed})
+            .encode(UnpooledByteBufAllocator.DEFAULT, context);
+
+        assertThatThrownBy(encoded::blockLast).isInstanceOf(IllegalStateException.class);
+        // The failed execution has not been sent, so server has not received the types.
+        assertThat(encode(context, 2)).extracting(buf -> buf.getByte(BOUND_FLAG_INDEX)).isEqualTo((byte) 1);
+        assertThat(encode(context, 3)).extracting(buf -> buf.getByte(BOUND_FLAG_INDEX)).isEqualTo((byte) 0);
+    }
+
+    @Test
+    void cursor() {
+        ConnectionContext context = new ConnectionContext(ZeroDateOption.USE_NULL);
+        ByteBuf cursor = encode(context, 1, true);
+
+        assertThat(cursor.getByte(0)).isEqualTo((byte) 0x17);
+        assertThat(cursor.getIntLE(1)).isEqualTo(STATEMENT_ID);
+        assertThat(cursor.getByte(CURSOR_INDEX)).isEqualTo(CursorTypes.READ_ONLY);
+        assertThat(encode(context, 2, false)).extracting(buf -> buf.getByte(CURSOR_INDEX)).isEqualTo(CursorTypes.NO_CURSOR);
+    }
+
+    @Test
+    void emptyLongData() {
+        ConnectionContext context = new ConnectionContext(ZeroDateOption.USE_NULL);
+        PreparedExecuteMessage message = new PreparedExecuteMessage(STATEMENT_ID, false, new ParameterValue[]{
+            Codecs.getInstance().encode(1, context),
+            Codecs.getInstance().encode(blob(), context)
+        });
+
+        assertThat(message.hasLongData()).isTrue();
+
+        List<ByteBuf> chunks = message.longData(UnpooledByteBufAllocator.DEFAULT)
+            .map(data -> encodeLongData(context, data))
+            .collectList()
+            .block();
+
+        // An empty Blob is still sent, otherwise server will read the value from the execution.
+        assertThat(chunks).hasSize(1);
+        assertLongData(chunks.get(0), 1, 0);
+
+        message.dispose();
+    }
+
+    @Test
+    void longData() {
+        ConnectionContext context = new ConnectionContext(ZeroDateOption.USE_NULL);
+        int size = PreparedExecuteMessage.MAX_LONG_DATA_CHUNK * 2 + 1;
+        PreparedExecuteMessage message = new PreparedExecuteMessage(STATEMENT_ID, false, new ParameterValue[]{
+            Codecs.getInstance().encode(blob(new byte[]{1, 2, 3}, new byte[size]), context),
+            Codecs.getInstance().encode(2, context),
+            Codecs.getInstance().encode(blob(new byte[]{4}), context)
+        });
+
+        List<ByteBuf> chunks = message.longData(UnpooledByteBufAllocator.DEFAULT)
+            .map(data -> encodeLongData(context, data))
+            .collectList()
+            .block();
+
+        assertThat(chunks).hasSize(5);
+        assertLongData(chunks.get(0), 0, 3);
+        assertLongData(chunks.get(1), 0, PreparedExecuteMessage.MAX_LONG_DATA_CHUNK);
+        assertLongData(chunks.get(2), 0, PreparedExecuteMessage.MAX_LONG_DATA_CHUNK);
+        assertLongData(chunks.get(3), 0, 1);
+        assertLongData(chunks.get(4), 2, 1);
+        assertThat(chunks.get(4).getByte(LONG_DATA_HEADER_SIZE)).isEqualTo((byte) 4);
+
+        message.dispose();
+    }
+
+    @Test
+    void sliceChunk() {
+        ByteBuf small = Unpooled.wrappedBuffer(new byte[PreparedExecuteMessage.MAX_LONG_DATA_CHUNK]);
+
+        assertThat(PreparedExecuteMessage.sliceChunk(small).collectList().block()).containsExactly(small);
+        small.release();
+
+        ByteBuf large = Unpooled.wrappedBuffer(new byte[PreparedExecuteMessage.MAX_LONG_DATA_CHUNK + 1]);
+        List<ByteBuf> slices = PreparedExecuteMessage.sliceChunk(large).collectList().block();
+
+        assertThat(slices).extracting(ByteBuf::readableBytes).containsExactly(PreparedExecuteMessage.MAX_LONG_DATA_CHUNK, 1);
+        // Slices are retained, the original chunk is released by slicing.
+        assertThat(large.refCnt()).isEqualTo(slices.size());
+        slices.forEach(ByteBuf::release);
+        assertThat(large.refCnt()).isZero();
+    }
+
+    private static ByteBuf encode(ConnectionContext context, Object value) {
+        return encode(context, value, false);
+    }
+
+    private static ByteBuf encode(ConnectionContext context, Object value, boolean cursor) {
+        ParameterValue[] values = new ParameterValue[]{Codecs.getInstance().encode(value, context)};
+        ByteBuf buf = Unpooled.buffer();
+
+        Flux.from(new PreparedExecuteMessage(STATEMENT_ID, cursor, values).encode(UnpooledByteBufAllocator.DEFAULT, context))
+            .doOnNext(part -> {
+                buf.writeBytes(part);
+                part.release();
+            })
+            .blockLast();
+
+        return buf;
+    }
+
+    private static ByteBuf encodeLongData(ConnectionContext context, PreparedLargeDataMessage message) {
+        ByteBuf buf = Unpooled.buffer();
+
+        message.encode(UnpooledByteBufAllocator.DEFAULT, context)
+            .doOnNext(part -> {
+                buf.writeBytes(part);
+                part.release();
+            })
+            .blockLast();
+
+        return buf;
+    }
+
+    private static void assertLongData(ByteBuf buf, int parameterId, int size) {
+        assertThat(buf.getByte(0)).isEqualTo((byte) 0x18);
+        assertThat(buf.getIntLE(1)).isEqualTo(STATEMENT_ID);
+        assertThat(buf.getShortLE(5)).isEqualTo((short) parameterId);
+        assertThat(buf.readableBytes()).isEqualTo(LONG_DATA_HEADER_SIZE + size);
+    }
+
+    private static Blob blob(byte[]... chunks) {
+        return new Blob() {
+
+            @Override
+            public Publisher<ByteBuffer> stream() {
+                return Flux.fromArray(chunks).map(ByteBuffer::wrap);
+            }
+
+            @Override
+            public Publisher<Void> discard() {
+                return Mono.empty();
+            }
+        };
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.miku.r2dbc.mysql.message.client;
+
+import dev.miku.r2dbc.mysql.constant.ZeroDateOption;
+import dev.miku.r2dbc.mysql.util.ConnectionContext;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link PreparedFetchMessage}.
+ */
+class PreparedFetchMessageTest {
+
+    @Test
+    void encode() {
+        ConnectionContext context = new ConnectionContext(ZeroDateOption.USE_NULL);
+        ByteBuf buf = new PreparedFetchMessage(3, 100).encode(UnpooledByteBufAllocator.DEFAULT, context).block();
+
+        try {
+            assertThat(buf).isNotNull();
+            assertThat(buf.readableBytes()).isEqualTo(9);
+            assertThat(buf.getByte(0)).isEqualTo((byte) 0x1C);
+            assertThat(buf.getIntLE(1)).isEqualTo(3);
+            assertThat(buf.getIntLE(5)).isEqualTo(100);
+        } finally {
+            if (buf != null) {
+                buf.release();
+            }
+        }
+    }
+}
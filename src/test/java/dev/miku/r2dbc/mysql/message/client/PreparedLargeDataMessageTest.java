@@ -0,0 +1,93 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.miku.r2dbc.mysql.message.client;
+
+import dev.miku.r2dbc.mysql.constant.ZeroDateOption;
+import dev.miku.r2dbc.mysql.util.ConnectionContext;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link PreparedLargeDataMessage}.
+ */
+class PreparedLargeDataMessageTest {
+
+    private static final ConnectionContext CONTEXT = new ConnectionContext(ZeroDateOption.USE_NULL);
+
+    @Test
+    void encode() {
+        ByteBuf data = Unpooled.wrappedBuffer(new byte[]{1, 2, 3});
+        PreparedLargeDataMessage message = new PreparedLargeDataMessage(0x01020304, 2, data);
+        ByteBuf buf = Unpooled.buffer();
+
+        message.encode(UnpooledByteBufAllocator.DEFAULT, CONTEXT)
+            .doOnNext(part -> {
+                buf.writeBytes(part);
+                part.release();
+            })
+            .blockLast();
+
+        // No length prefix of the data, it is the rest of the packet.
+        assertThat(buf.readByte()).isEqualTo((byte) 0x18);
+        assertThat(buf.readIntLE()).isEqualTo(0x01020304);
+        assertThat(buf.readShortLE()).isEqualTo((short) 2);
+        assertThat(buf.readByte()).isEqualTo((byte) 1);
+        assertThat(buf.readByte()).isEqualTo((byte) 2);
+        assertThat(buf.readByte()).isEqualTo((byte) 3);
+        assertThat(buf.isReadable()).isFalse();
+        assertThat(data.refCnt()).isZero();
+        assertThat(message.isDisposed()).isTrue();
+
+        message.encode(UnpooledByteBufAllocator.DEFAULT, CONTEXT)
+            .as(StepVerifier::create)
+            .verifyError(IllegalStateException.class);
+    }
+
+    @Test
+    void encodeEmpty() {
+        ByteBuf buf = Unpooled.buffer();
+
+        new PreparedLargeDataMessage(1, 0, Unpooled.EMPTY_BUFFER)
+            .encode(UnpooledByteBufAllocator.DEFAULT, CONTEXT)
+            .doOnNext(part -> {
+                buf.writeBytes(part);
+                part.release();
+            })
+            .blockLast();
+
+        assertThat(buf.readableBytes()).isEqualTo(Byte.BYTES + Integer.BYTES + Short.BYTES);
+    }
+
+    @Test
+    void dispose() {
+        ByteBuf data = Unpooled.wrappedBuffer(new byte[]{1, 2, 3});
+        PreparedLargeDataMessage message = new PreparedLargeDataMessage(1, 0, data);
+
+        message.dispose();
+
+        assertThat(data.refCnt()).isZero();
+        assertThat(message.isDisposed()).isTrue();
+        message.encode(UnpooledByteBufAllocator.DEFAULT, CONTEXT)
+            .as(StepVerifier::create)
+            .verifyError(IllegalStateException.class);
+    }
+}
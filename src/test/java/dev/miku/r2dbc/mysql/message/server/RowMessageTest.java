@@ -0,0 +1,149 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.miku.r2dbc.mysql.message.server;
+
+import dev.miku.r2dbc.mysql.codec.FieldInformation;
+import dev.miku.r2dbc.mysql.constant.DataTypes;
+import dev.miku.r2dbc.mysql.message.FieldValue;
+import dev.miku.r2dbc.mysql.message.NormalFieldValue;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Test;
+import reactor.util.annotation.Nullable;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for indexing of {@link RowMessage}.
+ */
+class RowMessageTest {
+
+    @Test
+    void indexText() {
+        FieldInformation[] context = {
+            new MockField(DataTypes.VARCHAR),
+            new MockField(DataTypes.VARCHAR),
+            new MockField(DataTypes.VARCHAR),
+            new MockField(DataTypes.INT),
+        };
+        ByteBuf buf = Unpooled.wrappedBuffer(new byte[]{
+            3, 'a', 'b', 'c', // "abc"
+            (byte) 0xFB, // NULL
+            0, // empty string
+            2, '4', '2', // "42"
+        });
+
+        assertIndexed(false, context, buf);
+    }
+
+    @Test
+    void indexBinary() {
+        FieldInformation[] context = {
+            new MockField(DataTypes.INT),
+            new MockField(DataTypes.VARCHAR),
+            new MockField(DataTypes.BIGINT),
+            new MockField(DataTypes.VARCHAR),
+        };
+        ByteBuf buf = Unpooled.wrappedBuffer(new byte[]{
+            0, // constant 0x00
+            1 << 4, // NULL bitmap, offset 2 bits, the third field is NULL
+            42, 0, 0, 0, // INT 42
+            3, 'a', 'b', 'c', // "abc"
+            0, // empty string
+        });
+
+        assertIndexed(true, context, buf);
+    }
+
+    private static void assertIndexed(boolean isBinary, FieldInformation[] context, ByteBuf buf) {
+        RowMessage decoding = new RowMessage(new NormalFieldReader(buf.retainedDuplicate()));
+        FieldValue[] expected;
+
+        try {
+            expected = decoding.decode(isBinary, context);
+        } finally {
+            decoding.release();
+        }
+
+        RowMessage message = new RowMessage(new NormalFieldReader(buf));
+        int[] offsets = new int[context.length << 1];
+
+        try {
+            assertTrue(message.isIndexable());
+
+            message.index(isBinary, context, offsets);
+
+            for (int i = 0; i < context.length; ++i) {
+                assertArrayEquals(bytes(expected[i]), bytes(message.getField(offsets, i)), "field " + i);
+            }
+        } finally {
+            message.release();
+            Arrays.stream(expected).forEach(FieldValue::release);
+        }
+
+        assertEquals(0, buf.refCnt());
+    }
+
+    @Nullable
+    private static byte[] bytes(FieldValue value) {
+        if (value.isNull()) {
+            return null;
+        }
+
+        return ByteBufUtil.getBytes(((NormalFieldValue) value).getBufferSlice());
+    }
+
+    private static final class MockField implements FieldInformation {
+
+        private final short type;
+
+        private MockField(short type) {
+            this.type = type;
+        }
+
+        @Override
+        public short getType() {
+            return type;
+        }
+
+        @Override
+        public short getDefinitions() {
+            return 0;
+        }
+
+        @Override
+        public int getCollationId() {
+            return 0;
+        }
+
+        @Override
+        public long getSize() {
+            return 0;
+        }
+
+        @Nullable
+        @Override
+        public Class<?> getJavaType() {
+            return null;
+        }
+    }
+}
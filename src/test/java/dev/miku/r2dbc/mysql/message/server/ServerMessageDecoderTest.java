@@ -17,8 +17,11 @@
 package dev.miku.r2dbc.mysql.message.server;
 
 import dev.miku.r2dbc.mysql.constant.Capabilities;
+import dev.miku.r2dbc.mysql.constant.DataTypes;
+import dev.miku.r2dbc.mysql.constant.Envelopes;
 import dev.miku.r2dbc.mysql.constant.ServerStatuses;
 import dev.miku.r2dbc.mysql.constant.ZeroDateOption;
+import dev.miku.r2dbc.mysql.message.StreamingFieldValue;
 import dev.miku.r2dbc.mysql.util.ConnectionContext;
 import dev.miku.r2dbc.mysql.util.ServerVersion;
 import io.netty.buffer.ByteBuf;
@@ -27,6 +30,9 @@ import org.assertj.core.api.AbstractObjectAssert;
 import org.junit.jupiter.api.Test;
 import reactor.util.annotation.Nullable;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 /**
@@ -54,8 +60,119 @@ class ServerMessageDecoderTest {
         preparedOk.extracting(PreparedOkMessage::getTotalParameters).isEqualTo(1);
     }
 
+    @Test
+    void okWithSessionState() {
+        byte[] name = "transaction_isolation".getBytes(StandardCharsets.US_ASCII);
+        byte[] value = "READ-COMMITTED".getBytes(StandardCharsets.US_ASCII);
+        byte[] schema = "r2dbc".getBytes(StandardCharsets.US_ASCII);
+        ByteBuf payload = Unpooled.buffer();
+
+        payload.writeByte(0).writeByte(0).writeByte(0); // header, affected rows, last inserted ID
+        payload.writeShortLE(ServerStatuses.AUTO_COMMIT | ServerStatuses.SESSION_STATE_CHANGED);
+        payload.writeShortLE(0); // warnings
+        payload.writeByte(0); // empty information
+        payload.writeByte(2 + name.length + 1 + value.length + 2 + 1 + schema.length + 2 + 2); // session state size
+        payload.writeByte(0).writeByte(name.length + 1 + value.length + 1); // system variables
+        payload.writeByte(name.length).writeBytes(name).writeByte(value.length).writeBytes(value);
+        payload.writeByte(1).writeByte(schema.length + 1); // schema
+        payload.writeByte(schema.length).writeBytes(schema);
+        payload.writeByte(2).writeByte(1).writeByte(1); // state change, should be ignored
+
+        ByteBuf buf = Unpooled.buffer()
+            .writeMediumLE(payload.readableBytes())
+            .writeByte(1)
+            .writeBytes(payload);
+
+        AbstractObjectAssert<?, OkMessage> ok = assertThat(decode(buf, DecodeContext.command()))
+            .isExactlyInstanceOf(OkMessage.class)
+            .extracting(message -> (OkMessage) message);
+
+        ok.extracting(OkMessage::getSchema).isEqualTo("r2dbc");
+        ok.extracting(OkMessage::getSystemVariables)
+            .isEqualTo(Collections.singletonMap("transaction_isolation", "READ-COMMITTED"));
+    }
+
+    @Test
+    void localInfileRequest() {
+        byte[] path = "/tmp/data.csv".getBytes(StandardCharsets.US_ASCII);
+        ByteBuf buf = Unpooled.buffer()
+            .writeMediumLE(path.length + 1)
+            .writeByte(1)
+            .writeByte(0xFB)
+            .writeBytes(path);
+
+        AbstractObjectAssert<?, LocalInfileRequest> request = assertThat(decode(buf, DecodeContext.command()))
+            .isExactlyInstanceOf(LocalInfileRequest.class)
+            .extracting(message -> (LocalInfileRequest) message);
+
+        request.extracting(LocalInfileRequest::getEnvelopeId).isEqualTo(1);
+        request.extracting(LocalInfileRequest::getPath).isEqualTo("/tmp/data.csv");
+    }
+
+    @Test
+    void streamingLob() {
+        ServerMessageDecoder decoder = new ServerMessageDecoder();
+        ConnectionContext context = context(true);
+        DecodeContext decodeContext = DecodeContext.result(true, 2);
+
+        assertThat(decoder.decode(column("id", DataTypes.INT), context, decodeContext, null)).isNull();
+        assertThat(decoder.decode(column("data", DataTypes.LONG_BLOB), context, decodeContext, null))
+            .isExactlyInstanceOf(SyntheticMetadataMessage.class);
+
+        // Text row: "7" and a LOB which is larger than an envelope.
+        int lobSize = Envelopes.MAX_ENVELOPE_SIZE + 10;
+        int payloadSize = 2 + 4 + lobSize;
+        ByteBuf payload = Unpooled.buffer(payloadSize);
+
+        payload.writeByte(1).writeByte('7');
+        payload.writeByte(0xFD).writeMediumLE(lobSize);
+
+        for (int i = 0; i < lobSize; ++i) {
+            payload.writeByte(i);
+        }
+
+        ByteBuf first = Unpooled.buffer(Envelopes.MAX_ENVELOPE_SIZE + 4)
+            .writeMediumLE(Envelopes.MAX_ENVELOPE_SIZE)
+            .writeByte(1)
+            .writeBytes(payload, Envelopes.MAX_ENVELOPE_SIZE);
+        int remaining = payload.readableBytes();
+        ByteBuf second = Unpooled.buffer(remaining + 4)
+            .writeMediumLE(remaining)
+            .writeByte(2)
+            .writeBytes(payload);
+
+        ServerMessage row = decoder.decode(first, context, decodeContext, null);
+
+        assertThat(row).isExactlyInstanceOf(RowMessage.class);
+
+        StreamingFieldValue field = ((RowMessage) row).getStreamingField();
+
+        assertThat(field).isNotNull();
+        assertThat(field.getSize()).isEqualTo(lobSize);
+
+        ServerMessage chunk = decoder.decode(second, context, decodeContext, null);
+
+        assertThat(chunk).isExactlyInstanceOf(LobChunkMessage.class);
+        assertThat(((LobChunkMessage) chunk).isLast()).isTrue();
+
+        ByteBuf buf = ((LobChunkMessage) chunk).getBuffer();
+
+        assertThat(buf.readableBytes()).isEqualTo(remaining);
+        assertThat(buf.getByte(buf.readerIndex())).isEqualTo((byte) (lobSize - remaining));
+
+        ((LobChunkMessage) chunk).release();
+        ((RowMessage) row).release();
+
+        // Decoder should be out of LOB streaming.
+        assertThat(decoder.decode(eofLike(), context, decodeContext, null)).isExactlyInstanceOf(OkMessage.class);
+    }
+
     private static ConnectionContext context() {
-        ConnectionContext mocked = new ConnectionContext(ZeroDateOption.USE_NULL);
+        return context(false);
+    }
+
+    private static ConnectionContext context(boolean lobStreaming) {
+        ConnectionContext mocked = new ConnectionContext(ZeroDateOption.USE_NULL, lobStreaming);
 
         mocked.setConnectionId(1);
         mocked.setCapabilities(Capabilities.ALL_SUPPORTED);
@@ -70,6 +187,42 @@ class ServerMessageDecoderTest {
         return new ServerMessageDecoder().decode(buf, context(), decodeContext, null);
     }
 
+    private static ByteBuf column(String name, short type) {
+        byte[] nameBytes = name.getBytes(StandardCharsets.US_ASCII);
+        ByteBuf payload = Unpooled.buffer();
+
+        payload.writeByte(3).writeBytes("def".getBytes(StandardCharsets.US_ASCII)); // catalog
+        payload.writeByte(0); // database
+        payload.writeByte(1).writeByte('t'); // table
+        payload.writeByte(1).writeByte('t'); // origin table
+        payload.writeByte(nameBytes.length).writeBytes(nameBytes); // column
+        payload.writeByte(nameBytes.length).writeBytes(nameBytes); // origin column
+        payload.writeByte(0x0C); // constant 0x0c
+        payload.writeShortLE(63); // binary collation
+        payload.writeIntLE(-1); // size
+        payload.writeByte(type);
+        payload.writeShortLE(0); // definitions
+        payload.writeByte(0); // decimals
+        payload.writeShortLE(0); // filler
+
+        return Unpooled.buffer()
+            .writeMediumLE(payload.readableBytes())
+            .writeByte(0)
+            .writeBytes(payload);
+    }
+
+    private static ByteBuf eofLike() {
+        return Unpooled.wrappedBuffer(new byte[]{
+            7, 0, 0, // envelope size
+            3, // sequence ID
+            (byte) 0xFE, // Heading of OK which is instead of EOF
+            0, // affected rows
+            0, // last inserted ID
+            2, 0, // server statuses
+            0, 0 // warnings
+        });
+    }
+
     private static ByteBuf okLike() {
         return Unpooled.wrappedBuffer(new byte[]{
             10, 0, 0, // envelope size